@@ -129,6 +129,11 @@ public enum DetectProperty {
     @HelpDescription("Black Duck username")
     BLACKDUCK_USERNAME("blackduck.username", "Black Duck Username", "4.2.0", PropertyType.STRING, PropertyAuthority.None),
 
+    @HelpGroup(primary = GROUP_PATHS, additional = { SEARCH_GROUP_GLOBAL })
+    @HelpDescription("The size in megabytes the artifact cache in the tools directory may grow to before the least recently used artifacts are deleted.")
+    @HelpDetailed("The cache holds the downloaded NuGet and Docker inspectors and is shared by all detect runs that use the same output directory. An artifact a run has just downloaded is kept even when it alone is larger than the limit.")
+    DETECT_ARTIFACT_CACHE_MAX_SIZE("detect.artifact.cache.max.size", "Artifact Cache Max Size", "5.3.0", PropertyType.LONG, PropertyAuthority.None, "1024"),
+
     @HelpGroup(primary = GROUP_PATHS, additional = { SEARCH_GROUP_GLOBAL })
     @HelpDescription("Path of the bash executable")
     DETECT_BASH_PATH("detect.bash.path", "Bash Executable", "3.0.0", PropertyType.STRING, PropertyAuthority.None),
@@ -145,10 +150,37 @@ public enum DetectProperty {
     @HelpDescription("The path to a file containing a list of BazelExternalIdExtractionXPathRule objects in json (to override the default behavior)")
     DETECT_BAZEL_ADVANCED_RULES_PATH("detect.bazel.advanced.rules.path", "Bazel Advanced Rules File", "5.2.0", PropertyType.STRING, PropertyAuthority.None),
 
+    @HelpGroup(primary = GROUP_GENERAL, additional = { SEARCH_GROUP_GLOBAL, SEARCH_GROUP_OFFLINE })
+    @HelpDescription("If true, BDIO files created in offline mode are gzip compressed and given a .gz extension.")
+    @HelpDetailed("Black Duck only accepts uncompressed BDIO uploads, so this has no effect when detect is online.")
+    DETECT_BDIO_COMPRESS("detect.bdio.compress", "Compress BDIO", "5.3.0", PropertyType.BOOLEAN, PropertyAuthority.None, "false"),
+
     @HelpGroup(primary = GROUP_PATHS, additional = { SEARCH_GROUP_GLOBAL })
     @HelpDescription("The output directory for all bdio files. If not set, the bdio files will be in a 'bdio' subdirectory of the output path.")
     DETECT_BDIO_OUTPUT_PATH("detect.bdio.output.path", "BDIO Output Directory", "3.0.0", PropertyType.STRING, PropertyAuthority.DirectoryManager),
 
+    @HelpGroup(primary = GROUP_GENERAL, additional = { SEARCH_GROUP_GLOBAL })
+    @HelpDescription("The number of BDIO files to create in parallel, defaults to 1, but if you specify -1, the number of processors on the machine will be used.")
+    DETECT_BDIO_PARALLEL_PROCESSORS("detect.bdio.parallel.processors", "BDIO Parallel Processors", "5.3.0", PropertyType.INTEGER, PropertyAuthority.None, "1"),
+
+    @HelpGroup(primary = GROUP_BLACKDUCK_SERVER, additional = { SEARCH_GROUP_BLACKDUCK })
+    @HelpDescription("The number of BDIO files to upload in parallel, defaults to 1, but if you specify -1, the number of processors on the machine will be used.")
+    DETECT_BDIO_UPLOAD_PARALLEL_PROCESSORS("detect.bdio.upload.parallel.processors", "BDIO Upload Parallel Processors", "5.3.0", PropertyType.INTEGER, PropertyAuthority.None, "1"),
+
+    @HelpGroup(primary = GROUP_BLACKDUCK_SERVER, additional = { SEARCH_GROUP_BLACKDUCK })
+    @HelpDescription("The number of times a BDIO upload is retried when Black Duck is temporarily unavailable or the connection fails.")
+    @HelpDetailed("Uploads are retried when Black Duck responds with 408, 429, 500, 502, 503 or 504. Other errors, such as an invalid BDIO file or missing permissions, fail the upload immediately.")
+    DETECT_BDIO_UPLOAD_RETRIES("detect.bdio.upload.retries", "BDIO Upload Retries", "5.3.0", PropertyType.INTEGER, PropertyAuthority.None, "3"),
+
+    @HelpGroup(primary = GROUP_BLACKDUCK_SERVER, additional = { SEARCH_GROUP_BLACKDUCK })
+    @HelpDescription("The time in milliseconds to wait before the first retry of a failed BDIO upload. The wait doubles after every retry, up to 30 seconds.")
+    DETECT_BDIO_UPLOAD_RETRY_DELAY("detect.bdio.upload.retry.delay", "BDIO Upload Retry Delay", "5.3.0", PropertyType.LONG, PropertyAuthority.None, "1000"),
+
+    @HelpGroup(primary = GROUP_BLACKDUCK_SERVER, additional = { SEARCH_GROUP_BLACKDUCK })
+    @HelpDescription("If true, a code location is not uploaded when its BDIO is the same as the last BDIO detect successfully uploaded for it to the same Black Duck server.")
+    @HelpDetailed("The content hashes of uploaded BDIO files are remembered in the cache directory of the output path. Leave this off if code locations may be deleted or changed on the server between runs, because detect cannot tell. Ignored when detect.project.codelocation.unmap is true, since unmapped code locations must be uploaded again to be mapped back to the project version.")
+    DETECT_BDIO_UPLOAD_SKIP_UNCHANGED("detect.bdio.upload.skip.unchanged", "Skip Unchanged BDIO Uploads", "5.3.0", PropertyType.BOOLEAN, PropertyAuthority.None, "false"),
+
     @HelpGroup(primary = GROUP_SIGNATURE_SCANNER, additional = { GROUP_SOURCE_PATH })
     @HelpDescription("The path of a binary file to scan.")
     DETECT_BINARY_SCAN_FILE("detect.binary.scan.file.path", "Binary Scan Target", "4.2.0", PropertyType.STRING, PropertyAuthority.None),
@@ -214,6 +246,11 @@ public enum DetectProperty {
     @HelpDescription("If set, this will aggregate all the BOMs to create a single BDIO file with the name provided.")
     DETECT_BOM_AGGREGATE_NAME("detect.bom.aggregate.name", "Aggregate BDIO File Name", "3.0.0", PropertyType.STRING, PropertyAuthority.None),
 
+    @HelpGroup(primary = GROUP_DETECTOR, additional = { SEARCH_GROUP_GLOBAL })
+    @HelpDescription("The maximum number of compile command results the Clang detector keeps in its dependency file cache between runs. Set to 0 to disable the cache.")
+    @HelpDetailed("Results are keyed by the compile command, the compiler and the size and modification time of the source file, and are discarded if any of the recorded include files has changed. The least recently used results are evicted first.")
+    DETECT_CLANG_DEPENDENCY_CACHE_MAX_ENTRIES("detect.clang.dependency.cache.max.entries", "Clang Dependency Cache Size", "5.3.0", PropertyType.INTEGER, PropertyAuthority.None, "10000"),
+
     @HelpGroup(primary = GROUP_CLEANUP, additional = { SEARCH_GROUP_GLOBAL })
     @HelpDescription("If true, the files created by Detect will be cleaned up.")
     DETECT_CLEANUP("detect.cleanup", "Cleanup Output", "3.2.0", PropertyType.BOOLEAN, PropertyAuthority.None, "true"),
@@ -242,6 +279,16 @@ public enum DetectProperty {
     @HelpDescription("The path of the cpanm executable")
     DETECT_CPANM_PATH("detect.cpanm.path", "cpanm Executable", "3.0.0", PropertyType.STRING, PropertyAuthority.None),
 
+    @HelpGroup(primary = GROUP_GENERAL, additional = { SEARCH_GROUP_GLOBAL })
+    @HelpDescription("If set, detect starts as a daemon that listens on this port of the loopback interface and runs the scans submitted with detect.daemon.submit.port instead of scanning itself.")
+    @HelpDetailed("The daemon keeps the JVM warm between scans and runs one scan at a time. Every scan gets its own run, output directories and events. The properties the daemon was started with are defaults for every scan. Only the user who started the daemon can submit scans, because submissions must present a token the daemon writes to blackduck/daemon in that user's home directory.")
+    DETECT_DAEMON_PORT("detect.daemon.port", "Daemon Port", "5.3.0", PropertyType.INTEGER, PropertyAuthority.None),
+
+    @HelpGroup(primary = GROUP_GENERAL, additional = { SEARCH_GROUP_GLOBAL })
+    @HelpDescription("If set, detect submits its command line properties to the daemon listening on this port, prints the log of the scan and exits with the exit code of the scan.")
+    @HelpDetailed("The source path defaults to the current directory of the submitting process, and relative file and directory paths are resolved against it. DETECT_ and BLACKDUCK_ environment variables of the submitting process are submitted as properties unless they are also given on the command line. Other environment variables, including PATH, are not submitted: executables are found on the PATH of the daemon.")
+    DETECT_DAEMON_SUBMIT_PORT("detect.daemon.submit.port", "Daemon Submit Port", "5.3.0", PropertyType.INTEGER, PropertyAuthority.None),
+
     @HelpGroup(primary = GROUP_PROJECT, additional = { SEARCH_GROUP_GLOBAL })
     @HelpDescription("The scheme to use when the package managers can not determine a version, either 'text' or 'timestamp'")
     DETECT_DEFAULT_PROJECT_VERSION_SCHEME("detect.default.project.version.scheme", "Default Project Version Name Scheme", "3.0.0", PropertyType.STRING, PropertyAuthority.None, "text"),
@@ -254,6 +301,39 @@ public enum DetectProperty {
     @HelpDescription("The timestamp format to use as the default project version")
     DETECT_DEFAULT_PROJECT_VERSION_TIMEFORMAT("detect.default.project.version.timeformat", "Default Project Version Name Timestamp Format", "3.0.0", PropertyType.STRING, PropertyAuthority.None, "yyyy-MM-dd\\'T\\'HH:mm:ss.SSS"),
 
+    @HelpGroup(primary = GROUP_DETECTOR, additional = { SEARCH_GROUP_GLOBAL })
+    @HelpDescription("If true, the dependency graph of every code location is stored in a compact form once its extraction finishes.")
+    @HelpDetailed("The compact form shares repeated strings and stores relationships as arrays of node numbers, which takes much less memory than the graph the detector built for large Maven and Gradle projects. The code locations and BDIO are the same either way.")
+    DETECT_DETECTOR_EXTRACTION_COMPACT_GRAPHS("detect.detector.extraction.compact.graphs", "Compact Detector Dependency Graphs", "5.3.0", PropertyType.BOOLEAN, PropertyAuthority.None, "false"),
+
+    @HelpGroup(primary = GROUP_DETECTOR, additional = { SEARCH_GROUP_GLOBAL })
+    @HelpDescription("The number of detector extractions to run in parallel, defaults to 1, but if you specify -1, the number of processors on the machine will be used.")
+    DETECT_DETECTOR_EXTRACTION_PARALLEL_PROCESSORS("detect.detector.extraction.parallel.processors", "Detector Extraction Parallel Processors", "5.3.0", PropertyType.INTEGER, PropertyAuthority.None, "1"),
+
+    @HelpGroup(primary = GROUP_DETECTOR, additional = { SEARCH_GROUP_GLOBAL })
+    @HelpDescription("If true, detectors that only read lock files reuse the code locations of a previous run when the content of those files has not changed.")
+    @HelpDetailed("Cached code locations are stored in the cache folder of the output directory and are keyed by the content of the lock and manifest files the detector reads and by the detect properties of that detector type.\r\nCurrently applies to the Package Lock, Shrinkwrap, Composer Lock, Gemlock, Podlock and Packrat Lock detectors.")
+    DETECT_DETECTOR_EXTRACTION_INCREMENTAL("detect.detector.extraction.incremental", "Incremental Detector Extraction", "5.3.0", PropertyType.BOOLEAN, PropertyAuthority.None, "false"),
+
+    @HelpGroup(primary = GROUP_DETECTOR, additional = { SEARCH_GROUP_GLOBAL })
+    @HelpDescription("The maximum number of extractions kept in the cache folder for incremental extraction. The least recently used extractions are evicted first.")
+    DETECT_DETECTOR_EXTRACTION_INCREMENTAL_MAX_ENTRIES("detect.detector.extraction.incremental.max.entries", "Incremental Extraction Cache Size", "5.3.0", PropertyType.INTEGER, PropertyAuthority.None, "1000"),
+
+    @HelpGroup(primary = GROUP_DETECTOR, additional = { SEARCH_GROUP_GLOBAL })
+    @HelpDescription("If true, the dependency graph of every code location is written to the extraction output directory as soon as its extraction finishes and is read back from there when it is needed.")
+    @HelpDetailed("Graphs that were read back can be dropped from memory again whenever it runs low, so the heap needed no longer grows with the number of code locations. Useful for large multi-module projects at the cost of some disk IO.")
+    DETECT_DETECTOR_EXTRACTION_SPILL_TO_DISK("detect.detector.extraction.spill.to.disk", "Spill Detector Dependency Graphs To Disk", "5.3.0", PropertyType.BOOLEAN, PropertyAuthority.None, "false"),
+
+    @HelpGroup(primary = GROUP_DETECTOR, additional = { SEARCH_GROUP_GLOBAL })
+    @HelpDescription("A comma-separated list of DETECTOR_TYPE:LIMIT pairs capping how many extractions of that detector type may run at the same time when extracting in parallel.")
+    @HelpDetailed("Detector types that are not listed are only limited by detect.detector.extraction.parallel.processors.\r\nBy default Gradle and Maven extractions run one at a time so that concurrent builds do not contend for the same local caches and locks.")
+    DETECT_DETECTOR_EXTRACTION_TYPE_LIMITS("detect.detector.extraction.type.limits", "Detector Extraction Type Limits", "5.3.0", PropertyType.STRING_ARRAY, PropertyAuthority.None, "GRADLE:1,MAVEN:1"),
+
+    @HelpGroup(primary = GROUP_DETECTOR, additional = { SEARCH_GROUP_GLOBAL })
+    @HelpDescription("If true, the inspectors needed by the applicable detectors are resolved, downloaded or installed concurrently as soon as the detector search finishes.")
+    @HelpDetailed("Applies to the Gradle, NuGet, Pip and Go Dep inspectors. Without it, each inspector is provisioned when the first detector that needs it checks whether it is extractable. The provisioning time of each inspector is listed in the profiling report.")
+    DETECT_DETECTOR_INSPECTOR_PROVISIONING("detect.detector.inspector.provisioning", "Provision Detector Inspectors In Parallel", "5.3.0", PropertyType.BOOLEAN, PropertyAuthority.None, "true"),
+
     @HelpGroup(primary = GROUP_PATHS, additional = { GROUP_DETECTOR, SEARCH_GROUP_GLOBAL, GROUP_SOURCE_SCAN })
     @HelpDescription("Depth from source paths to search for files to determine if a detector applies.")
     DETECT_DETECTOR_SEARCH_DEPTH("detect.detector.search.depth", "Detector Search Depth", "3.2.0", PropertyType.INTEGER, PropertyAuthority.None, "0"),
@@ -276,6 +356,16 @@ public enum DetectProperty {
     @HelpDetailed("If true, these directories will be excluded from the detector search: " + DetectorSearchExcludedDirectories.DIRECTORY_NAMES)
     DETECT_DETECTOR_SEARCH_EXCLUSION_DEFAULTS("detect.detector.search.exclusion.defaults", "Detector Exclude Default Directories", "3.2.0", PropertyType.BOOLEAN, PropertyAuthority.None, "true"),
 
+    @HelpGroup(primary = GROUP_PATHS, additional = { GROUP_DETECTOR, SEARCH_GROUP_GLOBAL })
+    @HelpDescription("The number of directories to search for detectors in parallel, defaults to 1, but if you specify -1, the number of processors on the machine will be used.")
+    @HelpDetailed("The search results are reported in the same order regardless of how many directories are searched in parallel.")
+    DETECT_DETECTOR_SEARCH_PARALLEL_PROCESSORS("detect.detector.search.parallel.processors", "Detector Search Parallel Processors", "5.3.0", PropertyType.INTEGER, PropertyAuthority.None, "1"),
+
+    @HelpGroup(primary = GROUP_BLACKDUCK_SERVER, additional = { SEARCH_GROUP_BLACKDUCK })
+    @HelpDescription("If true, the connection to Black Duck is checked in the background while the local tools run, instead of before they start.")
+    @HelpDetailed("Detect waits for the check when it first needs Black Duck, before creating the project. If it cannot connect, it fails or exits at that point, after the local tools have run. Ignored when detect.test.connection is true.")
+    DETECT_BLACKDUCK_CONNECTIVITY_BACKGROUND("detect.blackduck.connectivity.background", "Background Connectivity Check", "5.3.0", PropertyType.BOOLEAN, PropertyAuthority.None, "false"),
+
     @HelpGroup(primary = GROUP_BLACKDUCK_SERVER, additional = { SEARCH_GROUP_BLACKDUCK })
     @HelpDescription("If true, during initialization Detect will check for Black Duck connectivity and exit with status code 0 if it cannot connect.")
     DETECT_DISABLE_WITHOUT_BLACKDUCK("detect.disable.without.blackduck", "Check For Valid Black Duck Connection", "4.2.0", PropertyType.BOOLEAN, PropertyAuthority.None, "false"),
@@ -312,6 +402,11 @@ public enum DetectProperty {
     @HelpDescription("The path of the dotnet executable")
     DETECT_DOTNET_PATH("detect.dotnet.path", "dotnet Executable", "4.4.0", PropertyType.STRING, PropertyAuthority.None),
 
+    @HelpGroup(primary = GROUP_GENERAL, additional = { SEARCH_GROUP_GLOBAL })
+    @HelpDescription("If true, detect's internal events (such as detector and extraction progress) are handed to their listeners on a background thread instead of on the thread that raised them.")
+    @HelpDetailed("Events are still delivered in the order they were raised and every queued event is delivered before detect shuts down.")
+    DETECT_EVENT_DISPATCH_ASYNC("detect.event.dispatch.async", "Asynchronous Event Dispatch", "5.3.0", PropertyType.BOOLEAN, PropertyAuthority.None, "false"),
+
     @HelpGroup(primary = GROUP_DETECTOR, additional = { SEARCH_GROUP_GLOBAL })
     @HelpDescription("By default, all tools will be included. If you want to exclude specific detectors, specify the ones to exclude here. If you want to exclude all detectors, specify \"ALL\". Exclusion rules always win.")
     DETECT_EXCLUDED_DETECTOR_TYPES("detect.excluded.detector.types", "Detector Types Excluded", "3.0.0", PropertyType.STRING, PropertyAuthority.None),
@@ -479,6 +574,11 @@ public enum DetectProperty {
     @HelpDescription("The path of the requirements.txt file")
     DETECT_PIP_REQUIREMENTS_PATH("detect.pip.requirements.path", "PIP Requirements Path", "3.0.0", PropertyType.STRING, PropertyAuthority.None),
 
+    @HelpGroup(primary = GROUP_GENERAL, additional = { SEARCH_GROUP_GLOBAL })
+    @HelpDescription("If true, the signature scan and binary scan run at the same time as BDIO creation and upload instead of after it.")
+    @HelpDetailed("The scans start as soon as the project name and version are known and detect waits for them to finish before performing Black Duck post actions such as the policy check and risk report.")
+    DETECT_PIPELINE_SCANS("detect.pipeline.scans", "Pipeline Scans", "5.3.0", PropertyType.BOOLEAN, PropertyAuthority.None, "false"),
+
     @HelpGroup(primary = GROUP_PIP, additional = { SEARCH_GROUP_GLOBAL })
     @HelpDescription("The path of the Pipenv executable")
     DETECT_PIPENV_PATH("detect.pipenv.path", "Pipenv Executable", "4.1.0", PropertyType.STRING, PropertyAuthority.None),
@@ -632,6 +732,11 @@ public enum DetectProperty {
     @HelpGroup(primary = GROUP_YARN, additional = { SEARCH_GROUP_GLOBAL, GROUP_SOURCE_SCAN })
     DETECT_YARN_PROD_ONLY("detect.yarn.prod.only", "Include Yarn Production Dependencies Only", "4.0.0", PropertyType.BOOLEAN, PropertyAuthority.None, "false"),
 
+    @HelpDescription("Set this to true to build the dependency graph from the output of 'yarn list' instead of reading the yarn.lock and package.json files directly")
+    @HelpGroup(primary = GROUP_YARN, additional = { SEARCH_GROUP_GLOBAL })
+    @HelpDetailed("'yarn list' requires the yarn executable and installed node_modules. It is always used when no package.json is found next to the yarn.lock. Yarn workspaces are only reported as separate code locations when the yarn.lock is read directly.")
+    DETECT_YARN_USE_LIST("detect.yarn.use.list", "Use Yarn List", "5.3.0", PropertyType.BOOLEAN, PropertyAuthority.None, "false"),
+
     @HelpGroup(primary = GROUP_LOGGING, additional = { SEARCH_GROUP_GLOBAL })
     @HelpDescription("The logging level of Detect")
     @AcceptableValues(value = { "ALL", "TRACE", "DEBUG", "INFO", "WARN", "ERROR", "FATAL", "OFF" }, caseSensitive = false, strict = true)
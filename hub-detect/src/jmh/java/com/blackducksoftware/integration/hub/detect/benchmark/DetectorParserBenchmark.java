@@ -0,0 +1,151 @@
+/**
+ * hub-detect
+ *
+ * Copyright (C) 2019 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.blackducksoftware.integration.hub.detect.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.blackducksoftware.integration.hub.detect.detector.gradle.GradleReportParser;
+import com.blackducksoftware.integration.hub.detect.detector.hex.Rebar3TreeParser;
+import com.blackducksoftware.integration.hub.detect.detector.hex.RebarParseResult;
+import com.blackducksoftware.integration.hub.detect.detector.maven.MavenCodeLocationPackager;
+import com.blackducksoftware.integration.hub.detect.detector.maven.MavenParseResult;
+import com.blackducksoftware.integration.hub.detect.detector.npm.NpmLockfileParser;
+import com.blackducksoftware.integration.hub.detect.detector.npm.NpmParseResult;
+import com.blackducksoftware.integration.hub.detect.detector.pip.PipInspectorTreeParser;
+import com.blackducksoftware.integration.hub.detect.detector.pip.PipParseResult;
+import com.blackducksoftware.integration.hub.detect.detector.rubygems.GemlockParser;
+import com.blackducksoftware.integration.hub.detect.detector.yarn.YarnListParser;
+import com.blackducksoftware.integration.hub.detect.detector.yarn.YarnLockParser;
+import com.blackducksoftware.integration.hub.detect.workflow.codelocation.DetectCodeLocation;
+import com.google.gson.Gson;
+import com.synopsys.integration.bdio.graph.DependencyGraph;
+import com.synopsys.integration.bdio.model.externalid.ExternalIdFactory;
+
+/*
+ * Measures the parsers of the detectors whose output grows with the size of the project. Run with "gradlew :hub-detect:jmh", which also
+ * reports the allocation rate of every benchmark through the gc profiler.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DetectorParserBenchmark {
+    @Param({ "1000", "10000" })
+    public int packages;
+
+    private final ExternalIdFactory externalIdFactory = new ExternalIdFactory();
+    private final MavenCodeLocationPackager mavenCodeLocationPackager = new MavenCodeLocationPackager(externalIdFactory);
+    private final GradleReportParser gradleReportParser = new GradleReportParser(externalIdFactory);
+    private final YarnListParser yarnListParser = new YarnListParser(externalIdFactory, new YarnLockParser());
+    private final PipInspectorTreeParser pipInspectorTreeParser = new PipInspectorTreeParser(externalIdFactory);
+    private final Rebar3TreeParser rebar3TreeParser = new Rebar3TreeParser(externalIdFactory);
+    private final GemlockParser gemlockParser = new GemlockParser(externalIdFactory);
+    private final NpmLockfileParser npmLockfileParser = new NpmLockfileParser(new Gson(), externalIdFactory);
+
+    private String mavenTreeOutput;
+    private File gradleDependencyReport;
+    private List<String> yarnLock;
+    private List<String> yarnList;
+    private List<String> pipInspectorOutput;
+    private List<String> rebar3TreeOutput;
+    private List<String> gemfileLock;
+    private String packageJson;
+    private String packageLock;
+
+    @Setup
+    public void createInputs() throws IOException {
+        final ParserInputGenerator generator = new ParserInputGenerator(packages);
+        mavenTreeOutput = generator.createMavenTreeOutput();
+        gradleDependencyReport = File.createTempFile("dependencyGraph", ".txt");
+        Files.write(gradleDependencyReport.toPath(), generator.createGradleDependencyReport(), StandardCharsets.UTF_8);
+        yarnLock = generator.createYarnLock();
+        yarnList = generator.createYarnList();
+        pipInspectorOutput = generator.createPipInspectorOutput();
+        rebar3TreeOutput = generator.createRebar3TreeOutput();
+        gemfileLock = generator.createGemfileLock();
+        packageJson = generator.createPackageJson();
+        packageLock = generator.createPackageLock();
+    }
+
+    @TearDown
+    public void deleteInputs() {
+        gradleDependencyReport.delete();
+    }
+
+    @Benchmark
+    public List<MavenParseResult> mavenCodeLocationPackager() {
+        return mavenCodeLocationPackager.extractCodeLocations("/bench/bench-app", mavenTreeOutput, "", "", "");
+    }
+
+    @Benchmark
+    public Optional<DetectCodeLocation> gradleReportParser() {
+        return gradleReportParser.parseDependencies(gradleDependencyReport);
+    }
+
+    @Benchmark
+    public DependencyGraph yarnListParser() {
+        return yarnListParser.parseYarnList(yarnLock, yarnList);
+    }
+
+    @Benchmark
+    public Optional<PipParseResult> pipInspectorTreeParser() {
+        return pipInspectorTreeParser.parse(pipInspectorOutput, "/bench/bench-app");
+    }
+
+    @Benchmark
+    public RebarParseResult rebar3TreeParser() {
+        return rebar3TreeParser.parseRebarTreeOutput(rebar3TreeOutput, "/bench/bench-app");
+    }
+
+    @Benchmark
+    public DependencyGraph gemlockParser() {
+        return gemlockParser.parseProjectDependencies(gemfileLock);
+    }
+
+    @Benchmark
+    public NpmParseResult npmLockfileParser() {
+        return npmLockfileParser.parse("/bench/bench-app", Optional.of(packageJson), packageLock, true);
+    }
+}
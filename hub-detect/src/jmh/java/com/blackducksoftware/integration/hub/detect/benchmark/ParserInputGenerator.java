@@ -0,0 +1,201 @@
+/**
+ * hub-detect
+ *
+ * Copyright (C) 2019 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.blackducksoftware.integration.hub.detect.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * Creates synthetic package manager output in the formats of the files under src/test/resources. Every format describes the same shape
+ * of project: top level packages that each have two transitive dependencies, so the line count grows linearly with the package count.
+ */
+public class ParserInputGenerator {
+    private static final int PACKAGES_PER_GROUP = 3;
+
+    private final int packages;
+
+    public ParserInputGenerator(final int packages) {
+        this.packages = packages;
+    }
+
+    public String createMavenTreeOutput() {
+        final List<String> lines = new ArrayList<>();
+        lines.add("[INFO] Scanning for projects...");
+        lines.add("[INFO] ------------------------------------------------------------------------");
+        lines.add("[INFO] Building bench-app 1.0.0");
+        lines.add("[INFO] ------------------------------------------------------------------------");
+        lines.add("[INFO] ");
+        lines.add("[INFO] --- maven-dependency-plugin:3.0.2:tree (default-cli) @ bench-app ---");
+        lines.add("[INFO] com.bench:bench-app:jar:1.0.0");
+        for (int parent = 0; parent < packages; parent += PACKAGES_PER_GROUP) {
+            final boolean last = parent + PACKAGES_PER_GROUP >= packages;
+            lines.add(String.format("[INFO] %s com.bench:%s:jar:%s:compile", last ? "\\-" : "+-", name(parent), version(parent)));
+            final String indent = last ? "   " : "|  ";
+            lines.add(String.format("[INFO] %s+- com.bench:%s:jar:%s:compile", indent, name(parent + 1), version(parent + 1)));
+            lines.add(String.format("[INFO] %s\\- com.bench:%s:jar:%s:runtime", indent, name(parent + 2), version(parent + 2)));
+        }
+        lines.add("[INFO] ------------------------------------------------------------------------");
+        lines.add("[INFO] BUILD SUCCESS");
+        return String.join(System.lineSeparator(), lines);
+    }
+
+    public List<String> createGradleDependencyReport() {
+        final List<String> lines = new ArrayList<>();
+        lines.add("compile - Dependencies for source set 'main'.");
+        for (int parent = 0; parent < packages; parent += PACKAGES_PER_GROUP) {
+            final boolean last = parent + PACKAGES_PER_GROUP >= packages;
+            lines.add(String.format("%s--- com.bench:%s:%s", last ? "\\" : "+", name(parent), version(parent)));
+            final String indent = last ? "     " : "|    ";
+            lines.add(String.format("%s+--- com.bench:%s:%s", indent, name(parent + 1), version(parent + 1)));
+            lines.add(String.format("%s\\--- com.bench:%s:1.0.0 -> %s", indent, name(parent + 2), version(parent + 2)));
+        }
+        lines.add("");
+        lines.add("DETECT META DATA START");
+        lines.add("projectPath:/bench/bench-app");
+        lines.add("projectGroup:com.bench");
+        lines.add("projectName:bench-app");
+        lines.add("projectVersion:1.0.0");
+        lines.add("DETECT META DATA END");
+        return lines;
+    }
+
+    public List<String> createPipInspectorOutput() {
+        final List<String> lines = new ArrayList<>();
+        lines.add("bench-app==1.0.0");
+        for (int parent = 0; parent < packages; parent += PACKAGES_PER_GROUP) {
+            lines.add(String.format("    %s==%s", name(parent), version(parent)));
+            lines.add(String.format("        %s==%s", name(parent + 1), version(parent + 1)));
+            lines.add(String.format("        %s==%s", name(parent + 2), version(parent + 2)));
+        }
+        return lines;
+    }
+
+    public List<String> createRebar3TreeOutput() {
+        final List<String> lines = new ArrayList<>();
+        lines.add("\u2514\u2500 bench_app\u25001.0.0 (project app)");
+        for (int parent = 0; parent < packages; parent += PACKAGES_PER_GROUP) {
+            final boolean last = parent + PACKAGES_PER_GROUP >= packages;
+            lines.add(String.format("   %s\u2500 %s\u2500%s (hex package)", last ? "\u2514" : "\u251C", name(parent), version(parent)));
+            final String indent = last ? "      " : "   \u2502  ";
+            lines.add(String.format("%s\u251C\u2500 %s\u2500%s (hex package)", indent, name(parent + 1), version(parent + 1)));
+            lines.add(String.format("%s\u2514\u2500 %s\u2500%s (git repo)", indent, name(parent + 2), version(parent + 2)));
+        }
+        return lines;
+    }
+
+    public List<String> createYarnList() {
+        final List<String> lines = new ArrayList<>();
+        lines.add("yarn list v1.12.3");
+        for (int parent = 0; parent < packages; parent += PACKAGES_PER_GROUP) {
+            lines.add(String.format("\u251C\u2500 %s@%s", name(parent), version(parent)));
+            lines.add(String.format("\u2502  \u251C\u2500 %s@^1.0.0", name(parent + 1)));
+            lines.add(String.format("\u2502  \u2514\u2500 %s@^1.0.0", name(parent + 2)));
+        }
+        lines.add("Done in 0.52s.");
+        return lines;
+    }
+
+    public List<String> createYarnLock() {
+        final List<String> lines = new ArrayList<>();
+        lines.add("# THIS IS AN AUTOGENERATED FILE. DO NOT EDIT THIS FILE DIRECTLY.");
+        lines.add("# yarn lockfile v1");
+        for (int i = 0; i < packages; i++) {
+            lines.add("");
+            lines.add(String.format("%s@^1.0.0:", name(i)));
+            lines.add(String.format("  version \"%s\"", version(i)));
+            lines.add(String.format("  resolved \"https://registry.yarnpkg.com/%s/-/%s-%s.tgz\"", name(i), name(i), version(i)));
+            if (i % PACKAGES_PER_GROUP == 0) {
+                lines.add("  dependencies:");
+                lines.add(String.format("    %s \"^1.0.0\"", name(child(i, 1))));
+                lines.add(String.format("    %s \"^1.0.0\"", name(child(i, 2))));
+            }
+        }
+        return lines;
+    }
+
+    public List<String> createGemfileLock() {
+        final List<String> lines = new ArrayList<>();
+        lines.add("GEM");
+        lines.add("  remote: https://rubygems.org/");
+        lines.add("  specs:");
+        for (int i = 0; i < packages; i++) {
+            lines.add(String.format("    %s (%s)", name(i), version(i)));
+            if (i % PACKAGES_PER_GROUP == 0) {
+                lines.add(String.format("      %s (>= 1.0)", name(child(i, 1))));
+                lines.add(String.format("      %s", name(child(i, 2))));
+            }
+        }
+        lines.add("");
+        lines.add("PLATFORMS");
+        lines.add("  ruby");
+        lines.add("");
+        lines.add("DEPENDENCIES");
+        for (int parent = 0; parent < packages; parent += PACKAGES_PER_GROUP) {
+            lines.add(String.format("  %s", name(parent)));
+        }
+        lines.add("");
+        lines.add("BUNDLED WITH");
+        lines.add("   1.16.1");
+        return lines;
+    }
+
+    public String createPackageJson() {
+        final StringBuilder packageJson = new StringBuilder("{\"name\": \"bench-app\", \"version\": \"1.0.0\", \"dependencies\": {");
+        for (int parent = 0; parent < packages; parent += PACKAGES_PER_GROUP) {
+            if (parent > 0) {
+                packageJson.append(',');
+            }
+            packageJson.append(String.format("\"%s\": \"^1.0.0\"", name(parent)));
+        }
+        return packageJson.append("}}").toString();
+    }
+
+    public String createPackageLock() {
+        final StringBuilder packageLock = new StringBuilder("{\"name\": \"bench-app\", \"version\": \"1.0.0\", \"lockfileVersion\": 1, \"requires\": true, \"dependencies\": {");
+        for (int i = 0; i < packages; i++) {
+            if (i > 0) {
+                packageLock.append(',');
+            }
+            packageLock.append(String.format("\"%s\": {\"version\": \"%s\", \"resolved\": \"https://registry.npmjs.org/%s/-/%s-%s.tgz\"", name(i), version(i), name(i), name(i), version(i)));
+            if (i % PACKAGES_PER_GROUP == 0) {
+                packageLock.append(String.format(", \"requires\": {\"%s\": \"^1.0.0\", \"%s\": \"^1.0.0\"}", name(child(i, 1)), name(child(i, 2))));
+            }
+            packageLock.append('}');
+        }
+        return packageLock.append("}}").toString();
+    }
+
+    // Lock file formats list every package once, so the children of the last group wrap around when the package count is not a multiple of three.
+    private int child(final int parent, final int offset) {
+        return (parent + offset) % packages;
+    }
+
+    private String name(final int index) {
+        return "bench-package-" + index;
+    }
+
+    private String version(final int index) {
+        return String.format("1.%d.%d", index / 100, index % 100);
+    }
+}
@@ -122,6 +122,7 @@ import com.blackducksoftware.integration.hub.detect.detector.sbt.SbtResolutionCa
 import com.blackducksoftware.integration.hub.detect.detector.yarn.YarnListParser;
 import com.blackducksoftware.integration.hub.detect.detector.yarn.YarnLockDetector;
 import com.blackducksoftware.integration.hub.detect.detector.yarn.YarnLockExtractor;
+import com.blackducksoftware.integration.hub.detect.detector.yarn.YarnLockGraphBuilder;
 import com.blackducksoftware.integration.hub.detect.detector.yarn.YarnLockParser;
 import com.blackducksoftware.integration.hub.detect.tool.bazel.BazelCodeLocationBuilder;
 import com.blackducksoftware.integration.hub.detect.tool.bazel.BazelDetector;
@@ -197,7 +198,7 @@ public class DetectorBeanConfiguration {
 
     @Bean
     public DependenciesListFileManager clangDependenciesListFileParser() {
-        return new DependenciesListFileManager(executableRunner, clangCompileCommandParser());
+        return new DependenciesListFileManager(executableRunner, clangCompileCommandParser(), executableFinder);
     }
 
     @Bean
@@ -459,7 +460,12 @@ public class DetectorBeanConfiguration {
 
     @Bean
     public YarnLockExtractor yarnLockExtractor() {
-        return new YarnLockExtractor(externalIdFactory, yarnListParser(), executableRunner, detectConfiguration);
+        return new YarnLockExtractor(externalIdFactory, yarnListParser(), yarnLockParser(), yarnLockGraphBuilder(), executableRunner, detectConfiguration, gson);
+    }
+
+    @Bean
+    public YarnLockGraphBuilder yarnLockGraphBuilder() {
+        return new YarnLockGraphBuilder(externalIdFactory, yarnLockParser());
     }
 
     @Bean
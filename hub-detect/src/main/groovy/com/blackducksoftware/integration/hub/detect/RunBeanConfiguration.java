@@ -23,8 +23,11 @@
  */
 package com.blackducksoftware.integration.hub.detect;
 
+import java.util.Arrays;
+
 import javax.xml.parsers.DocumentBuilder;
 
+import org.apache.commons.io.FileUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Lazy;
@@ -45,6 +48,7 @@ import com.blackducksoftware.integration.hub.detect.tool.signaturescanner.Online
 import com.blackducksoftware.integration.hub.detect.util.executable.CacheableExecutableFinder;
 import com.blackducksoftware.integration.hub.detect.util.executable.ExecutableFinder;
 import com.blackducksoftware.integration.hub.detect.util.executable.ExecutableRunner;
+import com.blackducksoftware.integration.hub.detect.workflow.ArtifactCache;
 import com.blackducksoftware.integration.hub.detect.workflow.ArtifactResolver;
 import com.blackducksoftware.integration.hub.detect.workflow.ConnectivityManager;
 import com.blackducksoftware.integration.hub.detect.workflow.DetectRun;
@@ -56,6 +60,7 @@ import com.blackducksoftware.integration.hub.detect.workflow.event.EventSystem;
 import com.blackducksoftware.integration.hub.detect.workflow.file.AirGapManager;
 import com.blackducksoftware.integration.hub.detect.workflow.file.AirGapOptions;
 import com.blackducksoftware.integration.hub.detect.workflow.file.DetectFileFinder;
+import com.blackducksoftware.integration.hub.detect.workflow.file.DirectoryIndex;
 import com.blackducksoftware.integration.hub.detect.workflow.file.DirectoryManager;
 import com.google.gson.Gson;
 import com.synopsys.integration.bdio.BdioTransformer;
@@ -94,9 +99,14 @@ public class RunBeanConfiguration {
         return new ExternalIdFactory();
     }
 
+    @Bean
+    public DirectoryIndex directoryIndex() {
+        return new DirectoryIndex(eventSystem, Arrays.asList(directoryManager.getRunHomeDirectory(), directoryManager.getPermanentDirectory()));
+    }
+
     @Bean
     public DetectFileFinder detectFileFinder() {
-        return new DetectFileFinder();
+        return new DetectFileFinder(directoryIndex());
     }
 
     @Bean
@@ -104,9 +114,15 @@ public class RunBeanConfiguration {
         return new ConnectionManager(detectConfiguration);
     }
 
+    @Bean
+    public ArtifactCache artifactCache() {
+        final long maxSizeMegabytes = detectConfiguration.getLongProperty(DetectProperty.DETECT_ARTIFACT_CACHE_MAX_SIZE, PropertyAuthority.None);
+        return new ArtifactCache(directoryManager.getPermanentDirectory("artifacts"), Math.max(0, maxSizeMegabytes) * FileUtils.ONE_MB);
+    }
+
     @Bean
     public ArtifactResolver artifactResolver() {
-        return new ArtifactResolver(connectionManager(), gson);
+        return new ArtifactResolver(connectionManager(), gson, artifactCache());
     }
 
     @Bean
@@ -136,7 +152,7 @@ public class RunBeanConfiguration {
 
     @Bean
     public ExecutableFinder executableManager() {
-        return new ExecutableFinder(detectFileFinder(), detectInfo);
+        return new ExecutableFinder(detectInfo);
     }
 
     @Bean
@@ -157,7 +173,7 @@ public class RunBeanConfiguration {
 
     @Bean
     public DockerInspectorManager dockerInspectorManager() {
-        return new DockerInspectorManager(directoryManager, airGapManager(), detectFileFinder(), detectConfiguration, artifactResolver());
+        return new DockerInspectorManager(airGapManager(), detectFileFinder(), detectConfiguration, artifactResolver());
     }
 
     @Lazy
@@ -25,17 +25,26 @@ package com.blackducksoftware.integration.hub.detect.configuration;
 
 import java.io.File;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
+
+import com.blackducksoftware.integration.hub.detect.detector.DetectorType;
 import com.blackducksoftware.integration.hub.detect.lifecycle.run.RunOptions;
 import com.blackducksoftware.integration.hub.detect.tool.signaturescanner.BlackDuckSignatureScannerOptions;
+import com.blackducksoftware.integration.hub.detect.util.DetectEnumUtil;
 import com.blackducksoftware.integration.hub.detect.util.EnumUtilExtension;
 import com.blackducksoftware.integration.hub.detect.util.filter.DetectOverrideableFilter;
 import com.blackducksoftware.integration.hub.detect.workflow.DetectToolFilter;
 import com.blackducksoftware.integration.hub.detect.workflow.bdio.BdioOptions;
+import com.blackducksoftware.integration.hub.detect.workflow.extraction.ExtractionOptions;
 import com.blackducksoftware.integration.hub.detect.workflow.file.AirGapOptions;
 import com.blackducksoftware.integration.hub.detect.workflow.file.DirectoryOptions;
+import com.blackducksoftware.integration.hub.detect.workflow.hub.BdioUploadOptions;
 import com.blackducksoftware.integration.hub.detect.workflow.hub.BlackduckReportOptions;
 import com.blackducksoftware.integration.hub.detect.workflow.hub.DetectProjectServiceOptions;
 import com.blackducksoftware.integration.hub.detect.workflow.hub.PolicyCheckOptions;
@@ -72,7 +81,8 @@ public class DetectConfigurationFactory {
         final boolean unmapCodeLocations = detectConfiguration.getBooleanProperty(DetectProperty.DETECT_PROJECT_CODELOCATION_UNMAP, PropertyAuthority.None);
         final String aggregateName = detectConfiguration.getProperty(DetectProperty.DETECT_BOM_AGGREGATE_NAME, PropertyAuthority.None);
         final String preferredTools = detectConfiguration.getProperty(DetectProperty.DETECT_PROJECT_TOOL, PropertyAuthority.None);
-        return new RunOptions(unmapCodeLocations, aggregateName, preferredTools, detectToolFilter);
+        final boolean pipelineScans = detectConfiguration.getBooleanProperty(DetectProperty.DETECT_PIPELINE_SCANS, PropertyAuthority.None);
+        return new RunOptions(unmapCodeLocations, aggregateName, preferredTools, detectToolFilter, pipelineScans);
     }
 
     public DirectoryOptions createDirectoryOptions() {
@@ -100,15 +110,60 @@ public class DetectConfigurationFactory {
         final String excluded = detectConfiguration.getProperty(DetectProperty.DETECT_EXCLUDED_DETECTOR_TYPES, PropertyAuthority.None).toUpperCase();
         final String included = detectConfiguration.getProperty(DetectProperty.DETECT_INCLUDED_DETECTOR_TYPES, PropertyAuthority.None).toUpperCase();
         final DetectOverrideableFilter bomToolFilter = new DetectOverrideableFilter(excluded, included);
-        return new SearchOptions(directory, excludedDirectories, excludedDirectoryPatterns, forceNestedSearch, maxDepth, bomToolFilter);
+        int parallelProcessors = detectConfiguration.getIntegerProperty(DetectProperty.DETECT_DETECTOR_SEARCH_PARALLEL_PROCESSORS, PropertyAuthority.None);
+        if (parallelProcessors == -1) {
+            parallelProcessors = Runtime.getRuntime().availableProcessors();
+        }
+        return new SearchOptions(directory, excludedDirectories, excludedDirectoryPatterns, forceNestedSearch, maxDepth, bomToolFilter, Math.max(1, parallelProcessors));
     }
 
-    public BdioOptions createBdioOptions() {
+    public ExtractionOptions createExtractionOptions() {
+        int parallelProcessors = detectConfiguration.getIntegerProperty(DetectProperty.DETECT_DETECTOR_EXTRACTION_PARALLEL_PROCESSORS, PropertyAuthority.None);
+        if (parallelProcessors == -1) {
+            parallelProcessors = Runtime.getRuntime().availableProcessors();
+        }
+
+        final Map<DetectorType, Integer> detectorTypeLimits = new HashMap<>();
+        final String[] rawTypeLimits = detectConfiguration.getStringArrayProperty(DetectProperty.DETECT_DETECTOR_EXTRACTION_TYPE_LIMITS, PropertyAuthority.None);
+        for (final String rawTypeLimit : rawTypeLimits) {
+            final String rawType = StringUtils.substringBefore(rawTypeLimit, ":").trim().toUpperCase();
+            final String rawLimit = StringUtils.substringAfter(rawTypeLimit, ":").trim();
+            final Optional<DetectorType> detectorType = DetectEnumUtil.getValueOf(DetectorType.class, rawType);
+            if (detectorType.isPresent() && NumberUtils.isDigits(rawLimit)) {
+                detectorTypeLimits.put(detectorType.get(), Math.max(1, Integer.parseInt(rawLimit)));
+            }
+        }
+
+        final boolean incremental = detectConfiguration.getBooleanProperty(DetectProperty.DETECT_DETECTOR_EXTRACTION_INCREMENTAL, PropertyAuthority.None);
+        final boolean compactGraphs = detectConfiguration.getBooleanProperty(DetectProperty.DETECT_DETECTOR_EXTRACTION_COMPACT_GRAPHS, PropertyAuthority.None);
+        final boolean spillToDisk = detectConfiguration.getBooleanProperty(DetectProperty.DETECT_DETECTOR_EXTRACTION_SPILL_TO_DISK, PropertyAuthority.None);
+        final boolean provisionInspectors = detectConfiguration.getBooleanProperty(DetectProperty.DETECT_DETECTOR_INSPECTOR_PROVISIONING, PropertyAuthority.None);
+
+        return new ExtractionOptions(Math.max(1, parallelProcessors), detectorTypeLimits, incremental, compactGraphs, spillToDisk, provisionInspectors);
+    }
+
+    // Black Duck only accepts uncompressed BDIO uploads, so compression applies to offline runs.
+    public BdioOptions createBdioOptions(final boolean online) {
         final String aggregateName = detectConfiguration.getProperty(DetectProperty.DETECT_BOM_AGGREGATE_NAME, PropertyAuthority.None);
-        return new BdioOptions(aggregateName);
+        final boolean compressBdio = !online && detectConfiguration.getBooleanProperty(DetectProperty.DETECT_BDIO_COMPRESS, PropertyAuthority.None);
+        int parallelProcessors = detectConfiguration.getIntegerProperty(DetectProperty.DETECT_BDIO_PARALLEL_PROCESSORS, PropertyAuthority.None);
+        if (parallelProcessors == -1) {
+            parallelProcessors = Runtime.getRuntime().availableProcessors();
+        }
+        return new BdioOptions(aggregateName, compressBdio, Math.max(1, parallelProcessors));
 
     }
 
+    public BdioUploadOptions createBdioUploadOptions() {
+        int parallelProcessors = detectConfiguration.getIntegerProperty(DetectProperty.DETECT_BDIO_UPLOAD_PARALLEL_PROCESSORS, PropertyAuthority.None);
+        if (parallelProcessors == -1) {
+            parallelProcessors = Runtime.getRuntime().availableProcessors();
+        }
+        final int retries = detectConfiguration.getIntegerProperty(DetectProperty.DETECT_BDIO_UPLOAD_RETRIES, PropertyAuthority.None);
+        final long retryDelay = detectConfiguration.getLongProperty(DetectProperty.DETECT_BDIO_UPLOAD_RETRY_DELAY, PropertyAuthority.None);
+        return new BdioUploadOptions(Math.max(1, parallelProcessors), Math.max(0, retries), Math.max(0, retryDelay));
+    }
+
     public ProjectNameVersionOptions createProjectNameVersionOptions(final String sourceDirectoryName) {
         final String overrideProjectName = detectConfiguration.getProperty(DetectProperty.DETECT_PROJECT_NAME, PropertyAuthority.None);
         final String overrideProjectVersionName = detectConfiguration.getProperty(DetectProperty.DETECT_PROJECT_VERSION_NAME, PropertyAuthority.None);
@@ -26,6 +26,7 @@ package com.blackducksoftware.integration.hub.detect.detector;
 import java.io.File;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 import com.blackducksoftware.integration.hub.detect.workflow.extraction.Extraction;
 import com.blackducksoftware.integration.hub.detect.workflow.search.result.DetectorResult;
@@ -51,6 +52,13 @@ public abstract class Detector {
      */
     public abstract DetectorResult extractable() throws DetectorException;
 
+    /*
+     * Detectors that resolve an inspector during extractable return what provisions it, so the inspectors of all applicable detectors can be provisioned concurrently before any of them is prepared.
+     */
+    public Optional<InspectorProvisioner> getInspectorProvisioner() {
+        return Optional.empty();
+    }
+
     /*
      * Perform the extraction and try not to throw an exception. Instead return an extraction built with an exception.
      */
@@ -78,6 +86,19 @@ public abstract class Detector {
         return relevantDiagnosticFiles;
     }
 
+    private final List<File> extractionInputFiles = new ArrayList<>();
+
+    /*
+     * Detectors whose extraction depends only on the contents of a few files (no executables, no network) declare those files during applicable so that an incremental run can reuse a previous extraction.
+     */
+    protected void addExtractionInputFile(final File file) {
+        extractionInputFiles.add(file);
+    }
+
+    public List<File> getExtractionInputFiles() {
+        return extractionInputFiles;
+    }
+
     public boolean isSame(Detector detector) {
         return this.getClass().equals(detector.getClass());
     }
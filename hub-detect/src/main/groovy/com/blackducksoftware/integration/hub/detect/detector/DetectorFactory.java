@@ -65,6 +65,10 @@ public class DetectorFactory implements BeanFactoryAware {
         this.beanFactory = beanFactory;
     }
 
+    public Detector createDetector(final Class<? extends Detector> detectorClass, final DetectorEnvironment environment) {
+        return beanFactory.getBean(detectorClass, environment);
+    }
+
     public BazelDetector createBazelDetector(final DetectorEnvironment environment) {
         return beanFactory.getBean(BazelDetector.class, environment);
     }
@@ -27,6 +27,7 @@ import java.io.File;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
@@ -54,6 +55,8 @@ import com.synopsys.integration.bdio.model.dependency.Dependency;
 import com.synopsys.integration.bdio.model.externalid.ExternalId;
 
 public class ClangExtractor {
+    private static final String DEPENDENCY_FILE_CACHE_DIRECTORY = "clang-dependency-cache";
+
     private final Logger logger = LoggerFactory.getLogger(this.getClass());
     private final Set<File> processedDependencyFiles = new HashSet<>(200);
     private final Set<PackageDetails> processedDependencies = new HashSet<>(40);
@@ -88,30 +91,53 @@ public class ClangExtractor {
             logger.debug(String.format("extract() called; compileCommandsJsonFilePath: %s", jsonCompilationDatabaseFile.getAbsolutePath()));
             final Set<File> unManagedDependencyFiles = ConcurrentHashMap.newKeySet(64);
             final List<CompileCommand> compileCommands = CompileCommandsJsonFile.parseJsonCompilationDatabaseFile(gson, jsonCompilationDatabaseFile);
-            final List<Dependency> bdioComponents = compileCommands.parallelStream()
-                                                        .flatMap(compileCommandToDependencyFilePathsConverter(outputDirectory))
-                                                        .collect(Collectors.toSet()).parallelStream()
-                                                        .filter(StringUtils::isNotBlank)
-                                                        .map(File::new)
-                                                        .filter(fileIsNewPredicate())
-                                                        .flatMap(dependencyFileToLinuxPackagesConverter(rootDir, unManagedDependencyFiles, pkgMgr))
-                                                        .collect(Collectors.toSet()).parallelStream()
+            final DependencyFileCache dependencyFileCache = createDependencyFileCache();
+            final List<DependencyFileDetails> dependencyFiles = compileCommands.parallelStream()
+                                                                   .flatMap(compileCommandToDependencyFilePathsConverter(outputDirectory, dependencyFileCache))
+                                                                   .collect(Collectors.toSet()).parallelStream()
+                                                                   .filter(StringUtils::isNotBlank)
+                                                                   .map(File::new)
+                                                                   .filter(fileIsNewPredicate())
+                                                                   .map(dependencyFile -> new DependencyFileDetails(fileFinder.isFileUnderDir(rootDir, dependencyFile), dependencyFile))
+                                                                   .collect(Collectors.toList());
+            logger.debug(String.format("Querying package manager for the owners of %d dependency files", dependencyFiles.size()));
+            final Set<PackageDetails> linuxPackages = new HashSet<>(pkgMgr.getPackages(rootDir, executableRunner, unManagedDependencyFiles, dependencyFiles));
+            logger.debug(String.format("Found %d packages", linuxPackages.size()));
+            final List<Dependency> bdioComponents = linuxPackages.parallelStream()
                                                         .flatMap(linuxPackageToBdioComponentsConverter(pkgMgr))
                                                         .collect(Collectors.toList());
 
             final DetectCodeLocation detectCodeLocation = codeLocationAssembler.generateCodeLocation(pkgMgr.getDefaultForge(), rootDir, bdioComponents);
-            logSummary(bdioComponents, unManagedDependencyFiles);
+            dependencyFileCache.evict();
+            logSummary(bdioComponents, unManagedDependencyFiles, dependencyFileCache);
             return new Extraction.Builder().success(detectCodeLocation).build();
         } catch (final Exception e) {
             return new Extraction.Builder().exception(e).build();
         }
     }
 
-    private Function<CompileCommand, Stream<String>> compileCommandToDependencyFilePathsConverter(final File workingDir) {
+    private DependencyFileCache createDependencyFileCache() {
+        if (detectConfiguration == null) {
+            return DependencyFileCache.disabled();
+        }
+        final int maxEntries = detectConfiguration.getIntegerProperty(DetectProperty.DETECT_CLANG_DEPENDENCY_CACHE_MAX_ENTRIES, PropertyAuthority.None);
+        if (maxEntries <= 0) {
+            return DependencyFileCache.disabled();
+        }
+        return dependenciesListFileManager.createDependencyFileCache(directoryManager.getPermanentDirectory(DEPENDENCY_FILE_CACHE_DIRECTORY), maxEntries);
+    }
+
+    private Function<CompileCommand, Stream<String>> compileCommandToDependencyFilePathsConverter(final File workingDir, final DependencyFileCache dependencyFileCache) {
         boolean cleanup = detectConfiguration == null ? true : detectConfiguration.getBooleanProperty(DetectProperty.DETECT_CLEANUP, PropertyAuthority.None);
         return (final CompileCommand compileCommand) -> {
+            final Optional<Set<String>> cachedDependencyFilePaths = dependencyFileCache.get(compileCommand);
+            if (cachedDependencyFilePaths.isPresent()) {
+                logger.info(String.format("Using cached dependencies of source file: %s", compileCommand.getFile()));
+                return cachedDependencyFilePaths.get().stream();
+            }
             logger.info(String.format("Analyzing source file: %s", compileCommand.getFile()));
             final Set<String> dependencyFilePaths = dependenciesListFileManager.generateDependencyFilePaths(workingDir, compileCommand, cleanup);
+            dependencyFileCache.put(compileCommand, dependencyFilePaths);
             return dependencyFilePaths.stream();
         };
     }
@@ -131,16 +157,6 @@ public class ClangExtractor {
         };
     }
 
-    private Function<File, Stream<PackageDetails>> dependencyFileToLinuxPackagesConverter(final File sourceDir, final Set<File> unManagedDependencyFiles, final ClangLinuxPackageManager pkgMgr) {
-        return (final File f) -> {
-            logger.trace(String.format("Querying package manager for %s", f.getAbsolutePath()));
-            final DependencyFileDetails dependencyFileWithMetaData = new DependencyFileDetails(fileFinder.isFileUnderDir(sourceDir, f), f);
-            final Set<PackageDetails> linuxPackages = new HashSet<>(pkgMgr.getPackages(sourceDir, executableRunner, unManagedDependencyFiles, dependencyFileWithMetaData));
-            logger.debug(String.format("Found %d packages for %s", linuxPackages.size(), f.getAbsolutePath()));
-            return linuxPackages.stream();
-        };
-    }
-
     private Function<PackageDetails, Stream<Dependency>> linuxPackageToBdioComponentsConverter(final ClangLinuxPackageManager pkgMgr) {
         return (final PackageDetails pkg) -> {
             final List<Dependency> bdioComponents = new ArrayList<>();
@@ -188,8 +204,11 @@ public class ClangExtractor {
         }
     }
 
-    private void logSummary(final List<Dependency> bdioComponents, final Set<File> unManagedDependencyFiles) {
+    private void logSummary(final List<Dependency> bdioComponents, final Set<File> unManagedDependencyFiles, final DependencyFileCache dependencyFileCache) {
         logger.info(String.format("Number of unique component external IDs generated: %d", bdioComponents.size()));
+        if (dependencyFileCache.isEnabled()) {
+            logger.info(String.format("Dependency file cache: %d hits, %d misses, %d evicted", dependencyFileCache.getHits(), dependencyFileCache.getMisses(), dependencyFileCache.getEvictions()));
+        }
         if (logger.isDebugEnabled()) {
             for (final Dependency bdioComponent : bdioComponents) {
                 logger.info(String.format("\tComponent: %s", bdioComponent.externalId));
@@ -25,6 +25,7 @@ package com.blackducksoftware.integration.hub.detect.detector.clang;
 
 import java.io.File;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 
@@ -36,6 +37,10 @@ import com.blackducksoftware.integration.hub.detect.util.executable.ExecutableRu
 import com.synopsys.integration.bdio.model.Forge;
 
 public abstract class ClangLinuxPackageManager {
+    // Bounds on a single ownership query so the command line stays well under ARG_MAX
+    private static final int MAX_FILES_PER_QUERY = 200;
+    private static final int MAX_QUERY_ARGUMENT_LENGTH = 64 * 1024;
+
     private final String pkgMgrName;
     private final String pkgMgrCmdString;
     private final List<Forge> forges;
@@ -72,24 +77,65 @@ public abstract class ClangLinuxPackageManager {
     }
 
     public List<PackageDetails> getPackages(File workingDirectory, final ExecutableRunner executableRunner, final Set<File> unManagedDependencyFiles, final DependencyFileDetails dependencyFile) {
-        final List<PackageDetails> dependencyDetailsList = new ArrayList<>(3);
+        return getPackages(workingDirectory, executableRunner, unManagedDependencyFiles, Collections.singletonList(dependencyFile));
+    }
+
+    /*
+     * Resolves the owning packages of many dependency files at once: the files are passed to the owner query in chunks (one
+     * process per chunk rather than per file) and the combined output is handed to addToPackageList in a single call so that
+     * any follow-up lookups (e.g. package versions) can also be batched.
+     */
+    public List<PackageDetails> getPackages(File workingDirectory, final ExecutableRunner executableRunner, final Set<File> unManagedDependencyFiles, final List<DependencyFileDetails> dependencyFiles) {
+        final List<PackageDetails> dependencyDetailsList = new ArrayList<>(dependencyFiles.size());
+        final StringBuilder queryPackageOutput = new StringBuilder();
+        for (final List<DependencyFileDetails> chunk : chunk(dependencyFiles)) {
+            try {
+                final List<String> getOwnerArgs = new ArrayList<>(pkgMgrGetOwnerCmdArgs);
+                for (final DependencyFileDetails dependencyFile : chunk) {
+                    getOwnerArgs.add(dependencyFile.getFile().getAbsolutePath());
+                }
+                final ExecutableOutput chunkOutput = executableRunner.executeQuietly(workingDirectory, pkgMgrCmdString, getOwnerArgs);
+                logger.debug(String.format("queryPackageOutput: %s", chunkOutput));
+                queryPackageOutput.append(chunkOutput.getStandardOutput());
+                queryPackageOutput.append("\n");
+            } catch (final ExecutableRunnerException e) {
+                logger.error(String.format("Error executing %s: %s", pkgMgrCmdString, e.getMessage()));
+                for (final DependencyFileDetails dependencyFile : chunk) {
+                    if (!dependencyFile.isInBuildDir()) {
+                        logger.debug(String.format("%s is not managed by %s", dependencyFile.getFile().getAbsolutePath(), pkgMgrCmdString));
+                        unManagedDependencyFiles.add(dependencyFile.getFile());
+                    } else {
+                        logger.debug(String.format("%s is not managed by %s, but it's in the source.dir", dependencyFile.getFile().getAbsolutePath(), pkgMgrCmdString));
+                    }
+                }
+            }
+        }
         try {
-            final List<String> fileSpecificGetOwnerArgs = new ArrayList<>(pkgMgrGetOwnerCmdArgs);
-            fileSpecificGetOwnerArgs.add(dependencyFile.getFile().getAbsolutePath());
-            final ExecutableOutput queryPackageOutput = executableRunner.executeQuietly(workingDirectory, pkgMgrCmdString, fileSpecificGetOwnerArgs);
-            logger.debug(String.format("queryPackageOutput: %s", queryPackageOutput));
-            this.addToPackageList(executableRunner, workingDirectory, dependencyDetailsList, queryPackageOutput.getStandardOutput());
-            return dependencyDetailsList;
+            this.addToPackageList(executableRunner, workingDirectory, dependencyDetailsList, queryPackageOutput.toString());
         } catch (final ExecutableRunnerException e) {
             logger.error(String.format("Error executing %s: %s", pkgMgrCmdString, e.getMessage()));
-            if (!dependencyFile.isInBuildDir()) {
-                logger.debug(String.format("%s is not managed by %s", dependencyFile.getFile().getAbsolutePath(), pkgMgrCmdString));
-                unManagedDependencyFiles.add(dependencyFile.getFile());
-            } else {
-                logger.debug(String.format("%s is not managed by %s, but it's in the source.dir", dependencyFile.getFile().getAbsolutePath(), pkgMgrCmdString));
+        }
+        return dependencyDetailsList;
+    }
+
+    private List<List<DependencyFileDetails>> chunk(final List<DependencyFileDetails> dependencyFiles) {
+        final List<List<DependencyFileDetails>> chunks = new ArrayList<>();
+        List<DependencyFileDetails> currentChunk = new ArrayList<>();
+        int currentLength = 0;
+        for (final DependencyFileDetails dependencyFile : dependencyFiles) {
+            final int length = dependencyFile.getFile().getAbsolutePath().length() + 1;
+            if (!currentChunk.isEmpty() && (currentChunk.size() >= MAX_FILES_PER_QUERY || currentLength + length > MAX_QUERY_ARGUMENT_LENGTH)) {
+                chunks.add(currentChunk);
+                currentChunk = new ArrayList<>();
+                currentLength = 0;
             }
-            return dependencyDetailsList;
+            currentChunk.add(dependencyFile);
+            currentLength += length;
+        }
+        if (!currentChunk.isEmpty()) {
+            chunks.add(currentChunk);
         }
+        return chunks;
     }
 
     public abstract Forge getDefaultForge();
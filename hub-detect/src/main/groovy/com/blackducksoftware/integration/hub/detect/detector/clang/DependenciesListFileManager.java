@@ -41,6 +41,7 @@ import org.apache.commons.io.FilenameUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.blackducksoftware.integration.hub.detect.util.executable.ExecutableFinder;
 import com.blackducksoftware.integration.hub.detect.util.executable.ExecutableRunner;
 import com.blackducksoftware.integration.hub.detect.util.executable.ExecutableRunnerException;
 
@@ -53,10 +54,16 @@ public class DependenciesListFileManager {
     private static final Random random = new Random();
     private final ExecutableRunner executableRunner;
     private final ClangCompileCommandParser compileCommandParser;
+    private final ExecutableFinder executableFinder;
 
-    public DependenciesListFileManager(final ExecutableRunner executableRunner, final ClangCompileCommandParser compileCommandParser) {
+    public DependenciesListFileManager(final ExecutableRunner executableRunner, final ClangCompileCommandParser compileCommandParser, final ExecutableFinder executableFinder) {
         this.executableRunner = executableRunner;
         this.compileCommandParser = compileCommandParser;
+        this.executableFinder = executableFinder;
+    }
+
+    public DependencyFileCache createDependencyFileCache(final File cacheDirectory, final int maxEntries) {
+        return new DependencyFileCache(cacheDirectory, maxEntries, compileCommandParser, executableFinder);
     }
 
     public Set<String> generateDependencyFilePaths(final File workingDir, final CompileCommand compileCommand, final boolean cleanup) {
@@ -0,0 +1,205 @@
+/**
+ * hub-detect
+ *
+ * Copyright (C) 2019 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.blackducksoftware.integration.hub.detect.detector.clang;
+
+import java.io.File;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.blackducksoftware.integration.hub.detect.util.executable.ExecutableFinder;
+
+/*
+ * Remembers the dependency files the compiler reported for a compile command across runs. An entry is keyed by the compile
+ * command, the compiler and the size and modification time of the source file, and records the modification time of every
+ * dependency file (relative paths are resolved against the directory of the compile command) so that a changed header (which may pull in new includes) invalidates the entry. A bare compiler name is
+ * resolved on the system path so that installing a different compiler under the same name invalidates its entries.
+ */
+public class DependencyFileCache {
+    private static final String ENTRY_EXTENSION = ".deps";
+    private static final String FIELD_SEPARATOR = "\t";
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+    private final File cacheDirectory;
+    private final int maxEntries;
+    private final ClangCompileCommandParser compileCommandParser;
+    private final ExecutableFinder executableFinder;
+
+    private final AtomicInteger hits = new AtomicInteger();
+    private final AtomicInteger misses = new AtomicInteger();
+    private final AtomicInteger evictions = new AtomicInteger();
+
+    public DependencyFileCache(final File cacheDirectory, final int maxEntries, final ClangCompileCommandParser compileCommandParser, final ExecutableFinder executableFinder) {
+        this.cacheDirectory = cacheDirectory;
+        this.maxEntries = maxEntries;
+        this.compileCommandParser = compileCommandParser;
+        this.executableFinder = executableFinder;
+    }
+
+    public static DependencyFileCache disabled() {
+        return new DependencyFileCache(null, 0, null, null);
+    }
+
+    public boolean isEnabled() {
+        return cacheDirectory != null && maxEntries > 0;
+    }
+
+    public Optional<Set<String>> get(final CompileCommand compileCommand) {
+        if (!isEnabled()) {
+            return Optional.empty();
+        }
+        final File entryFile = getEntryFile(compileCommand);
+        if (entryFile.isFile()) {
+            try {
+                final Set<String> dependencyFilePaths = new HashSet<>();
+                for (final String line : Files.readAllLines(entryFile.toPath(), StandardCharsets.UTF_8)) {
+                    final String[] lastModifiedPath = line.split(FIELD_SEPARATOR, 2);
+                    if (lastModifiedPath.length != 2 || Long.parseLong(lastModifiedPath[0]) != resolve(compileCommand.getDirectory(), lastModifiedPath[1]).lastModified()) {
+                        logger.debug(String.format("Cached dependencies of %s are out of date", compileCommand.getFile()));
+                        misses.incrementAndGet();
+                        return Optional.empty();
+                    }
+                    dependencyFilePaths.add(lastModifiedPath[1]);
+                }
+                entryFile.setLastModified(System.currentTimeMillis());
+                hits.incrementAndGet();
+                return Optional.of(dependencyFilePaths);
+            } catch (final IOException | NumberFormatException e) {
+                logger.debug(String.format("Unable to read cached dependencies of %s: %s", compileCommand.getFile(), e.getMessage()));
+            }
+        }
+        misses.incrementAndGet();
+        return Optional.empty();
+    }
+
+    public void put(final CompileCommand compileCommand, final Set<String> dependencyFilePaths) {
+        if (!isEnabled() || dependencyFilePaths.isEmpty()) {
+            return;
+        }
+        final List<String> lines = new ArrayList<>(dependencyFilePaths.size());
+        for (final String dependencyFilePath : dependencyFilePaths) {
+            if (dependencyFilePath.trim().isEmpty()) {
+                continue;
+            }
+            lines.add(resolve(compileCommand.getDirectory(), dependencyFilePath).lastModified() + FIELD_SEPARATOR + dependencyFilePath);
+        }
+        final File entryFile = getEntryFile(compileCommand);
+        try {
+            cacheDirectory.mkdirs();
+            final File tempFile = File.createTempFile(entryFile.getName(), ".tmp", cacheDirectory);
+            Files.write(tempFile.toPath(), lines, StandardCharsets.UTF_8);
+            Files.move(tempFile.toPath(), entryFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (final IOException e) {
+            logger.debug(String.format("Unable to cache dependencies of %s: %s", compileCommand.getFile(), e.getMessage()));
+        }
+    }
+
+    // Least recently used entries are removed first; a cache hit refreshes the modification time of its entry.
+    public void evict() {
+        if (!isEnabled()) {
+            return;
+        }
+        final File[] entryFiles = cacheDirectory.listFiles((dir, name) -> name.endsWith(ENTRY_EXTENSION));
+        if (entryFiles == null || entryFiles.length <= maxEntries) {
+            return;
+        }
+        Arrays.sort(entryFiles, Comparator.comparingLong(File::lastModified));
+        for (int i = 0; i < entryFiles.length - maxEntries; i++) {
+            if (entryFiles[i].delete()) {
+                evictions.incrementAndGet();
+            }
+        }
+    }
+
+    public int getHits() {
+        return hits.get();
+    }
+
+    public int getMisses() {
+        return misses.get();
+    }
+
+    public int getEvictions() {
+        return evictions.get();
+    }
+
+    private File getEntryFile(final CompileCommand compileCommand) {
+        final StringBuilder key = new StringBuilder();
+        key.append(compileCommand.getDirectory()).append('\0');
+        key.append(compileCommand.getCommand()).append('\0');
+        appendFileState(key, resolve(compileCommand.getDirectory(), compileCommand.getFile()));
+        final String compiler = compileCommandParser.getCompilerCommand(compileCommand.getCommand());
+        key.append(compiler).append('\0');
+        appendFileState(key, resolveCompiler(compileCommand.getDirectory(), compiler));
+        return new File(cacheDirectory, sha256(key.toString()) + ENTRY_EXTENSION);
+    }
+
+    private File resolveCompiler(final String directory, final String compiler) {
+        if (new File(compiler).getParent() == null) {
+            final File executable = executableFinder.getExecutableFromSystemPath(compiler);
+            if (executable != null) {
+                return executable;
+            }
+        }
+        return resolve(directory, compiler);
+    }
+
+    private File resolve(final String directory, final String path) {
+        final File file = new File(path);
+        if (file.isAbsolute() || directory == null) {
+            return file;
+        }
+        return new File(directory, path);
+    }
+
+    private void appendFileState(final StringBuilder key, final File file) {
+        key.append(file.getAbsolutePath()).append('\0');
+        key.append(file.lastModified()).append('\0');
+        key.append(file.length()).append('\0');
+    }
+
+    private String sha256(final String value) {
+        try {
+            final byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            return String.format("%064x", new BigInteger(1, digest));
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -24,9 +24,14 @@
 package com.blackducksoftware.integration.hub.detect.detector.clang;
 
 import java.io.File;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -42,6 +47,7 @@ public class DpkgPackageManager extends ClangLinuxPackageManager {
     private static final String VERSION_OUTPUT_EXPECTED_TEXT = "package management program version";
     private static final String WHO_OWNS_OPTION = "-S";
     private static final String GET_PKG_INFO_OPTION = "-s";
+    private static final int MAX_PACKAGES_PER_QUERY = 200;
     private static final Logger logger = LoggerFactory.getLogger(DpkgPackageManager.class);
 
     public DpkgPackageManager() {
@@ -51,19 +57,34 @@ public class DpkgPackageManager extends ClangLinuxPackageManager {
 
     @Override
     protected void addToPackageList(final ExecutableRunner executableRunner, File workingDirectory, final List<PackageDetails> dependencyDetailsList, final String queryPackageOutput) {
+        final Set<String> packageNameArchs = new LinkedHashSet<>();
         final String[] packageLines = queryPackageOutput.split("\n");
         for (final String packageLine : packageLines) {
             if (!valid(packageLine)) {
                 logger.debug(String.format("Skipping line: %s", packageLine));
                 continue;
             }
-            final String[] queryPackageOutputParts = packageLine.split("\\s+");
-            final String[] packageNameArchParts = queryPackageOutputParts[0].split(":");
+            // a file owned by several packages is reported as "pkg1:arch1, pkg2:arch2: /path"
+            final String owners = packageLine.substring(0, packageLine.lastIndexOf(": "));
+            for (final String owner : owners.split(",\\s*")) {
+                if (owner.contains(":")) {
+                    packageNameArchs.add(owner.trim());
+                }
+            }
+        }
+
+        final Set<String> packageNames = new LinkedHashSet<>();
+        for (final String packageNameArch : packageNameArchs) {
+            packageNames.add(packageNameArch.split(":")[0]);
+        }
+        final Map<String, String> packageVersions = getPackageVersions(executableRunner, workingDirectory, new ArrayList<>(packageNames));
+
+        for (final String packageNameArch : packageNameArchs) {
+            final String[] packageNameArchParts = packageNameArch.split(":");
             final String packageName = packageNameArchParts[0];
             final String packageArch = packageNameArchParts[1];
             logger.debug(String.format("package name: %s; arch: %s", packageName, packageArch));
-            final Optional<String> packageVersion = getPackageVersion(executableRunner, workingDirectory, packageName);
-            final PackageDetails dependencyDetails = new PackageDetails(packageName, packageVersion.orElse(null), packageArch);
+            final PackageDetails dependencyDetails = new PackageDetails(packageName, packageVersions.get(packageName), packageArch);
             dependencyDetailsList.add(dependencyDetails);
         }
     }
@@ -77,31 +98,50 @@ public class DpkgPackageManager extends ClangLinuxPackageManager {
         return packageLine.matches(".+:.+: .+");
     }
 
-    private Optional<String> getPackageVersion(final ExecutableRunner executableRunner, File workingDirectory, final String packageName) {
-        try {
-            final ExecutableOutput packageStatusOutput = executableRunner.executeQuietly(workingDirectory, PKG_MGR_NAME, GET_PKG_INFO_OPTION, packageName);
-            logger.debug(String.format("packageStatusOutput: %s", packageStatusOutput));
-            return getPackageVersionFromStatusOutput(packageName, packageStatusOutput.getStandardOutput());
-        } catch (final ExecutableRunnerException e) {
-            logger.error(String.format("Error executing %s to get package info: %s", PKG_MGR_NAME, e.getMessage()));
+    private Map<String, String> getPackageVersions(final ExecutableRunner executableRunner, File workingDirectory, final List<String> packageNames) {
+        final Map<String, String> packageVersions = new HashMap<>();
+        for (int start = 0; start < packageNames.size(); start += MAX_PACKAGES_PER_QUERY) {
+            final List<String> packageInfoArgs = new ArrayList<>();
+            packageInfoArgs.add(GET_PKG_INFO_OPTION);
+            packageInfoArgs.addAll(packageNames.subList(start, Math.min(packageNames.size(), start + MAX_PACKAGES_PER_QUERY)));
+            try {
+                final ExecutableOutput packageStatusOutput = executableRunner.executeQuietly(workingDirectory, PKG_MGR_NAME, packageInfoArgs);
+                logger.debug(String.format("packageStatusOutput: %s", packageStatusOutput));
+                packageVersions.putAll(getPackageVersionsFromStatusOutput(packageStatusOutput.getStandardOutput()));
+            } catch (final ExecutableRunnerException e) {
+                logger.error(String.format("Error executing %s to get package info: %s", PKG_MGR_NAME, e.getMessage()));
+            }
         }
-        return Optional.empty();
+        return packageVersions;
     }
 
-    private Optional<String> getPackageVersionFromStatusOutput(final String packageName, final String packageStatusOutput) {
-        final String[] packageStatusOutputLines = packageStatusOutput.split("\\n");
-        for (final String packageStatusOutputLine : packageStatusOutputLines) {
-            final String[] packageStatusOutputLineNameValue = packageStatusOutputLine.split(":\\s+");
-            final String label = packageStatusOutputLineNameValue[0];
-            final String value = packageStatusOutputLineNameValue[1];
-            if ("Status".equals(label.trim()) && !value.contains("installed")) {
-                logger.debug(String.format("%s is not installed; Status is: %s", packageName, value));
-                return Optional.empty();
+    // dpkg -s prints one stanza per requested package, separated by blank lines
+    private Map<String, String> getPackageVersionsFromStatusOutput(final String packageStatusOutput) {
+        final Map<String, String> packageVersions = new HashMap<>();
+        for (final String stanza : packageStatusOutput.split("\\n\\s*\\n")) {
+            String packageName = null;
+            Optional<String> packageVersion = Optional.empty();
+            boolean installed = true;
+            for (final String packageStatusOutputLine : stanza.split("\\n")) {
+                final String[] packageStatusOutputLineNameValue = packageStatusOutputLine.split(":\\s+", 2);
+                if (packageStatusOutputLineNameValue.length < 2) {
+                    continue;
+                }
+                final String label = packageStatusOutputLineNameValue[0];
+                final String value = packageStatusOutputLineNameValue[1];
+                if ("Package".equals(label)) {
+                    packageName = value.trim();
+                } else if ("Status".equals(label.trim()) && !value.contains("installed")) {
+                    logger.debug(String.format("%s is not installed; Status is: %s", packageName, value));
+                    installed = false;
+                } else if ("Version".equals(label)) {
+                    packageVersion = Optional.of(value);
+                }
             }
-            if ("Version".equals(label)) {
-                return Optional.of(value);
+            if (packageName != null && installed && packageVersion.isPresent()) {
+                packageVersions.put(packageName, packageVersion.get());
             }
         }
-        return Optional.empty();
+        return packageVersions;
     }
 }
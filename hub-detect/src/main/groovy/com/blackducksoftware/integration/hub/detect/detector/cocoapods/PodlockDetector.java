@@ -36,7 +36,7 @@ import com.blackducksoftware.integration.hub.detect.workflow.search.result.FileN
 import com.blackducksoftware.integration.hub.detect.workflow.search.result.PassedDetectorResult;
 
 public class PodlockDetector extends Detector {
-    private static final String PODFILE_LOCK_FILENAME = "Podfile.lock";
+    public static final String PODFILE_LOCK_FILENAME = "Podfile.lock";
 
     private final DetectFileFinder fileFinder;
     private final PodlockExtractor podlockExtractor;
@@ -56,6 +56,7 @@ public class PodlockDetector extends Detector {
             return new FileNotFoundDetectorResult(PODFILE_LOCK_FILENAME);
         }
 
+        addExtractionInputFile(foundPodlock);
         return new PassedDetectorResult();
     }
 
@@ -56,6 +56,7 @@ public class PackratLockDetector extends Detector {
             return new FileNotFoundDetectorResult(PACKRATLOCK_FILE_NAME);
         }
 
+        addExtractionInputFile(packratlock);
         return new PassedDetectorResult();
     }
 
@@ -34,6 +34,7 @@ import com.blackducksoftware.integration.hub.detect.configuration.DetectConfigur
 import com.blackducksoftware.integration.hub.detect.configuration.DetectProperty;
 import com.blackducksoftware.integration.hub.detect.configuration.PropertyAuthority;
 import com.blackducksoftware.integration.hub.detect.detector.DetectorException;
+import com.blackducksoftware.integration.hub.detect.detector.InspectorProvisioner;
 import com.blackducksoftware.integration.hub.detect.type.ExecutableType;
 import com.blackducksoftware.integration.hub.detect.util.executable.Executable;
 import com.blackducksoftware.integration.hub.detect.util.executable.ExecutableFinder;
@@ -41,7 +42,7 @@ import com.blackducksoftware.integration.hub.detect.util.executable.ExecutableRu
 import com.blackducksoftware.integration.hub.detect.util.executable.ExecutableRunnerException;
 import com.blackducksoftware.integration.hub.detect.workflow.file.DirectoryManager;
 
-public class GoInspectorManager {
+public class GoInspectorManager implements InspectorProvisioner {
     private final Logger logger = LoggerFactory.getLogger(GoInspectorManager.class);
 
     private final DirectoryManager directoryManager;
@@ -51,6 +52,7 @@ public class GoInspectorManager {
 
     private boolean hasResolvedInspector;
     private String resolvedGoDep;
+    private DetectorException resolutionFailure;
 
     public GoInspectorManager(final DirectoryManager directoryManager, final ExecutableFinder executableFinder, final ExecutableRunner executableRunner,
         final DetectConfiguration detectConfiguration) {
@@ -60,16 +62,29 @@ public class GoInspectorManager {
         this.detectConfiguration = detectConfiguration;
     }
 
-    public String evaluate() throws DetectorException {
-        try {
-            if (!hasResolvedInspector) {
+    @Override
+    public String getInspectorName() {
+        return "go dep";
+    }
+
+    @Override
+    public void provisionInspector() throws DetectorException {
+        evaluate();
+    }
+
+    public synchronized String evaluate() throws DetectorException {
+        if (!hasResolvedInspector) {
+            hasResolvedInspector = true;
+            try {
                 resolvedGoDep = install();
+            } catch (final Exception e) {
+                resolutionFailure = new DetectorException(e);
             }
-
-            return resolvedGoDep;
-        } catch (final Exception e) {
-            throw new DetectorException(e);
         }
+        if (resolutionFailure != null) {
+            throw resolutionFailure;
+        }
+        return resolvedGoDep;
     }
 
     public String install() throws ExecutableRunnerException {
@@ -24,12 +24,14 @@
 package com.blackducksoftware.integration.hub.detect.detector.go;
 
 import java.io.File;
+import java.util.Optional;
 
 import com.blackducksoftware.integration.hub.detect.detector.Detector;
 import com.blackducksoftware.integration.hub.detect.detector.DetectorEnvironment;
 import com.blackducksoftware.integration.hub.detect.detector.DetectorException;
 import com.blackducksoftware.integration.hub.detect.detector.DetectorType;
 import com.blackducksoftware.integration.hub.detect.detector.ExtractionId;
+import com.blackducksoftware.integration.hub.detect.detector.InspectorProvisioner;
 import com.blackducksoftware.integration.hub.detect.util.executable.CacheableExecutableFinder;
 import com.blackducksoftware.integration.hub.detect.util.executable.CacheableExecutableFinder.CacheableExecutableType;
 import com.blackducksoftware.integration.hub.detect.workflow.extraction.Extraction;
@@ -85,6 +87,11 @@ public class GoLockDetector extends Detector {
         return new PassedDetectorResult();
     }
 
+    @Override
+    public Optional<InspectorProvisioner> getInspectorProvisioner() {
+        return Optional.of(goInspectorManager);
+    }
+
     @Override
     public Extraction extract(final ExtractionId extractionId) {
         return goDepExtractor.extract(environment.getDirectory(), goExe, goDepInspector);
@@ -24,12 +24,14 @@
 package com.blackducksoftware.integration.hub.detect.detector.gradle;
 
 import java.io.File;
+import java.util.Optional;
 
 import com.blackducksoftware.integration.hub.detect.detector.Detector;
 import com.blackducksoftware.integration.hub.detect.detector.DetectorEnvironment;
 import com.blackducksoftware.integration.hub.detect.detector.DetectorException;
 import com.blackducksoftware.integration.hub.detect.detector.DetectorType;
 import com.blackducksoftware.integration.hub.detect.detector.ExtractionId;
+import com.blackducksoftware.integration.hub.detect.detector.InspectorProvisioner;
 import com.blackducksoftware.integration.hub.detect.workflow.extraction.Extraction;
 import com.blackducksoftware.integration.hub.detect.workflow.file.DetectFileFinder;
 import com.blackducksoftware.integration.hub.detect.workflow.file.DirectoryManager;
@@ -87,6 +89,11 @@ public class GradleInspectorDetector extends Detector {
         return new PassedDetectorResult();
     }
 
+    @Override
+    public Optional<InspectorProvisioner> getInspectorProvisioner() {
+        return Optional.of(gradleInspectorManager);
+    }
+
     @Override
     public Extraction extract(final ExtractionId extractionId) {
         File outputDirectory = directoryManager.getExtractionOutputDirectory(extractionId);
@@ -75,7 +75,9 @@ public class GradleInspectorExtractor {
             arguments.add("--info");
 
             final Executable executable = new Executable(directory, gradleExe, arguments);
-            final ExecutableOutput output = executableRunner.execute(executable);
+            // The dependencies are read from the files the inspector writes, so the console output is only logged.
+            final ExecutableOutput output = executableRunner.executeStreaming(executable, line -> {
+            });
 
             if (output.getReturnCode() == 0) {
                 final File rootProjectMetadataFile = detectFileFinder.findFile(outputDirectory, "rootProjectMetadata.txt");
@@ -35,6 +35,7 @@ import com.blackducksoftware.integration.hub.detect.configuration.DetectConfigur
 import com.blackducksoftware.integration.hub.detect.configuration.DetectProperty;
 import com.blackducksoftware.integration.hub.detect.configuration.PropertyAuthority;
 import com.blackducksoftware.integration.hub.detect.detector.DetectorException;
+import com.blackducksoftware.integration.hub.detect.detector.InspectorProvisioner;
 import com.blackducksoftware.integration.hub.detect.exception.DetectUserFriendlyException;
 import com.blackducksoftware.integration.hub.detect.workflow.ArtifactResolver;
 import com.blackducksoftware.integration.hub.detect.workflow.ArtifactoryConstants;
@@ -44,7 +45,7 @@ import com.synopsys.integration.exception.IntegrationException;
 
 import freemarker.template.Configuration;
 
-public class GradleInspectorManager {
+public class GradleInspectorManager implements InspectorProvisioner {
     private static final String GRADLE_DIR_NAME = "gradle";
     private static final String GENERATED_GRADLE_SCRIPT_NAME = "init-detect.gradle";
 
@@ -57,6 +58,7 @@ public class GradleInspectorManager {
 
     private String generatedGradleScriptPath = null;
     private boolean hasResolvedInspector = false;
+    private DetectorException resolutionFailure = null;
 
     public GradleInspectorManager(final DirectoryManager directoryManager, AirGapManager airGapManager, final Configuration configuration, final DetectConfiguration detectConfiguration,
         final ArtifactResolver artifactResolver) {
@@ -67,41 +69,62 @@ public class GradleInspectorManager {
         this.artifactResolver = artifactResolver;
     }
 
-    public String getGradleInspector() throws DetectorException {
+    @Override
+    public String getInspectorName() {
+        return "gradle";
+    }
+
+    @Override
+    public void provisionInspector() throws DetectorException {
+        getGradleInspector();
+    }
+
+    public synchronized String getGradleInspector() throws DetectorException {
         if (!hasResolvedInspector) {
             hasResolvedInspector = true;
             try {
-                final File airGapPath = deriveGradleAirGapDir();
-                final File generatedGradleScriptFile = directoryManager.getSharedFile(GRADLE_DIR_NAME, GENERATED_GRADLE_SCRIPT_NAME);
-                GradleScriptCreator gradleScriptCreator = new GradleScriptCreator(detectConfiguration, configuration);
-                if (airGapPath == null) {
-                    Optional<String> version = findVersion();
-                    if (version.isPresent()) {
-                        logger.info("Resolved the gradle inspector version: " + version.get());
-                        generatedGradleScriptPath = gradleScriptCreator.generateOnlineScript(generatedGradleScriptFile, version.get());
-                    } else {
-                        throw new DetectorException("Unable to find the gradle inspector version from artifactory.");
-                    }
-                } else {
-                    generatedGradleScriptPath = gradleScriptCreator.generateAirGapScript(generatedGradleScriptFile, airGapPath.getCanonicalPath());
-                }
-            } catch (final Exception e) {
-                throw new DetectorException(e);
-            }
-            if (generatedGradleScriptPath == null) {
-                throw new DetectorException("Unable to initialize the gradle inspector.");
-            } else {
-                logger.trace("Derived generated gradle script path: " + generatedGradleScriptPath);
+                resolveInspector();
+            } catch (final DetectorException e) {
+                resolutionFailure = e;
             }
         } else {
             logger.debug("Already attempted to resolve the gradle inspector script, will not attempt again.");
         }
+        if (resolutionFailure != null) {
+            throw resolutionFailure;
+        }
         if (StringUtils.isBlank(generatedGradleScriptPath)) {
             throw new DetectorException("Unable to find or create the gradle inspector script.");
         }
         return generatedGradleScriptPath;
     }
 
+    private void resolveInspector() throws DetectorException {
+        try {
+            final File airGapPath = deriveGradleAirGapDir();
+            final File generatedGradleScriptFile = directoryManager.getSharedFile(GRADLE_DIR_NAME, GENERATED_GRADLE_SCRIPT_NAME);
+            GradleScriptCreator gradleScriptCreator = new GradleScriptCreator(detectConfiguration, configuration);
+            if (airGapPath == null) {
+                Optional<String> version = findVersion();
+                if (version.isPresent()) {
+                    logger.info("Resolved the gradle inspector version: " + version.get());
+                    generatedGradleScriptPath = gradleScriptCreator.generateOnlineScript(generatedGradleScriptFile, version.get());
+                } else {
+                    throw new DetectorException("Unable to find the gradle inspector version from artifactory.");
+                }
+            } else {
+                generatedGradleScriptPath = gradleScriptCreator.generateAirGapScript(generatedGradleScriptFile, airGapPath.getCanonicalPath());
+            }
+        } catch (final Exception e) {
+            throw new DetectorException(e);
+        }
+        if (generatedGradleScriptPath == null) {
+            throw new DetectorException("Unable to initialize the gradle inspector.");
+        } else {
+            logger.trace("Derived generated gradle script path: " + generatedGradleScriptPath);
+        }
+    }
+
     private File deriveGradleAirGapDir() {
         String gradleInspectorAirGapDirectoryPath = airGapManager.getGradleInspectorAirGapPath();
 
@@ -35,6 +35,7 @@ import org.apache.commons.lang3.StringUtils;
 import com.blackducksoftware.integration.hub.detect.configuration.DetectConfiguration;
 import com.blackducksoftware.integration.hub.detect.configuration.DetectProperty;
 import com.blackducksoftware.integration.hub.detect.configuration.PropertyAuthority;
+import com.blackducksoftware.integration.hub.detect.detector.maven.MavenCodeLocationPackager.MavenOutputParser;
 import com.blackducksoftware.integration.hub.detect.util.executable.Executable;
 import com.blackducksoftware.integration.hub.detect.util.executable.ExecutableOutput;
 import com.blackducksoftware.integration.hub.detect.util.executable.ExecutableRunner;
@@ -68,16 +69,16 @@ public class MavenCliExtractor {
             }
             arguments.add("dependency:tree");
 
+            final String mavenScope = detectConfiguration.getProperty(DetectProperty.DETECT_MAVEN_SCOPE, PropertyAuthority.None);
+            final String excludedModules = detectConfiguration.getProperty(DetectProperty.DETECT_MAVEN_EXCLUDED_MODULES, PropertyAuthority.None);
+            final String includedModules = detectConfiguration.getProperty(DetectProperty.DETECT_MAVEN_INCLUDED_MODULES, PropertyAuthority.None);
+            final MavenOutputParser mavenOutputParser = mavenCodeLocationPackager.createOutputParser(directory.toString(), mavenScope, excludedModules, includedModules);
+
             final Executable mvnExecutable = new Executable(directory, mavenExe, arguments);
-            final ExecutableOutput mvnOutput = executableRunner.execute(mvnExecutable);
+            final ExecutableOutput mvnOutput = executableRunner.executeStreaming(mvnExecutable, mavenOutputParser);
 
             if (mvnOutput.getReturnCode() == 0) {
-
-                final String mavenScope = detectConfiguration.getProperty(DetectProperty.DETECT_MAVEN_SCOPE, PropertyAuthority.None);
-                final String excludedModules = detectConfiguration.getProperty(DetectProperty.DETECT_MAVEN_EXCLUDED_MODULES, PropertyAuthority.None);
-                final String includedModules = detectConfiguration.getProperty(DetectProperty.DETECT_MAVEN_INCLUDED_MODULES, PropertyAuthority.None);
-                final List<MavenParseResult> mavenResults = mavenCodeLocationPackager.extractCodeLocations(directory.toString(), mvnOutput.getStandardOutput(),
-                    mavenScope, excludedModules, includedModules);
+                final List<MavenParseResult> mavenResults = mavenOutputParser.finish();
 
                 final List<DetectCodeLocation> codeLocations = mavenResults.stream()
                                                                    .map(it -> it.codeLocation)
@@ -27,6 +27,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Stack;
+import java.util.function.Consumer;
 import java.util.regex.Pattern;
 
 import org.apache.commons.lang3.StringUtils;
@@ -53,15 +54,6 @@ public class MavenCodeLocationPackager {
     public static final String ORPHAN_LIST_PARENT_NODE_VERSION = "none";
 
     private final ExternalIdFactory externalIdFactory;
-    private List<MavenParseResult> codeLocations = new ArrayList<>();
-    private MavenParseResult currentMavenProject = null;
-    private Stack<Dependency> dependencyParentStack = new Stack<>();
-    // in-scope components found in an out-of-scope tree go in the orphans list
-    private final List<Dependency> orphans = new ArrayList<>();
-    private boolean parsingProjectSection;
-    private int level;
-    private boolean inOutOfScopeTree=false;
-    private MutableDependencyGraph currentGraph = null;
 
     public MavenCodeLocationPackager(final ExternalIdFactory externalIdFactory) {
         this.externalIdFactory = externalIdFactory;
@@ -69,32 +61,58 @@ public class MavenCodeLocationPackager {
 
     // mavenTextOutput should be the full output of mvn dependency:tree (no scope applied); scope filtering is now done by this method
     public List<MavenParseResult> extractCodeLocations(final String sourcePath, final String mavenOutputText, final String targetScope, final String excludedModules, final String includedModules) {
-        final ExcludedIncludedFilter filter = new ExcludedIncludedFilter(excludedModules, includedModules);
-        codeLocations = new ArrayList<>();
-        currentMavenProject = null;
-        dependencyParentStack = new Stack<>();
-        parsingProjectSection = false;
-        currentGraph = new MutableMapDependencyGraph();
-
-        level = 0;
+        final MavenOutputParser parser = createOutputParser(sourcePath, targetScope, excludedModules, includedModules);
         for (final String currentLine : mavenOutputText.split(System.lineSeparator())) {
+            parser.accept(currentLine);
+        }
+        return parser.finish();
+    }
+
+    // The parser accepts the output of mvn dependency:tree one line at a time so it can be fed while maven is still running.
+    public MavenOutputParser createOutputParser(final String sourcePath, final String targetScope, final String excludedModules, final String includedModules) {
+        return new MavenOutputParser(sourcePath, targetScope, new ExcludedIncludedFilter(excludedModules, includedModules));
+    }
+
+    public class MavenOutputParser implements Consumer<String> {
+        private final String sourcePath;
+        private final String targetScope;
+        private final ExcludedIncludedFilter filter;
+
+        private final List<MavenParseResult> codeLocations = new ArrayList<>();
+        private MavenParseResult currentMavenProject = null;
+        private final Stack<Dependency> dependencyParentStack = new Stack<>();
+        // in-scope components found in an out-of-scope tree go in the orphans list
+        private final List<Dependency> orphans = new ArrayList<>();
+        private boolean parsingProjectSection = false;
+        private int level = 0;
+        private boolean inOutOfScopeTree = false;
+        private MutableDependencyGraph currentGraph = new MutableMapDependencyGraph();
+
+        private MavenOutputParser(final String sourcePath, final String targetScope, final ExcludedIncludedFilter filter) {
+            this.sourcePath = sourcePath;
+            this.targetScope = targetScope;
+            this.filter = filter;
+        }
+
+        @Override
+        public void accept(final String currentLine) {
             String line = currentLine.trim();
             if (!isLineRelevant(line)) {
-                continue;
+                return;
             }
             line = trimLogLevel(line);
             if (StringUtils.isBlank(line)) {
-                continue;
+                return;
             }
             if (isProjectSection(line)) {
                 parsingProjectSection = true;
-                continue;
+                return;
             }
             if (!parsingProjectSection) {
-                continue;
+                return;
             }
             if (isDependencyTreeUpdates(line)) {
-                continue;
+                return;
             }
 
             if (parsingProjectSection && currentMavenProject == null) {
@@ -112,7 +130,7 @@ public class MavenCodeLocationPackager {
                     parsingProjectSection = false;
                     level = 0;
                 }
-                continue;
+                return;
             }
 
             final boolean finished = line.contains("--------");
@@ -121,14 +139,15 @@ public class MavenCodeLocationPackager {
                 dependencyParentStack.clear();
                 parsingProjectSection = false;
                 level = 0;
-                continue;
+                return;
             }
 
             final int previousLevel = level;
             final String cleanedLine = calculateCurrentLevelAndCleanLine(line);
+            level = calculateLevel(line, cleanedLine);
             final ScopedDependency dependency = textToDependency(cleanedLine);
             if (null == dependency) {
-                continue;
+                return;
             }
             if (currentMavenProject != null) {
                 if (level == 1) {
@@ -165,9 +184,11 @@ public class MavenCodeLocationPackager {
                 }
             }
         }
-        addOrphansToGraph(currentGraph, orphans);
 
-        return codeLocations;
+        public List<MavenParseResult> finish() {
+            addOrphansToGraph(currentGraph, orphans);
+            return codeLocations;
+        }
     }
 
     private void addOrphansToGraph(final MutableDependencyGraph graph, final List<Dependency> orphans) {
@@ -210,11 +231,9 @@ public class MavenCodeLocationPackager {
     }
 
     String calculateCurrentLevelAndCleanLine(final String line) {
-        level = 0;
         String cleanedLine = line;
         for (final String pattern : indentationStrings) {
             while (cleanedLine.contains(pattern)) {
-                level++;
                 cleanedLine = cleanedLine.replaceFirst(Pattern.quote(pattern), "");
             }
         }
@@ -222,6 +241,11 @@ public class MavenCodeLocationPackager {
         return cleanedLine;
     }
 
+    int calculateLevel(final String line, final String cleanedLine) {
+        // every indentation string removed from the line is one level and they are all the same length
+        return (line.length() - cleanedLine.length()) / indentationStrings.get(0).length();
+    }
+
     private Dependency createOrphanListParentDependency() {
         final ExternalId externalId = externalIdFactory.createMavenExternalId(ORPHAN_LIST_PARENT_NODE_GROUP, ORPHAN_LIST_PARENT_NODE_NAME, ORPHAN_LIST_PARENT_NODE_VERSION);
         return new Dependency(ORPHAN_LIST_PARENT_NODE_NAME, ORPHAN_LIST_PARENT_NODE_VERSION, externalId);
@@ -25,6 +25,7 @@ package com.blackducksoftware.integration.hub.detect.detector.npm;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.Reader;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -39,6 +40,7 @@ import com.blackducksoftware.integration.hub.detect.configuration.PropertyAuthor
 import com.blackducksoftware.integration.hub.detect.detector.ExtractionId;
 import com.blackducksoftware.integration.hub.detect.util.executable.Executable;
 import com.blackducksoftware.integration.hub.detect.util.executable.ExecutableOutput;
+import com.blackducksoftware.integration.hub.detect.util.executable.ExecutableOutputSpool;
 import com.blackducksoftware.integration.hub.detect.util.executable.ExecutableRunner;
 import com.blackducksoftware.integration.hub.detect.workflow.extraction.Extraction;
 
@@ -72,30 +74,30 @@ public class NpmCliExtractor {
         }
 
         final Executable npmLsExe = new Executable(directory, npmExe, exeArgs);
-        ExecutableOutput executableOutput;
-        try {
-            executableOutput = executableRunner.execute(npmLsExe);
-        } catch (final Exception e) {
-            return new Extraction.Builder().exception(e).build();
-        }
-        final String standardOutput = executableOutput.getStandardOutput();
-        final String errorOutput = executableOutput.getErrorOutput();
-        if (StringUtils.isNotBlank(errorOutput)) {
-            logger.error("Error when running npm ls -json command");
-            logger.error(errorOutput);
-            return new Extraction.Builder().failure("Npm wrote to stderr while running npm ls.").build();
-        } else if (StringUtils.isNotBlank(standardOutput)) {
-            logger.debug("Parsing npm ls file.");
-            logger.debug(standardOutput);
+        try (ExecutableOutputSpool standardOutput = new ExecutableOutputSpool()) {
+            final ExecutableOutput executableOutput;
             try {
-                final NpmParseResult result = npmCliParser.generateCodeLocation(directory.getCanonicalPath(), standardOutput);
-                return new Extraction.Builder().success(result.codeLocation).projectName(result.projectName).projectVersion(result.projectVersion).build();
-            } catch (final IOException e) {
+                executableOutput = executableRunner.executeStreaming(npmLsExe, standardOutput);
+            } catch (final Exception e) {
                 return new Extraction.Builder().exception(e).build();
             }
-        } else {
-            logger.error("Nothing returned from npm ls -json command");
-            return new Extraction.Builder().failure("Npm returned error after running npm ls.").build();
+            final String errorOutput = executableOutput.getErrorOutput();
+            if (StringUtils.isNotBlank(errorOutput)) {
+                logger.error("Error when running npm ls -json command");
+                logger.error(errorOutput);
+                return new Extraction.Builder().failure("Npm wrote to stderr while running npm ls.").build();
+            } else if (standardOutput.hasContent()) {
+                logger.debug("Parsing npm ls file.");
+                try (Reader reader = standardOutput.openReader()) {
+                    final NpmParseResult result = npmCliParser.generateCodeLocation(directory.getCanonicalPath(), reader);
+                    return new Extraction.Builder().success(result.codeLocation).projectName(result.projectName).projectVersion(result.projectVersion).build();
+                }
+            } else {
+                logger.error("Nothing returned from npm ls -json command");
+                return new Extraction.Builder().failure("Npm returned error after running npm ls.").build();
+            }
+        } catch (final IOException e) {
+            return new Extraction.Builder().exception(e).build();
         }
     }
 }
@@ -23,6 +23,7 @@
  */
 package com.blackducksoftware.integration.hub.detect.detector.npm;
 
+import java.io.Reader;
 import java.util.Map.Entry;
 import java.util.Set;
 
@@ -67,8 +68,19 @@ public class NpmCliParser {
         return convertNpmJsonFileToCodeLocation(sourcePath, npmLsOutput);
     }
 
+    public NpmParseResult generateCodeLocation(final String sourcePath, final Reader npmLsOutput) {
+        logger.info("Generating results from npm ls -json");
+
+        final JsonObject npmJson = new JsonParser().parse(npmLsOutput).getAsJsonObject();
+        return convertNpmJsonToCodeLocation(sourcePath, npmJson);
+    }
+
     NpmParseResult convertNpmJsonFileToCodeLocation(final String sourcePath, final String npmLsOutput) {
         final JsonObject npmJson = new JsonParser().parse(npmLsOutput).getAsJsonObject();
+        return convertNpmJsonToCodeLocation(sourcePath, npmJson);
+    }
+
+    private NpmParseResult convertNpmJsonToCodeLocation(final String sourcePath, final JsonObject npmJson) {
         final MutableDependencyGraph graph = new MutableMapDependencyGraph();
 
         final JsonElement projectNameElement = npmJson.getAsJsonPrimitive(JSON_NAME);
@@ -23,9 +23,13 @@
  */
 package com.blackducksoftware.integration.hub.detect.detector.npm;
 
+import java.io.BufferedReader;
 import java.io.File;
-import java.io.IOException;
+import java.io.Reader;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
 import java.util.Optional;
 
 import org.apache.commons.io.FileUtils;
@@ -48,17 +52,21 @@ public class NpmLockfileExtractor {
         try {
             final boolean includeDev = detectConfiguration.getBooleanProperty(DetectProperty.DETECT_NPM_INCLUDE_DEV_DEPENDENCIES, PropertyAuthority.None);
 
-            String lockText = FileUtils.readFileToString(lockfile, StandardCharsets.UTF_8);
             Optional<String> packageText = Optional.empty();
             if (packageJson.isPresent()) {
                 packageText = Optional.of(FileUtils.readFileToString(packageJson.get(), StandardCharsets.UTF_8));
             }
 
-            final NpmParseResult result = npmLockfileParser.parse(directory.getCanonicalPath(), packageText, lockText, includeDev);
+            // Lock files of large projects can be tens of megabytes, so they are streamed rather than read into a String.
+            final NpmParseResult result;
+            try (FileChannel lockChannel = FileChannel.open(lockfile.toPath(), StandardOpenOption.READ);
+                Reader lockReader = new BufferedReader(Channels.newReader(lockChannel, StandardCharsets.UTF_8.newDecoder(), -1))) {
+                result = npmLockfileParser.parse(directory.getCanonicalPath(), packageText, lockReader, includeDev);
+            }
 
             return new Extraction.Builder().success(result.codeLocation).projectName(result.projectName).projectVersion(result.projectVersion).build();
 
-        } catch (final IOException e) {
+        } catch (final Exception e) {
             return new Extraction.Builder().exception(e).build();
         }
     }
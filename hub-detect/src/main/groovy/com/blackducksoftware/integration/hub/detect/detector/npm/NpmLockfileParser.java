@@ -23,17 +23,25 @@
  */
 package com.blackducksoftware.integration.hub.detect.detector.npm;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.blackducksoftware.integration.hub.detect.detector.npm.model.NpmDependency;
+import com.blackducksoftware.integration.hub.detect.detector.npm.model.NpmRequires;
 import com.blackducksoftware.integration.hub.detect.detector.npm.model.PackageJson;
-import com.blackducksoftware.integration.hub.detect.detector.npm.model.PackageLock;
 import com.blackducksoftware.integration.hub.detect.workflow.codelocation.DetectCodeLocation;
 import com.blackducksoftware.integration.hub.detect.workflow.codelocation.DetectCodeLocationType;
 import com.google.gson.Gson;
+import com.google.gson.JsonSyntaxException;
 import com.synopsys.integration.bdio.graph.MutableDependencyGraph;
 import com.synopsys.integration.bdio.graph.MutableMapDependencyGraph;
 import com.synopsys.integration.bdio.model.Forge;
@@ -51,9 +59,16 @@ public class NpmLockfileParser {
     }
 
     public NpmParseResult parse(final String sourcePath, final Optional<String> packageJsonText, final String lockFileText, final boolean includeDevDependencies) {
+        try {
+            return parse(sourcePath, packageJsonText, new StringReader(lockFileText), includeDevDependencies);
+        } catch (final IOException e) {
+            throw new JsonSyntaxException(e);
+        }
+    }
+
+    public NpmParseResult parse(final String sourcePath, final Optional<String> packageJsonText, final Reader lockFileReader, final boolean includeDevDependencies) throws IOException {
         final MutableDependencyGraph dependencyGraph = new MutableMapDependencyGraph();
-        logger.info("Parsing lock file text: ");
-        logger.debug(lockFileText);
+        logger.info("Parsing lock file.");
 
         Optional<PackageJson> packageJson = Optional.empty();
         if (packageJsonText.isPresent()) {
@@ -61,23 +76,42 @@ public class NpmLockfileParser {
             packageJson = Optional.of(gson.fromJson(packageJsonText.get(), PackageJson.class));
         }
 
-        final PackageLock packageLock = gson.fromJson(lockFileText, PackageLock.class);
-        logger.debug(lockFileText);
+        final NpmDependency rootDependency = new NpmLockfileReader(externalIdFactory).read(lockFileReader);
 
         logger.info("Processing project.");
-        if (packageLock.dependencies != null) {
-            logger.info(String.format("Found %d dependencies.", packageLock.dependencies.size()));
-            //Convert to our custom format
-            NpmDependencyConverter dependencyConverter = new NpmDependencyConverter(externalIdFactory);
-            NpmDependency rootDependency = dependencyConverter.convertLockFile(packageLock, packageJson);
+        if (!rootDependency.getDependencies().isEmpty()) {
+            logger.info(String.format("Found %d dependencies.", rootDependency.getDependencies().size()));
+            rootDependency.addAllRequires(getRootRequires(rootDependency, packageJson));
             traverse(rootDependency, dependencyGraph, true, includeDevDependencies);
         } else {
             logger.info("Lock file did not have a 'dependencies' section.");
         }
         logger.info("Finished processing.");
-        final ExternalId projectId = externalIdFactory.createNameVersionExternalId(Forge.NPM, packageLock.name, packageLock.version);
+        final ExternalId projectId = externalIdFactory.createNameVersionExternalId(Forge.NPM, rootDependency.getName(), rootDependency.getVersion());
         final DetectCodeLocation codeLocation = new DetectCodeLocation.Builder(DetectCodeLocationType.NPM, sourcePath, projectId, dependencyGraph).build();
-        return new NpmParseResult(packageLock.name, packageLock.version, codeLocation);
+        return new NpmParseResult(rootDependency.getName(), rootDependency.getVersion(), codeLocation);
+    }
+
+    // Without a package.json every top level package of the lock file is treated as a direct dependency.
+    private List<NpmRequires> getRootRequires(final NpmDependency rootDependency, final Optional<PackageJson> packageJson) {
+        if (!packageJson.isPresent()) {
+            return rootDependency.getDependencies().stream()
+                       .map(dependency -> new NpmRequires(dependency.getName(), dependency.getVersion()))
+                       .collect(Collectors.toList());
+        }
+
+        final List<NpmRequires> requires = convertNameVersionMapToRequires(packageJson.get().dependencies);
+        requires.addAll(convertNameVersionMapToRequires(packageJson.get().devDependencies));
+        return requires;
+    }
+
+    private List<NpmRequires> convertNameVersionMapToRequires(final Map<String, String> requires) {
+        if (requires == null) {
+            return new ArrayList<>();
+        }
+        return requires.entrySet().stream()
+                   .map(entry -> new NpmRequires(entry.getKey(), entry.getValue()))
+                   .collect(Collectors.toList());
     }
 
     private void traverse(NpmDependency npmDependency, MutableDependencyGraph dependencyGraph, boolean atRoot, boolean includeDevDependencies) {
@@ -86,9 +120,13 @@ public class NpmLockfileParser {
 
         npmDependency.getRequires().forEach(required -> {
             NpmDependency resolved = lookupDependency(npmDependency, required.getName());
-            logger.debug("Required package: " + required.getName() + " of version: " + required.getFuzzyVersion());
+            if (logger.isDebugEnabled()) {
+                logger.debug("Required package: " + required.getName() + " of version: " + required.getFuzzyVersion());
+            }
             if (resolved != null) {
-                logger.debug("Found package: " + resolved.getName() + "with version: " + resolved.getVersion());
+                if (logger.isDebugEnabled()) {
+                    logger.debug("Found package: " + resolved.getName() + "with version: " + resolved.getVersion());
+                }
                 if (atRoot) {
                     dependencyGraph.addChildToRoot(resolved.getGraphDependency());
                 } else {
@@ -104,17 +142,15 @@ public class NpmLockfileParser {
 
     //returns the first dependency directly under this dependency or under a parent
     private NpmDependency lookupDependency(NpmDependency npmDependency, String name) {
-        for (NpmDependency current : npmDependency.getDependencies()) {
-            if (current.getName().equals(name)) {
-                return current;
+        Optional<NpmDependency> scope = Optional.of(npmDependency);
+        while (scope.isPresent()) {
+            final Optional<NpmDependency> found = scope.get().getDependency(name);
+            if (found.isPresent()) {
+                return found.get();
             }
+            scope = scope.get().getParent();
         }
-
-        if (npmDependency.getParent().isPresent()) {
-            return lookupDependency(npmDependency.getParent().get(), name);
-        } else {
-            return null;
-        }
+        return null;
     }
 
     private boolean shouldInclude(final NpmDependency packageLockDependency, final boolean includeDevDependencies) {
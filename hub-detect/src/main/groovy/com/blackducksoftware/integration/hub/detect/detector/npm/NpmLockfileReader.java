@@ -0,0 +1,173 @@
+/**
+ * hub-detect
+ *
+ * Copyright (C) 2019 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.blackducksoftware.integration.hub.detect.detector.npm;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.blackducksoftware.integration.hub.detect.detector.npm.model.NpmDependency;
+import com.blackducksoftware.integration.hub.detect.detector.npm.model.NpmRequires;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.synopsys.integration.bdio.model.Forge;
+import com.synopsys.integration.bdio.model.dependency.Dependency;
+import com.synopsys.integration.bdio.model.externalid.ExternalId;
+import com.synopsys.integration.bdio.model.externalid.ExternalIdFactory;
+
+/*
+ * Streams a package-lock.json or npm-shrinkwrap.json straight into the NpmDependency tree, without first materializing the
+ * lock file as a String or as a PackageLock object tree. The returned root holds the name and version of the project.
+ */
+public class NpmLockfileReader {
+    private final ExternalIdFactory externalIdFactory;
+
+    public NpmLockfileReader(final ExternalIdFactory externalIdFactory) {
+        this.externalIdFactory = externalIdFactory;
+    }
+
+    public NpmDependency read(final Reader lockFileReader) throws IOException {
+        final JsonReader jsonReader = new JsonReader(lockFileReader);
+        String name = null;
+        String version = null;
+        List<NpmDependency> dependencies = Collections.emptyList();
+
+        jsonReader.beginObject();
+        while (jsonReader.hasNext()) {
+            switch (jsonReader.nextName()) {
+                case "name":
+                    name = nextString(jsonReader);
+                    break;
+                case "version":
+                    version = nextString(jsonReader);
+                    break;
+                case "dependencies":
+                    dependencies = readDependencies(jsonReader);
+                    break;
+                default:
+                    jsonReader.skipValue();
+            }
+        }
+        jsonReader.endObject();
+
+        return createNpmDependency(name, version, false, Collections.emptyList(), dependencies);
+    }
+
+    private List<NpmDependency> readDependencies(final JsonReader jsonReader) throws IOException {
+        if (jsonReader.peek() != JsonToken.BEGIN_OBJECT) {
+            jsonReader.skipValue();
+            return Collections.emptyList();
+        }
+
+        final List<NpmDependency> dependencies = new ArrayList<>();
+        jsonReader.beginObject();
+        while (jsonReader.hasNext()) {
+            final String name = jsonReader.nextName();
+            if (jsonReader.peek() == JsonToken.BEGIN_OBJECT) {
+                dependencies.add(readDependency(name, jsonReader));
+            } else {
+                jsonReader.skipValue();
+            }
+        }
+        jsonReader.endObject();
+        return dependencies;
+    }
+
+    private NpmDependency readDependency(final String name, final JsonReader jsonReader) throws IOException {
+        String version = null;
+        boolean dev = false;
+        List<NpmRequires> requires = Collections.emptyList();
+        List<NpmDependency> dependencies = Collections.emptyList();
+
+        jsonReader.beginObject();
+        while (jsonReader.hasNext()) {
+            switch (jsonReader.nextName()) {
+                case "version":
+                    version = nextString(jsonReader);
+                    break;
+                case "dev":
+                    dev = nextBoolean(jsonReader);
+                    break;
+                case "requires":
+                    requires = readRequires(jsonReader);
+                    break;
+                case "dependencies":
+                    dependencies = readDependencies(jsonReader);
+                    break;
+                default:
+                    jsonReader.skipValue();
+            }
+        }
+        jsonReader.endObject();
+
+        return createNpmDependency(name, version, dev, requires, dependencies);
+    }
+
+    // The top level 'requires' of a lock file is a boolean, only the object form lists required packages.
+    private List<NpmRequires> readRequires(final JsonReader jsonReader) throws IOException {
+        if (jsonReader.peek() != JsonToken.BEGIN_OBJECT) {
+            jsonReader.skipValue();
+            return Collections.emptyList();
+        }
+
+        final List<NpmRequires> requires = new ArrayList<>();
+        jsonReader.beginObject();
+        while (jsonReader.hasNext()) {
+            final String name = jsonReader.nextName();
+            requires.add(new NpmRequires(name, nextString(jsonReader)));
+        }
+        jsonReader.endObject();
+        return requires;
+    }
+
+    private NpmDependency createNpmDependency(final String name, final String version, final boolean dev, final List<NpmRequires> requires, final List<NpmDependency> dependencies) {
+        final ExternalId externalId = externalIdFactory.createNameVersionExternalId(Forge.NPM, name, version);
+        final Dependency graphDependency = new Dependency(name, version, externalId);
+        final NpmDependency npmDependency = new NpmDependency(name, version, dev, graphDependency);
+        npmDependency.addAllRequires(requires);
+        for (final NpmDependency dependency : dependencies) {
+            dependency.setParent(npmDependency);
+            npmDependency.addDependency(dependency);
+        }
+        return npmDependency;
+    }
+
+    private String nextString(final JsonReader jsonReader) throws IOException {
+        if (jsonReader.peek() == JsonToken.NULL) {
+            jsonReader.nextNull();
+            return null;
+        }
+        return jsonReader.nextString();
+    }
+
+    private boolean nextBoolean(final JsonReader jsonReader) throws IOException {
+        if (jsonReader.peek() == JsonToken.BOOLEAN) {
+            return jsonReader.nextBoolean();
+        }
+        jsonReader.skipValue();
+        return false;
+    }
+}
@@ -70,6 +70,8 @@ public class NpmShrinkwrapDetector extends Detector {
             packageJson = Optional.of(foundPackageJson);
         }
 
+        addExtractionInputFile(lockfile);
+        packageJson.ifPresent(this::addExtractionInputFile);
         return new PassedDetectorResult();
     }
 
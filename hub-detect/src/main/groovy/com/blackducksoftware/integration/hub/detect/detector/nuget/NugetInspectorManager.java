@@ -25,7 +25,6 @@ package com.blackducksoftware.integration.hub.detect.detector.nuget;
 
 import java.io.File;
 import java.io.IOException;
-import java.nio.charset.Charset;
 import java.util.Optional;
 
 import org.slf4j.Logger;
@@ -36,13 +35,13 @@ import com.blackducksoftware.integration.hub.detect.configuration.DetectConfigur
 import com.blackducksoftware.integration.hub.detect.configuration.DetectProperty;
 import com.blackducksoftware.integration.hub.detect.configuration.PropertyAuthority;
 import com.blackducksoftware.integration.hub.detect.detector.DetectorException;
+import com.blackducksoftware.integration.hub.detect.detector.InspectorProvisioner;
 import com.blackducksoftware.integration.hub.detect.detector.nuget.inspector.DotNetCoreNugetInspector;
 import com.blackducksoftware.integration.hub.detect.detector.nuget.inspector.ExeNugetInspector;
 import com.blackducksoftware.integration.hub.detect.detector.nuget.inspector.NugetInspector;
 import com.blackducksoftware.integration.hub.detect.exception.DetectUserFriendlyException;
 import com.blackducksoftware.integration.hub.detect.type.ExecutableType;
 import com.blackducksoftware.integration.hub.detect.type.OperatingSystemType;
-import com.blackducksoftware.integration.hub.detect.util.DetectZipUtil;
 import com.blackducksoftware.integration.hub.detect.util.executable.ExecutableFinder;
 import com.blackducksoftware.integration.hub.detect.util.executable.ExecutableRunner;
 import com.blackducksoftware.integration.hub.detect.workflow.ArtifactResolver;
@@ -52,7 +51,7 @@ import com.blackducksoftware.integration.hub.detect.workflow.file.DetectFileFind
 import com.blackducksoftware.integration.hub.detect.workflow.file.DirectoryManager;
 import com.synopsys.integration.exception.IntegrationException;
 
-public class NugetInspectorManager {
+public class NugetInspectorManager implements InspectorProvisioner {
     private final Logger logger = LoggerFactory.getLogger(NugetInspectorManager.class);
 
     private final DirectoryManager directoryManager;
@@ -66,6 +65,7 @@ public class NugetInspectorManager {
 
     private boolean hasResolvedInspector;
     private NugetInspector resolvedNugetInspector;
+    private DetectorException resolutionFailure;
 
     public NugetInspectorManager(final DirectoryManager directoryManager, final ExecutableFinder executableFinder,
         final ExecutableRunner executableRunner, final DetectConfiguration detectConfiguration, final AirGapManager airGapManager, final ArtifactResolver artifactResolver,
@@ -81,17 +81,29 @@ public class NugetInspectorManager {
         this.detectFileFinder = detectFileFinder;
     }
 
-    public NugetInspector findNugetInspector() throws DetectorException {
-        try {
-            if (!hasResolvedInspector) {
-                hasResolvedInspector = true;
+    @Override
+    public String getInspectorName() {
+        return "nuget";
+    }
+
+    @Override
+    public void provisionInspector() throws DetectorException {
+        findNugetInspector();
+    }
+
+    public synchronized NugetInspector findNugetInspector() throws DetectorException {
+        if (!hasResolvedInspector) {
+            hasResolvedInspector = true;
+            try {
                 resolvedNugetInspector = install();
+            } catch (final Exception e) {
+                resolutionFailure = new DetectorException(e);
             }
-
-            return resolvedNugetInspector;
-        } catch (final Exception e) {
-            throw new DetectorException(e);
         }
+        if (resolutionFailure != null) {
+            throw resolutionFailure;
+        }
+        return resolvedNugetInspector;
     }
 
     public NugetInspector install() throws DetectUserFriendlyException, IntegrationException, IOException {
@@ -125,7 +137,6 @@ public class NugetInspectorManager {
 
         } else {
             logger.info("Determining the nuget inspector version.");
-            File nugetDirectory = directoryManager.getPermanentDirectory("nuget");
             //create the artifact
             String nugetInspectorVersion = detectConfiguration.getProperty(DetectProperty.DETECT_NUGET_INSPECTOR_VERSION, PropertyAuthority.None);
             Optional<String> source;
@@ -141,17 +152,8 @@ public class NugetInspectorManager {
             }
             if (source.isPresent()) {
                 logger.debug("Resolved the nuget inspector url: " + source.get());
-                String nupkgName = artifactResolver.parseFileName(source.get());
-                logger.debug("Parsed artifact name: " + nupkgName);
-                File nupkgFile = new File(nugetDirectory, nupkgName);
-                String inspectorFolderName = nupkgName.replace(".nupkg", "");
-                File inspectorFolder = new File(nugetDirectory, inspectorFolderName);
-                if (!inspectorFolder.exists()) {
-                    logger.info("Downloading nuget inspector.");
-                    artifactResolver.downloadArtifact(nupkgFile, source.get());
-                    logger.info("Extracting nuget inspector.");
-                    DetectZipUtil.unzip(nupkgFile, inspectorFolder, Charset.defaultCharset());
-                }
+                logger.info("Finding or downloading and extracting the nuget inspector.");
+                File inspectorFolder = artifactResolver.downloadOrFindExtractedArtifact(source.get());
                 if (inspectorFolder.exists()) {
                     logger.info("Found nuget inspector folder. Looking for inspector.");
                     if (useDotnet) {
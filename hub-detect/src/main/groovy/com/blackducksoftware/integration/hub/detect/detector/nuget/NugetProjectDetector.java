@@ -24,12 +24,14 @@
 package com.blackducksoftware.integration.hub.detect.detector.nuget;
 
 import java.io.File;
+import java.util.Optional;
 
 import com.blackducksoftware.integration.hub.detect.detector.Detector;
 import com.blackducksoftware.integration.hub.detect.detector.DetectorEnvironment;
 import com.blackducksoftware.integration.hub.detect.detector.DetectorException;
 import com.blackducksoftware.integration.hub.detect.detector.DetectorType;
 import com.blackducksoftware.integration.hub.detect.detector.ExtractionId;
+import com.blackducksoftware.integration.hub.detect.detector.InspectorProvisioner;
 import com.blackducksoftware.integration.hub.detect.detector.nuget.inspector.NugetInspector;
 import com.blackducksoftware.integration.hub.detect.workflow.extraction.Extraction;
 import com.blackducksoftware.integration.hub.detect.workflow.file.DetectFileFinder;
@@ -40,7 +42,7 @@ import com.blackducksoftware.integration.hub.detect.workflow.search.result.Inspe
 import com.blackducksoftware.integration.hub.detect.workflow.search.result.PassedDetectorResult;
 
 public class NugetProjectDetector extends Detector {
-    static final String[] SUPPORTED_PROJECT_PATTERNS = new String[] {
+    public static final String[] SUPPORTED_PROJECT_PATTERNS = new String[] {
         // C#
         "*.csproj",
         // F#
@@ -124,6 +126,11 @@ public class NugetProjectDetector extends Detector {
         return new PassedDetectorResult();
     }
 
+    @Override
+    public Optional<InspectorProvisioner> getInspectorProvisioner() {
+        return Optional.of(nugetInspectorManager);
+    }
+
     @Override
     public Extraction extract(final ExtractionId extractionId) {
         final File outputDirectory = directoryManager.getExtractionOutputDirectory(extractionId);
@@ -63,6 +63,8 @@ public class ComposerLockDetector extends Detector {
             return new FileNotFoundDetectorResult(COMPOSER_JSON);
         }
 
+        addExtractionInputFile(composerLock);
+        addExtractionInputFile(composerJson);
         return new PassedDetectorResult();
     }
 
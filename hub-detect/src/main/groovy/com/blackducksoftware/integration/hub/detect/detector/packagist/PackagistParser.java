@@ -25,6 +25,7 @@ package com.blackducksoftware.integration.hub.detect.detector.packagist;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -32,6 +33,7 @@ import org.slf4j.LoggerFactory;
 import com.blackducksoftware.integration.hub.detect.configuration.DetectConfiguration;
 import com.blackducksoftware.integration.hub.detect.configuration.DetectProperty;
 import com.blackducksoftware.integration.hub.detect.configuration.PropertyAuthority;
+import com.blackducksoftware.integration.hub.detect.util.NameVersionIndex;
 import com.blackducksoftware.integration.hub.detect.workflow.codelocation.DetectCodeLocation;
 import com.blackducksoftware.integration.hub.detect.workflow.codelocation.DetectCodeLocationType;
 import com.google.gson.JsonElement;
@@ -65,16 +67,18 @@ public class PackagistParser {
         final JsonObject composerLockObject = new JsonParser().parse(composerLockText).getAsJsonObject();
         final List<PackagistPackage> models = convertJsonToModel(composerLockObject, detectConfiguration.getBooleanProperty(DetectProperty.DETECT_PACKAGIST_INCLUDE_DEV_DEPENDENCIES, PropertyAuthority.None));
         final List<NameVersion> rootPackages = parseDependencies(composerJsonObject, detectConfiguration.getBooleanProperty(DetectProperty.DETECT_PACKAGIST_INCLUDE_DEV_DEPENDENCIES, PropertyAuthority.None));
+        final NameVersionIndex rootPackageIndex = createIndex(rootPackages);
+        final NameVersionIndex packageIndex = createIndex(models.stream().map(PackagistPackage::getNameVersion).collect(Collectors.toList()));
 
         models.forEach(it -> {
             final ExternalId id = externalIdFactory.createNameVersionExternalId(Forge.PACKAGIST, it.getNameVersion().getName(), it.getNameVersion().getVersion());
             final NameDependencyId dependencyId = new NameDependencyId(it.getNameVersion().getName());
             builder.setDependencyInfo(dependencyId, it.getNameVersion().getName(), it.getNameVersion().getVersion(), id);
-            if (isRootPackage(it.getNameVersion(), rootPackages)) {
+            if (rootPackageIndex.contains(it.getNameVersion().getName())) {
                 builder.addChildToRoot(dependencyId);
             }
             it.getDependencies().forEach(child -> {
-                if (existsInPackages(child, models)) {
+                if (packageIndex.contains(child.getName())) {
                     final NameDependencyId childId = new NameDependencyId(child.getName());
                     builder.addChildWithParent(childId, dependencyId);
                 } else {
@@ -113,12 +117,10 @@ public class PackagistParser {
         return new NameVersion(name, version);
     }
 
-    private boolean isRootPackage(final NameVersion nameVersion, final List<NameVersion> rootPackages) {
-        return rootPackages.stream().anyMatch(it -> it.getName().equals(nameVersion.getName()));
-    }
-
-    private boolean existsInPackages(final NameVersion nameVersion, final List<PackagistPackage> models) {
-        return models.stream().anyMatch(it -> it.getNameVersion().getName().equals(nameVersion.getName()));
+    private NameVersionIndex createIndex(final List<NameVersion> nameVersions) {
+        final NameVersionIndex index = new NameVersionIndex();
+        nameVersions.forEach(it -> index.add(it.getName(), it.getVersion()));
+        return index;
     }
 
     private List<PackagistPackage> convertJsonToModel(final JsonObject lockfile, final boolean checkDev) {
@@ -43,6 +43,7 @@ import org.xml.sax.SAXException;
 import com.blackducksoftware.integration.hub.detect.configuration.DetectConfiguration;
 import com.blackducksoftware.integration.hub.detect.configuration.DetectProperty;
 import com.blackducksoftware.integration.hub.detect.configuration.PropertyAuthority;
+import com.blackducksoftware.integration.hub.detect.util.NameVersionIndex;
 import com.blackducksoftware.integration.hub.detect.util.XmlUtil;
 import com.blackducksoftware.integration.hub.detect.util.executable.ExecutableOutput;
 import com.synopsys.integration.bdio.graph.DependencyGraph;
@@ -147,6 +148,7 @@ public class PearParser {
 
     DependencyGraph createPearDependencyGraphFromList(final List<String> dependencyList, final List<String> dependencyNames) {
         final MutableDependencyGraph graph = new MutableMapDependencyGraph();
+        final NameVersionIndex installedPackages = new NameVersionIndex();
 
         if (dependencyList.size() > 3) {
             final List<String> listing = dependencyList.subList(3, dependencyList.size() - 1);
@@ -155,14 +157,17 @@ public class PearParser {
 
                 final String packageName = dependencyInfo[0].trim();
                 final String packageVersion = dependencyInfo[1].trim();
+                installedPackages.add(packageName, packageVersion);
+            });
+        }
 
-                if (dependencyInfo.length > 0 && dependencyNames.contains(packageName)) {
-                    final Dependency child = new Dependency(packageName, packageVersion, externalIdFactory.createNameVersionExternalId(Forge.PEAR, packageName, packageVersion));
+        dependencyNames.forEach(packageName -> {
+            installedPackages.getVersion(packageName).ifPresent(packageVersion -> {
+                final Dependency child = new Dependency(packageName, packageVersion, externalIdFactory.createNameVersionExternalId(Forge.PEAR, packageName, packageVersion));
 
-                    graph.addChildToRoot(child);
-                }
+                graph.addChildToRoot(child);
             });
-        }
+        });
 
         return graph;
     }
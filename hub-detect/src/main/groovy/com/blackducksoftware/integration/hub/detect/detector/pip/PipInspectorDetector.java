@@ -24,6 +24,7 @@
 package com.blackducksoftware.integration.hub.detect.detector.pip;
 
 import java.io.File;
+import java.util.Optional;
 
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
@@ -34,6 +35,7 @@ import com.blackducksoftware.integration.hub.detect.detector.DetectorEnvironment
 import com.blackducksoftware.integration.hub.detect.detector.DetectorException;
 import com.blackducksoftware.integration.hub.detect.detector.DetectorType;
 import com.blackducksoftware.integration.hub.detect.detector.ExtractionId;
+import com.blackducksoftware.integration.hub.detect.detector.InspectorProvisioner;
 import com.blackducksoftware.integration.hub.detect.workflow.extraction.Extraction;
 import com.blackducksoftware.integration.hub.detect.workflow.file.DetectFileFinder;
 import com.blackducksoftware.integration.hub.detect.workflow.search.result.DetectorResult;
@@ -94,7 +96,7 @@ public class PipInspectorDetector extends Detector {
             return new ExecutableNotFoundDetectorResult("pip");
         }
 
-        pipInspector = pipInspectorManager.findPipInspector(environment);
+        pipInspector = pipInspectorManager.findPipInspector();
         if (pipInspector == null) {
             return new InspectorNotFoundDetectorResult("pip");
         }
@@ -102,6 +104,11 @@ public class PipInspectorDetector extends Detector {
         return new PassedDetectorResult();
     }
 
+    @Override
+    public Optional<InspectorProvisioner> getInspectorProvisioner() {
+        return Optional.of(pipInspectorManager);
+    }
+
     @Override
     public Extraction extract(final ExtractionId extractionId) {
         return pipInspectorExtractor.extract(environment.getDirectory(), pythonExe, pipInspector, setupFile, requirementFilePath);
@@ -28,12 +28,14 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import org.apache.commons.lang3.StringUtils;
 
 import com.blackducksoftware.integration.hub.detect.configuration.DetectConfiguration;
 import com.blackducksoftware.integration.hub.detect.configuration.DetectProperty;
 import com.blackducksoftware.integration.hub.detect.configuration.PropertyAuthority;
+import com.blackducksoftware.integration.hub.detect.detector.pip.PipInspectorTreeParser.PipInspectorOutputParser;
 import com.blackducksoftware.integration.hub.detect.util.executable.Executable;
 import com.blackducksoftware.integration.hub.detect.util.executable.ExecutableRunner;
 import com.blackducksoftware.integration.hub.detect.util.executable.ExecutableRunnerException;
@@ -56,8 +58,9 @@ public class PipInspectorExtractor {
             final String projectName = getProjectName(directory, pythonExe, setupFile);
             final Optional<PipParseResult> result;
 
-            final List<String> inspectorOutput = runInspector(directory, pythonExe, pipInspector, projectName, requirementFilePath);
-            result = pipInspectorTreeParser.parse(inspectorOutput, directory.toString());
+            final PipInspectorOutputParser outputParser = pipInspectorTreeParser.createOutputParser(directory.toString());
+            runInspector(directory, pythonExe, pipInspector, projectName, requirementFilePath, outputParser);
+            result = outputParser.finish();
 
             if (!result.isPresent()) {
                 extractionResult = new Extraction.Builder().failure("The Pip Inspector tree parser failed to produce output").build();
@@ -71,7 +74,8 @@ public class PipInspectorExtractor {
         return extractionResult;
     }
 
-    private List<String> runInspector(final File sourceDirectory, final String pythonPath, final File inspectorScript, final String projectName, final String requirementsFilePath) throws ExecutableRunnerException {
+    private void runInspector(final File sourceDirectory, final String pythonPath, final File inspectorScript, final String projectName, final String requirementsFilePath, final Consumer<String> outputConsumer)
+        throws ExecutableRunnerException {
         final List<String> inspectorArguments = new ArrayList<>();
         inspectorArguments.add(inspectorScript.getAbsolutePath());
 
@@ -85,7 +89,7 @@ public class PipInspectorExtractor {
         }
 
         final Executable pipInspector = new Executable(sourceDirectory, pythonPath, inspectorArguments);
-        return executableRunner.execute(pipInspector).getStandardOutputAsList();
+        executableRunner.executeStreaming(pipInspector, outputConsumer);
     }
 
     private String getProjectName(final File directory, final String pythonExe, final File setupFile) throws ExecutableRunnerException {
@@ -30,33 +30,47 @@ import java.nio.charset.StandardCharsets;
 
 import org.apache.commons.io.IOUtils;
 
-import com.blackducksoftware.integration.hub.detect.detector.DetectorEnvironment;
 import com.blackducksoftware.integration.hub.detect.detector.DetectorException;
+import com.blackducksoftware.integration.hub.detect.detector.InspectorProvisioner;
 import com.blackducksoftware.integration.hub.detect.workflow.file.DetectFileUtils;
 import com.blackducksoftware.integration.hub.detect.workflow.file.DirectoryManager;
 
-public class PipInspectorManager {
+public class PipInspectorManager implements InspectorProvisioner {
     public static final String INSPECTOR_NAME = "pip-inspector.py";
 
     private final DirectoryManager directoryManager;
 
     private File resolvedInspector = null;
     private boolean hasResolvedInspector = false;
+    private DetectorException resolutionFailure = null;
 
     public PipInspectorManager(final DirectoryManager directoryManager) {
         this.directoryManager = directoryManager;
     }
 
-    public File findPipInspector(final DetectorEnvironment environment) throws DetectorException {
-        try {
-            if (!hasResolvedInspector) {
-                hasResolvedInspector = true;
+    @Override
+    public String getInspectorName() {
+        return "pip";
+    }
+
+    @Override
+    public void provisionInspector() throws DetectorException {
+        findPipInspector();
+    }
+
+    public synchronized File findPipInspector() throws DetectorException {
+        if (!hasResolvedInspector) {
+            hasResolvedInspector = true;
+            try {
                 resolvedInspector = installInspector();
+            } catch (final Exception e) {
+                resolutionFailure = new DetectorException(e);
             }
-            return resolvedInspector;
-        } catch (final Exception e) {
-            throw new DetectorException(e);
         }
+        if (resolutionFailure != null) {
+            throw resolutionFailure;
+        }
+        return resolvedInspector;
     }
 
     private File installInspector() throws IOException {
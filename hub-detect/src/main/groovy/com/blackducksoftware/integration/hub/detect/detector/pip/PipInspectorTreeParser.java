@@ -25,6 +25,7 @@ package com.blackducksoftware.integration.hub.detect.detector.pip;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
@@ -58,18 +59,33 @@ public class PipInspectorTreeParser {
     }
 
     public Optional<PipParseResult> parse(final List<String> pipInspectorOutputAsList, final String sourcePath) {
-        PipParseResult parseResult = null;
+        final PipInspectorOutputParser parser = createOutputParser(sourcePath);
+        pipInspectorOutputAsList.forEach(parser);
+        return parser.finish();
+    }
+
+    public PipInspectorOutputParser createOutputParser(final String sourcePath) {
+        return new PipInspectorOutputParser(sourcePath);
+    }
 
-        final MutableDependencyGraph graph = new MutableMapDependencyGraph();
-        final DependencyHistory history = new DependencyHistory();
-        Dependency project = null;
+    // Parses the inspector output one line at a time, so the output does not have to be kept while the inspector runs.
+    public class PipInspectorOutputParser implements Consumer<String> {
+        private final String sourcePath;
+        private final MutableDependencyGraph graph = new MutableMapDependencyGraph();
+        private final DependencyHistory history = new DependencyHistory();
+        private Dependency project = null;
 
-        for (final String line : pipInspectorOutputAsList) {
+        private PipInspectorOutputParser(final String sourcePath) {
+            this.sourcePath = sourcePath;
+        }
+
+        @Override
+        public void accept(final String line) {
             final String trimmedLine = StringUtils.trimToEmpty(line);
             if (StringUtils.isEmpty(trimmedLine) || !trimmedLine.contains(SEPARATOR) || trimmedLine.startsWith(UNKNOWN_REQUIREMENTS_PREFIX) || trimmedLine.startsWith(UNPARSEABLE_REQUIREMENTS_PREFIX) || trimmedLine.startsWith(
                 UNKNOWN_PACKAGE_PREFIX)) {
                 parseErrorsFromLine(trimmedLine);
-                continue;
+                return;
             }
 
             final Dependency currentDependency = parseDependencyFromLine(trimmedLine, sourcePath);
@@ -93,12 +109,14 @@ public class PipInspectorTreeParser {
             history.add(currentDependency);
         }
 
-        if (project != null) {
-            final DetectCodeLocation codeLocation = new DetectCodeLocation.Builder(DetectCodeLocationType.PIP, sourcePath, project.externalId, graph).build();
-            parseResult = new PipParseResult(project.name, project.version, codeLocation);
+        public Optional<PipParseResult> finish() {
+            PipParseResult parseResult = null;
+            if (project != null) {
+                final DetectCodeLocation codeLocation = new DetectCodeLocation.Builder(DetectCodeLocationType.PIP, sourcePath, project.externalId, graph).build();
+                parseResult = new PipParseResult(project.name, project.version, codeLocation);
+            }
+            return Optional.ofNullable(parseResult);
         }
-
-        return Optional.ofNullable(parseResult);
     }
 
     private void parseErrorsFromLine(final String trimmedLine) {
@@ -56,6 +56,7 @@ public class GemlockDetector extends Detector {
             return new FileNotFoundDetectorResult(GEMFILE_LOCK_FILENAME);
         }
 
+        addExtractionInputFile(gemlock);
         return new PassedDetectorResult();
     }
 
@@ -28,15 +28,16 @@ import static com.blackducksoftware.integration.hub.detect.detector.rubygems.Gem
 import static com.blackducksoftware.integration.hub.detect.detector.rubygems.GemlockParser.GemfileLockSection.NONE;
 import static com.blackducksoftware.integration.hub.detect.detector.rubygems.GemlockParser.GemfileLockSection.SPECS;
 
-import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.Set;
 
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.blackducksoftware.integration.hub.detect.util.NameVersionIndex;
 import com.synopsys.integration.bdio.graph.DependencyGraph;
 import com.synopsys.integration.bdio.graph.builder.LazyExternalIdDependencyGraphBuilder;
 import com.synopsys.integration.bdio.model.Forge;
@@ -68,16 +69,16 @@ public class GemlockParser {
 
     private GemfileLockSection currentSection = NONE;
 
-    private List<String> encounteredDependencies = new ArrayList<>();
-    private List<String> resolvedDependencies = new ArrayList<>();
+    private Set<String> encounteredDependencies = new LinkedHashSet<>();
+    private NameVersionIndex resolvedDependencies = new NameVersionIndex();
 
     public GemlockParser(final ExternalIdFactory externalIdFactory) {
         this.externalIdFactory = externalIdFactory;
     }
 
     public DependencyGraph parseProjectDependencies(final List<String> gemfileLockLines) {
-        encounteredDependencies = new ArrayList<>();
-        resolvedDependencies = new ArrayList<>();
+        encounteredDependencies = new LinkedHashSet<>();
+        resolvedDependencies = new NameVersionIndex();
         lazyBuilder = new LazyExternalIdDependencyGraphBuilder();
         currentParent = null;
 
@@ -101,8 +102,10 @@ public class GemlockParser {
             }
         }
 
-        List<String> missingDependencies = encounteredDependencies.stream().filter(it -> !resolvedDependencies.contains(it)).collect(Collectors.toList());
-        for (final String missingName : missingDependencies) {
+        for (final String missingName : encounteredDependencies) {
+            if (resolvedDependencies.contains(missingName)) {
+                continue;
+            }
             String missingVersion = "";
             final DependencyId dependencyId = new NameDependencyId(missingName);
             final ExternalId externalId = externalIdFactory.createNameVersionExternalId(Forge.RUBYGEMS, missingName, missingVersion);
@@ -123,8 +126,7 @@ public class GemlockParser {
         final ExternalId externalId = externalIdFactory.createNameVersionExternalId(Forge.RUBYGEMS, id.name, id.version);
         lazyBuilder.setDependencyInfo(id, id.name, id.version, externalId);
 
-        if (!resolvedDependencies.contains(id.name)) { //if this is our first time encountering a dependency of this name, we become the 'version-less'
-            resolvedDependencies.add(id.name);
+        if (resolvedDependencies.add(id.name, id.version)) { //if this is our first time encountering a dependency of this name, we become the 'version-less'
             lazyBuilder.setDependencyInfo(nameOnlyId, id.name, id.version, externalId);
         } else {//otherwise, add us as a child to the version-less
             lazyBuilder.addChildWithParent(id, nameOnlyId);
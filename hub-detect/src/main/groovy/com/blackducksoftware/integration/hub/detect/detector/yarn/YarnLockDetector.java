@@ -24,6 +24,7 @@
 package com.blackducksoftware.integration.hub.detect.detector.yarn;
 
 import java.io.File;
+import java.util.Optional;
 
 import org.apache.commons.lang3.StringUtils;
 
@@ -42,13 +43,14 @@ import com.blackducksoftware.integration.hub.detect.workflow.search.result.FileN
 import com.blackducksoftware.integration.hub.detect.workflow.search.result.PassedDetectorResult;
 
 public class YarnLockDetector extends Detector {
-    private static final String YARN_LOCK_FILENAME = "yarn.lock";
+    public static final String YARN_LOCK_FILENAME = "yarn.lock";
 
     private final DetectFileFinder fileFinder;
     private final CacheableExecutableFinder cacheableExecutableFinder;
     private final YarnLockExtractor yarnLockExtractor;
 
     private File yarnlock;
+    private Optional<File> packageJson = Optional.empty();
     private String yarnExe = "";
 
     public YarnLockDetector(final DetectorEnvironment environment, final DetectFileFinder fileFinder, final CacheableExecutableFinder cacheableExecutableFinder, final YarnLockExtractor yarnLockExtractor) {
@@ -64,12 +66,17 @@ public class YarnLockDetector extends Detector {
         if (yarnlock == null) {
             return new FileNotFoundDetectorResult(YARN_LOCK_FILENAME);
         }
+        packageJson = Optional.ofNullable(fileFinder.findFile(environment.getDirectory(), YarnLockExtractor.PACKAGE_JSON));
 
         return new PassedDetectorResult();
     }
 
     @Override
     public DetectorResult extractable() throws DetectorException {
+        if (!yarnLockExtractor.requiresYarn(packageJson)) {
+            return new PassedDetectorResult();
+        }
+
         final File yarn = cacheableExecutableFinder.getExecutable(CacheableExecutableType.YARN);
         if (yarn != null) {
             yarnExe = yarn.toString();
@@ -84,7 +91,7 @@ public class YarnLockDetector extends Detector {
 
     @Override
     public Extraction extract(final ExtractionId extractionId) {
-        return yarnLockExtractor.extract(environment.getDirectory(), yarnlock, yarnExe);
+        return yarnLockExtractor.extract(environment.getDirectory(), yarnlock, packageJson, yarnExe);
     }
 
 }
@@ -24,22 +24,45 @@
 package com.blackducksoftware.integration.hub.detect.detector.yarn;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import com.blackducksoftware.integration.hub.detect.configuration.DetectConfiguration;
 import com.blackducksoftware.integration.hub.detect.configuration.DetectProperty;
 import com.blackducksoftware.integration.hub.detect.configuration.PropertyAuthority;
+import com.blackducksoftware.integration.hub.detect.detector.yarn.model.YarnLock;
+import com.blackducksoftware.integration.hub.detect.detector.yarn.model.YarnPackageJson;
 import com.blackducksoftware.integration.hub.detect.util.executable.Executable;
 import com.blackducksoftware.integration.hub.detect.util.executable.ExecutableOutput;
 import com.blackducksoftware.integration.hub.detect.util.executable.ExecutableRunner;
 import com.blackducksoftware.integration.hub.detect.workflow.codelocation.DetectCodeLocation;
 import com.blackducksoftware.integration.hub.detect.workflow.codelocation.DetectCodeLocationType;
 import com.blackducksoftware.integration.hub.detect.workflow.extraction.Extraction;
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
 import com.synopsys.integration.bdio.graph.DependencyGraph;
 import com.synopsys.integration.bdio.model.Forge;
 import com.synopsys.integration.bdio.model.externalid.ExternalId;
@@ -48,22 +71,40 @@ import com.synopsys.integration.bdio.model.externalid.ExternalIdFactory;
 public class YarnLockExtractor {
     public static final String OUTPUT_FILE = "detect_yarn_proj_dependencies.txt";
     public static final String ERROR_FILE = "detect_yarn_error.txt";
+    public static final String PACKAGE_JSON = "package.json";
 
+    private final Logger logger = LoggerFactory.getLogger(YarnLockExtractor.class);
     private final ExternalIdFactory externalIdFactory;
     private final YarnListParser yarnListParser;
+    private final YarnLockParser yarnLockParser;
+    private final YarnLockGraphBuilder yarnLockGraphBuilder;
     private final ExecutableRunner executableRunner;
     private final DetectConfiguration detectConfiguration;
+    private final Gson gson;
 
-    public YarnLockExtractor(final ExternalIdFactory externalIdFactory, final YarnListParser yarnListParser, final ExecutableRunner executableRunner, final DetectConfiguration detectConfiguration) {
+    public YarnLockExtractor(final ExternalIdFactory externalIdFactory, final YarnListParser yarnListParser, final YarnLockParser yarnLockParser, final YarnLockGraphBuilder yarnLockGraphBuilder,
+        final ExecutableRunner executableRunner, final DetectConfiguration detectConfiguration, final Gson gson) {
         this.externalIdFactory = externalIdFactory;
         this.yarnListParser = yarnListParser;
+        this.yarnLockParser = yarnLockParser;
+        this.yarnLockGraphBuilder = yarnLockGraphBuilder;
         this.executableRunner = executableRunner;
         this.detectConfiguration = detectConfiguration;
+        this.gson = gson;
+    }
+
+    // Without a package.json the root dependencies are unknown, so 'yarn list' is the only way to build the graph.
+    public boolean requiresYarn(final Optional<File> packageJson) {
+        return !packageJson.isPresent() || detectConfiguration.getBooleanProperty(DetectProperty.DETECT_YARN_USE_LIST, PropertyAuthority.None);
     }
 
-    public Extraction extract(final File directory, final File yarnlock, final String yarnExe) {
+    public Extraction extract(final File directory, final File yarnlock, final Optional<File> packageJson, final String yarnExe) {
         try {
             final List<String> yarnLockText = Files.readAllLines(yarnlock.toPath(), StandardCharsets.UTF_8);
+            if (!requiresYarn(packageJson)) {
+                return extractFromYarnLock(directory, yarnLockText, packageJson.get());
+            }
+
             final List<String> exeArgs = Stream.of("list", "--emoji", "false").collect(Collectors.toCollection(ArrayList::new));
 
             if (detectConfiguration.getBooleanProperty(DetectProperty.DETECT_YARN_PROD_ONLY, PropertyAuthority.None)) {
@@ -89,4 +130,115 @@ public class YarnLockExtractor {
         }
     }
 
+    private Extraction extractFromYarnLock(final File directory, final List<String> yarnLockText, final File packageJsonFile) throws IOException {
+        final YarnLock yarnLock = yarnLockParser.parseYarnLock(yarnLockText);
+        final YarnPackageJson rootPackageJson = readPackageJson(packageJsonFile);
+        final Map<File, YarnPackageJson> workspaces = findWorkspaces(directory, rootPackageJson);
+        final Set<String> workspacePackageNames = workspaces.values().stream()
+                                                      .map(workspace -> workspace.name)
+                                                      .filter(StringUtils::isNotBlank)
+                                                      .collect(Collectors.toSet());
+
+        final List<DetectCodeLocation> codeLocations = new ArrayList<>();
+        codeLocations.add(createCodeLocation(directory, yarnLock, rootPackageJson, workspacePackageNames));
+        for (final Map.Entry<File, YarnPackageJson> workspace : workspaces.entrySet()) {
+            logger.debug(String.format("Found yarn workspace %s", workspace.getKey().getAbsolutePath()));
+            codeLocations.add(createCodeLocation(workspace.getKey(), yarnLock, workspace.getValue(), workspacePackageNames));
+        }
+
+        return new Extraction.Builder().success(codeLocations).build();
+    }
+
+    private DetectCodeLocation createCodeLocation(final File directory, final YarnLock yarnLock, final YarnPackageJson packageJson, final Set<String> workspacePackageNames) throws IOException {
+        final Map<String, String> rootDependencies = new LinkedHashMap<>();
+        putAll(rootDependencies, packageJson.dependencies);
+        putAll(rootDependencies, packageJson.optionalDependencies);
+        if (!detectConfiguration.getBooleanProperty(DetectProperty.DETECT_YARN_PROD_ONLY, PropertyAuthority.None)) {
+            putAll(rootDependencies, packageJson.devDependencies);
+        }
+
+        final DependencyGraph dependencyGraph = yarnLockGraphBuilder.buildDependencyGraph(yarnLock, rootDependencies, workspacePackageNames);
+        final ExternalId externalId = externalIdFactory.createPathExternalId(Forge.NPM, directory.getCanonicalPath());
+        return new DetectCodeLocation.Builder(DetectCodeLocationType.YARN, directory.getCanonicalPath(), externalId, dependencyGraph).build();
+    }
+
+    private void putAll(final Map<String, String> rootDependencies, final Map<String, String> dependencies) {
+        if (dependencies != null) {
+            rootDependencies.putAll(dependencies);
+        }
+    }
+
+    private YarnPackageJson readPackageJson(final File packageJsonFile) throws IOException {
+        try (Reader reader = Files.newBufferedReader(packageJsonFile.toPath(), StandardCharsets.UTF_8)) {
+            final YarnPackageJson packageJson = gson.fromJson(reader, YarnPackageJson.class);
+            return packageJson == null ? new YarnPackageJson() : packageJson;
+        }
+    }
+
+    private Map<File, YarnPackageJson> findWorkspaces(final File directory, final YarnPackageJson rootPackageJson) throws IOException {
+        final Map<File, YarnPackageJson> workspaces = new LinkedHashMap<>();
+        for (final String pattern : getWorkspacePatterns(rootPackageJson)) {
+            final PathMatcher pathMatcher = FileSystems.getDefault().getPathMatcher("glob:" + pattern);
+            final int maxDepth = pattern.contains("**") ? Integer.MAX_VALUE : pattern.split("/").length;
+            final Path root = directory.toPath();
+            Files.walkFileTree(root, EnumSet.noneOf(FileVisitOption.class), maxDepth, new SimpleFileVisitor<Path>() {
+                @Override
+                public FileVisitResult preVisitDirectory(final Path dir, final BasicFileAttributes attrs) {
+                    if ("node_modules".equals(dir.getFileName().toString())) {
+                        return FileVisitResult.SKIP_SUBTREE;
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFile(final Path file, final BasicFileAttributes attrs) {
+                    // Directories at the maximum depth are visited as files.
+                    if (attrs.isDirectory()) {
+                        addWorkspace(file);
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult postVisitDirectory(final Path dir, final IOException exc) {
+                    addWorkspace(dir);
+                    return FileVisitResult.CONTINUE;
+                }
+
+                private void addWorkspace(final Path dir) {
+                    final File workspacePackageJson = new File(dir.toFile(), PACKAGE_JSON);
+                    if (dir.equals(root) || !pathMatcher.matches(root.relativize(dir)) || !workspacePackageJson.isFile() || workspaces.containsKey(dir.toFile())) {
+                        return;
+                    }
+                    try {
+                        workspaces.put(dir.toFile(), readPackageJson(workspacePackageJson));
+                    } catch (final Exception e) {
+                        logger.warn(String.format("Could not read the yarn workspace %s: %s", workspacePackageJson.getAbsolutePath(), e.getMessage()));
+                    }
+                }
+            });
+        }
+        return workspaces;
+    }
+
+    private List<String> getWorkspacePatterns(final YarnPackageJson packageJson) {
+        JsonElement workspaces = packageJson.workspaces;
+        if (workspaces != null && workspaces.isJsonObject()) {
+            workspaces = workspaces.getAsJsonObject().get("packages");
+        }
+        if (workspaces == null || !workspaces.isJsonArray()) {
+            return Collections.emptyList();
+        }
+
+        final List<String> patterns = new ArrayList<>();
+        for (final JsonElement workspace : workspaces.getAsJsonArray()) {
+            String pattern = workspace.getAsString();
+            if (pattern.startsWith("./")) {
+                pattern = pattern.substring(2);
+            }
+            patterns.add(StringUtils.removeEnd(pattern, "/"));
+        }
+        return patterns;
+    }
+
 }
@@ -0,0 +1,110 @@
+/**
+ * hub-detect
+ *
+ * Copyright (C) 2019 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.blackducksoftware.integration.hub.detect.detector.yarn;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.blackducksoftware.integration.hub.detect.detector.yarn.model.YarnLock;
+import com.blackducksoftware.integration.hub.detect.detector.yarn.model.YarnLockEntry;
+import com.synopsys.integration.bdio.graph.DependencyGraph;
+import com.synopsys.integration.bdio.graph.MutableDependencyGraph;
+import com.synopsys.integration.bdio.graph.MutableMapDependencyGraph;
+import com.synopsys.integration.bdio.model.Forge;
+import com.synopsys.integration.bdio.model.dependency.Dependency;
+import com.synopsys.integration.bdio.model.externalid.ExternalId;
+import com.synopsys.integration.bdio.model.externalid.ExternalIdFactory;
+
+public class YarnLockGraphBuilder {
+    private final Logger logger = LoggerFactory.getLogger(YarnLockGraphBuilder.class);
+    private final ExternalIdFactory externalIdFactory;
+    private final YarnLockParser yarnLockParser;
+
+    public YarnLockGraphBuilder(final ExternalIdFactory externalIdFactory, final YarnLockParser yarnLockParser) {
+        this.externalIdFactory = externalIdFactory;
+        this.yarnLockParser = yarnLockParser;
+    }
+
+    /*
+     * Root dependencies map a package name to the range requested in package.json. Packages named in workspacePackageNames are
+     * reported as their own code locations, so they are left out of the graph.
+     */
+    public DependencyGraph buildDependencyGraph(final YarnLock yarnLock, final Map<String, String> rootDependencies, final Set<String> workspacePackageNames) {
+        final MutableDependencyGraph graph = new MutableMapDependencyGraph();
+        final Map<YarnLockEntry, Dependency> dependencies = new HashMap<>();
+        final Deque<YarnLockEntry> toVisit = new ArrayDeque<>();
+
+        for (final Map.Entry<String, String> rootDependency : rootDependencies.entrySet()) {
+            final String name = rootDependency.getKey();
+            if (workspacePackageNames.contains(name)) {
+                continue;
+            }
+            final String fuzzyId = name + "@" + rootDependency.getValue();
+            resolve(yarnLock, fuzzyId, dependencies, toVisit).ifPresent(graph::addChildToRoot);
+        }
+
+        while (!toVisit.isEmpty()) {
+            final YarnLockEntry entry = toVisit.remove();
+            final Dependency parent = dependencies.get(entry);
+            for (final String fuzzyId : entry.getDependencyFuzzyIds()) {
+                final String name = yarnLockParser.getNameFromFuzzyId(fuzzyId);
+                if (workspacePackageNames.contains(name)) {
+                    continue;
+                }
+                resolve(yarnLock, fuzzyId, dependencies, toVisit).ifPresent(child -> graph.addChildWithParent(child, parent));
+            }
+        }
+
+        return graph;
+    }
+
+    // A dependency missing from the yarn.lock has only a range, not a version, so it is left out of the graph.
+    private Optional<Dependency> resolve(final YarnLock yarnLock, final String fuzzyId, final Map<YarnLockEntry, Dependency> dependencies, final Deque<YarnLockEntry> toVisit) {
+        final Optional<YarnLockEntry> entry = yarnLock.getEntry(fuzzyId);
+        if (!entry.isPresent()) {
+            logger.debug(String.format("Could not find '%s' in the yarn.lock, it will not be included in the graph.", fuzzyId));
+            return Optional.empty();
+        }
+
+        Dependency dependency = dependencies.get(entry.get());
+        if (dependency == null) {
+            dependency = createDependency(entry.get().getName(), entry.get().getVersion());
+            dependencies.put(entry.get(), dependency);
+            toVisit.add(entry.get());
+        }
+        return Optional.of(dependency);
+    }
+
+    private Dependency createDependency(final String name, final String version) {
+        final ExternalId externalId = externalIdFactory.createNameVersionExternalId(Forge.NPM, name, version);
+        return new Dependency(name, version, externalId);
+    }
+}
@@ -32,10 +32,99 @@ import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.StringUtils;
 
+import com.blackducksoftware.integration.hub.detect.detector.yarn.model.YarnLock;
+import com.blackducksoftware.integration.hub.detect.detector.yarn.model.YarnLockEntry;
+
 public class YarnLockParser extends BaseYarnParser {
     public static final String COMMENT_PREFIX = "#";
     public static final String VERSION_PREFIX = "version \"";
     public static final String VERSION_SUFFIX = "\"";
+    public static final String DEPENDENCIES_HEADER = "dependencies:";
+    public static final String OPTIONAL_DEPENDENCIES_HEADER = "optionalDependencies:";
+
+    // A single pass over a v1 yarn.lock that records the resolved version and the dependencies of every entry, keyed the same way as getYarnLockResolvedVersionMap.
+    public YarnLock parseYarnLock(final List<String> yarnLockFileAsList) {
+        final YarnLock yarnLock = new YarnLock();
+        YarnLockEntry entry = null;
+        boolean inDependencies = false;
+
+        for (final String line : yarnLockFileAsList) {
+            final int level = getLineLevel(line);
+            final int start = level * 2;
+            if (start >= line.length() || line.startsWith(COMMENT_PREFIX, start)) {
+                continue;
+            }
+
+            if (level == 0) {
+                entry = null;
+                for (final String fuzzyId : getFuzzyIdsFromLine(line)) {
+                    if (entry == null) {
+                        entry = new YarnLockEntry(getNameFromFuzzyId(fuzzyId));
+                    }
+                    yarnLock.addEntry(fuzzyId, entry);
+                }
+                inDependencies = false;
+            } else if (entry == null) {
+                continue;
+            } else if (level == 1) {
+                inDependencies = line.startsWith(DEPENDENCIES_HEADER, start) || line.startsWith(OPTIONAL_DEPENDENCIES_HEADER, start);
+                if (line.startsWith(VERSION_PREFIX, start)) {
+                    final int end = line.lastIndexOf(VERSION_SUFFIX);
+                    entry.setVersion(line.substring(start + VERSION_PREFIX.length(), Math.max(end, start + VERSION_PREFIX.length())));
+                }
+            } else if (level == 2 && inDependencies) {
+                final String dependencyFuzzyId = getFuzzyIdFromDependencyLine(line, start);
+                if (dependencyFuzzyId != null) {
+                    entry.addDependencyFuzzyId(dependencyFuzzyId);
+                }
+            }
+        }
+
+        return yarnLock;
+    }
+
+    public String getNameFromFuzzyId(final String fuzzyId) {
+        final int versionSeparator = fuzzyId.indexOf('@', 1);
+        if (versionSeparator < 0) {
+            return fuzzyId;
+        }
+        return fuzzyId.substring(0, versionSeparator);
+    }
+
+    // Dependency lines look like: '    name "range"' or '    "@scope/name" "range"'.
+    private String getFuzzyIdFromDependencyLine(final String line, final int start) {
+        final int separator;
+        if (line.charAt(start) == '"') {
+            final int closingQuote = line.indexOf('"', start + 1);
+            separator = closingQuote < 0 ? -1 : closingQuote + 1;
+        } else {
+            separator = line.indexOf(' ', start);
+        }
+        if (separator < 0 || separator >= line.length()) {
+            return null;
+        }
+
+        final StringBuilder fuzzyId = new StringBuilder(line.length() - start);
+        appendUnquoted(fuzzyId, line, start, separator);
+        fuzzyId.append('@');
+        appendUnquoted(fuzzyId, line, separator + 1, line.length());
+        return fuzzyId.toString();
+    }
+
+    // Matches the cleaning done to the fuzzy ids of an entry so dependency ids can be looked up directly.
+    private void appendUnquoted(final StringBuilder builder, final String line, final int start, final int end) {
+        for (int i = start; i < end; i++) {
+            final char c = line.charAt(i);
+            if (c != '"' && c != ':') {
+                builder.append(c);
+            }
+        }
+        int length = builder.length();
+        while (length > 0 && builder.charAt(length - 1) == ' ') {
+            length--;
+        }
+        builder.setLength(length);
+    }
 
     public Map<String, String> getYarnLockResolvedVersionMap(final List<String> yarnLockFileAsList) {
         final Map<String, String> yarnLockResolvedVersions = new HashMap<>();
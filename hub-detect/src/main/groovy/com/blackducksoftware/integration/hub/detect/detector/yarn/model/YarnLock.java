@@ -0,0 +1,40 @@
+/**
+ * hub-detect
+ *
+ * Copyright (C) 2019 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.blackducksoftware.integration.hub.detect.detector.yarn.model;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+public class YarnLock {
+    private final Map<String, YarnLockEntry> entriesByFuzzyId = new HashMap<>();
+
+    public void addEntry(final String fuzzyId, final YarnLockEntry entry) {
+        entriesByFuzzyId.put(fuzzyId, entry);
+    }
+
+    public Optional<YarnLockEntry> getEntry(final String fuzzyId) {
+        return Optional.ofNullable(entriesByFuzzyId.get(fuzzyId));
+    }
+}
@@ -0,0 +1,57 @@
+/**
+ * hub-detect
+ *
+ * Copyright (C) 2019 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.blackducksoftware.integration.hub.detect.detector.yarn.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class YarnLockEntry {
+    private final String name;
+    private String version;
+    private final List<String> dependencyFuzzyIds = new ArrayList<>();
+
+    public YarnLockEntry(final String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getVersion() {
+        return version;
+    }
+
+    public void setVersion(final String version) {
+        this.version = version;
+    }
+
+    public List<String> getDependencyFuzzyIds() {
+        return dependencyFuzzyIds;
+    }
+
+    public void addDependencyFuzzyId(final String fuzzyId) {
+        dependencyFuzzyIds.add(fuzzyId);
+    }
+}
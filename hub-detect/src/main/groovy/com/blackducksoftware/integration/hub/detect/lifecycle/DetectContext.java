@@ -68,6 +68,10 @@ public class DetectContext {
         this.lock = true;
     }
 
+    public void close() {
+        springContext.close(); //releases the beans of this run, a daemon runs many detect contexts in one JVM.
+    }
+
     private void checkLock() {
         if (this.lock) {
             throw new RuntimeException("Cannot change detect context, it has been finalized!");
@@ -24,6 +24,7 @@
 package com.blackducksoftware.integration.hub.detect.lifecycle.boot;
 
 import java.util.List;
+import java.util.Optional;
 
 import javax.xml.parsers.DocumentBuilder;
 
@@ -153,21 +154,21 @@ public class BootManager {
             logger.info("Detect is in online mode.");
             //check my connectivity
             ConnectivityChecker connectivityChecker = new ConnectivityChecker();
-            ConnectivityResult connectivityResult = connectivityChecker.determineConnectivity(detectConfiguration, detectOptionManager, detectInfo, gson, objectMapper, eventSystem);
-
-            if (connectivityResult.isSuccessfullyConnected()) {
-                logger.info("Detect is capable of communicating with server.");
-                connectivityManager = ConnectivityManager.online(connectivityResult.getBlackDuckServicesFactory(), connectivityResult.getPhoneHomeManager(), connectivityResult.getBlackDuckServerConfig());
+            boolean disableWithoutBlackDuck = detectConfiguration.getBooleanProperty(DetectProperty.DETECT_DISABLE_WITHOUT_BLACKDUCK, PropertyAuthority.None);
+            boolean testConnection = detectConfiguration.getBooleanProperty(DetectProperty.DETECT_TEST_CONNECTION, PropertyAuthority.None);
+            if (detectConfiguration.getBooleanProperty(DetectProperty.DETECT_BLACKDUCK_CONNECTIVITY_BACKGROUND, PropertyAuthority.None) && !testConnection) {
+                logger.info("Detect will check its connection to Black Duck while it runs.");
+                connectivityManager = ConnectivityManager.background(() -> {
+                    ConnectivityResult connectivityResult = connectivityChecker.determineConnectivity(detectConfiguration, detectOptionManager, detectInfo, gson, objectMapper, eventSystem);
+                    return connectivityChecker.createConnectivityManager(connectivityResult, disableWithoutBlackDuck);
+                });
             } else {
-                logger.info("Detect is NOT capable of communicating with server.");
-                logger.info("Please double check the Detect documentation: https://synopsys.atlassian.net/wiki/spaces/INTDOCS/pages/622633/Hub+Detect");
-                if (detectConfiguration.getBooleanProperty(DetectProperty.DETECT_DISABLE_WITHOUT_BLACKDUCK, PropertyAuthority.None)) {
-                    logger.info(connectivityResult.getFailureReason());
-                    logger.info(String.format("%s is set to 'true' so Detect will simply exit.", DetectProperty.DETECT_DISABLE_WITHOUT_BLACKDUCK.getPropertyName()));
+                ConnectivityResult connectivityResult = connectivityChecker.determineConnectivity(detectConfiguration, detectOptionManager, detectInfo, gson, objectMapper, eventSystem);
+                Optional<ConnectivityManager> onlineConnectivityManager = connectivityChecker.createConnectivityManager(connectivityResult, disableWithoutBlackDuck);
+                if (!onlineConnectivityManager.isPresent()) {
                     return BootResult.exit(detectConfiguration);
-                } else {
-                    throw new DetectUserFriendlyException("Could not communicate with Black Duck: " + connectivityResult.getFailureReason(), ExitCodeType.FAILURE_HUB_CONNECTIVITY);
                 }
+                connectivityManager = onlineConnectivityManager.get();
             }
         }
 
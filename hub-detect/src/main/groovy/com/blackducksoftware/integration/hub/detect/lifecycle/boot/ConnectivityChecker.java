@@ -24,6 +24,7 @@
 package com.blackducksoftware.integration.hub.detect.lifecycle.boot;
 
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
@@ -32,9 +33,11 @@ import org.slf4j.LoggerFactory;
 
 import com.blackducksoftware.integration.hub.detect.DetectInfo;
 import com.blackducksoftware.integration.hub.detect.configuration.DetectConfiguration;
+import com.blackducksoftware.integration.hub.detect.configuration.DetectProperty;
 import com.blackducksoftware.integration.hub.detect.exception.DetectUserFriendlyException;
 import com.blackducksoftware.integration.hub.detect.exitcode.ExitCodeType;
 import com.blackducksoftware.integration.hub.detect.help.DetectOptionManager;
+import com.blackducksoftware.integration.hub.detect.workflow.ConnectivityManager;
 import com.blackducksoftware.integration.hub.detect.workflow.event.EventSystem;
 import com.blackducksoftware.integration.hub.detect.workflow.phonehome.OnlinePhoneHomeManager;
 import com.blackducksoftware.integration.hub.detect.workflow.phonehome.PhoneHomeManager;
@@ -55,10 +58,14 @@ public class ConnectivityChecker {
 
     public ConnectivityResult determineConnectivity(DetectConfiguration detectConfiguration, DetectOptionManager detectOptionManager, DetectInfo detectInfo, Gson gson, ObjectMapper objectMapper, EventSystem eventSystem)
         throws DetectUserFriendlyException {
+        return determineConnectivity(detectOptionManager.createBlackduckServerConfig(), detectConfiguration.getPhoneHomeProperties(), detectInfo, gson, objectMapper, eventSystem);
+    }
+
+    public ConnectivityResult determineConnectivity(BlackDuckServerConfig blackDuckServerConfig, Map<String, String> additionalMetaData, DetectInfo detectInfo, Gson gson, ObjectMapper objectMapper, EventSystem eventSystem)
+        throws DetectUserFriendlyException {
 
         logger.info("Detect will check if it can communicate with the Black Duck Server.");
         Slf4jIntLogger blackduckLogger = new Slf4jIntLogger(logger);
-        BlackDuckServerConfig blackDuckServerConfig = detectOptionManager.createBlackduckServerConfig();
 
         logger.info("Attempting connection to the Black Duck server");
 
@@ -82,11 +89,28 @@ public class ConnectivityChecker {
             throw new DetectUserFriendlyException("Could not determine which version of Black Duck detect connected to.", e, ExitCodeType.FAILURE_HUB_CONNECTIVITY);
         }
 
-        Map<String, String> additionalMetaData = detectConfiguration.getPhoneHomeProperties();
         ExecutorService executorService = Executors.newSingleThreadExecutor();
         BlackDuckPhoneHomeHelper blackDuckPhoneHomeHelper = BlackDuckPhoneHomeHelper.createAsynchronousPhoneHomeHelper(blackDuckServicesFactory, executorService);
         PhoneHomeManager phoneHomeManager = new OnlinePhoneHomeManager(additionalMetaData, detectInfo, gson, eventSystem, blackDuckPhoneHomeHelper);
 
         return ConnectivityResult.success(blackDuckServicesFactory, phoneHomeManager, blackDuckServerConfig);
     }
+
+    // Empty when detect could not connect and should simply exit because DETECT_DISABLE_WITHOUT_BLACKDUCK is set.
+    public Optional<ConnectivityManager> createConnectivityManager(ConnectivityResult connectivityResult, boolean disableWithoutBlackDuck) throws DetectUserFriendlyException {
+        if (connectivityResult.isSuccessfullyConnected()) {
+            logger.info("Detect is capable of communicating with server.");
+            return Optional.of(ConnectivityManager.online(connectivityResult.getBlackDuckServicesFactory(), connectivityResult.getPhoneHomeManager(), connectivityResult.getBlackDuckServerConfig()));
+        }
+
+        logger.info("Detect is NOT capable of communicating with server.");
+        logger.info("Please double check the Detect documentation: https://synopsys.atlassian.net/wiki/spaces/INTDOCS/pages/622633/Hub+Detect");
+        if (disableWithoutBlackDuck) {
+            logger.info(connectivityResult.getFailureReason());
+            logger.info(String.format("%s is set to 'true' so Detect will simply exit.", DetectProperty.DETECT_DISABLE_WITHOUT_BLACKDUCK.getPropertyName()));
+            return Optional.empty();
+        } else {
+            throw new DetectUserFriendlyException("Could not communicate with Black Duck: " + connectivityResult.getFailureReason(), ExitCodeType.FAILURE_HUB_CONNECTIVITY);
+        }
+    }
 }
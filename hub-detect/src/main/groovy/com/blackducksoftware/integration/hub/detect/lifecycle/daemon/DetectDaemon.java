@@ -0,0 +1,230 @@
+/**
+ * hub-detect
+ *
+ * Copyright (C) 2019 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.blackducksoftware.integration.hub.detect.lifecycle.daemon;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.io.FileUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.blackducksoftware.integration.hub.detect.exitcode.ExitCodeType;
+
+public class DetectDaemon implements Closeable {
+    private static final int SUBMISSION_TIMEOUT_MILLISECONDS = 30000;
+
+    private final Logger logger = LoggerFactory.getLogger(DetectDaemon.class);
+
+    private final ServerSocket serverSocket;
+    private final File tokenFile;
+    private final String token;
+    private final DetectDaemonRequestHandler requestHandler;
+
+    private DetectDaemon(final ServerSocket serverSocket, final File tokenFile, final String token, final DetectDaemonRequestHandler requestHandler) {
+        this.serverSocket = serverSocket;
+        this.tokenFile = tokenFile;
+        this.token = token;
+        this.requestHandler = requestHandler;
+    }
+
+    public static DetectDaemon open(final int port, final DetectDaemonRequestHandler requestHandler) throws IOException {
+        return open(port, DetectDaemonProtocol.getDefaultTokenFile(port), requestHandler);
+    }
+
+    // Only the loopback interface is bound and every submission must present the token, which only the user running the daemon can read.
+    public static DetectDaemon open(final int port, final File tokenFile, final DetectDaemonRequestHandler requestHandler) throws IOException {
+        final ServerSocket serverSocket = new ServerSocket(port, 50, InetAddress.getLoopbackAddress());
+        try {
+            final String token = new BigInteger(160, new SecureRandom()).toString(32);
+            writeTokenFile(tokenFile, token);
+            return new DetectDaemon(serverSocket, tokenFile, token, requestHandler);
+        } catch (final IOException e) {
+            serverSocket.close();
+            throw e;
+        }
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    public File getTokenFile() {
+        return tokenFile;
+    }
+
+    // Submissions are run one at a time, logging levels, appenders and System.out are process wide.
+    public void serve() {
+        logger.info(String.format("Detect daemon listening on port %s.", getPort()));
+        while (!serverSocket.isClosed()) {
+            try (Socket socket = serverSocket.accept()) {
+                handle(socket);
+            } catch (final IOException e) {
+                if (!serverSocket.isClosed()) {
+                    logger.warn("Failed to handle a daemon submission: " + e.getMessage());
+                    logger.debug("The daemon submission failed.", e);
+                }
+            } catch (final Throwable e) {
+                // One failed submission must not stop the daemon from serving the next.
+                logger.error("Failed to handle a daemon submission: " + e.getMessage());
+                logger.debug("The daemon submission failed.", e);
+            }
+        }
+        logger.info("Detect daemon stopped.");
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        FileUtils.deleteQuietly(tokenFile);
+    }
+
+    private void handle(final Socket socket) throws IOException {
+        socket.setSoTimeout(SUBMISSION_TIMEOUT_MILLISECONDS);
+        final DataInputStream inputStream = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+        final DataOutputStream outputStream = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+
+        final String version = DetectDaemonProtocol.readString(inputStream);
+        if (!DetectDaemonProtocol.VERSION.equals(version)) {
+            reject(outputStream, "Unsupported daemon protocol version: " + version);
+            return;
+        }
+        final String submittedToken = DetectDaemonProtocol.readString(inputStream);
+        if (!MessageDigest.isEqual(token.getBytes(StandardCharsets.UTF_8), submittedToken.getBytes(StandardCharsets.UTF_8))) {
+            reject(outputStream, "The daemon token did not match, submissions are only accepted from the user running the daemon.");
+            return;
+        }
+        final int argumentCount = inputStream.readInt();
+        if (argumentCount < 0 || argumentCount > DetectDaemonProtocol.MAX_ARGUMENTS) {
+            reject(outputStream, "Invalid argument count: " + argumentCount);
+            return;
+        }
+        final List<String> args = new ArrayList<>();
+        for (int i = 0; i < argumentCount; i++) {
+            args.add(DetectDaemonProtocol.readString(inputStream));
+        }
+        socket.setSoTimeout(0);
+
+        logger.info("Detect daemon running a submitted scan.");
+        final FrameOutputStream frameOutputStream = new FrameOutputStream(outputStream);
+        int exitCode;
+        try {
+            exitCode = requestHandler.run(args, frameOutputStream);
+        } catch (final Throwable e) {
+            logger.error("The submitted scan failed: " + e.getMessage());
+            logger.debug("The submitted scan threw an exception.", e);
+            exitCode = ExitCodeType.FAILURE_UNKNOWN_ERROR.getExitCode();
+        }
+        logger.info(String.format("Detect daemon finished a submitted scan with exit code %s.", exitCode));
+        writeExit(outputStream, exitCode);
+    }
+
+    private void reject(final DataOutputStream outputStream, final String message) throws IOException {
+        logger.warn("Rejected a daemon submission: " + message);
+        final FrameOutputStream frameOutputStream = new FrameOutputStream(outputStream);
+        frameOutputStream.write((message + System.lineSeparator()).getBytes(StandardCharsets.UTF_8));
+        writeExit(outputStream, ExitCodeType.FAILURE_CONFIGURATION.getExitCode());
+    }
+
+    private void writeExit(final DataOutputStream outputStream, final int exitCode) throws IOException {
+        synchronized (outputStream) {
+            outputStream.writeByte(DetectDaemonProtocol.EXIT_FRAME);
+            outputStream.writeInt(exitCode);
+            outputStream.flush();
+        }
+    }
+
+    private static void writeTokenFile(final File tokenFile, final String token) throws IOException {
+        final File tokenDirectory = tokenFile.getParentFile();
+        Files.createDirectories(tokenDirectory.toPath());
+        File tempFile;
+        try {
+            tempFile = Files.createTempFile(tokenDirectory.toPath(), tokenFile.getName(), ".tmp", PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-------"))).toFile();
+        } catch (final UnsupportedOperationException e) {
+            tempFile = Files.createTempFile(tokenDirectory.toPath(), tokenFile.getName(), ".tmp").toFile();
+        }
+        try {
+            Files.write(tempFile.toPath(), token.getBytes(StandardCharsets.UTF_8));
+            Files.move(tempFile.toPath(), tokenFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            FileUtils.deleteQuietly(tempFile);
+        }
+    }
+
+    // Extractions may log from several threads, so frames are written whole.
+    private static class FrameOutputStream extends OutputStream {
+        private final DataOutputStream outputStream;
+
+        public FrameOutputStream(final DataOutputStream outputStream) {
+            this.outputStream = outputStream;
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            write(new byte[] { (byte) b }, 0, 1);
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            if (len == 0) {
+                return;
+            }
+            synchronized (outputStream) {
+                outputStream.writeByte(DetectDaemonProtocol.OUTPUT_FRAME);
+                outputStream.writeInt(len);
+                outputStream.write(b, off, len);
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            synchronized (outputStream) {
+                outputStream.flush();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+}
@@ -0,0 +1,227 @@
+/**
+ * hub-detect
+ *
+ * Copyright (C) 2019 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.blackducksoftware.integration.hub.detect.lifecycle.daemon;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Field;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang3.StringUtils;
+
+import com.blackducksoftware.integration.hub.detect.configuration.DetectProperty;
+import com.blackducksoftware.integration.hub.detect.help.HelpDescription;
+import com.blackducksoftware.integration.hub.detect.property.PropertyType;
+
+public class DetectDaemonClient {
+    private static final String[] FORWARDED_ENVIRONMENT_PREFIXES = { "DETECT_", "BLACKDUCK_" };
+    private static final String PATH_SUFFIX = ".path";
+    private static final String PATHS_SUFFIX = ".paths";
+
+    /*
+     * Relative values of these are resolved against the working directory of the submitting process. They are taken from the property
+     * metadata: string properties named *.path hold a file, directory or executable (when their description says so) and string array
+     * properties named *.paths hold a list of files and directories.
+     */
+    private static final Set<String> FILE_PROPERTIES = findPathProperties(PropertyType.STRING, PATH_SUFFIX, false);
+    private static final Set<String> EXECUTABLE_PROPERTIES = findPathProperties(PropertyType.STRING, PATH_SUFFIX, true);
+    private static final Set<String> FILE_LIST_PROPERTIES = findPathProperties(PropertyType.STRING_ARRAY, PATHS_SUFFIX, false);
+
+    private final int port;
+    private final File tokenFile;
+
+    public DetectDaemonClient(final int port) {
+        this(port, DetectDaemonProtocol.getDefaultTokenFile(port));
+    }
+
+    public DetectDaemonClient(final int port, final File tokenFile) {
+        this.port = port;
+        this.tokenFile = tokenFile;
+    }
+
+    // Checked before Spring starts, so only the command line and the environment variable are consulted.
+    public static Optional<Integer> findSubmitPort(final String[] args, final Map<String, String> environmentVariables) {
+        final String propertyName = DetectProperty.DETECT_DAEMON_SUBMIT_PORT.getPropertyKey();
+        String port = environmentVariables.get(toEnvironmentVariableName(propertyName));
+        for (final String arg : args) {
+            if (arg.startsWith("--" + propertyName + "=")) {
+                port = arg.substring(propertyName.length() + 3);
+            }
+        }
+        if (StringUtils.isBlank(port)) {
+            return Optional.empty();
+        }
+        return Optional.of(Integer.parseInt(port.trim()));
+    }
+
+    /*
+     * The daemon does not share the environment or working directory of this process, so they are submitted as properties and relative paths
+     * are made absolute. The command line wins over the environment. Executables are still found on the PATH of the daemon, and the tools
+     * detect runs inherit its environment, so the daemon has to be started with the PATH its scans need.
+     */
+    public static List<String> createSubmission(final String[] args, final Map<String, String> environmentVariables, final File workingDirectory) {
+        final String submitPortProperty = DetectProperty.DETECT_DAEMON_SUBMIT_PORT.getPropertyKey();
+        final Set<String> submittedProperties = new HashSet<>();
+        final List<String> commandLine = new ArrayList<>();
+        for (final String arg : args) {
+            final Optional<String> propertyName = findPropertyName(arg);
+            if (propertyName.isPresent() && propertyName.get().equals(submitPortProperty)) {
+                continue;
+            }
+            final int separator = arg.indexOf('=');
+            if (propertyName.isPresent() && separator >= 0) {
+                submittedProperties.add(propertyName.get());
+                commandLine.add("--" + propertyName.get() + "=" + resolvePaths(propertyName.get(), arg.substring(separator + 1), workingDirectory));
+            } else {
+                propertyName.ifPresent(submittedProperties::add);
+                commandLine.add(arg);
+            }
+        }
+
+        final List<String> submission = new ArrayList<>();
+        environmentVariables.entrySet().stream()
+            .filter(entry -> StringUtils.startsWithAny(entry.getKey(), FORWARDED_ENVIRONMENT_PREFIXES))
+            .sorted(Map.Entry.comparingByKey())
+            .forEach(entry -> {
+                final String propertyName = entry.getKey().toLowerCase().replace('_', '.');
+                if (!propertyName.equals(submitPortProperty) && submittedProperties.add(propertyName)) {
+                    submission.add("--" + propertyName + "=" + resolvePaths(propertyName, entry.getValue(), workingDirectory));
+                }
+            });
+        final String sourcePathProperty = DetectProperty.DETECT_SOURCE_PATH.getPropertyKey();
+        if (submittedProperties.add(sourcePathProperty)) {
+            submission.add("--" + sourcePathProperty + "=" + workingDirectory.getAbsolutePath());
+        }
+        submission.addAll(commandLine);
+        return submission;
+    }
+
+    // Copies the log of the scan to the output and returns the exit code of the scan.
+    public int submit(final List<String> args, final OutputStream output) throws IOException {
+        if (!tokenFile.isFile()) {
+            throw new IOException(String.format("No detect daemon token was found at %s, is a daemon running on port %s?", tokenFile.getAbsolutePath(), port));
+        }
+        final String token = FileUtils.readFileToString(tokenFile, StandardCharsets.UTF_8).trim();
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+            final DataOutputStream outputStream = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            DetectDaemonProtocol.writeString(outputStream, DetectDaemonProtocol.VERSION);
+            DetectDaemonProtocol.writeString(outputStream, token);
+            outputStream.writeInt(args.size());
+            for (final String arg : args) {
+                DetectDaemonProtocol.writeString(outputStream, arg);
+            }
+            outputStream.flush();
+
+            final DataInputStream inputStream = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            final byte[] buffer = new byte[8192];
+            while (true) {
+                final int frame = inputStream.read();
+                if (frame == DetectDaemonProtocol.EXIT_FRAME) {
+                    return inputStream.readInt();
+                } else if (frame == DetectDaemonProtocol.OUTPUT_FRAME) {
+                    int remaining = inputStream.readInt();
+                    while (remaining > 0) {
+                        final int read = inputStream.read(buffer, 0, Math.min(buffer.length, remaining));
+                        if (read < 0) {
+                            throw new IOException("The detect daemon closed the connection before the scan finished.");
+                        }
+                        output.write(buffer, 0, read);
+                        remaining -= read;
+                    }
+                    output.flush();
+                } else if (frame < 0) {
+                    throw new IOException("The detect daemon closed the connection before the scan finished.");
+                } else {
+                    throw new IOException("Unknown frame from the detect daemon: " + frame);
+                }
+            }
+        }
+    }
+
+    private static Set<String> findPathProperties(final PropertyType propertyType, final String suffix, final boolean executable) {
+        return Arrays.stream(DetectProperty.values())
+                   .filter(detectProperty -> detectProperty.getPropertyType() == propertyType && detectProperty.getPropertyKey().endsWith(suffix))
+                   .filter(detectProperty -> isExecutable(detectProperty) == executable)
+                   .map(DetectProperty::getPropertyKey)
+                   .collect(Collectors.toSet());
+    }
+
+    private static boolean isExecutable(final DetectProperty detectProperty) {
+        try {
+            final Field field = DetectProperty.class.getField(detectProperty.name());
+            final HelpDescription helpDescription = field.getAnnotation(HelpDescription.class);
+            return helpDescription != null && StringUtils.containsIgnoreCase(helpDescription.value(), "executable");
+        } catch (final NoSuchFieldException e) {
+            return false;
+        }
+    }
+
+    // An executable given by name alone is looked up on the PATH, so only executable paths with a directory in them are resolved.
+    private static String resolvePaths(final String propertyName, final String value, final File workingDirectory) {
+        if (FILE_LIST_PROPERTIES.contains(propertyName)) {
+            return Arrays.stream(value.split(","))
+                       .map(path -> resolvePath(path.trim(), workingDirectory))
+                       .collect(Collectors.joining(","));
+        } else if (FILE_PROPERTIES.contains(propertyName) || (EXECUTABLE_PROPERTIES.contains(propertyName) && (value.contains("/") || value.contains(File.separator)))) {
+            return resolvePath(value, workingDirectory);
+        }
+        return value;
+    }
+
+    // Paths starting with a tilde are left for detect.resolve.tilde.in.paths.
+    private static String resolvePath(final String path, final File workingDirectory) {
+        if (StringUtils.isBlank(path) || path.startsWith("~") || new File(path).isAbsolute()) {
+            return path;
+        }
+        return new File(workingDirectory, path).getAbsolutePath();
+    }
+
+    private static Optional<String> findPropertyName(final String arg) {
+        if (!arg.startsWith("--")) {
+            return Optional.empty();
+        }
+        final int separator = arg.indexOf('=');
+        return Optional.of(separator < 0 ? arg.substring(2) : arg.substring(2, separator));
+    }
+
+    private static String toEnvironmentVariableName(final String propertyName) {
+        return propertyName.toUpperCase().replace('.', '_');
+    }
+}
@@ -0,0 +1,63 @@
+/**
+ * hub-detect
+ *
+ * Copyright (C) 2019 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.blackducksoftware.integration.hub.detect.lifecycle.daemon;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+// A submission is the protocol version, the daemon token and the arguments. The daemon answers with output frames followed by a single exit frame.
+final class DetectDaemonProtocol {
+    static final String VERSION = "detect-daemon-1";
+    static final int OUTPUT_FRAME = 1;
+    static final int EXIT_FRAME = 2;
+
+    private static final int MAX_STRING_BYTES = 1024 * 1024;
+    static final int MAX_ARGUMENTS = 10000;
+
+    private DetectDaemonProtocol() {
+    }
+
+    static File getDefaultTokenFile(final int port) {
+        return new File(new File(new File(System.getProperty("user.home"), "blackduck"), "daemon"), port + ".token");
+    }
+
+    static void writeString(final DataOutputStream outputStream, final String value) throws IOException {
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        outputStream.writeInt(bytes.length);
+        outputStream.write(bytes);
+    }
+
+    static String readString(final DataInputStream inputStream) throws IOException {
+        final int length = inputStream.readInt();
+        if (length < 0 || length > MAX_STRING_BYTES) {
+            throw new IOException("Invalid string length in daemon message: " + length);
+        }
+        final byte[] bytes = new byte[length];
+        inputStream.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
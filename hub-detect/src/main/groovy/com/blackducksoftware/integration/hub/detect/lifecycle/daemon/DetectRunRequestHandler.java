@@ -0,0 +1,118 @@
+/**
+ * hub-detect
+ *
+ * Copyright (C) 2019 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.blackducksoftware.integration.hub.detect.lifecycle.daemon;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MutablePropertySources;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.env.SimpleCommandLinePropertySource;
+import org.springframework.core.env.StandardEnvironment;
+
+import com.blackducksoftware.integration.hub.detect.lifecycle.DetectRunner;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.OutputStreamAppender;
+
+public class DetectRunRequestHandler implements DetectDaemonRequestHandler {
+    private static final String LOGBACK_LOGGER_NAME = "com.blackducksoftware.integration";
+    private static final String LOG_LEVEL_PROPERTY = "logging.level." + LOGBACK_LOGGER_NAME;
+    private static final String REQUEST_PROPERTY_SOURCE_NAME = "detectDaemonRequest";
+
+    private final ConfigurableEnvironment daemonEnvironment;
+    private final DetectRunner detectRunner;
+
+    public DetectRunRequestHandler(final ConfigurableEnvironment daemonEnvironment, final DetectRunner detectRunner) {
+        this.daemonEnvironment = daemonEnvironment;
+        this.detectRunner = detectRunner;
+    }
+
+    @Override
+    public int run(final List<String> args, final OutputStream output) {
+        final String[] sourceArgs = args.toArray(new String[0]);
+        final ConfigurableEnvironment environment = createEnvironment(sourceArgs);
+
+        // Diagnostic mode changes the log level and System.out, so both are restored for the next submission.
+        final ch.qos.logback.classic.Logger detectLogger = (ch.qos.logback.classic.Logger) LoggerFactory.getLogger(LOGBACK_LOGGER_NAME);
+        final ch.qos.logback.classic.Logger rootLogger = (ch.qos.logback.classic.Logger) LoggerFactory.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+        final Level daemonLevel = detectLogger.getLevel();
+        final PrintStream daemonOut = System.out;
+        final OutputStreamAppender<ILoggingEvent> appender = createAppender(output);
+        try {
+            final String requestLevel = environment.getProperty(LOG_LEVEL_PROPERTY);
+            if (StringUtils.isNotBlank(requestLevel)) {
+                detectLogger.setLevel(Level.toLevel(requestLevel, daemonLevel));
+            }
+            rootLogger.addAppender(appender);
+            System.setOut(new PrintStream(output, true));
+            return detectRunner.run(sourceArgs, environment);
+        } finally {
+            System.out.flush();
+            System.setOut(daemonOut);
+            rootLogger.detachAppender(appender);
+            appender.stop();
+            detectLogger.setLevel(daemonLevel);
+        }
+    }
+
+    // The submitted properties take precedence over the properties, environment and defaults the daemon was started with.
+    private ConfigurableEnvironment createEnvironment(final String[] sourceArgs) {
+        final StandardEnvironment environment = new StandardEnvironment();
+        final MutablePropertySources propertySources = environment.getPropertySources();
+        final List<String> defaultSourceNames = new ArrayList<>();
+        propertySources.forEach(propertySource -> defaultSourceNames.add(propertySource.getName()));
+        defaultSourceNames.forEach(propertySources::remove);
+
+        propertySources.addFirst(new SimpleCommandLinePropertySource(REQUEST_PROPERTY_SOURCE_NAME, sourceArgs));
+        for (final PropertySource<?> propertySource : daemonEnvironment.getPropertySources()) {
+            propertySources.addLast(propertySource);
+        }
+        return environment;
+    }
+
+    private OutputStreamAppender<ILoggingEvent> createAppender(final OutputStream output) {
+        final LoggerContext loggerContext = (LoggerContext) LoggerFactory.getILoggerFactory();
+        final PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setPattern("%d{yyyy-MM-dd HH:mm:ss} %-6p[%thread] --- %m%n");
+        encoder.setContext(loggerContext);
+        encoder.start();
+
+        final OutputStreamAppender<ILoggingEvent> appender = new OutputStreamAppender<>();
+        appender.setName("detect-daemon-request");
+        appender.setEncoder(encoder);
+        appender.setOutputStream(output);
+        appender.setContext(loggerContext);
+        appender.start();
+        return appender;
+    }
+}
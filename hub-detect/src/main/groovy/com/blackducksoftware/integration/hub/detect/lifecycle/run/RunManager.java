@@ -25,6 +25,9 @@ package com.blackducksoftware.integration.hub.detect.lifecycle.run;
 
 import java.util.Collections;
 import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -55,12 +58,15 @@ import com.blackducksoftware.integration.hub.detect.util.executable.ExecutableRu
 import com.blackducksoftware.integration.hub.detect.workflow.ConnectivityManager;
 import com.blackducksoftware.integration.hub.detect.workflow.DetectToolFilter;
 import com.blackducksoftware.integration.hub.detect.workflow.bdio.BdioManager;
+import com.blackducksoftware.integration.hub.detect.workflow.bdio.BdioOptions;
 import com.blackducksoftware.integration.hub.detect.workflow.bdio.BdioResult;
 import com.blackducksoftware.integration.hub.detect.workflow.codelocation.BdioCodeLocationCreator;
 import com.blackducksoftware.integration.hub.detect.workflow.codelocation.CodeLocationNameManager;
 import com.blackducksoftware.integration.hub.detect.workflow.event.Event;
 import com.blackducksoftware.integration.hub.detect.workflow.event.EventSystem;
 import com.blackducksoftware.integration.hub.detect.workflow.file.DirectoryManager;
+import com.blackducksoftware.integration.hub.detect.workflow.hub.BdioUploadHistory;
+import com.blackducksoftware.integration.hub.detect.workflow.hub.BdioUploader;
 import com.blackducksoftware.integration.hub.detect.workflow.hub.BlackduckPostActions;
 import com.blackducksoftware.integration.hub.detect.workflow.hub.BlackduckReportOptions;
 import com.blackducksoftware.integration.hub.detect.workflow.hub.CodeLocationWaitData;
@@ -79,6 +85,7 @@ import com.synopsys.integration.blackduck.api.generated.view.ProjectVersionView;
 import com.synopsys.integration.blackduck.codelocation.CodeLocationCreationData;
 import com.synopsys.integration.blackduck.codelocation.Result;
 import com.synopsys.integration.blackduck.codelocation.bdioupload.UploadBatchOutput;
+import com.synopsys.integration.blackduck.service.BlackDuckService;
 import com.synopsys.integration.blackduck.service.BlackDuckServicesFactory;
 import com.synopsys.integration.blackduck.service.model.ProjectVersionWrapper;
 import com.synopsys.integration.exception.IntegrationException;
@@ -107,9 +114,7 @@ public class RunManager {
         final DetectInfo detectInfo = detectContext.getBean(DetectInfo.class);
         final ConnectivityManager connectivityManager = detectContext.getBean(ConnectivityManager.class);
 
-        if (connectivityManager.getPhoneHomeManager().isPresent()) {
-            connectivityManager.getPhoneHomeManager().get().startPhoneHome();
-        }
+        connectivityManager.startPhoneHome();
 
         final RunResult runResult = new RunResult();
         final RunOptions runOptions = detectConfigurationFactory.createRunOptions();
@@ -169,6 +174,17 @@ public class RunManager {
         logger.info("Project name: " + projectNameVersion.getName());
         logger.info("Project version: " + projectNameVersion.getVersion());
 
+        if (connectivityManager.isCheckedInBackground()) {
+            logger.info("Waiting for the Black Duck connectivity check to finish.");
+            if (!connectivityManager.awaitConnectivity()) {
+                return runResult;
+            }
+            // The phone home manager may only have been created after the detectors reported, in which case it has not sent them yet.
+            connectivityManager.getPhoneHomeManager()
+                .filter(phoneHomeManager -> !phoneHomeManager.hasReportedDetectors())
+                .ifPresent(phoneHomeManager -> phoneHomeManager.startPhoneHome(runResult.getApplicableDetectors()));
+        }
+
         Optional<ProjectVersionWrapper> projectVersionWrapper = Optional.empty();
 
         if (connectivityManager.isDetectOnline() && connectivityManager.getBlackDuckServicesFactory().isPresent()) {
@@ -192,56 +208,105 @@ public class RunManager {
 
         logger.info("Completed project and version actions.");
 
-        logger.info("Processing Detect Code Locations.");
         final CodeLocationWaitData codeLocationWaitData = new CodeLocationWaitData();
-        final BdioManager bdioManager = new BdioManager(detectInfo, new SimpleBdioFactory(), new IntegrationEscapeUtil(), codeLocationNameManager, detectConfiguration, bdioCodeLocationCreator, directoryManager, eventSystem);
-        final BdioResult bdioResult = bdioManager.createBdioFiles(runOptions.getAggregateName(), projectNameVersion, runResult.getDetectCodeLocations());
-
-        if (bdioResult.getUploadTargets().size() > 0) {
-            logger.info("Created " + bdioResult.getUploadTargets().size() + " BDIO files.");
-            bdioResult.getUploadTargets().forEach(it -> eventSystem.publishEvent(Event.OutputFileOfInterest, it.getUploadFile()));
-            if (connectivityManager.isDetectOnline() && connectivityManager.getBlackDuckServicesFactory().isPresent()) {
-                logger.info("Uploading BDIO files.");
-                final BlackDuckServicesFactory blackDuckServicesFactory = connectivityManager.getBlackDuckServicesFactory().get();
-                final DetectBdioUploadService detectBdioUploadService = new DetectBdioUploadService(detectConfiguration, blackDuckServicesFactory.createBdioUploadService(), eventSystem);
-                final CodeLocationCreationData<UploadBatchOutput> uploadBatchOutputCodeLocationCreationData = detectBdioUploadService.uploadBdioFiles(bdioResult.getUploadTargets());
-                codeLocationWaitData.setFromBdioCodeLocationCreationData(uploadBatchOutputCodeLocationCreationData);
+        final FutureTask<Void> scanTools = new FutureTask<>(() -> {
+            logger.info(ReportConstants.RUN_SEPARATOR);
+            if (detectToolFilter.shouldInclude(DetectTool.SIGNATURE_SCAN)) {
+                logger.info("Will include the signature scanner tool.");
+                final BlackDuckSignatureScannerOptions blackDuckSignatureScannerOptions = detectConfigurationFactory.createBlackDuckSignatureScannerOptions();
+                final BlackDuckSignatureScannerTool blackDuckSignatureScannerTool = new BlackDuckSignatureScannerTool(blackDuckSignatureScannerOptions, detectContext);
+                final SignatureScannerToolResult signatureScannerToolResult = blackDuckSignatureScannerTool.runScanTool(projectNameVersion, runResult.getDockerTar());
+                if (signatureScannerToolResult.getResult() == Result.SUCCESS && signatureScannerToolResult.getCreationData().isPresent()) {
+                    codeLocationWaitData.setFromSignatureScannerCodeLocationCreationData(signatureScannerToolResult.getCreationData().get());
+                }
+                logger.info("Signature scanner actions finished.");
+            } else {
+                logger.info("Signature scan tool will not be run.");
             }
-        } else {
-            logger.debug("Did not create any BDIO files.");
-        }
-
-        logger.info("Completed Detect Code Location processing.");
 
-        logger.info(ReportConstants.RUN_SEPARATOR);
-        if (detectToolFilter.shouldInclude(DetectTool.SIGNATURE_SCAN)) {
-            logger.info("Will include the signature scanner tool.");
-            final BlackDuckSignatureScannerOptions blackDuckSignatureScannerOptions = detectConfigurationFactory.createBlackDuckSignatureScannerOptions();
-            final BlackDuckSignatureScannerTool blackDuckSignatureScannerTool = new BlackDuckSignatureScannerTool(blackDuckSignatureScannerOptions, detectContext);
-            final SignatureScannerToolResult signatureScannerToolResult = blackDuckSignatureScannerTool.runScanTool(projectNameVersion, runResult.getDockerTar());
-            if (signatureScannerToolResult.getResult() == Result.SUCCESS && signatureScannerToolResult.getCreationData().isPresent()) {
-                codeLocationWaitData.setFromSignatureScannerCodeLocationCreationData(signatureScannerToolResult.getCreationData().get());
+            logger.info(ReportConstants.RUN_SEPARATOR);
+            if (detectToolFilter.shouldInclude(DetectTool.BINARY_SCAN)) {
+                logger.info("Will include the binary scanner tool.");
+                if (connectivityManager.isDetectOnline() && connectivityManager.getBlackDuckServicesFactory().isPresent()) {
+                    final BlackDuckServicesFactory blackDuckServicesFactory = connectivityManager.getBlackDuckServicesFactory().get();
+                    final BlackDuckBinaryScannerTool blackDuckBinaryScanner = new BlackDuckBinaryScannerTool(eventSystem, codeLocationNameManager, detectConfiguration, blackDuckServicesFactory);
+                    BinaryScanToolResult result = blackDuckBinaryScanner.performBinaryScanActions(projectNameVersion);
+                    if (result.isSuccessful()){
+                        codeLocationWaitData.setFromBinaryScan(result.getNotificationTaskRange(), result.getCodeLocationNames());
+                    }
+                }
+                logger.info("Binary scanner actions finished.");
+            } else {
+                logger.info("Binary scan tool will not be run.");
             }
-            logger.info("Signature scanner actions finished.");
-        } else {
-            logger.info("Signature scan tool will not be run.");
+
+            return null;
+        });
+
+        // The scans only need the project name and version, so they can run while the BDIO is created and uploaded.
+        if (runOptions.shouldPipelineScans()) {
+            logger.info("Signature and binary scans will run while Detect Code Locations are processed.");
+            final Thread scanThread = new Thread(scanTools, "detect-pipelined-scans");
+            scanThread.setDaemon(true);
+            scanThread.start();
         }
 
-        logger.info(ReportConstants.RUN_SEPARATOR);
-        if (detectToolFilter.shouldInclude(DetectTool.BINARY_SCAN)) {
-            logger.info("Will include the binary scanner tool.");
-            if (connectivityManager.isDetectOnline() && connectivityManager.getBlackDuckServicesFactory().isPresent()) {
-                final BlackDuckServicesFactory blackDuckServicesFactory = connectivityManager.getBlackDuckServicesFactory().get();
-                final BlackDuckBinaryScannerTool blackDuckBinaryScanner = new BlackDuckBinaryScannerTool(eventSystem, codeLocationNameManager, detectConfiguration, blackDuckServicesFactory);
-                BinaryScanToolResult result = blackDuckBinaryScanner.performBinaryScanActions(projectNameVersion);
-                if (result.isSuccessful()){
-                    codeLocationWaitData.setFromBinaryScan(result.getNotificationTaskRange(), result.getCodeLocationNames());
+        boolean codeLocationsProcessed = false;
+        final BdioResult bdioResult;
+        try {
+            logger.info("Processing Detect Code Locations.");
+            final BdioManager bdioManager = new BdioManager(detectInfo, new SimpleBdioFactory(), new IntegrationEscapeUtil(), codeLocationNameManager, detectConfiguration, bdioCodeLocationCreator, directoryManager, eventSystem);
+            final BdioOptions bdioOptions = detectConfigurationFactory.createBdioOptions(connectivityManager.isDetectOnline());
+            bdioResult = bdioManager.createBdioFiles(bdioOptions, projectNameVersion, runResult.getDetectCodeLocations());
+
+            if (bdioResult.getUploadTargets().size() > 0) {
+                logger.info("Created " + bdioResult.getUploadTargets().size() + " BDIO files.");
+                bdioResult.getUploadTargets().forEach(it -> eventSystem.publishEvent(Event.OutputFileOfInterest, it.getUploadFile()));
+                if (connectivityManager.isDetectOnline() && connectivityManager.getBlackDuckServicesFactory().isPresent()) {
+                    logger.info("Uploading BDIO files.");
+                    final BlackDuckServicesFactory blackDuckServicesFactory = connectivityManager.getBlackDuckServicesFactory().get();
+                    final BdioUploadHistory bdioUploadHistory;
+                    final boolean skipUnchanged = detectConfiguration.getBooleanProperty(DetectProperty.DETECT_BDIO_UPLOAD_SKIP_UNCHANGED, PropertyAuthority.None);
+                    if (skipUnchanged && runOptions.shouldUnmapCodeLocations()) {
+                        // Every code location was just unmapped, a skipped one would not be mapped back and would drop out of the BOM.
+                        logger.info("Code locations were unmapped, so every BDIO file will be uploaded even if it has not changed.");
+                        bdioUploadHistory = BdioUploadHistory.disabled();
+                    } else if (skipUnchanged) {
+                        final String blackDuckUrl = detectConfiguration.getProperty(DetectProperty.BLACKDUCK_URL, PropertyAuthority.None);
+                        bdioUploadHistory = new BdioUploadHistory(directoryManager.getCacheDirectory("bdio-uploads"), blackDuckUrl);
+                    } else {
+                        bdioUploadHistory = BdioUploadHistory.disabled();
+                    }
+                    final String uploadUri = blackDuckServicesFactory.createBlackDuckService().getUri(BlackDuckService.BOMIMPORT_PATH);
+                    final BdioUploader bdioUploader = new BdioUploader(blackDuckServicesFactory.getBlackDuckHttpClient(), uploadUri, detectConfigurationFactory.createBdioUploadOptions(), eventSystem);
+                    final DetectBdioUploadService detectBdioUploadService = new DetectBdioUploadService(detectConfiguration, blackDuckServicesFactory.createCodeLocationCreationService(), bdioUploader, eventSystem,
+                        bdioUploadHistory);
+                    final Optional<CodeLocationCreationData<UploadBatchOutput>> uploadBatchOutputCodeLocationCreationData = detectBdioUploadService.uploadBdioFiles(bdioResult);
+                    uploadBatchOutputCodeLocationCreationData.ifPresent(codeLocationWaitData::setFromBdioCodeLocationCreationData);
+                    if (bdioUploadHistory.getSkipped() > 0) {
+                        logger.info("Skipped uploading " + bdioUploadHistory.getSkipped() + " BDIO files that have not changed.");
+                    }
                 }
+            } else {
+                logger.debug("Did not create any BDIO files.");
             }
-            logger.info("Binary scanner actions finished.");
+
+            codeLocationsProcessed = true;
+        } finally {
+            if (!codeLocationsProcessed && runOptions.shouldPipelineScans()) {
+                logger.info("Cancelling the signature and binary scans, processing the Detect Code Locations failed.");
+                scanTools.cancel(true);
+            }
+        }
+
+        logger.info("Completed Detect Code Location processing.");
+
+        if (runOptions.shouldPipelineScans()) {
+            logger.info("Waiting for signature and binary scans to finish.");
         } else {
-            logger.info("Binary scan tool will not be run.");
+            scanTools.run();
         }
+        waitForScanTools(scanTools);
 
         logger.info(ReportConstants.RUN_SEPARATOR);
         if (detectToolFilter.shouldInclude(DetectTool.POLARIS)) {
@@ -286,4 +351,22 @@ public class RunManager {
         return runResult;
     }
 
+    private void waitForScanTools(final Future<Void> scanTools) throws DetectUserFriendlyException, InterruptedException, IntegrationException {
+        try {
+            scanTools.get();
+        } catch (final ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof DetectUserFriendlyException) {
+                throw (DetectUserFriendlyException) cause;
+            } else if (cause instanceof IntegrationException) {
+                throw (IntegrationException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new DetectUserFriendlyException(String.format("Scanning failed: %s", cause.getMessage()), cause, ExitCodeType.FAILURE_GENERAL_ERROR);
+        }
+    }
+
 }
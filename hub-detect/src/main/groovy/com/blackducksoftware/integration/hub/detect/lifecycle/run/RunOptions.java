@@ -30,13 +30,15 @@ public class RunOptions {
     private final String aggregateName;
     private final String preferredTools;
     private final DetectToolFilter detectToolFilter;
+    private final boolean pipelineScans;
 
     public RunOptions(final boolean unmapCodeLocations, final String aggregateName,
-        final String preferredTools, final DetectToolFilter detectToolFilter) {
+        final String preferredTools, final DetectToolFilter detectToolFilter, final boolean pipelineScans) {
         this.unmapCodeLocations = unmapCodeLocations;
         this.aggregateName = aggregateName;
         this.preferredTools = preferredTools;
         this.detectToolFilter = detectToolFilter;
+        this.pipelineScans = pipelineScans;
     }
 
     public boolean shouldUnmapCodeLocations() {
@@ -54,4 +56,8 @@ public class RunOptions {
     public DetectToolFilter getDetectToolFilter() {
         return detectToolFilter;
     }
+
+    public boolean shouldPipelineScans() {
+        return pipelineScans;
+    }
 }
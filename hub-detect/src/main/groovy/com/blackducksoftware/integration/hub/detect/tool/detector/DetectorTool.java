@@ -23,19 +23,34 @@
  */
 package com.blackducksoftware.integration.hub.detect.tool.detector;
 
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.blackducksoftware.integration.hub.detect.DetectInfo;
+import com.blackducksoftware.integration.hub.detect.configuration.DetectConfiguration;
+import com.blackducksoftware.integration.hub.detect.configuration.DetectConfigurationFactory;
+import com.blackducksoftware.integration.hub.detect.configuration.DetectProperty;
+import com.blackducksoftware.integration.hub.detect.configuration.PropertyAuthority;
 import com.blackducksoftware.integration.hub.detect.detector.DetectorFactory;
 import com.blackducksoftware.integration.hub.detect.exception.DetectUserFriendlyException;
 import com.blackducksoftware.integration.hub.detect.lifecycle.DetectContext;
+import com.blackducksoftware.integration.hub.detect.workflow.codelocation.DetectCodeLocationSerializer;
 import com.blackducksoftware.integration.hub.detect.workflow.detector.DetectorManager;
 import com.blackducksoftware.integration.hub.detect.workflow.event.Event;
 import com.blackducksoftware.integration.hub.detect.workflow.event.EventSystem;
+import com.blackducksoftware.integration.hub.detect.workflow.extraction.CodeLocationSpiller;
+import com.blackducksoftware.integration.hub.detect.workflow.extraction.ExtractionCache;
 import com.blackducksoftware.integration.hub.detect.workflow.extraction.ExtractionManager;
+import com.blackducksoftware.integration.hub.detect.workflow.extraction.ExtractionOptions;
+import com.blackducksoftware.integration.hub.detect.workflow.extraction.InspectorProvisioningManager;
 import com.blackducksoftware.integration.hub.detect.workflow.extraction.PreparationManager;
+import com.blackducksoftware.integration.hub.detect.workflow.file.DetectFileFinder;
+import com.blackducksoftware.integration.hub.detect.workflow.file.DirectoryIndex;
+import com.blackducksoftware.integration.hub.detect.workflow.file.DirectoryManager;
 import com.blackducksoftware.integration.hub.detect.workflow.project.DetectorEvaluationNameVersionDecider;
 import com.blackducksoftware.integration.hub.detect.workflow.project.DetectorNameVersionDecider;
 import com.blackducksoftware.integration.hub.detect.workflow.search.SearchManager;
@@ -56,16 +71,21 @@ public class DetectorTool {
         logger.info("Preparing to initialize detectors.");
         DetectorFactory detectorFactory = detectContext.getBean(DetectorFactory.class);
         EventSystem eventSystem = detectContext.getBean(EventSystem.class);
+        DetectConfigurationFactory detectConfigurationFactory = detectContext.getBean(DetectConfigurationFactory.class);
+        DirectoryIndex directoryIndex = detectContext.getBean(DirectoryIndex.class);
+        DetectFileFinder detectFileFinder = detectContext.getBean(DetectFileFinder.class);
 
         logger.info("Building detector system.");
         DetectorSearchProvider detectorSearchProvider = new DetectorSearchProvider(detectorFactory);
-        DetectorSearchEvaluator detectorSearchEvaluator = new DetectorSearchEvaluator();
+        DetectorSearchEvaluator detectorSearchEvaluator = new DetectorSearchEvaluator(detectorFactory, detectFileFinder);
 
-        SearchManager searchManager = new SearchManager(searchOptions, detectorSearchProvider, detectorSearchEvaluator, eventSystem);
+        SearchManager searchManager = new SearchManager(searchOptions, detectorSearchProvider, detectorSearchEvaluator, eventSystem, directoryIndex);
+        ExtractionOptions extractionOptions = detectConfigurationFactory.createExtractionOptions();
+        InspectorProvisioningManager inspectorProvisioningManager = extractionOptions.isProvisionInspectors() ? new InspectorProvisioningManager(eventSystem) : InspectorProvisioningManager.disabled();
         PreparationManager preparationManager = new PreparationManager(eventSystem);
-        ExtractionManager extractionManager = new ExtractionManager();
+        ExtractionManager extractionManager = new ExtractionManager(eventSystem, extractionOptions, createExtractionCache(extractionOptions), createCodeLocationSpiller(extractionOptions));
 
-        DetectorManager detectorManager = new DetectorManager(searchManager, extractionManager, preparationManager, eventSystem);
+        DetectorManager detectorManager = new DetectorManager(searchManager, extractionManager, inspectorProvisioningManager, preparationManager, eventSystem);
         logger.info("Running detectors.");
         DetectorToolResult detectorToolResult = detectorManager.runDetectors();
         logger.info("Finished running detectors.");
@@ -80,4 +100,28 @@ public class DetectorTool {
 
         return detectorToolResult;
     }
+
+    private CodeLocationSpiller createCodeLocationSpiller(ExtractionOptions extractionOptions) {
+        if (!extractionOptions.isSpillToDisk()) {
+            return CodeLocationSpiller.disabled();
+        }
+        logger.info("Dependency graphs will be written to the extraction output directory as each extraction finishes.");
+        return new CodeLocationSpiller(detectContext.getBean(DirectoryManager.class));
+    }
+
+    private ExtractionCache createExtractionCache(ExtractionOptions extractionOptions) {
+        if (!extractionOptions.isIncremental()) {
+            return ExtractionCache.disabled();
+        }
+        DirectoryManager directoryManager = detectContext.getBean(DirectoryManager.class);
+        DetectConfiguration detectConfiguration = detectContext.getBean(DetectConfiguration.class);
+        Map<String, String> detectProperties = new HashMap<>();
+        for (DetectProperty detectProperty : detectConfiguration.getCurrentProperties().keySet()) {
+            detectProperties.put(detectProperty.getPropertyName(), detectConfiguration.getPropertyValueAsString(detectProperty, PropertyAuthority.None));
+        }
+        String detectVersion = detectContext.getBean(DetectInfo.class).getDetectVersion();
+        int maxEntries = detectConfiguration.getIntegerProperty(DetectProperty.DETECT_DETECTOR_EXTRACTION_INCREMENTAL_MAX_ENTRIES, PropertyAuthority.None);
+        logger.info("Incremental extraction is enabled, unchanged lock files will reuse the code locations of a previous run.");
+        return new ExtractionCache(directoryManager.getCacheDirectory("extractions"), detectVersion, maxEntries, detectProperties, new DetectCodeLocationSerializer());
+    }
 }
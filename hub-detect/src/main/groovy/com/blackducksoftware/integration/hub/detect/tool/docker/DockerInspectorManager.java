@@ -38,23 +38,20 @@ import com.blackducksoftware.integration.hub.detect.configuration.DetectConfigur
 import com.blackducksoftware.integration.hub.detect.configuration.DetectProperty;
 import com.blackducksoftware.integration.hub.detect.configuration.PropertyAuthority;
 import com.blackducksoftware.integration.hub.detect.detector.DetectorException;
+import com.blackducksoftware.integration.hub.detect.detector.InspectorProvisioner;
 import com.blackducksoftware.integration.hub.detect.exception.DetectUserFriendlyException;
 import com.blackducksoftware.integration.hub.detect.workflow.ArtifactResolver;
 import com.blackducksoftware.integration.hub.detect.workflow.ArtifactoryConstants;
 import com.blackducksoftware.integration.hub.detect.workflow.file.AirGapManager;
 import com.blackducksoftware.integration.hub.detect.workflow.file.DetectFileFinder;
-import com.blackducksoftware.integration.hub.detect.workflow.file.DirectoryManager;
 import com.synopsys.integration.exception.IntegrationException;
 
-public class DockerInspectorManager {
+public class DockerInspectorManager implements InspectorProvisioner {
     private static final String IMAGE_INSPECTOR_FAMILY = "blackduck-imageinspector";
     private static final List<String> inspectorNames = Arrays.asList("ubuntu", "alpine", "centos");
 
     private final Logger logger = LoggerFactory.getLogger(this.getClass());
 
-    private final static String DOCKER_SHARED_DIRECTORY_NAME = "docker";
-
-    private final DirectoryManager directoryManager;
     private final AirGapManager airGapManager;
     private final DetectFileFinder detectFileFinder;
     private final DetectConfiguration detectConfiguration;
@@ -62,26 +59,38 @@ public class DockerInspectorManager {
 
     private DockerInspectorInfo resolvedInfo;
     private boolean hasResolvedInspector;
+    private DetectorException resolutionFailure;
 
-    public DockerInspectorManager(final DirectoryManager directoryManager, AirGapManager airGapManager, final DetectFileFinder detectFileFinder,
-        final DetectConfiguration detectConfiguration, final ArtifactResolver artifactResolver) {
-        this.directoryManager = directoryManager;
+    public DockerInspectorManager(AirGapManager airGapManager, final DetectFileFinder detectFileFinder, final DetectConfiguration detectConfiguration, final ArtifactResolver artifactResolver) {
         this.airGapManager = airGapManager;
         this.detectFileFinder = detectFileFinder;
         this.detectConfiguration = detectConfiguration;
         this.artifactResolver = artifactResolver;
     }
 
-    public DockerInspectorInfo getDockerInspector() throws DetectorException {
-        try {
-            if (!hasResolvedInspector) {
-                hasResolvedInspector = true;
+    @Override
+    public String getInspectorName() {
+        return "docker";
+    }
+
+    @Override
+    public void provisionInspector() throws DetectorException {
+        getDockerInspector();
+    }
+
+    public synchronized DockerInspectorInfo getDockerInspector() throws DetectorException {
+        if (!hasResolvedInspector) {
+            hasResolvedInspector = true;
+            try {
                 resolvedInfo = install();
+            } catch (final Exception e) {
+                resolutionFailure = new DetectorException(e);
             }
-            return resolvedInfo;
-        } catch (final Exception e) {
-            throw new DetectorException(e);
         }
+        if (resolutionFailure != null) {
+            throw resolutionFailure;
+        }
+        return resolvedInfo;
     }
 
     private DockerInspectorInfo install() throws IntegrationException, DetectUserFriendlyException, IOException {
@@ -161,9 +170,8 @@ public class DockerInspectorManager {
             ArtifactoryConstants.DOCKER_INSPECTOR_VERSION_OVERRIDE);
         if (location.isPresent()) {
             logger.info("Finding or downloading the docker inspector.");
-            File dockerDirectory = directoryManager.getPermanentDirectory(DOCKER_SHARED_DIRECTORY_NAME);
-            logger.debug(String.format("Downloading docker inspector from '%s' to '%s'.", location.get(), dockerDirectory.getAbsolutePath()));
-            File jarFile = artifactResolver.downloadOrFindArtifact(dockerDirectory, location.get());
+            logger.debug(String.format("Downloading docker inspector from '%s'.", location.get()));
+            File jarFile = artifactResolver.downloadOrFindArtifact(location.get());
             logger.info("Found online docker inspector: " + jarFile.getAbsolutePath());
             return new DockerInspectorInfo(jarFile);
         } else {
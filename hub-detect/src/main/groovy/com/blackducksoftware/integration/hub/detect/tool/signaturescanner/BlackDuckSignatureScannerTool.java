@@ -40,6 +40,7 @@ import com.blackducksoftware.integration.hub.detect.configuration.DetectProperty
 import com.blackducksoftware.integration.hub.detect.configuration.PropertyAuthority;
 import com.blackducksoftware.integration.hub.detect.exception.DetectUserFriendlyException;
 import com.blackducksoftware.integration.hub.detect.lifecycle.DetectContext;
+import com.blackducksoftware.integration.hub.detect.workflow.ArtifactCache;
 import com.blackducksoftware.integration.hub.detect.workflow.ConnectivityManager;
 import com.blackducksoftware.integration.hub.detect.workflow.file.DirectoryManager;
 import com.synopsys.integration.blackduck.codelocation.CodeLocationCreationData;
@@ -67,6 +68,7 @@ public class BlackDuckSignatureScannerTool {
         ConnectionManager connectionManager = detectContext.getBean(ConnectionManager.class);
         ConnectivityManager connectivityManager = detectContext.getBean(ConnectivityManager.class);
         DirectoryManager directoryManager = detectContext.getBean(DirectoryManager.class);
+        ArtifactCache artifactCache = detectContext.getBean(ArtifactCache.class);
 
         Optional<BlackDuckServerConfig> hubServerConfig = Optional.empty();
         if (connectivityManager.isDetectOnline() && connectivityManager.getBlackDuckServerConfig().isPresent()) {
@@ -92,7 +94,7 @@ public class BlackDuckSignatureScannerTool {
         final ExecutorService executorService = Executors.newFixedThreadPool(blackDuckSignatureScannerOptions.getParrallelProcessors());
         IntEnvironmentVariables intEnvironmentVariables = new IntEnvironmentVariables();
 
-        ScanBatchRunnerFactory scanBatchRunnerFactory = new ScanBatchRunnerFactory(intEnvironmentVariables, executorService);
+        ScanBatchRunnerFactory scanBatchRunnerFactory = new ScanBatchRunnerFactory(intEnvironmentVariables, executorService, artifactCache);
         ScanBatchRunner scanBatchRunner;
         File installDirectory = directoryManager.getPermanentDirectory();
         if (hubServerConfig.isPresent() && StringUtils.isBlank(userProvidedScannerInstallUrl) && StringUtils.isBlank(localScannerInstallPath)) {
@@ -0,0 +1,70 @@
+/**
+ * hub-detect
+ *
+ * Copyright (C) 2019 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.blackducksoftware.integration.hub.detect.tool.signaturescanner;
+
+import java.io.File;
+import java.io.IOException;
+
+import com.blackducksoftware.integration.hub.detect.workflow.ArtifactCache;
+import com.blackducksoftware.integration.hub.detect.workflow.ArtifactCache.ArtifactCacheLock;
+import com.synopsys.integration.blackduck.codelocation.signaturescanner.command.ScanPathsUtility;
+import com.synopsys.integration.blackduck.codelocation.signaturescanner.command.ScannerZipInstaller;
+import com.synopsys.integration.blackduck.exception.BlackDuckIntegrationException;
+import com.synopsys.integration.log.IntLogger;
+import com.synopsys.integration.rest.client.IntHttpClient;
+import com.synopsys.integration.util.CleanupZipExpander;
+import com.synopsys.integration.util.OperatingSystemType;
+
+/*
+ * The scanner zip is downloaded and expanded in place by the library, so concurrent detect runs that share the tools directory take the
+ * artifact cache lock of the install directory while the scanner is installed or updated.
+ */
+public class LockingScannerZipInstaller extends ScannerZipInstaller {
+    private final ArtifactCache artifactCache;
+
+    public LockingScannerZipInstaller(final IntLogger logger, final IntHttpClient intHttpClient, final CleanupZipExpander cleanupZipExpander, final ScanPathsUtility scanPathsUtility, final String blackDuckServerUrl,
+        final OperatingSystemType operatingSystemType, final ArtifactCache artifactCache) {
+        super(logger, intHttpClient, cleanupZipExpander, scanPathsUtility, blackDuckServerUrl, operatingSystemType);
+        this.artifactCache = artifactCache;
+    }
+
+    @Override
+    public void installOrUpdateScanner(final File installDirectory) throws BlackDuckIntegrationException {
+        final ArtifactCacheLock lock;
+        try {
+            lock = artifactCache.lock(installDirectory.getCanonicalPath());
+        } catch (final IOException e) {
+            throw new BlackDuckIntegrationException("Unable to lock the signature scanner install directory: " + e.getMessage(), e);
+        }
+        try {
+            super.installOrUpdateScanner(installDirectory);
+        } finally {
+            try {
+                lock.close();
+            } catch (final IOException e) {
+                throw new BlackDuckIntegrationException("Unable to unlock the signature scanner install directory: " + e.getMessage(), e);
+            }
+        }
+    }
+}
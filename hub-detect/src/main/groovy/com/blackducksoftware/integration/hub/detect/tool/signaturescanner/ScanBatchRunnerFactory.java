@@ -31,10 +31,10 @@ import org.slf4j.LoggerFactory;
 
 import com.blackducksoftware.integration.hub.detect.configuration.ConnectionManager;
 import com.blackducksoftware.integration.hub.detect.exception.DetectUserFriendlyException;
+import com.blackducksoftware.integration.hub.detect.workflow.ArtifactCache;
 import com.synopsys.integration.blackduck.codelocation.signaturescanner.ScanBatchRunner;
 import com.synopsys.integration.blackduck.codelocation.signaturescanner.command.ScanCommandRunner;
 import com.synopsys.integration.blackduck.codelocation.signaturescanner.command.ScanPathsUtility;
-import com.synopsys.integration.blackduck.codelocation.signaturescanner.command.ScannerZipInstaller;
 import com.synopsys.integration.blackduck.configuration.BlackDuckServerConfig;
 import com.synopsys.integration.log.Slf4jIntLogger;
 import com.synopsys.integration.rest.client.IntHttpClient;
@@ -47,14 +47,16 @@ public class ScanBatchRunnerFactory {
 
     private final IntEnvironmentVariables intEnvironmentVariables;
     private final ExecutorService executorService;
+    private final ArtifactCache artifactCache;
     private final Slf4jIntLogger slf4jIntLogger;
     private final OperatingSystemType operatingSystemType;
     private final ScanPathsUtility scanPathsUtility;
     private final ScanCommandRunner scanCommandRunner;
 
-    public ScanBatchRunnerFactory(IntEnvironmentVariables intEnvironmentVariables, ExecutorService executorService) {
+    public ScanBatchRunnerFactory(IntEnvironmentVariables intEnvironmentVariables, ExecutorService executorService, ArtifactCache artifactCache) {
         this.intEnvironmentVariables = intEnvironmentVariables;
         this.executorService = executorService;
+        this.artifactCache = artifactCache;
         slf4jIntLogger = new Slf4jIntLogger(logger);
         operatingSystemType = OperatingSystemType.determineFromSystem();
         scanPathsUtility = new ScanPathsUtility(slf4jIntLogger, intEnvironmentVariables, operatingSystemType);
@@ -63,7 +65,9 @@ public class ScanBatchRunnerFactory {
 
     public ScanBatchRunner withHubInstall(BlackDuckServerConfig hubServerConfig) {
         // will will use the hub server to download/update the scanner - this is the most likely situation
-        ScannerZipInstaller scannerZipInstaller = ScannerZipInstaller.defaultUtility(slf4jIntLogger, hubServerConfig, scanPathsUtility, operatingSystemType);
+        final CleanupZipExpander cleanupZipExpander = new CleanupZipExpander(slf4jIntLogger);
+        final LockingScannerZipInstaller scannerZipInstaller = new LockingScannerZipInstaller(slf4jIntLogger, hubServerConfig.createBlackDuckHttpClient(slf4jIntLogger), cleanupZipExpander, scanPathsUtility,
+            hubServerConfig.getBlackDuckUrl().toString(), operatingSystemType, artifactCache);
         ScanBatchRunner scanBatchManager = ScanBatchRunner.createComplete(slf4jIntLogger, intEnvironmentVariables, scannerZipInstaller, scanPathsUtility, scanCommandRunner);
         return scanBatchManager;
     }
@@ -78,7 +82,8 @@ public class ScanBatchRunnerFactory {
         // we will use the provided url to download/update the scanner
         final IntHttpClient restConnection = connectionManager.createUnauthenticatedRestConnection(userProvidedScannerInstallUrl);
         final CleanupZipExpander cleanupZipExpander = new CleanupZipExpander(slf4jIntLogger);
-        final ScannerZipInstaller scannerZipInstaller = new ScannerZipInstaller(slf4jIntLogger, restConnection, cleanupZipExpander, scanPathsUtility, userProvidedScannerInstallUrl, operatingSystemType);
+        final LockingScannerZipInstaller scannerZipInstaller = new LockingScannerZipInstaller(slf4jIntLogger, restConnection, cleanupZipExpander, scanPathsUtility, userProvidedScannerInstallUrl, operatingSystemType,
+            artifactCache);
 
         return ScanBatchRunner.createComplete(slf4jIntLogger, intEnvironmentVariables, scannerZipInstaller, scanPathsUtility, scanCommandRunner);
     }
@@ -0,0 +1,53 @@
+/**
+ * hub-detect
+ *
+ * Copyright (C) 2019 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.blackducksoftware.integration.hub.detect.util;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/*
+ * Remembers the first version seen for each package name so parsers can answer "have we seen this package" and "which version was
+ * it" in constant time instead of scanning a list of every package for each relationship.
+ */
+public class NameVersionIndex {
+    private final Map<String, String> versionsByName = new HashMap<>();
+
+    // Returns true if this is the first time the name was added.
+    public boolean add(final String name, final String version) {
+        if (versionsByName.containsKey(name)) {
+            return false;
+        }
+        versionsByName.put(name, version);
+        return true;
+    }
+
+    public boolean contains(final String name) {
+        return versionsByName.containsKey(name);
+    }
+
+    public Optional<String> getVersion(final String name) {
+        return Optional.ofNullable(versionsByName.get(name));
+    }
+}
@@ -24,8 +24,9 @@
 package com.blackducksoftware.integration.hub.detect.util.executable;
 
 import java.io.File;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -58,7 +59,8 @@ public class CacheableExecutableFinder {
     private final ExecutableFinder executableFinder;
     private final DetectConfiguration detectConfiguration;
 
-    private final Map<CacheableExecutableType, File> alreadyFound = new HashMap<>();
+    // Misses are cached too, detectors for missing tools ask again for every directory they apply to.
+    private final Map<CacheableExecutableType, Optional<File>> alreadyFound = new ConcurrentHashMap<>();
 
     public CacheableExecutableFinder(final DirectoryManager directoryManager, final ExecutableFinder executableFinder, final DetectConfiguration detectConfiguration) {
         this.directoryManager = directoryManager;
@@ -67,23 +69,26 @@ public class CacheableExecutableFinder {
     }
 
     public File getExecutable(final CacheableExecutableType executableType) throws DetectorException {
-        if (alreadyFound.containsKey(executableType)) {
+        final Optional<File> cached = alreadyFound.get(executableType);
+        if (cached != null) {
             logger.debug("Already found executable, resolving with cached value.");
-            return alreadyFound.get(executableType);
+            return cached.orElse(null);
         }
         final StandardExecutableInfo info = createInfo(executableType);
         if (info == null) {
             throw new DetectorException("Unknown executable type: " + executableType.toString());
         }
 
-        final String exe = executableFinder.getExecutablePathOrOverride(info.detectExecutableType, true, directoryManager.getSourceDirectory(), info.override);
-        File exeFile = null;
-        if (exe != null) {
-            exeFile = new File(exe);
-        }
-        logger.debug("Cached executable " + executableType.toString() + " to: " + exeFile.getAbsolutePath());
-        alreadyFound.put(executableType, exeFile);
-        return exeFile;
+        return alreadyFound.computeIfAbsent(executableType, it -> {
+            final String exe = executableFinder.getExecutablePathOrOverride(info.detectExecutableType, true, directoryManager.getSourceDirectory(), info.override);
+            if (exe == null) {
+                logger.debug("Cached missing executable " + executableType.toString());
+                return Optional.empty();
+            }
+            final File exeFile = new File(exe);
+            logger.debug("Cached executable " + executableType.toString() + " to: " + exeFile.getAbsolutePath());
+            return Optional.of(exeFile);
+        }).orElse(null);
     }
 
     public StandardExecutableInfo createInfo(final CacheableExecutableType type) {
@@ -25,9 +25,8 @@ package com.blackducksoftware.integration.hub.detect.util.executable;
 
 import java.io.File;
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
+import java.util.Optional;
 
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
@@ -36,17 +35,13 @@ import org.slf4j.LoggerFactory;
 import com.blackducksoftware.integration.hub.detect.DetectInfo;
 import com.blackducksoftware.integration.hub.detect.type.ExecutableType;
 import com.blackducksoftware.integration.hub.detect.type.OperatingSystemType;
-import com.blackducksoftware.integration.hub.detect.workflow.file.DetectFileFinder;
 
 public class ExecutableFinder {
     private final Logger logger = LoggerFactory.getLogger(ExecutableFinder.class);
-    private final Map<String, File> cachedSystemExecutables = new HashMap<>();
 
-    private final DetectFileFinder detectFileFinder;
     private final DetectInfo detectInfo;
 
-    public ExecutableFinder(final DetectFileFinder detectFileFinder, final DetectInfo detectInfo) {
-        this.detectFileFinder = detectFileFinder;
+    public ExecutableFinder(final DetectInfo detectInfo) {
         this.detectInfo = detectInfo;
     }
 
@@ -89,33 +84,34 @@ public class ExecutableFinder {
         return executableFile;
     }
 
+    public File getExecutableFromSystemPath(final String executableName) {
+        return findExecutableFileFromSystemPath(executableName);
+    }
+
+    // The system path is resolved through an index shared by every run, so each executable is only looked up once.
     private File findExecutableFileFromSystemPath(final String executable) {
         final String systemPath = System.getenv("PATH");
-        if (!cachedSystemExecutables.containsKey(executable)) {
-            cachedSystemExecutables.put(executable, findExecutableFileFromPath(systemPath, executable));
+        final Optional<File> executableFile = ExecutablePathIndex.forPath(systemPath).findExecutable(getExecutableFileNames(executable));
+        if (!executableFile.isPresent()) {
+            logger.debug(String.format("Could not find the executable: %s while searching through: %s", executable, systemPath));
         }
-        return cachedSystemExecutables.get(executable);
-
+        return executableFile.orElse(null);
     }
 
     private File findExecutableFileFromPath(final String path, final String executableName) {
-        final List<String> executables;
+        final Optional<File> executableFile = ExecutablePathIndex.findExecutable(path, getExecutableFileNames(executableName));
+        if (!executableFile.isPresent()) {
+            logger.debug(String.format("Could not find the executable: %s while searching through: %s", executableName, path));
+        }
+        return executableFile.orElse(null);
+    }
+
+    private List<String> getExecutableFileNames(final String executableName) {
         final OperatingSystemType currentOs = detectInfo.getCurrentOs();
         if (currentOs == OperatingSystemType.WINDOWS) {
-            executables = Arrays.asList(executableName + ".cmd", executableName + ".bat", executableName + ".exe");
+            return Arrays.asList(executableName + ".cmd", executableName + ".bat", executableName + ".exe");
         } else {
-            executables = Arrays.asList(executableName);
-        }
-
-        for (final String pathPiece : path.split(File.pathSeparator)) {
-            for (final String possibleExecutable : executables) {
-                final File foundFile = detectFileFinder.findFile(pathPiece, possibleExecutable);
-                if (foundFile != null && foundFile.exists() && foundFile.canExecute()) {
-                    return foundFile;
-                }
-            }
+            return Arrays.asList(executableName);
         }
-        logger.debug(String.format("Could not find the executable: %s while searching through: %s", executableName, path));
-        return null;
     }
 }
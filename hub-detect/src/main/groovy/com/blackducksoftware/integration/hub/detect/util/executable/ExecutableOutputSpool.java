@@ -0,0 +1,116 @@
+/**
+ * hub-detect
+ *
+ * Copyright (C) 2019 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.blackducksoftware.integration.hub.detect.util.executable;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Collects streamed executable output in memory until it passes the threshold, then moves it to a temporary file so large outputs are never held
+ * in memory as a single string.
+ */
+public class ExecutableOutputSpool implements Consumer<String>, Closeable {
+    public static final int DEFAULT_THRESHOLD = 8 * 1024 * 1024;
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+    private final int threshold;
+    private final StringBuilder buffer = new StringBuilder();
+    private File spoolFile;
+    private BufferedWriter spoolWriter;
+    private boolean hasContent;
+
+    public ExecutableOutputSpool() {
+        this(DEFAULT_THRESHOLD);
+    }
+
+    public ExecutableOutputSpool(final int threshold) {
+        this.threshold = threshold;
+    }
+
+    @Override
+    public void accept(final String line) {
+        if (!hasContent && StringUtils.isNotBlank(line)) {
+            hasContent = true;
+        }
+        try {
+            if (spoolWriter != null) {
+                spoolWriter.write(line);
+                spoolWriter.newLine();
+                return;
+            }
+            buffer.append(line).append(System.lineSeparator());
+            if (buffer.length() > threshold) {
+                spoolFile = File.createTempFile("detect-executable-output", ".txt");
+                logger.debug(String.format("Executable output passed %d characters, spooling to %s", threshold, spoolFile.getAbsolutePath()));
+                spoolWriter = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(spoolFile), StandardCharsets.UTF_8));
+                spoolWriter.write(buffer.toString());
+                buffer.setLength(0);
+            }
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public boolean hasContent() {
+        return hasContent;
+    }
+
+    public boolean isSpooled() {
+        return spoolFile != null;
+    }
+
+    public Reader openReader() throws IOException {
+        if (spoolWriter != null) {
+            spoolWriter.flush();
+            return new InputStreamReader(new FileInputStream(spoolFile), StandardCharsets.UTF_8);
+        }
+        return new StringReader(buffer.toString());
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (spoolWriter != null) {
+            spoolWriter.close();
+            spoolWriter = null;
+        }
+        if (spoolFile != null && !spoolFile.delete()) {
+            spoolFile.deleteOnExit();
+        }
+    }
+}
@@ -0,0 +1,131 @@
+/**
+ * hub-detect
+ *
+ * Copyright (C) 2019 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.blackducksoftware.integration.hub.detect.util.executable;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang3.StringUtils;
+
+// Resolves executable names against the directories of a path, remembering the first executable found and every miss.
+public class ExecutablePathIndex {
+    // Shared by every run in the process, so a daemon re-checks misses in case a tool was installed since.
+    private static final long DEFAULT_MISS_EXPIRATION_MILLISECONDS = TimeUnit.MINUTES.toMillis(5);
+    private static final Map<String, ExecutablePathIndex> sharedIndexes = new ConcurrentHashMap<>();
+
+    private final List<Path> directories;
+    private final long missExpirationMilliseconds;
+    private final Map<List<String>, IndexEntry> entries = new ConcurrentHashMap<>();
+
+    ExecutablePathIndex(final String path, final long missExpirationMilliseconds) {
+        this.directories = parseDirectories(path);
+        this.missExpirationMilliseconds = missExpirationMilliseconds;
+    }
+
+    public static ExecutablePathIndex forPath(final String path) {
+        return sharedIndexes.computeIfAbsent(StringUtils.defaultString(path), it -> new ExecutablePathIndex(it, DEFAULT_MISS_EXPIRATION_MILLISECONDS));
+    }
+
+    // The candidates are alternative file names of one executable, searched in order within each directory.
+    public Optional<File> findExecutable(final List<String> candidateFileNames) {
+        final long now = System.currentTimeMillis();
+        final IndexEntry entry = entries.compute(new ArrayList<>(candidateFileNames), (key, cached) -> {
+            if (cached != null && cached.isCurrent(now, missExpirationMilliseconds)) {
+                return cached;
+            }
+            return new IndexEntry(findExecutable(directories, key), now);
+        });
+        return Optional.ofNullable(entry.executable);
+    }
+
+    public static Optional<File> findExecutable(final String path, final List<String> candidateFileNames) {
+        return Optional.ofNullable(findExecutable(parseDirectories(path), candidateFileNames));
+    }
+
+    // Looks up each candidate directly instead of listing the directory.
+    private static File findExecutable(final List<Path> directories, final List<String> candidateFileNames) {
+        for (final Path directory : directories) {
+            for (final String candidateFileName : candidateFileNames) {
+                final Path candidate;
+                try {
+                    candidate = directory.resolve(candidateFileName);
+                } catch (final InvalidPathException e) {
+                    continue;
+                }
+                if (isExecutableFile(candidate)) {
+                    return candidate.toFile();
+                }
+            }
+        }
+        return null;
+    }
+
+    private static boolean isExecutableFile(final Path path) {
+        return Files.isRegularFile(path) && Files.isExecutable(path);
+    }
+
+    private static List<Path> parseDirectories(final String path) {
+        final Set<Path> directories = new LinkedHashSet<>();
+        for (final String pathPiece : StringUtils.defaultString(path).split(File.pathSeparator)) {
+            if (StringUtils.isBlank(pathPiece)) {
+                continue;
+            }
+            try {
+                directories.add(Paths.get(pathPiece.trim()));
+            } catch (final InvalidPathException e) {
+                // A malformed entry can never contain an executable.
+            }
+        }
+        return new ArrayList<>(directories);
+    }
+
+    private static class IndexEntry {
+        private final File executable;
+        private final long indexedAt;
+
+        public IndexEntry(final File executable, final long indexedAt) {
+            this.executable = executable;
+            this.indexedAt = indexedAt;
+        }
+
+        // A hit stays current while the file is still executable, a miss until it expires.
+        public boolean isCurrent(final long now, final long missExpirationMilliseconds) {
+            if (executable != null) {
+                return isExecutableFile(executable.toPath());
+            }
+            return now - indexedAt < missExpirationMilliseconds;
+        }
+    }
+}
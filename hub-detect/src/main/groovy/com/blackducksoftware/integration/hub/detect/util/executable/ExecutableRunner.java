@@ -76,14 +76,30 @@ public class ExecutableRunner {
         return runExecutable(executable, logger::debug, logger::trace);
     }
 
+    /*
+     * Hands each line of standard output to the consumer as it is read instead of collecting it, the returned output only holds the return code and standard error.
+     */
+    public ExecutableOutput executeStreaming(final Executable executable, final Consumer<String> standardOutputConsumer) throws ExecutableRunnerException {
+        return runExecutable(executable, logger::info, logger::trace, standardOutputConsumer);
+    }
+
+    public ExecutableOutput executeStreamingQuietly(final Executable executable, final Consumer<String> standardOutputConsumer) throws ExecutableRunnerException {
+        return runExecutable(executable, logger::debug, logger::trace, standardOutputConsumer);
+    }
+
     public ExecutableOutput runExecutable(final Executable executable, final Consumer<String> standardLoggingMethod, final Consumer<String> traceLoggingMethod) throws ExecutableRunnerException {
+        return runExecutable(executable, standardLoggingMethod, traceLoggingMethod, null);
+    }
+
+    public ExecutableOutput runExecutable(final Executable executable, final Consumer<String> standardLoggingMethod, final Consumer<String> traceLoggingMethod, final Consumer<String> standardOutputConsumer)
+        throws ExecutableRunnerException {
         standardLoggingMethod.accept(String.format("Running executable >%s", executable.getMaskedExecutableDescription()));
         try {
             final ProcessBuilder processBuilder = executable.createProcessBuilder();
             final Process process = processBuilder.start();
 
             try (InputStream standardOutputStream = process.getInputStream(); InputStream standardErrorStream = process.getErrorStream()) {
-                final ExecutableStreamThread standardOutputThread = new ExecutableStreamThread(standardOutputStream, standardLoggingMethod, traceLoggingMethod);
+                final ExecutableStreamThread standardOutputThread = new ExecutableStreamThread(standardOutputStream, standardLoggingMethod, traceLoggingMethod, standardOutputConsumer);
                 standardOutputThread.start();
 
                 final ExecutableStreamThread errorOutputThread = new ExecutableStreamThread(standardErrorStream, standardLoggingMethod, traceLoggingMethod);
@@ -95,6 +111,10 @@ public class ExecutableRunner {
                 standardOutputThread.join();
                 errorOutputThread.join();
 
+                if (standardOutputThread.getLineConsumerException().isPresent()) {
+                    throw standardOutputThread.getLineConsumerException().get();
+                }
+
                 final String standardOutput = standardOutputThread.getExecutableOutput().trim();
                 final String errorOutput = errorOutputThread.getExecutableOutput().trim();
 
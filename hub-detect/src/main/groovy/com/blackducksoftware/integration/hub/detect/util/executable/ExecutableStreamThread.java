@@ -28,39 +28,76 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Optional;
 import java.util.function.Consumer;
 
+import org.slf4j.MDC;
+
 public class ExecutableStreamThread extends Thread {
     private final BufferedReader bufferedReader;
     private final StringBuilder stringBuilder;
     private final Consumer<String> outputLoggingMethod;
     private final Consumer<String> traceLoggingMethod;
+    private final Consumer<String> lineConsumer;
+    private final Map<String, String> mdcContext;
 
     private String executableOutput;
+    private RuntimeException lineConsumerException;
 
     public ExecutableStreamThread(final InputStream executableStream, final Consumer<String> outputLoggingMethod, final Consumer<String> traceLoggingMethod) {
+        this(executableStream, outputLoggingMethod, traceLoggingMethod, null);
+    }
+
+    // When a line consumer is given the lines are handed to it as they are read and the output is not kept in memory.
+    public ExecutableStreamThread(final InputStream executableStream, final Consumer<String> outputLoggingMethod, final Consumer<String> traceLoggingMethod, final Consumer<String> lineConsumer) {
         super(Thread.currentThread().getName() + "-Executable_Stream_Thread");
         this.outputLoggingMethod = outputLoggingMethod;
         this.traceLoggingMethod = traceLoggingMethod;
+        this.lineConsumer = lineConsumer;
+        // Logback's MDC is not inherited by child threads, the extraction id in it routes the output to the extraction log.
+        this.mdcContext = MDC.getCopyOfContextMap();
         final InputStreamReader reader = new InputStreamReader(executableStream, StandardCharsets.UTF_8);
         this.bufferedReader = new BufferedReader(reader);
-        this.stringBuilder = new StringBuilder();
+        this.stringBuilder = lineConsumer == null ? new StringBuilder() : null;
     }
 
     @Override
     public void run() {
+        if (mdcContext != null) {
+            MDC.setContextMap(mdcContext);
+        }
         try {
             String line;
             final String separator = System.lineSeparator();
             while ((line = bufferedReader.readLine()) != null) {
-                stringBuilder.append(line + separator);
+                if (lineConsumer == null) {
+                    stringBuilder.append(line + separator);
+                } else if (lineConsumerException == null) {
+                    consumeLine(line);
+                }
                 outputLoggingMethod.accept(line);
             }
         } catch (final IOException e) {
             // Ignore
             traceLoggingMethod.accept(e.toString());
+        } finally {
+            MDC.clear();
+        }
+        this.executableOutput = stringBuilder == null ? "" : stringBuilder.toString();
+    }
+
+    private void consumeLine(final String line) {
+        try {
+            lineConsumer.accept(line);
+        } catch (final RuntimeException e) {
+            // Keep reading so the process does not block on a full pipe, the failure is reported once the executable finishes.
+            lineConsumerException = e;
         }
-        this.executableOutput = stringBuilder.toString();
+    }
+
+    public Optional<RuntimeException> getLineConsumerException() {
+        return Optional.ofNullable(lineConsumerException);
     }
 
     public String getExecutableOutput() {
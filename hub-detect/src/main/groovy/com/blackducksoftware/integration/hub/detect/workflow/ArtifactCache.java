@@ -0,0 +1,438 @@
+/**
+ * hub-detect
+ *
+ * Copyright (C) 2019 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.blackducksoftware.integration.hub.detect.workflow;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.commons.io.FileUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.blackducksoftware.integration.hub.detect.exception.DetectUserFriendlyException;
+import com.blackducksoftware.integration.hub.detect.util.DetectZipUtil;
+import com.synopsys.integration.exception.IntegrationException;
+
+/*
+ * A download cache shared by every detect run that uses the same tools directory. Artifacts are stored by the SHA-256 of their content and
+ * each source url points at the content it last resolved to. Downloads are written to a temporary file and moved into place atomically once
+ * their hash is verified, and a cached artifact is hashed again before it is reused, so a truncated or corrupted file is downloaded again
+ * instead of being used. Runs in other processes are kept apart with file locks, one per source and one per stored artifact. When the cache
+ * grows beyond its size limit the least recently used artifacts are deleted. The locks are released once an artifact is returned, so an
+ * artifact used within the last day is never deleted either, since the run that fetched it may still be running it.
+ */
+public class ArtifactCache {
+    private static final String OBJECTS_DIRECTORY_NAME = "objects";
+    private static final String SOURCES_DIRECTORY_NAME = "sources";
+    private static final String LOCKS_DIRECTORY_NAME = "locks";
+    private static final String TEMP_DIRECTORY_NAME = "tmp";
+    private static final String EXTRACTED_DIRECTORY_NAME = "extracted";
+    private static final String SHA256_KEY = "sha256";
+    private static final String FILE_NAME_KEY = "fileName";
+    private static final long STALE_TEMP_FILE_MILLIS = TimeUnit.HOURS.toMillis(24);
+    private static final long IN_USE_MILLIS = TimeUnit.HOURS.toMillis(24);
+
+    // FileChannel locks are held by the whole JVM, so threads of this process also have to be kept apart. A lock is removed once no thread
+    // holds or waits for it.
+    private static final Map<String, ProcessLock> PROCESS_LOCKS = new ConcurrentHashMap<>();
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+    private final File objectsDirectory;
+    private final File sourcesDirectory;
+    private final File locksDirectory;
+    private final File tempDirectory;
+    private final long maxSizeBytes;
+
+    public ArtifactCache(final File cacheDirectory, final long maxSizeBytes) {
+        this.objectsDirectory = new File(cacheDirectory, OBJECTS_DIRECTORY_NAME);
+        this.sourcesDirectory = new File(cacheDirectory, SOURCES_DIRECTORY_NAME);
+        this.locksDirectory = new File(cacheDirectory, LOCKS_DIRECTORY_NAME);
+        this.tempDirectory = new File(cacheDirectory, TEMP_DIRECTORY_NAME);
+        this.maxSizeBytes = maxSizeBytes;
+    }
+
+    public interface ArtifactDownload {
+        // Writes the artifact to the given file and returns the SHA-256 the source advertised for it, if any.
+        Optional<String> downloadTo(File file) throws IntegrationException, DetectUserFriendlyException, IOException;
+    }
+
+    public File fetch(final String source, final String fileName, final ArtifactDownload artifactDownload) throws IntegrationException, DetectUserFriendlyException, IOException {
+        final File artifact;
+        final ArtifactCacheLock sourceLock = lock(source);
+        try {
+            artifact = fetchLocked(source, fileName, artifactDownload);
+        } finally {
+            sourceLock.close();
+        }
+        evict(artifact.getParentFile());
+        return artifact;
+    }
+
+    // Returns the directory the fetched zip was extracted to. The extraction is shared like the artifact itself.
+    public File fetchExtracted(final String source, final String fileName, final ArtifactDownload artifactDownload) throws IntegrationException, DetectUserFriendlyException, IOException {
+        final File extractedDirectory;
+        final ArtifactCacheLock sourceLock = lock(source);
+        try {
+            final File artifact = fetchLocked(source, fileName, artifactDownload);
+            extractedDirectory = new File(artifact.getParentFile(), EXTRACTED_DIRECTORY_NAME);
+            final ArtifactCacheLock objectLock = lockObject(artifact.getParentFile());
+            try {
+                if (!extractedDirectory.isDirectory()) {
+                    extract(artifact, extractedDirectory);
+                }
+            } finally {
+                objectLock.close();
+            }
+        } finally {
+            sourceLock.close();
+        }
+        evict(extractedDirectory.getParentFile());
+        return extractedDirectory;
+    }
+
+    public ArtifactCacheLock lock(final String name) throws IOException {
+        return lock(name, true).get();
+    }
+
+    private ArtifactCacheLock lockObject(final File objectDirectory) throws IOException {
+        return lock(getObjectLockName(objectDirectory));
+    }
+
+    // Stored artifacts are locked by their directory, since several sources can resolve to the same content.
+    private String getObjectLockName(final File objectDirectory) {
+        return OBJECTS_DIRECTORY_NAME + "/" + objectDirectory.getName();
+    }
+
+    // Without waiting, the lock is empty when another thread or process holds it.
+    private Optional<ArtifactCacheLock> lock(final String name, final boolean wait) throws IOException {
+        locksDirectory.mkdirs();
+        final File lockFile = new File(locksDirectory, sha256(name) + ".lock");
+        final ProcessLock processLock = acquireProcessLock(lockFile.getCanonicalPath());
+        if (wait) {
+            processLock.lock.lock();
+        } else if (!processLock.lock.tryLock()) {
+            releaseProcessLock(processLock);
+            return Optional.empty();
+        }
+        Optional<ArtifactCacheLock> artifactCacheLock = Optional.empty();
+        try {
+            final FileChannel channel = FileChannel.open(lockFile.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            try {
+                final FileLock fileLock = wait ? channel.lock() : channel.tryLock();
+                if (fileLock != null) {
+                    artifactCacheLock = Optional.of(new ArtifactCacheLock(processLock, channel, fileLock));
+                }
+            } finally {
+                if (!artifactCacheLock.isPresent()) {
+                    channel.close();
+                }
+            }
+        } finally {
+            if (!artifactCacheLock.isPresent()) {
+                processLock.lock.unlock();
+                releaseProcessLock(processLock);
+            }
+        }
+        return artifactCacheLock;
+    }
+
+    private static ProcessLock acquireProcessLock(final String path) {
+        return PROCESS_LOCKS.compute(path, (key, processLock) -> {
+            final ProcessLock acquired = processLock == null ? new ProcessLock(key) : processLock;
+            acquired.users++;
+            return acquired;
+        });
+    }
+
+    private static void releaseProcessLock(final ProcessLock processLock) {
+        PROCESS_LOCKS.computeIfPresent(processLock.path, (key, current) -> --current.users == 0 ? null : current);
+    }
+
+    private File fetchLocked(final String source, final String fileName, final ArtifactDownload artifactDownload) throws IntegrationException, DetectUserFriendlyException, IOException {
+        final File sourceFile = new File(sourcesDirectory, sha256(source) + ".properties");
+        final Optional<File> cachedArtifact = findCachedArtifact(sourceFile);
+        if (cachedArtifact.isPresent()) {
+            logger.debug(String.format("Using the cached artifact '%s' for '%s'.", cachedArtifact.get().getAbsolutePath(), source));
+            return cachedArtifact.get();
+        }
+
+        logger.debug(String.format("Downloading '%s' into the artifact cache.", source));
+        tempDirectory.mkdirs();
+        final File downloadFile = File.createTempFile("download", ".tmp", tempDirectory);
+        try {
+            final Optional<String> expectedSha256 = artifactDownload.downloadTo(downloadFile);
+            final String sha256 = sha256(downloadFile);
+            if (expectedSha256.isPresent() && !expectedSha256.get().equalsIgnoreCase(sha256)) {
+                throw new IntegrationException(String.format("The artifact downloaded from '%s' has the SHA-256 %s but %s was expected.", source, sha256, expectedSha256.get()));
+            }
+
+            final File artifact = new File(new File(objectsDirectory, sha256), fileName);
+            final ArtifactCacheLock objectLock = lockObject(artifact.getParentFile());
+            try {
+                artifact.getParentFile().mkdirs();
+                moveIntoPlace(downloadFile, artifact, sha256);
+                artifact.getParentFile().setLastModified(System.currentTimeMillis());
+            } finally {
+                objectLock.close();
+            }
+            writeSourceFile(sourceFile, sha256, fileName);
+            return artifact;
+        } finally {
+            FileUtils.deleteQuietly(downloadFile);
+        }
+    }
+
+    private Optional<File> findCachedArtifact(final File sourceFile) throws IOException {
+        if (!sourceFile.isFile()) {
+            return Optional.empty();
+        }
+        final Properties properties = new Properties();
+        try (InputStream inputStream = new FileInputStream(sourceFile)) {
+            properties.load(inputStream);
+        }
+        final String sha256 = properties.getProperty(SHA256_KEY);
+        final String fileName = properties.getProperty(FILE_NAME_KEY);
+        if (sha256 == null || fileName == null) {
+            return Optional.empty();
+        }
+
+        final File artifact = new File(new File(objectsDirectory, sha256), fileName);
+        final ArtifactCacheLock objectLock = lockObject(artifact.getParentFile());
+        try {
+            if (!artifact.isFile()) {
+                return Optional.empty();
+            }
+            if (!sha256.equals(sha256(artifact))) {
+                logger.warn(String.format("The cached artifact '%s' does not match its SHA-256 and will be downloaded again.", artifact.getAbsolutePath()));
+                FileUtils.deleteQuietly(artifact.getParentFile());
+                return Optional.empty();
+            }
+            artifact.getParentFile().setLastModified(System.currentTimeMillis());
+            return Optional.of(artifact);
+        } finally {
+            objectLock.close();
+        }
+    }
+
+    // Another source may resolve to the same content, in which case another run can have moved the same file into place already.
+    private void moveIntoPlace(final File downloadFile, final File artifact, final String sha256) throws IOException {
+        try {
+            Files.move(downloadFile.toPath(), artifact.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (final IOException e) {
+            if (!artifact.isFile() || !sha256.equals(sha256(artifact))) {
+                throw e;
+            }
+        }
+    }
+
+    private void writeSourceFile(final File sourceFile, final String sha256, final String fileName) throws IOException {
+        sourcesDirectory.mkdirs();
+        final Properties properties = new Properties();
+        properties.setProperty(SHA256_KEY, sha256);
+        properties.setProperty(FILE_NAME_KEY, fileName);
+        final File tempFile = File.createTempFile(sourceFile.getName(), ".tmp", sourcesDirectory);
+        try {
+            try (OutputStream outputStream = Files.newOutputStream(tempFile.toPath())) {
+                properties.store(outputStream, null);
+            }
+            Files.move(tempFile.toPath(), sourceFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            FileUtils.deleteQuietly(tempFile);
+        }
+    }
+
+    private void extract(final File artifact, final File extractedDirectory) throws IOException {
+        tempDirectory.mkdirs();
+        final File tempExtractedDirectory = Files.createTempDirectory(tempDirectory.toPath(), "extract").toFile();
+        try {
+            DetectZipUtil.unzip(artifact, tempExtractedDirectory, Charset.defaultCharset());
+            try {
+                Files.move(tempExtractedDirectory.toPath(), extractedDirectory.toPath(), StandardCopyOption.ATOMIC_MOVE);
+            } catch (final IOException e) {
+                if (!extractedDirectory.isDirectory()) {
+                    throw e;
+                }
+            }
+        } finally {
+            FileUtils.deleteQuietly(tempExtractedDirectory);
+        }
+    }
+
+    /*
+     * The artifact that was just fetched is never deleted, even when it alone is larger than the limit. Neither is an artifact used within
+     * the last day, one whose lock is held, or one that was used after the candidates were listed, so the cache can stay over its limit
+     * until a later run evicts again.
+     */
+    private void evict(final File keepDirectory) {
+        try {
+            final ArtifactCacheLock evictionLock = lock("eviction");
+            try {
+                evictLocked(keepDirectory);
+            } finally {
+                evictionLock.close();
+            }
+        } catch (final IOException e) {
+            logger.warn("Unable to evict artifacts from the artifact cache: " + e.getMessage());
+        }
+    }
+
+    private void evictLocked(final File keepDirectory) throws IOException {
+        deleteStaleTempFiles();
+
+        final File[] objectDirectories = objectsDirectory.listFiles(File::isDirectory);
+        if (objectDirectories == null) {
+            return;
+        }
+        final Map<File, Long> lastUsed = new HashMap<>();
+        long totalSize = 0;
+        for (final File objectDirectory : objectDirectories) {
+            lastUsed.put(objectDirectory, objectDirectory.lastModified());
+            totalSize += FileUtils.sizeOfDirectory(objectDirectory);
+        }
+        final List<File> candidates = new ArrayList<>(Arrays.asList(objectDirectories));
+        candidates.sort(Comparator.comparingLong(lastUsed::get));
+        final long inUseSince = System.currentTimeMillis() - IN_USE_MILLIS;
+        for (final File objectDirectory : candidates) {
+            if (totalSize <= maxSizeBytes || lastUsed.get(objectDirectory) >= inUseSince) {
+                break;
+            }
+            if (objectDirectory.equals(keepDirectory)) {
+                continue;
+            }
+            final Optional<ArtifactCacheLock> objectLock = lock(getObjectLockName(objectDirectory), false);
+            if (!objectLock.isPresent()) {
+                logger.debug(String.format("Not evicting the artifact '%s' from the artifact cache, another run is using it.", objectDirectory.getAbsolutePath()));
+                continue;
+            }
+            try {
+                if (objectDirectory.lastModified() != lastUsed.get(objectDirectory)) {
+                    continue;
+                }
+                final long size = FileUtils.sizeOfDirectory(objectDirectory);
+                logger.debug(String.format("Evicting the least recently used artifact '%s' from the artifact cache.", objectDirectory.getAbsolutePath()));
+                FileUtils.deleteQuietly(objectDirectory);
+                totalSize -= size;
+            } finally {
+                objectLock.get().close();
+            }
+        }
+    }
+
+    // Left behind by runs that were killed while downloading or extracting.
+    private void deleteStaleTempFiles() {
+        final File[] tempFiles = tempDirectory.listFiles();
+        if (tempFiles == null) {
+            return;
+        }
+        final long staleBefore = System.currentTimeMillis() - STALE_TEMP_FILE_MILLIS;
+        for (final File tempFile : tempFiles) {
+            if (tempFile.lastModified() < staleBefore) {
+                FileUtils.deleteQuietly(tempFile);
+            }
+        }
+    }
+
+    private String sha256(final File file) throws IOException {
+        final MessageDigest digest = createDigest();
+        try (InputStream inputStream = new FileInputStream(file)) {
+            final byte[] buffer = new byte[65536];
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return String.format("%064x", new BigInteger(1, digest.digest()));
+    }
+
+    private String sha256(final String text) {
+        return String.format("%064x", new BigInteger(1, createDigest().digest(text.getBytes(StandardCharsets.UTF_8))));
+    }
+
+    private MessageDigest createDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static class ProcessLock {
+        private final String path;
+        private final ReentrantLock lock = new ReentrantLock();
+        // Only changed inside PROCESS_LOCKS.compute for this path.
+        private int users = 0;
+
+        private ProcessLock(final String path) {
+            this.path = path;
+        }
+    }
+
+    public static class ArtifactCacheLock implements Closeable {
+        private final ProcessLock processLock;
+        private final FileChannel channel;
+        private final FileLock fileLock;
+
+        private ArtifactCacheLock(final ProcessLock processLock, final FileChannel channel, final FileLock fileLock) {
+            this.processLock = processLock;
+            this.channel = channel;
+            this.fileLock = fileLock;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                fileLock.release();
+                channel.close();
+            } finally {
+                processLock.lock.unlock();
+                releaseProcessLock(processLock);
+            }
+        }
+    }
+}
@@ -46,12 +46,16 @@ import com.synopsys.integration.rest.request.Response;
 
 public class ArtifactResolver {
     private final Logger logger = LoggerFactory.getLogger(this.getClass());
+    private static final String SHA256_HEADER = "X-Checksum-Sha256";
+
     private final ConnectionManager connectionManager;
     private final Gson gson;
+    private final ArtifactCache artifactCache;
 
-    public ArtifactResolver(final ConnectionManager connectionManager, final Gson gson) {
+    public ArtifactResolver(final ConnectionManager connectionManager, final Gson gson, final ArtifactCache artifactCache) {
         this.connectionManager = connectionManager;
         this.gson = gson;
+        this.artifactCache = artifactCache;
     }
 
     /**
@@ -135,33 +139,38 @@ public class ArtifactResolver {
         return filename;
     }
 
-    public File downloadOrFindArtifact(File targetDir, String source) throws IntegrationException, DetectUserFriendlyException, IOException {
+    public File downloadOrFindArtifact(String source) throws IntegrationException, DetectUserFriendlyException, IOException {
         logger.debug("Downloading or finding artifact.");
         String fileName = parseFileName(source);
         logger.debug("Determined filename would be: " + fileName);
-        File fileTarget = new File(targetDir, fileName);
-        logger.debug(String.format("Looking for artifact at '%s' or downloading from '%s'.", fileTarget.getAbsolutePath(), source));
-        if (fileTarget.exists()) {
-            logger.debug("Artifact exists. Returning existing file.");
-            return fileTarget;
-        } else {
-            logger.debug("Artifact does not exist. Will attempt to download it.");
-            return downloadArtifact(fileTarget, source);
-        }
+        return artifactCache.fetch(source, fileName, target -> downloadArtifact(target, source));
+    }
+
+    /**
+     * Downloads or finds a zipped artifact, such as a nupkg, and returns the directory it was extracted to.
+     */
+    public File downloadOrFindExtractedArtifact(String source) throws IntegrationException, DetectUserFriendlyException, IOException {
+        logger.debug("Downloading or finding extracted artifact.");
+        String fileName = parseFileName(source);
+        logger.debug("Determined filename would be: " + fileName);
+        return artifactCache.fetchExtracted(source, fileName, target -> downloadArtifact(target, source));
     }
 
-    public File downloadArtifact(File target, String source) throws DetectUserFriendlyException, IntegrationException, IOException {
+    private Optional<String> downloadArtifact(File target, String source) throws DetectUserFriendlyException, IntegrationException, IOException {
         logger.debug(String.format("Downloading for artifact to '%s' from '%s'.", target.getAbsolutePath(), source));
         final Request request = new Request.Builder().uri(source).build();
         final IntHttpClient restConnection = connectionManager.createUnauthenticatedRestConnection(source);
         try (Response response = restConnection.execute(request)) {
-            logger.debug("Deleting existing file.");
-            target.delete();
+            response.throwExceptionForError();
             logger.debug("Writing to file.");
             final InputStream jarBytesInputStream = response.getContent();
             FileUtils.copyInputStreamToFile(jarBytesInputStream, target);
+            final Long contentLength = response.getContentLength();
+            if (contentLength != null && contentLength >= 0 && contentLength != target.length()) {
+                throw new IntegrationException(String.format("The download from '%s' was incomplete, received %d of %d bytes.", source, target.length(), contentLength));
+            }
             logger.debug("Successfully wrote response to file.");
-            return target;
+            return Optional.ofNullable(response.getHeaderValue(SHA256_HEADER));
         }
     }
 
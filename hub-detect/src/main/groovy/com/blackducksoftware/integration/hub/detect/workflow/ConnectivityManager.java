@@ -24,9 +24,14 @@
 package com.blackducksoftware.integration.hub.detect.workflow;
 
 import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 
 import org.springframework.util.Assert;
 
+import com.blackducksoftware.integration.hub.detect.exception.DetectUserFriendlyException;
+import com.blackducksoftware.integration.hub.detect.exitcode.ExitCodeType;
 import com.blackducksoftware.integration.hub.detect.workflow.phonehome.PhoneHomeManager;
 import com.synopsys.integration.blackduck.configuration.BlackDuckServerConfig;
 import com.synopsys.integration.blackduck.service.BlackDuckServicesFactory;
@@ -36,38 +41,108 @@ public class ConnectivityManager {
     private final BlackDuckServicesFactory blackDuckServicesFactory;
     private final PhoneHomeManager phoneHomeManager;
     private final BlackDuckServerConfig blackDuckServerConfig;
+    // Only present when connectivity is checked in the background; empty once resolved means detect should simply exit.
+    private final CompletableFuture<Optional<ConnectivityManager>> backgroundConnectivity;
 
     public static ConnectivityManager offline() {
-        return new ConnectivityManager(false, null, null, null);
+        return new ConnectivityManager(false, null, null, null, null);
     }
 
     public static ConnectivityManager online(BlackDuckServicesFactory blackDuckServicesFactory, final PhoneHomeManager phoneHomeManager, final BlackDuckServerConfig blackDuckServerConfig) {
         Assert.notNull(blackDuckServicesFactory, "Online detect needs a services factory.");
         Assert.notNull(blackDuckServerConfig, "Online detect needs a server config.");
-        return new ConnectivityManager(true, blackDuckServicesFactory, phoneHomeManager, blackDuckServerConfig);
+        return new ConnectivityManager(true, blackDuckServicesFactory, phoneHomeManager, blackDuckServerConfig, null);
     }
 
-    private ConnectivityManager(boolean isDetectOnline, final BlackDuckServicesFactory blackDuckServicesFactory, final PhoneHomeManager phoneHomeManager, BlackDuckServerConfig blackDuckServerConfig) {
+    /*
+     * Runs the connectivity check on a background thread so local work can start right away. The getters block until the check has
+     * finished, so callers that must not wait should use awaitConnectivity at the point they first need Black Duck.
+     */
+    public static ConnectivityManager background(Callable<Optional<ConnectivityManager>> connectivityCheck) {
+        final CompletableFuture<Optional<ConnectivityManager>> backgroundConnectivity = new CompletableFuture<>();
+        final Thread thread = new Thread(() -> {
+            try {
+                backgroundConnectivity.complete(connectivityCheck.call());
+            } catch (final Throwable e) {
+                backgroundConnectivity.completeExceptionally(e);
+            }
+        }, "detect-connectivity-check");
+        thread.setDaemon(true);
+        thread.start();
+        return new ConnectivityManager(true, null, null, null, backgroundConnectivity);
+    }
+
+    private ConnectivityManager(boolean isDetectOnline, final BlackDuckServicesFactory blackDuckServicesFactory, final PhoneHomeManager phoneHomeManager, BlackDuckServerConfig blackDuckServerConfig,
+        final CompletableFuture<Optional<ConnectivityManager>> backgroundConnectivity) {
         this.isDetectOnline = isDetectOnline;
         this.blackDuckServicesFactory = blackDuckServicesFactory;
         this.phoneHomeManager = phoneHomeManager;
         this.blackDuckServerConfig = blackDuckServerConfig;
+        this.backgroundConnectivity = backgroundConnectivity;
+    }
+
+    public boolean isCheckedInBackground() {
+        return backgroundConnectivity != null;
+    }
+
+    // Returns false when detect could not connect and should simply exit; throws when detect could not connect and should fail.
+    public boolean awaitConnectivity() throws DetectUserFriendlyException, InterruptedException {
+        if (backgroundConnectivity == null) {
+            return true;
+        }
+        try {
+            return backgroundConnectivity.get().isPresent();
+        } catch (final ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof DetectUserFriendlyException) {
+                throw (DetectUserFriendlyException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new DetectUserFriendlyException("Could not communicate with Black Duck: " + cause.getMessage(), cause, ExitCodeType.FAILURE_HUB_CONNECTIVITY);
+        }
+    }
+
+    // Phones home now, or as soon as the background connectivity check has connected.
+    public void startPhoneHome() {
+        if (backgroundConnectivity == null) {
+            getPhoneHomeManager().ifPresent(PhoneHomeManager::startPhoneHome);
+        } else {
+            backgroundConnectivity.thenAccept(connectivityManager -> connectivityManager.ifPresent(ConnectivityManager::startPhoneHome));
+        }
     }
 
     public boolean isDetectOnline() {
-        return isDetectOnline;
+        return resolve().isDetectOnline;
     }
 
     public Optional<BlackDuckServicesFactory> getBlackDuckServicesFactory() {
-        return Optional.ofNullable(blackDuckServicesFactory);
+        return Optional.ofNullable(resolve().blackDuckServicesFactory);
     }
 
     public Optional<BlackDuckServerConfig> getBlackDuckServerConfig() {
-        return Optional.ofNullable(blackDuckServerConfig);
+        return Optional.ofNullable(resolve().blackDuckServerConfig);
     }
 
     public Optional<PhoneHomeManager> getPhoneHomeManager() {
-        return Optional.ofNullable(phoneHomeManager);
+        return Optional.ofNullable(resolve().phoneHomeManager);
+    }
+
+    // A background check that failed leaves detect without a connection, like offline mode.
+    private ConnectivityManager resolve() {
+        if (backgroundConnectivity == null) {
+            return this;
+        }
+        try {
+            return backgroundConnectivity.get().orElseGet(ConnectivityManager::offline);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return offline();
+        } catch (final ExecutionException e) {
+            return offline();
+        }
     }
 
 }
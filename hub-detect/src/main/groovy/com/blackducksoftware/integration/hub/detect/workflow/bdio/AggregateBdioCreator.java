@@ -24,10 +24,9 @@
 package com.blackducksoftware.integration.hub.detect.workflow.bdio;
 
 import java.io.File;
-import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
-import java.util.Optional;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -41,12 +40,9 @@ import com.blackducksoftware.integration.hub.detect.workflow.codelocation.Detect
 import com.blackducksoftware.integration.hub.detect.workflow.codelocation.FileNameUtils;
 import com.synopsys.integration.bdio.SimpleBdioFactory;
 import com.synopsys.integration.bdio.graph.DependencyGraph;
-import com.synopsys.integration.bdio.graph.MutableDependencyGraph;
 import com.synopsys.integration.bdio.model.Forge;
-import com.synopsys.integration.bdio.model.SimpleBdioDocument;
 import com.synopsys.integration.bdio.model.dependency.Dependency;
 import com.synopsys.integration.bdio.model.externalid.ExternalId;
-import com.synopsys.integration.bdio.model.externalid.ExternalIdFactory;
 import com.synopsys.integration.blackduck.codelocation.bdioupload.UploadTarget;
 import com.synopsys.integration.util.IntegrationEscapeUtil;
 import com.synopsys.integration.util.NameVersion;
@@ -69,35 +65,33 @@ public class AggregateBdioCreator {
         this.detectBdioWriter = detectBdioWriter;
     }
 
-    public Optional<UploadTarget> createAggregateBdioFile(File sourcePath, File bdioDirectory, final List<DetectCodeLocation> codeLocations, NameVersion projectNameVersion) throws DetectUserFriendlyException {
+    public BdioResult createAggregateBdioFile(File sourcePath, File bdioDirectory, final List<DetectCodeLocation> codeLocations, NameVersion projectNameVersion) throws DetectUserFriendlyException {
         final DependencyGraph aggregateDependencyGraph = createAggregateDependencyGraph(sourcePath, codeLocations);
         if (aggregateDependencyGraph.getRootDependencies().size() == 0) {
             logger.info("The aggregate contained no dependencies, will not create bdio file.");
-            return Optional.empty();
+            return BdioResult.empty();
         }
 
         final ExternalId projectExternalId = simpleBdioFactory.createNameVersionExternalId(new Forge("/", "/", "DETECT"), projectNameVersion.getName(), projectNameVersion.getVersion());
         final String codeLocationName = codeLocationNameManager.createAggregateCodeLocationName(projectNameVersion);
-        final SimpleBdioDocument aggregateBdioDocument = simpleBdioFactory.createSimpleBdioDocument(codeLocationName, projectNameVersion.getName(), projectNameVersion.getVersion(), projectExternalId, aggregateDependencyGraph);
-
         final String filename = String.format("%s.jsonld", integrationEscapeUtil.escapeForUri(detectConfiguration.getProperty(DetectProperty.DETECT_BOM_AGGREGATE_NAME, PropertyAuthority.None)));
-        final File aggregateBdioFile = new File(bdioDirectory, filename);
-
-        detectBdioWriter.writeBdioFile(aggregateBdioFile, aggregateBdioDocument);
+        final BdioFile aggregateBdioFile = detectBdioWriter.writeBdioFile(new File(bdioDirectory, filename), codeLocationName, projectNameVersion, projectExternalId, aggregateDependencyGraph);
 
-        return Optional.of(UploadTarget.createDefault(codeLocationName, aggregateBdioFile));
+        final UploadTarget uploadTarget = UploadTarget.createDefault(codeLocationName, aggregateBdioFile.getFile());
+        return new BdioResult(Collections.singletonList(uploadTarget), Collections.singletonMap(codeLocationName, aggregateBdioFile.getContentHash()));
     }
 
     private DependencyGraph createAggregateDependencyGraph(File sourcePath, final List<DetectCodeLocation> codeLocations) {
-        final MutableDependencyGraph aggregateDependencyGraph = simpleBdioFactory.createMutableDependencyGraph();
+        final AggregateDependencyGraphBuilder aggregateDependencyGraphBuilder = new AggregateDependencyGraphBuilder();
 
         for (final DetectCodeLocation detectCodeLocation : codeLocations) {
             final Dependency codeLocationDependency = createAggregateDependency(sourcePath, detectCodeLocation);
-            aggregateDependencyGraph.addChildrenToRoot(codeLocationDependency);
-            aggregateDependencyGraph.addGraphAsChildrenToParent(codeLocationDependency, detectCodeLocation.getDependencyGraph());
+            aggregateDependencyGraphBuilder.addCodeLocation(codeLocationDependency, detectCodeLocation.getDependencyGraph());
         }
 
-        return aggregateDependencyGraph;
+        logger.info(String.format("The aggregate contains %d dependencies, %d duplicates across code locations were shared saving about %d KB.", aggregateDependencyGraphBuilder.getDependencyCount(),
+            aggregateDependencyGraphBuilder.getDuplicateDependencies(), aggregateDependencyGraphBuilder.getDuplicateBytes() / 1024));
+        return aggregateDependencyGraphBuilder.getAggregateDependencyGraph();
     }
 
     private Dependency createAggregateDependency(File sourcePath, final DetectCodeLocation codeLocation) {
@@ -113,11 +107,10 @@ public class AggregateBdioCreator {
         final String codeLocationSourcePath = codeLocation.getSourcePath();
         final String bomToolType = codeLocation.getCodeLocationType().toString();
         final String relativePath = FileNameUtils.relativize(sourcePath.getAbsolutePath(), codeLocationSourcePath);
-        final List<String> externalIdPieces = new ArrayList<>();
-        externalIdPieces.addAll(Arrays.asList(original.getExternalIdPieces()));
-        externalIdPieces.add(relativePath);
-        externalIdPieces.add(bomToolType);
-        final String[] pieces = externalIdPieces.toArray(new String[externalIdPieces.size()]);
-        return new Dependency(name, version, new ExternalIdFactory().createModuleNamesExternalId(original.forge, pieces));
+        final String[] originalPieces = original.getExternalIdPieces();
+        final String[] pieces = Arrays.copyOf(originalPieces, originalPieces.length + 2);
+        pieces[originalPieces.length] = relativePath;
+        pieces[originalPieces.length + 1] = bomToolType;
+        return new Dependency(name, version, simpleBdioFactory.createModuleNamesExternalId(original.forge, pieces));
     }
 }
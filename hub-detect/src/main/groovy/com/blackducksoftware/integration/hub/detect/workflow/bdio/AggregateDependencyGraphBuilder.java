@@ -0,0 +1,138 @@
+/**
+ * hub-detect
+ *
+ * Copyright (C) 2019 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.blackducksoftware.integration.hub.detect.workflow.bdio;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.synopsys.integration.bdio.graph.DependencyGraph;
+import com.synopsys.integration.bdio.graph.MutableDependencyGraph;
+import com.synopsys.integration.bdio.graph.MutableMapDependencyGraph;
+import com.synopsys.integration.bdio.model.dependency.Dependency;
+import com.synopsys.integration.bdio.model.externalid.ExternalId;
+
+/*
+ * Merges code location graphs into one aggregate graph in which every component is a single Dependency, shared by every code location
+ * that contains it. Components are identified by their bdio id, the id they are written with. Once the aggregate is built it no longer
+ * references the duplicate Dependency and ExternalId instances of the code locations.
+ */
+public class AggregateDependencyGraphBuilder {
+    // Shallow sizes on a 64 bit jvm with compressed oops, only used to estimate the memory the aggregate no longer holds on to.
+    private static final int DEPENDENCY_BYTES = 24;
+    private static final int EXTERNAL_ID_BYTES = 40;
+    private static final int STRING_BYTES = 40;
+    private static final int ARRAY_BYTES = 16;
+    private static final int REFERENCE_BYTES = 4;
+
+    private final MutableDependencyGraph aggregateDependencyGraph = new MutableMapDependencyGraph();
+    private final Map<String, Dependency> dependenciesByBdioId = new HashMap<>();
+
+    private int duplicateDependencies = 0;
+    private long duplicateBytes = 0;
+
+    public void addCodeLocation(final Dependency codeLocationDependency, final DependencyGraph codeLocationGraph) {
+        // Compact and spilled graphs hand out new instances on every read, so the dependencies of this code location that have already been
+        // interned are remembered by bdio id. This also stops the traversal at shared children and cycles.
+        final Map<String, Dependency> interned = new HashMap<>();
+        final Dependency aggregateCodeLocationDependency = intern(codeLocationDependency, interned);
+        aggregateDependencyGraph.addChildToRoot(aggregateCodeLocationDependency);
+
+        final Deque<Dependency> toVisit = new ArrayDeque<>();
+        for (final Dependency root : codeLocationGraph.getRootDependencies()) {
+            aggregateDependencyGraph.addChildWithParent(internAndVisit(root, interned, toVisit), aggregateCodeLocationDependency);
+        }
+        while (!toVisit.isEmpty()) {
+            final Dependency parent = toVisit.pop();
+            final Dependency aggregateParent = interned.get(parent.externalId.createBdioId());
+            for (final Dependency child : codeLocationGraph.getChildrenForParent(parent)) {
+                aggregateDependencyGraph.addChildWithParent(internAndVisit(child, interned, toVisit), aggregateParent);
+            }
+        }
+    }
+
+    public DependencyGraph getAggregateDependencyGraph() {
+        return aggregateDependencyGraph;
+    }
+
+    public int getDependencyCount() {
+        return dependenciesByBdioId.size();
+    }
+
+    public int getDuplicateDependencies() {
+        return duplicateDependencies;
+    }
+
+    public long getDuplicateBytes() {
+        return duplicateBytes;
+    }
+
+    private Dependency internAndVisit(final Dependency dependency, final Map<String, Dependency> interned, final Deque<Dependency> toVisit) {
+        Dependency aggregateDependency = interned.get(dependency.externalId.createBdioId());
+        if (aggregateDependency == null) {
+            aggregateDependency = intern(dependency, interned);
+            toVisit.push(dependency);
+        }
+        return aggregateDependency;
+    }
+
+    private Dependency intern(final Dependency dependency, final Map<String, Dependency> interned) {
+        final String bdioId = dependency.externalId.createBdioId();
+        Dependency aggregateDependency = dependenciesByBdioId.get(bdioId);
+        if (aggregateDependency == null) {
+            aggregateDependency = dependency;
+            dependenciesByBdioId.put(bdioId, dependency);
+        } else if (aggregateDependency != dependency) {
+            duplicateDependencies++;
+            duplicateBytes += estimateBytes(dependency);
+        }
+        interned.put(bdioId, aggregateDependency);
+        return aggregateDependency;
+    }
+
+    private long estimateBytes(final Dependency dependency) {
+        final ExternalId externalId = dependency.externalId;
+        long bytes = DEPENDENCY_BYTES + EXTERNAL_ID_BYTES;
+        if (dependency.name != externalId.name) {
+            bytes += estimateBytes(dependency.name);
+        }
+        if (dependency.version != externalId.version) {
+            bytes += estimateBytes(dependency.version);
+        }
+        bytes += estimateBytes(externalId.group) + estimateBytes(externalId.name) + estimateBytes(externalId.version);
+        bytes += estimateBytes(externalId.architecture) + estimateBytes(externalId.path);
+        if (externalId.moduleNames != null) {
+            bytes += ARRAY_BYTES + REFERENCE_BYTES * externalId.moduleNames.length;
+            for (final String moduleName : externalId.moduleNames) {
+                bytes += estimateBytes(moduleName);
+            }
+        }
+        return bytes;
+    }
+
+    private long estimateBytes(final String value) {
+        return value == null ? 0 : STRING_BYTES + 2L * value.length();
+    }
+}
@@ -25,12 +25,24 @@ package com.blackducksoftware.integration.hub.detect.workflow.bdio;
 
 public class BdioOptions {
     private final String bdioAggregateName;
+    private final boolean compressBdio;
+    private final int parallelProcessors;
 
-    public BdioOptions(final String bdioAggregateName) {
+    public BdioOptions(final String bdioAggregateName, final boolean compressBdio, final int parallelProcessors) {
         this.bdioAggregateName = bdioAggregateName;
+        this.compressBdio = compressBdio;
+        this.parallelProcessors = parallelProcessors;
     }
 
     public String getBdioAggregateName() {
         return bdioAggregateName;
     }
+
+    public boolean shouldCompressBdio() {
+        return compressBdio;
+    }
+
+    public int getParallelProcessors() {
+        return parallelProcessors;
+    }
 }
@@ -23,21 +23,32 @@
  */
 package com.blackducksoftware.integration.hub.detect.workflow.bdio;
 
-import java.io.File;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
-import com.blackducksoftware.integration.hub.detect.workflow.codelocation.BdioCodeLocation;
 import com.synopsys.integration.blackduck.codelocation.bdioupload.UploadTarget;
 
 public class BdioResult {
     private final List<UploadTarget> uploadTargets;
+    private final Map<String, String> contentHashes;
 
-    public BdioResult(final List<UploadTarget> uploadTargets) {
+    public BdioResult(final List<UploadTarget> uploadTargets, final Map<String, String> contentHashes) {
         this.uploadTargets = uploadTargets;
+        this.contentHashes = contentHashes;
+    }
+
+    public static BdioResult empty() {
+        return new BdioResult(Collections.emptyList(), Collections.emptyMap());
     }
 
     public List<UploadTarget> getUploadTargets() {
         return uploadTargets;
     }
 
+    // Keyed by code location name, see DetectBdioWriter for what the hash covers.
+    public Map<String, String> getContentHashes() {
+        return contentHashes;
+    }
+
 }
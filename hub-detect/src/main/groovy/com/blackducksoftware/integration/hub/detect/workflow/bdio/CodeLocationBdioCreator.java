@@ -25,16 +25,21 @@ package com.blackducksoftware.integration.hub.detect.workflow.bdio;
 
 import java.io.File;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.blackducksoftware.integration.hub.detect.exception.DetectUserFriendlyException;
+import com.blackducksoftware.integration.hub.detect.exitcode.ExitCodeType;
 import com.blackducksoftware.integration.hub.detect.workflow.codelocation.BdioCodeLocation;
-import com.synopsys.integration.bdio.SimpleBdioFactory;
 import com.synopsys.integration.bdio.graph.DependencyGraph;
-import com.synopsys.integration.bdio.model.SimpleBdioDocument;
 import com.synopsys.integration.bdio.model.externalid.ExternalId;
 import com.synopsys.integration.blackduck.codelocation.bdioupload.UploadTarget;
 import com.synopsys.integration.util.NameVersion;
@@ -42,27 +47,64 @@ import com.synopsys.integration.util.NameVersion;
 public class CodeLocationBdioCreator {
     private final Logger logger = LoggerFactory.getLogger(this.getClass());
     private final DetectBdioWriter detectBdioWriter;
-    private SimpleBdioFactory simpleBdioFactory;
+    private final int parallelProcessors;
 
-    public CodeLocationBdioCreator(final DetectBdioWriter detectBdioWriter, final SimpleBdioFactory simpleBdioFactory) {
+    public CodeLocationBdioCreator(final DetectBdioWriter detectBdioWriter, final int parallelProcessors) {
         this.detectBdioWriter = detectBdioWriter;
-        this.simpleBdioFactory = simpleBdioFactory;
+        this.parallelProcessors = parallelProcessors;
     }
 
-    public List<UploadTarget> createBdioFiles(File bdioOutput, final List<BdioCodeLocation> bdioCodeLocations, NameVersion projectNameVersion) throws DetectUserFriendlyException {
+    // Every code location is written to its own file, so they are written concurrently; the upload targets keep the code location order.
+    public BdioResult createBdioFiles(File bdioOutput, final List<BdioCodeLocation> bdioCodeLocations, NameVersion projectNameVersion) throws DetectUserFriendlyException {
         final List<UploadTarget> uploadTargets = new ArrayList<>();
-        for (final BdioCodeLocation bdioCodeLocation : bdioCodeLocations) {
-            String codeLocationName = bdioCodeLocation.codeLocationName;
-            ExternalId externalId = bdioCodeLocation.codeLocation.getExternalId();
-            DependencyGraph dependencyGraph = bdioCodeLocation.codeLocation.getDependencyGraph();
-
-            final SimpleBdioDocument simpleBdioDocument = simpleBdioFactory.createSimpleBdioDocument(codeLocationName, projectNameVersion.getName(), projectNameVersion.getVersion(), externalId, dependencyGraph);
+        final Map<String, String> contentHashes = new HashMap<>();
+        if (bdioCodeLocations.isEmpty()) {
+            return new BdioResult(uploadTargets, contentHashes);
+        }
 
-            final File outputFile = new File(bdioOutput, bdioCodeLocation.bdioName);
-            detectBdioWriter.writeBdioFile(outputFile, simpleBdioDocument);
-            uploadTargets.add(UploadTarget.createDefault(codeLocationName, outputFile));
+        final ExecutorService executorService = Executors.newFixedThreadPool(Math.min(parallelProcessors, bdioCodeLocations.size()));
+        try {
+            final List<Future<BdioFile>> bdioFiles = new ArrayList<>();
+            for (final BdioCodeLocation bdioCodeLocation : bdioCodeLocations) {
+                bdioFiles.add(executorService.submit(() -> writeBdioFile(bdioOutput, bdioCodeLocation, projectNameVersion)));
+            }
+            for (int i = 0; i < bdioCodeLocations.size(); i++) {
+                final String codeLocationName = bdioCodeLocations.get(i).codeLocationName;
+                final BdioFile bdioFile = waitForBdioFile(bdioFiles.get(i));
+                uploadTargets.add(UploadTarget.createDefault(codeLocationName, bdioFile.getFile()));
+                contentHashes.put(codeLocationName, bdioFile.getContentHash());
+            }
+        } finally {
+            executorService.shutdownNow();
         }
 
-        return uploadTargets;
+        return new BdioResult(uploadTargets, contentHashes);
+    }
+
+    private BdioFile writeBdioFile(final File bdioOutput, final BdioCodeLocation bdioCodeLocation, final NameVersion projectNameVersion) throws DetectUserFriendlyException {
+        String codeLocationName = bdioCodeLocation.codeLocationName;
+        ExternalId externalId = bdioCodeLocation.codeLocation.getExternalId();
+        DependencyGraph dependencyGraph = bdioCodeLocation.codeLocation.getDependencyGraph();
+
+        return detectBdioWriter.writeBdioFile(new File(bdioOutput, bdioCodeLocation.bdioName), codeLocationName, projectNameVersion, externalId, dependencyGraph);
+    }
+
+    private BdioFile waitForBdioFile(final Future<BdioFile> bdioFile) throws DetectUserFriendlyException {
+        try {
+            return bdioFile.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DetectUserFriendlyException("Interrupted while creating BDIO files.", e, ExitCodeType.FAILURE_GENERAL_ERROR);
+        } catch (final ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof DetectUserFriendlyException) {
+                throw (DetectUserFriendlyException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new DetectUserFriendlyException("Unable to create a BDIO file: " + cause.getMessage(), cause, ExitCodeType.FAILURE_GENERAL_ERROR);
+        }
     }
 }
@@ -23,8 +23,24 @@
  */
 package com.blackducksoftware.integration.hub.detect.workflow.bdio;
 
+import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.zip.GZIPOutputStream;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -32,34 +48,137 @@ import org.slf4j.LoggerFactory;
 import com.blackducksoftware.integration.hub.detect.DetectInfo;
 import com.blackducksoftware.integration.hub.detect.exception.DetectUserFriendlyException;
 import com.blackducksoftware.integration.hub.detect.exitcode.ExitCodeType;
+import com.synopsys.integration.bdio.BdioPropertyHelper;
+import com.synopsys.integration.bdio.BdioWriter;
 import com.synopsys.integration.bdio.SimpleBdioFactory;
+import com.synopsys.integration.bdio.graph.DependencyGraph;
+import com.synopsys.integration.bdio.model.BdioComponent;
+import com.synopsys.integration.bdio.model.BdioNode;
 import com.synopsys.integration.bdio.model.SimpleBdioDocument;
 import com.synopsys.integration.bdio.model.SpdxCreator;
+import com.synopsys.integration.bdio.model.dependency.Dependency;
+import com.synopsys.integration.bdio.model.externalid.ExternalId;
+import com.synopsys.integration.util.NameVersion;
 
+/*
+ * Writes the document SimpleBdioFactory would create for a dependency graph, but serializes every component as soon as it is created
+ * instead of materializing all of them first, so writing needs little memory beyond the graph itself. Components are written in the
+ * same depth first order as the DependencyGraphTransformer, so the output is byte for byte the same.
+ *
+ * The content hash covers the code location name and everything after the bill of materials, whose id and creation time differ on
+ * every run, so equal hashes mean Black Duck would receive the same code location.
+ */
 public class DetectBdioWriter {
+    public static final String GZIP_EXTENSION = ".gz";
+    private static final int BUFFER_SIZE = 64 * 1024;
+
     private final Logger logger = LoggerFactory.getLogger(this.getClass());
-    private SimpleBdioFactory simpleBdioFactory;
-    private DetectInfo detectInfo;
+    private final SimpleBdioFactory simpleBdioFactory;
+    private final DetectInfo detectInfo;
+    private final boolean compress;
 
     public DetectBdioWriter(final SimpleBdioFactory simpleBdioFactory, final DetectInfo detectInfo) {
+        this(simpleBdioFactory, detectInfo, false);
+    }
+
+    public DetectBdioWriter(final SimpleBdioFactory simpleBdioFactory, final DetectInfo detectInfo, final boolean compress) {
         this.simpleBdioFactory = simpleBdioFactory;
         this.detectInfo = detectInfo;
+        this.compress = compress;
     }
 
-    public void writeBdioFile(final File outputFile, final SimpleBdioDocument simpleBdioDocument) throws DetectUserFriendlyException {
-        if (outputFile.exists()) {
-            final boolean deleteSuccess = outputFile.delete();
-            logger.debug(String.format("%s deleted: %b", outputFile.getAbsolutePath(), deleteSuccess));
+    // The file written has the gzip extension appended when compressing.
+    public BdioFile writeBdioFile(final File outputFile, final String codeLocationName, final NameVersion projectNameVersion, final ExternalId projectExternalId, final DependencyGraph dependencyGraph)
+        throws DetectUserFriendlyException {
+        final File bdioFile = compress ? new File(outputFile.getParentFile(), outputFile.getName() + GZIP_EXTENSION) : outputFile;
+        if (bdioFile.exists()) {
+            final boolean deleteSuccess = bdioFile.delete();
+            logger.debug(String.format("%s deleted: %b", bdioFile.getAbsolutePath(), deleteSuccess));
         }
 
-        try {
+        final MessageDigest contentDigest = createContentDigest();
+        try (DigestOutputStream outputStream = new DigestOutputStream(openOutputStream(bdioFile), contentDigest)) {
+            final Writer writer = new OutputStreamWriter(outputStream, StandardCharsets.UTF_8);
+            writeBdio(writer, outputStream, codeLocationName, projectNameVersion, projectExternalId, dependencyGraph);
+        } catch (final IOException e) {
+            throw new DetectUserFriendlyException(e.getMessage(), e, ExitCodeType.FAILURE_GENERAL_ERROR);
+        }
+        logger.info(String.format("BDIO Generated: %s", bdioFile.getAbsolutePath()));
+        return new BdioFile(bdioFile, String.format("%064x", new BigInteger(1, contentDigest.digest())));
+    }
+
+    private void writeBdio(final Writer writer, final DigestOutputStream outputStream, final String codeLocationName, final NameVersion projectNameVersion, final ExternalId projectExternalId,
+        final DependencyGraph dependencyGraph) throws IOException {
+        try (BdioWriter bdioWriter = simpleBdioFactory.createBdioWriter(writer)) {
+            final SimpleBdioDocument simpleBdioDocument = simpleBdioFactory.createSimpleBdioDocument(codeLocationName, projectNameVersion.getName(), projectNameVersion.getVersion(), projectExternalId);
             final String hubDetectVersion = detectInfo.getDetectVersion();
             final SpdxCreator hubDetectCreator = SpdxCreator.createToolSpdxCreator("Detect", hubDetectVersion);
             simpleBdioDocument.billOfMaterials.creationInfo.setPrimarySpdxCreator(hubDetectCreator);
-            simpleBdioFactory.writeSimpleBdioDocumentToFile(outputFile, simpleBdioDocument);
-            logger.info(String.format("BDIO Generated: %s", outputFile.getAbsolutePath()));
-        } catch (final IOException e) {
+
+            final Set<Dependency> rootDependencies = dependencyGraph.getRootDependencies();
+            addRelationships(simpleBdioDocument.project, rootDependencies);
+            outputStream.on(false);
+            bdioWriter.writeBdioNode(simpleBdioDocument.billOfMaterials);
+            writer.flush();
+            outputStream.on(true);
+            outputStream.getMessageDigest().update(codeLocationName.getBytes(StandardCharsets.UTF_8));
+            bdioWriter.writeBdioNode(simpleBdioDocument.project);
+            writeComponents(bdioWriter, dependencyGraph, projectExternalId, rootDependencies);
+        }
+    }
+
+    private MessageDigest createContentDigest() throws DetectUserFriendlyException {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (final NoSuchAlgorithmException e) {
             throw new DetectUserFriendlyException(e.getMessage(), e, ExitCodeType.FAILURE_GENERAL_ERROR);
         }
     }
+
+    private OutputStream openOutputStream(final File bdioFile) throws IOException {
+        final OutputStream outputStream = new BufferedOutputStream(Files.newOutputStream(bdioFile.toPath()), BUFFER_SIZE);
+        if (compress) {
+            return new GZIPOutputStream(outputStream, BUFFER_SIZE);
+        }
+        return outputStream;
+    }
+
+    // An explicit stack of child iterators visits the graph in the order the transformer recurses through it, without its recursion depth.
+    private void writeComponents(final BdioWriter bdioWriter, final DependencyGraph dependencyGraph, final ExternalId projectExternalId, final Set<Dependency> rootDependencies) {
+        final Set<ExternalId> writtenExternalIds = new HashSet<>();
+        writtenExternalIds.add(projectExternalId);
+        final Deque<Iterator<Dependency>> toVisit = new ArrayDeque<>();
+        toVisit.push(rootDependencies.iterator());
+        while (!toVisit.isEmpty()) {
+            final Iterator<Dependency> siblings = toVisit.peek();
+            if (!siblings.hasNext()) {
+                toVisit.pop();
+                continue;
+            }
+            final Dependency dependency = siblings.next();
+            if (writtenExternalIds.add(dependency.externalId)) {
+                final Set<Dependency> children = dependencyGraph.getChildrenForParent(dependency);
+                bdioWriter.writeBdioNode(createComponent(dependency, children));
+                toVisit.push(children.iterator());
+            }
+        }
+    }
+
+    private BdioComponent createComponent(final Dependency dependency, final Set<Dependency> children) {
+        final BdioPropertyHelper bdioPropertyHelper = simpleBdioFactory.getBdioPropertyHelper();
+        final BdioComponent component = simpleBdioFactory.getBdioNodeFactory()
+                                            .createComponent(dependency.name, dependency.version, dependency.externalId.createBdioId(), bdioPropertyHelper.createExternalIdentifier(dependency.externalId));
+        addRelationships(component, children);
+        return component;
+    }
+
+    // Equal external ids have the same bdio id, so a relationship can name its target without the target node having been created.
+    private void addRelationships(final BdioNode node, final Set<Dependency> relatedDependencies) {
+        final BdioPropertyHelper bdioPropertyHelper = simpleBdioFactory.getBdioPropertyHelper();
+        final BdioNode relatedNode = new BdioNode();
+        for (final Dependency relatedDependency : relatedDependencies) {
+            relatedNode.id = relatedDependency.externalId.createBdioId();
+            bdioPropertyHelper.addRelationship(node, relatedNode);
+        }
+    }
 }
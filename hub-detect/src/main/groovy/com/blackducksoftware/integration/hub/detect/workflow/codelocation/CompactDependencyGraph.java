@@ -0,0 +1,505 @@
+/**
+ * hub-detect
+ *
+ * Copyright (C) 2019 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.blackducksoftware.integration.hub.detect.workflow.codelocation;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+
+import com.synopsys.integration.bdio.graph.DependencyGraph;
+import com.synopsys.integration.bdio.model.Forge;
+import com.synopsys.integration.bdio.model.dependency.Dependency;
+import com.synopsys.integration.bdio.model.externalid.ExternalId;
+
+/*
+ * An immutable dependency graph that holds the graph of an extraction for the rest of the run in a fraction of the memory of a
+ * MutableMapDependencyGraph. Every dependency is an int node id: its strings are indexes into a table of distinct strings and the
+ * children of node i are children[childOffsets[i]] up to children[childOffsets[i + 1]]. Dependency and ExternalId objects are only
+ * created when the graph is read, so callers must compare them with equals.
+ */
+public class CompactDependencyGraph implements DependencyGraph {
+    private static final int NONE = -1;
+    private static final int FORMAT_VERSION = 1;
+
+    private final String[] strings;
+    private final Forge[] forges;
+
+    private final int[] nodeForges;
+    private final int[] names;
+    private final int[] versions;
+    private final int[] groups;
+    private final int[] externalIdNames;
+    private final int[] externalIdVersions;
+    private final int[] architectures;
+    private final int[] paths;
+    private final int[] moduleNameOffsets;
+    private final int[] moduleNames;
+    private final BitSet withoutModuleNames;
+
+    private final int[] roots;
+    private final int[] childOffsets;
+    private final int[] children;
+    // The reverse of the child relationships, built when the graph is created or read rather than written.
+    private final int[] parentOffsets;
+    private final int[] parents;
+
+    // The hash of every node in the high half and the node in the low half, sorted, to find the node of an external id.
+    private final long[] nodesByHash;
+
+    public static CompactDependencyGraph copyOf(final DependencyGraph dependencyGraph) {
+        final GraphCopier copier = new GraphCopier();
+        copier.copy(dependencyGraph);
+        return new CompactDependencyGraph(copier);
+    }
+
+    private CompactDependencyGraph(final GraphCopier copier) {
+        final int nodeCount = copier.dependencies.size();
+        nodeForges = new int[nodeCount];
+        names = new int[nodeCount];
+        versions = new int[nodeCount];
+        groups = new int[nodeCount];
+        externalIdNames = new int[nodeCount];
+        externalIdVersions = new int[nodeCount];
+        architectures = new int[nodeCount];
+        paths = new int[nodeCount];
+        moduleNameOffsets = new int[nodeCount + 1];
+        withoutModuleNames = new BitSet(nodeCount);
+        nodesByHash = new long[nodeCount];
+
+        final List<Integer> allModuleNames = new ArrayList<>();
+        for (int node = 0; node < nodeCount; node++) {
+            final Dependency dependency = copier.dependencies.get(node);
+            final ExternalId externalId = dependency.externalId;
+            nodeForges[node] = copier.indexOf(externalId.forge);
+            names[node] = copier.indexOf(dependency.name);
+            versions[node] = copier.indexOf(dependency.version);
+            groups[node] = copier.indexOf(externalId.group);
+            externalIdNames[node] = copier.indexOf(externalId.name);
+            externalIdVersions[node] = copier.indexOf(externalId.version);
+            architectures[node] = copier.indexOf(externalId.architecture);
+            paths[node] = copier.indexOf(externalId.path);
+            moduleNameOffsets[node] = allModuleNames.size();
+            if (externalId.moduleNames == null) {
+                withoutModuleNames.set(node);
+            } else {
+                for (final String moduleName : externalId.moduleNames) {
+                    allModuleNames.add(copier.indexOf(moduleName));
+                }
+            }
+            nodesByHash[node] = ((long) hash(externalId) << 32) | node;
+        }
+        moduleNameOffsets[nodeCount] = allModuleNames.size();
+        moduleNames = toArray(allModuleNames);
+        strings = copier.strings.toArray(new String[0]);
+        forges = copier.forges.toArray(new Forge[0]);
+        Arrays.sort(nodesByHash);
+
+        roots = toArray(copier.roots);
+        childOffsets = toArray(copier.childOffsets);
+        children = toArray(copier.children);
+        parentOffsets = new int[nodeCount + 1];
+        parents = new int[children.length];
+        indexParents();
+    }
+
+    public static CompactDependencyGraph read(final DataInputStream input) throws IOException {
+        return new CompactDependencyGraph(input);
+    }
+
+    private CompactDependencyGraph(final DataInputStream input) throws IOException {
+        final int formatVersion = input.readInt();
+        if (formatVersion != FORMAT_VERSION) {
+            throw new IOException(String.format("Unsupported dependency graph format %d.", formatVersion));
+        }
+        strings = new String[input.readInt()];
+        for (int i = 0; i < strings.length; i++) {
+            strings[i] = readString(input);
+        }
+        forges = new Forge[input.readInt()];
+        for (int i = 0; i < forges.length; i++) {
+            forges[i] = readForge(input);
+        }
+        nodeForges = readInts(input);
+        names = readInts(input);
+        versions = readInts(input);
+        groups = readInts(input);
+        externalIdNames = readInts(input);
+        externalIdVersions = readInts(input);
+        architectures = readInts(input);
+        paths = readInts(input);
+        moduleNameOffsets = readInts(input);
+        moduleNames = readInts(input);
+        final long[] withoutModuleNamesWords = new long[input.readInt()];
+        for (int i = 0; i < withoutModuleNamesWords.length; i++) {
+            withoutModuleNamesWords[i] = input.readLong();
+        }
+        withoutModuleNames = BitSet.valueOf(withoutModuleNamesWords);
+        roots = readInts(input);
+        childOffsets = readInts(input);
+        children = readInts(input);
+        nodesByHash = new long[input.readInt()];
+        for (int i = 0; i < nodesByHash.length; i++) {
+            nodesByHash[i] = input.readLong();
+        }
+        parentOffsets = new int[nodeForges.length + 1];
+        parents = new int[children.length];
+        indexParents();
+    }
+
+    public void write(final DataOutputStream output) throws IOException {
+        output.writeInt(FORMAT_VERSION);
+        output.writeInt(strings.length);
+        for (final String string : strings) {
+            writeString(output, string);
+        }
+        output.writeInt(forges.length);
+        for (final Forge forge : forges) {
+            writeForge(output, forge);
+        }
+        for (final int[] ints : Arrays.asList(nodeForges, names, versions, groups, externalIdNames, externalIdVersions, architectures, paths, moduleNameOffsets, moduleNames)) {
+            writeInts(output, ints);
+        }
+        final long[] withoutModuleNamesWords = withoutModuleNames.toLongArray();
+        output.writeInt(withoutModuleNamesWords.length);
+        for (final long word : withoutModuleNamesWords) {
+            output.writeLong(word);
+        }
+        writeInts(output, roots);
+        writeInts(output, childOffsets);
+        writeInts(output, children);
+        output.writeInt(nodesByHash.length);
+        for (final long entry : nodesByHash) {
+            output.writeLong(entry);
+        }
+    }
+
+    public int getDependencyCount() {
+        return nodeForges.length;
+    }
+
+    @Override
+    public Set<Dependency> getRootDependencies() {
+        return dependencies(roots, 0, roots.length);
+    }
+
+    @Override
+    public Set<ExternalId> getRootDependencyExternalIds() {
+        return externalIds(roots, 0, roots.length);
+    }
+
+    @Override
+    public boolean hasDependency(final Dependency dependency) {
+        return hasDependency(dependency.externalId);
+    }
+
+    @Override
+    public boolean hasDependency(final ExternalId externalId) {
+        return findNode(externalId) != NONE;
+    }
+
+    @Override
+    public Dependency getDependency(final ExternalId externalId) {
+        final int node = findNode(externalId);
+        return node == NONE ? null : createDependency(node);
+    }
+
+    @Override
+    public Set<Dependency> getChildrenForParent(final Dependency parent) {
+        return getChildrenForParent(parent.externalId);
+    }
+
+    @Override
+    public Set<ExternalId> getChildrenExternalIdsForParent(final Dependency parent) {
+        return getChildrenExternalIdsForParent(parent.externalId);
+    }
+
+    @Override
+    public Set<Dependency> getChildrenForParent(final ExternalId parent) {
+        final int node = findNode(parent);
+        return node == NONE ? new LinkedHashSet<>() : dependencies(children, childOffsets[node], childOffsets[node + 1]);
+    }
+
+    @Override
+    public Set<ExternalId> getChildrenExternalIdsForParent(final ExternalId parent) {
+        final int node = findNode(parent);
+        return node == NONE ? new LinkedHashSet<>() : externalIds(children, childOffsets[node], childOffsets[node + 1]);
+    }
+
+    @Override
+    public Set<ExternalId> getParentExternalIdsForChild(final Dependency child) {
+        return getParentExternalIdsForChild(child.externalId);
+    }
+
+    @Override
+    public Set<Dependency> getParentsForChild(final ExternalId child) {
+        final int node = findNode(child);
+        return node == NONE ? new LinkedHashSet<>() : dependencies(parents, parentOffsets[node], parentOffsets[node + 1]);
+    }
+
+    @Override
+    public Set<Dependency> getParentsForChild(final Dependency child) {
+        return getParentsForChild(child.externalId);
+    }
+
+    @Override
+    public Set<ExternalId> getParentExternalIdsForChild(final ExternalId child) {
+        final int node = findNode(child);
+        return node == NONE ? new LinkedHashSet<>() : externalIds(parents, parentOffsets[node], parentOffsets[node + 1]);
+    }
+
+    // Counts the parents of every node, then places each parent at the next free position of its child, in node order.
+    private void indexParents() {
+        for (final int child : children) {
+            parentOffsets[child + 1]++;
+        }
+        for (int node = 0; node < nodeForges.length; node++) {
+            parentOffsets[node + 1] += parentOffsets[node];
+        }
+        final int[] nextParent = Arrays.copyOf(parentOffsets, nodeForges.length);
+        for (int node = 0; node < nodeForges.length; node++) {
+            for (int i = childOffsets[node]; i < childOffsets[node + 1]; i++) {
+                parents[nextParent[children[i]]++] = node;
+            }
+        }
+    }
+
+    private int findNode(final ExternalId externalId) {
+        if (externalId == null) {
+            return NONE;
+        }
+        final long hash = (long) hash(externalId) << 32;
+        int position = Arrays.binarySearch(nodesByHash, hash);
+        if (position < 0) {
+            position = -position - 1;
+        }
+        for (; position < nodesByHash.length && (nodesByHash[position] & 0xFFFFFFFF00000000L) == hash; position++) {
+            final int node = (int) nodesByHash[position];
+            if (matches(node, externalId)) {
+                return node;
+            }
+        }
+        return NONE;
+    }
+
+    // The same fields ExternalId compares in equals.
+    private boolean matches(final int node, final ExternalId externalId) {
+        return Objects.equals(forges[nodeForges[node]], externalId.forge)
+                   && Objects.equals(string(groups[node]), externalId.group)
+                   && Objects.equals(string(externalIdNames[node]), externalId.name)
+                   && Objects.equals(string(externalIdVersions[node]), externalId.version)
+                   && Objects.equals(string(architectures[node]), externalId.architecture)
+                   && Objects.equals(string(paths[node]), externalId.path)
+                   && Arrays.equals(moduleNames(node), externalId.moduleNames);
+    }
+
+    private static int hash(final ExternalId externalId) {
+        return Objects.hash(externalId.group, externalId.name, externalId.version, externalId.architecture, externalId.path) * 31 + Arrays.hashCode(externalId.moduleNames);
+    }
+
+    private Set<Dependency> dependencies(final int[] nodes, final int from, final int to) {
+        final Set<Dependency> dependencies = new LinkedHashSet<>();
+        for (int i = from; i < to; i++) {
+            dependencies.add(createDependency(nodes[i]));
+        }
+        return dependencies;
+    }
+
+    private Set<ExternalId> externalIds(final int[] nodes, final int from, final int to) {
+        final Set<ExternalId> externalIds = new LinkedHashSet<>();
+        for (int i = from; i < to; i++) {
+            externalIds.add(createExternalId(nodes[i]));
+        }
+        return externalIds;
+    }
+
+    private Dependency createDependency(final int node) {
+        return new Dependency(string(names[node]), string(versions[node]), createExternalId(node));
+    }
+
+    private ExternalId createExternalId(final int node) {
+        final ExternalId externalId = new ExternalId(forges[nodeForges[node]]);
+        externalId.group = string(groups[node]);
+        externalId.name = string(externalIdNames[node]);
+        externalId.version = string(externalIdVersions[node]);
+        externalId.architecture = string(architectures[node]);
+        externalId.path = string(paths[node]);
+        externalId.moduleNames = moduleNames(node);
+        return externalId;
+    }
+
+    private String[] moduleNames(final int node) {
+        if (withoutModuleNames.get(node)) {
+            return null;
+        }
+        final String[] nodeModuleNames = new String[moduleNameOffsets[node + 1] - moduleNameOffsets[node]];
+        for (int i = 0; i < nodeModuleNames.length; i++) {
+            nodeModuleNames[i] = string(moduleNames[moduleNameOffsets[node] + i]);
+        }
+        return nodeModuleNames;
+    }
+
+    private String string(final int index) {
+        return index == NONE ? null : strings[index];
+    }
+
+    // The known forge instances are used where possible, as forges are compared by identity in places.
+    private static Forge readForge(final DataInputStream input) throws IOException {
+        if (!input.readBoolean()) {
+            return null;
+        }
+        final String separator = readString(input);
+        final String kbSeparator = readString(input);
+        final String name = readString(input);
+        final Forge forge = new Forge(separator, kbSeparator, name);
+        for (final Forge knownForge : Forge.getKnownForges().values()) {
+            if (knownForge.equals(forge)) {
+                return knownForge;
+            }
+        }
+        return forge;
+    }
+
+    private static void writeForge(final DataOutputStream output, final Forge forge) throws IOException {
+        output.writeBoolean(forge != null);
+        if (forge != null) {
+            writeString(output, forge.getSeparator());
+            writeString(output, forge.getKbSeparator());
+            writeString(output, forge.getName());
+        }
+    }
+
+    // Not writeUTF, which is limited to strings of 64K bytes.
+    private static String readString(final DataInputStream input) throws IOException {
+        final int length = input.readInt();
+        if (length == NONE) {
+            return null;
+        }
+        final byte[] bytes = new byte[length];
+        input.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeString(final DataOutputStream output, final String string) throws IOException {
+        if (string == null) {
+            output.writeInt(NONE);
+        } else {
+            final byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+            output.writeInt(bytes.length);
+            output.write(bytes);
+        }
+    }
+
+    private static int[] readInts(final DataInputStream input) throws IOException {
+        final int[] ints = new int[input.readInt()];
+        for (int i = 0; i < ints.length; i++) {
+            ints[i] = input.readInt();
+        }
+        return ints;
+    }
+
+    private static void writeInts(final DataOutputStream output, final int[] ints) throws IOException {
+        output.writeInt(ints.length);
+        for (final int value : ints) {
+            output.writeInt(value);
+        }
+    }
+
+    private static int[] toArray(final List<Integer> values) {
+        final int[] array = new int[values.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = values.get(i);
+        }
+        return array;
+    }
+
+    // Numbers the dependencies breadth first, so the children of every node are known by the time the node after it is visited.
+    private static class GraphCopier {
+        private final List<Dependency> dependencies = new ArrayList<>();
+        private final Map<ExternalId, Integer> nodes = new HashMap<>();
+        private final List<String> strings = new ArrayList<>();
+        private final Map<String, Integer> stringIndexes = new HashMap<>();
+        private final List<Forge> forges = new ArrayList<>();
+        private final List<Integer> roots = new ArrayList<>();
+        private final List<Integer> childOffsets = new ArrayList<>();
+        private final List<Integer> children = new ArrayList<>();
+
+        private void copy(final DependencyGraph dependencyGraph) {
+            final Queue<Dependency> toVisit = new LinkedList<>();
+            for (final Dependency root : dependencyGraph.getRootDependencies()) {
+                roots.add(node(root, toVisit));
+            }
+            while (!toVisit.isEmpty()) {
+                final Dependency parent = toVisit.remove();
+                childOffsets.add(children.size());
+                for (final Dependency child : dependencyGraph.getChildrenForParent(parent)) {
+                    children.add(node(child, toVisit));
+                }
+            }
+            childOffsets.add(children.size());
+        }
+
+        private int node(final Dependency dependency, final Queue<Dependency> toVisit) {
+            Integer node = nodes.get(dependency.externalId);
+            if (node == null) {
+                node = dependencies.size();
+                nodes.put(dependency.externalId, node);
+                dependencies.add(dependency);
+                toVisit.add(dependency);
+            }
+            return node;
+        }
+
+        private int indexOf(final String value) {
+            if (value == null) {
+                return NONE;
+            }
+            return stringIndexes.computeIfAbsent(value, it -> {
+                strings.add(it);
+                return strings.size() - 1;
+            });
+        }
+
+        private int indexOf(final Forge forge) {
+            for (int i = 0; i < forges.size(); i++) {
+                if (forges.get(i) == forge) {
+                    return i;
+                }
+            }
+            forges.add(forge);
+            return forges.size() - 1;
+        }
+    }
+}
@@ -0,0 +1,157 @@
+/**
+ * hub-detect
+ *
+ * Copyright (C) 2019 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.blackducksoftware.integration.hub.detect.workflow.codelocation;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.reflect.TypeToken;
+import com.synopsys.integration.bdio.graph.DependencyGraph;
+import com.synopsys.integration.bdio.graph.MutableDependencyGraph;
+import com.synopsys.integration.bdio.graph.MutableMapDependencyGraph;
+import com.synopsys.integration.bdio.model.Forge;
+import com.synopsys.integration.bdio.model.dependency.Dependency;
+import com.synopsys.integration.bdio.model.externalid.ExternalId;
+
+/*
+ * Writes code locations in a compact form: every dependency of a graph is stored once and relationships refer to dependencies by index.
+ */
+public class DetectCodeLocationSerializer {
+    private final Gson gson = new Gson();
+
+    public JsonElement serialize(final List<DetectCodeLocation> codeLocations) {
+        final List<SerializedCodeLocation> serializedCodeLocations = new ArrayList<>(codeLocations.size());
+        for (final DetectCodeLocation codeLocation : codeLocations) {
+            serializedCodeLocations.add(serialize(codeLocation));
+        }
+        return gson.toJsonTree(serializedCodeLocations);
+    }
+
+    public List<DetectCodeLocation> deserialize(final JsonElement json) {
+        final List<SerializedCodeLocation> serializedCodeLocations = gson.fromJson(json, new TypeToken<List<SerializedCodeLocation>>() {}.getType());
+        final List<DetectCodeLocation> codeLocations = new ArrayList<>(serializedCodeLocations.size());
+        for (final SerializedCodeLocation serializedCodeLocation : serializedCodeLocations) {
+            codeLocations.add(deserialize(serializedCodeLocation));
+        }
+        return codeLocations;
+    }
+
+    private SerializedCodeLocation serialize(final DetectCodeLocation codeLocation) {
+        final SerializedCodeLocation serialized = new SerializedCodeLocation();
+        serialized.codeLocationType = codeLocation.getCodeLocationType();
+        serialized.sourcePath = codeLocation.getSourcePath();
+        serialized.dockerImage = codeLocation.getDockerImage();
+        serialized.externalId = codeLocation.getExternalId();
+
+        final DependencyGraph graph = codeLocation.getDependencyGraph();
+        final Map<Dependency, Integer> indexes = new HashMap<>();
+        final Queue<Dependency> toVisit = new LinkedList<>();
+        for (final Dependency root : graph.getRootDependencies()) {
+            serialized.rootDependencies.add(index(root, indexes, serialized.dependencies, toVisit));
+        }
+        while (!toVisit.isEmpty()) {
+            final Dependency parent = toVisit.remove();
+            final List<Integer> relationship = new ArrayList<>();
+            relationship.add(indexes.get(parent));
+            for (final Dependency child : graph.getChildrenForParent(parent)) {
+                relationship.add(index(child, indexes, serialized.dependencies, toVisit));
+            }
+            if (relationship.size() > 1) {
+                serialized.relationships.add(relationship);
+            }
+        }
+        return serialized;
+    }
+
+    private int index(final Dependency dependency, final Map<Dependency, Integer> indexes, final List<Dependency> dependencies, final Queue<Dependency> toVisit) {
+        Integer index = indexes.get(dependency);
+        if (index == null) {
+            index = dependencies.size();
+            indexes.put(dependency, index);
+            dependencies.add(dependency);
+            toVisit.add(dependency);
+        }
+        return index;
+    }
+
+    private DetectCodeLocation deserialize(final SerializedCodeLocation serialized) {
+        final List<Dependency> dependencies = new ArrayList<>(serialized.dependencies.size());
+        for (final Dependency dependency : serialized.dependencies) {
+            dependencies.add(new Dependency(dependency.name, dependency.version, canonicalize(dependency.externalId)));
+        }
+
+        final MutableDependencyGraph graph = new MutableMapDependencyGraph();
+        for (final Integer root : serialized.rootDependencies) {
+            graph.addChildToRoot(dependencies.get(root));
+        }
+        for (final List<Integer> relationship : serialized.relationships) {
+            final Dependency parent = dependencies.get(relationship.get(0));
+            for (final Integer child : relationship.subList(1, relationship.size())) {
+                graph.addParentWithChild(parent, dependencies.get(child));
+            }
+        }
+
+        return new DetectCodeLocation.Builder(serialized.codeLocationType, serialized.sourcePath, canonicalize(serialized.externalId), graph)
+                   .dockerImage(serialized.dockerImage)
+                   .build();
+    }
+
+    // Forges are compared by identity in places, so deserialized external ids use the known forge instances where possible.
+    private ExternalId canonicalize(final ExternalId externalId) {
+        if (externalId == null) {
+            return null;
+        }
+        Forge forge = externalId.forge;
+        for (final Forge knownForge : Forge.getKnownForges().values()) {
+            if (knownForge.equals(forge)) {
+                forge = knownForge;
+                break;
+            }
+        }
+        final ExternalId canonical = new ExternalId(forge);
+        canonical.group = externalId.group;
+        canonical.name = externalId.name;
+        canonical.version = externalId.version;
+        canonical.architecture = externalId.architecture;
+        canonical.moduleNames = externalId.moduleNames;
+        canonical.path = externalId.path;
+        return canonical;
+    }
+
+    private static class SerializedCodeLocation {
+        private DetectCodeLocationType codeLocationType;
+        private String sourcePath;
+        private String dockerImage;
+        private ExternalId externalId;
+        private List<Dependency> dependencies = new ArrayList<>();
+        private List<Integer> rootDependencies = new ArrayList<>();
+        private List<List<Integer>> relationships = new ArrayList<>();
+    }
+}
@@ -0,0 +1,149 @@
+/**
+ * hub-detect
+ *
+ * Copyright (C) 2019 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.blackducksoftware.integration.hub.detect.workflow.codelocation;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.ref.SoftReference;
+import java.nio.file.Files;
+import java.util.Set;
+
+import com.synopsys.integration.bdio.graph.DependencyGraph;
+import com.synopsys.integration.bdio.model.dependency.Dependency;
+import com.synopsys.integration.bdio.model.externalid.ExternalId;
+
+/*
+ * A dependency graph written to a file. It is read back the first time it is used and is then only softly reachable, so the garbage
+ * collector can drop it again once the code location has been processed and memory runs low.
+ */
+public class SpilledDependencyGraph implements DependencyGraph {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final File graphFile;
+    private SoftReference<CompactDependencyGraph> loadedGraph = new SoftReference<>(null);
+
+    private SpilledDependencyGraph(final File graphFile) {
+        this.graphFile = graphFile;
+    }
+
+    public static SpilledDependencyGraph spill(final DependencyGraph dependencyGraph, final File graphFile) throws IOException {
+        final CompactDependencyGraph compactDependencyGraph;
+        if (dependencyGraph instanceof CompactDependencyGraph) {
+            compactDependencyGraph = (CompactDependencyGraph) dependencyGraph;
+        } else {
+            compactDependencyGraph = CompactDependencyGraph.copyOf(dependencyGraph);
+        }
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(graphFile.toPath()), BUFFER_SIZE))) {
+            compactDependencyGraph.write(output);
+        }
+        return new SpilledDependencyGraph(graphFile);
+    }
+
+    public File getGraphFile() {
+        return graphFile;
+    }
+
+    private synchronized CompactDependencyGraph load() {
+        CompactDependencyGraph graph = loadedGraph.get();
+        if (graph == null) {
+            try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(graphFile.toPath()), BUFFER_SIZE))) {
+                graph = CompactDependencyGraph.read(input);
+            } catch (final IOException e) {
+                throw new UncheckedIOException(String.format("Unable to read the dependency graph in %s.", graphFile.getAbsolutePath()), e);
+            }
+            loadedGraph = new SoftReference<>(graph);
+        }
+        return graph;
+    }
+
+    @Override
+    public Set<Dependency> getRootDependencies() {
+        return load().getRootDependencies();
+    }
+
+    @Override
+    public Set<ExternalId> getRootDependencyExternalIds() {
+        return load().getRootDependencyExternalIds();
+    }
+
+    @Override
+    public boolean hasDependency(final Dependency dependency) {
+        return load().hasDependency(dependency);
+    }
+
+    @Override
+    public boolean hasDependency(final ExternalId externalId) {
+        return load().hasDependency(externalId);
+    }
+
+    @Override
+    public Dependency getDependency(final ExternalId externalId) {
+        return load().getDependency(externalId);
+    }
+
+    @Override
+    public Set<Dependency> getChildrenForParent(final Dependency parent) {
+        return load().getChildrenForParent(parent);
+    }
+
+    @Override
+    public Set<ExternalId> getChildrenExternalIdsForParent(final Dependency parent) {
+        return load().getChildrenExternalIdsForParent(parent);
+    }
+
+    @Override
+    public Set<Dependency> getChildrenForParent(final ExternalId parent) {
+        return load().getChildrenForParent(parent);
+    }
+
+    @Override
+    public Set<ExternalId> getChildrenExternalIdsForParent(final ExternalId parent) {
+        return load().getChildrenExternalIdsForParent(parent);
+    }
+
+    @Override
+    public Set<ExternalId> getParentExternalIdsForChild(final Dependency child) {
+        return load().getParentExternalIdsForChild(child);
+    }
+
+    @Override
+    public Set<Dependency> getParentsForChild(final ExternalId child) {
+        return load().getParentsForChild(child);
+    }
+
+    @Override
+    public Set<Dependency> getParentsForChild(final Dependency child) {
+        return load().getParentsForChild(child);
+    }
+
+    @Override
+    public Set<ExternalId> getParentExternalIdsForChild(final ExternalId child) {
+        return load().getParentExternalIdsForChild(child);
+    }
+}
@@ -35,6 +35,7 @@ import com.blackducksoftware.integration.hub.detect.workflow.event.Event;
 import com.blackducksoftware.integration.hub.detect.workflow.event.EventSystem;
 import com.blackducksoftware.integration.hub.detect.workflow.extraction.ExtractionManager;
 import com.blackducksoftware.integration.hub.detect.workflow.extraction.ExtractionResult;
+import com.blackducksoftware.integration.hub.detect.workflow.extraction.InspectorProvisioningManager;
 import com.blackducksoftware.integration.hub.detect.workflow.extraction.PreparationManager;
 import com.blackducksoftware.integration.hub.detect.workflow.extraction.PreparationResult;
 import com.blackducksoftware.integration.hub.detect.workflow.search.SearchManager;
@@ -46,12 +47,15 @@ import com.blackducksoftware.integration.hub.detect.workflow.status.StatusType;
 public class DetectorManager {
 
     SearchManager searchManager;
+    InspectorProvisioningManager inspectorProvisioningManager;
     PreparationManager preparationManager;
     ExtractionManager extractionManager;
     EventSystem eventSystem;
 
-    public DetectorManager(SearchManager searchManager, ExtractionManager extractionManager, PreparationManager preparationManager, EventSystem eventSystem) {
+    public DetectorManager(SearchManager searchManager, ExtractionManager extractionManager, InspectorProvisioningManager inspectorProvisioningManager, PreparationManager preparationManager,
+        EventSystem eventSystem) {
         this.searchManager = searchManager;
+        this.inspectorProvisioningManager = inspectorProvisioningManager;
         this.extractionManager = extractionManager;
         this.preparationManager = preparationManager;
         this.eventSystem = eventSystem;
@@ -65,6 +69,9 @@ public class DetectorManager {
         eventSystem.publishEvent(Event.SearchCompleted, searchResult);
         detectorEvaluations.addAll(searchResult.getDetectorEvaluations());
 
+        //provision
+        inspectorProvisioningManager.provisionInspectors(detectorEvaluations);
+
         //prepare
         PreparationResult preparationResult = preparationManager.prepareExtractions(detectorEvaluations);
         eventSystem.publishEvent(Event.PreparationsCompleted, preparationResult);
@@ -31,7 +31,9 @@ import com.blackducksoftware.integration.hub.detect.tool.detector.DetectorToolRe
 import com.blackducksoftware.integration.hub.detect.workflow.codelocation.BdioCodeLocationResult;
 import com.blackducksoftware.integration.hub.detect.workflow.extraction.ExtractionResult;
 import com.blackducksoftware.integration.hub.detect.workflow.extraction.PreparationResult;
+import com.blackducksoftware.integration.hub.detect.workflow.hub.BdioUploadMetric;
 import com.blackducksoftware.integration.hub.detect.workflow.profiling.DetectorTimings;
+import com.blackducksoftware.integration.hub.detect.workflow.profiling.InspectorTime;
 import com.blackducksoftware.integration.hub.detect.workflow.search.SearchResult;
 import com.blackducksoftware.integration.hub.detect.workflow.search.result.DetectorEvaluation;
 import com.blackducksoftware.integration.hub.detect.workflow.status.Status;
@@ -44,11 +46,14 @@ public class Event {
     public static EventType<DetectorTimings> DetectorsProfiled = new EventType(DetectorTimings.class);
     public static EventType<Detector> ApplicableStarted = new EventType(Detector.class);
     public static EventType<Detector> ApplicableEnded = new EventType(Detector.class);
+    public static EventType<InspectorTime> InspectorProvisioned = new EventType(InspectorTime.class);
     public static EventType<Detector> ExtractableStarted = new EventType(Detector.class);
     public static EventType<Detector> ExtractableEnded = new EventType(Detector.class);
-    public static EventType<DetectorEvaluation> ExtractionStarted = new EventType(DetectorEvaluation.class);
-    public static EventType<DetectorEvaluation> ExtractionEnded = new EventType(DetectorEvaluation.class);
+    // The diagnostic logger redirects the logs of an extraction on these, so they must be seen as they happen.
+    public static EventType<DetectorEvaluation> ExtractionStarted = new EventType(DetectorEvaluation.class, true);
+    public static EventType<DetectorEvaluation> ExtractionEnded = new EventType(DetectorEvaluation.class, true);
     public static EventType<BdioCodeLocationResult> CodeLocationsCalculated = new EventType(BdioCodeLocationResult.class);
+    public static EventType<BdioUploadMetric> BdioUploaded = new EventType(BdioUploadMetric.class);
     public static EventType<ExitCodeRequest> ExitCode = new EventType(ExitCodeRequest.class);
     public static EventType<Status> StatusSummary = new EventType(Status.class);
     public static EventType<File> OutputFileOfInterest = new EventType(File.class);
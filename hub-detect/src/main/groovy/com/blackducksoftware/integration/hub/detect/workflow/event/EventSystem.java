@@ -23,41 +23,188 @@
  */
 package com.blackducksoftware.integration.hub.detect.workflow.event;
 
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/*
+ * Listeners may be registered and events published from any thread. A listener is only ever called for one event at a time, so it
+ * does not need to be thread safe itself, but different listeners may run concurrently and must guard any state they share. By
+ * default events are dispatched on the publishing thread; after startAsyncDispatch they are queued and dispatched, in publication
+ * order, on a single background thread until stopAsyncDispatch flushes the queue. Synchronous event types are still dispatched on the
+ * publishing thread, once every event queued before them has been dispatched. Listeners that need to know when an event happened,
+ * rather than when it was dispatched, register as a TimedEventListener and are given the time it was published.
+ */
 public class EventSystem {
+    public static final int DEFAULT_ASYNC_QUEUE_CAPACITY = 1024;
+
     private final Logger logger = LoggerFactory.getLogger(this.getClass());
 
-    Map<EventType, List<EventListener>> eventListenerMap = new HashMap<>();
+    private final Map<EventType, List<SerialEventListener>> eventListenerMap = new ConcurrentHashMap<>();
+    private volatile AsyncDispatcher asyncDispatcher = null;
 
     public <T> void publishEvent(EventType<T> event, T payload) {
-        for (EventListener listener : safelyGetListeners(event)) {
-            listener.eventOccured(payload);
+        final long publishedAt = System.currentTimeMillis();
+        final AsyncDispatcher dispatcher = asyncDispatcher;
+        if (dispatcher != null && !dispatcher.isDispatchThread()) {
+            if (event.isSynchronous()) {
+                dispatcher.flush();
+                dispatch(event, payload, publishedAt);
+            } else {
+                dispatcher.enqueue(() -> dispatch(event, payload, publishedAt));
+            }
+        } else {
+            dispatch(event, payload, publishedAt);
         }
     }
 
     public <T> void registerListener(EventType<T> event, EventListener<T> listener) {
-        safelyGetListeners(event).add(listener);
+        final TimedEventListener<T> timedListener = (payload, publishedAt) -> listener.eventOccured(payload);
+        safelyGetListeners(event).add(new SerialEventListener(listener, timedListener));
+    }
+
+    public <T> void registerTimedListener(EventType<T> event, TimedEventListener<T> listener) {
+        safelyGetListeners(event).add(new SerialEventListener(listener, listener));
     }
 
     public <T> void unregisterListener(EventType<T> event, EventListener<T> listener) {
-        safelyGetListeners(event).remove(listener);
+        safelyGetListeners(event).removeIf(registered -> registered.listener == listener);
     }
 
-    private List<EventListener> safelyGetListeners(EventType event) {
-        List<EventListener> listeners;
-        if (eventListenerMap.containsKey(event)) {
-            listeners = eventListenerMap.get(event);
-        } else {
-            listeners = new ArrayList<>();
-            eventListenerMap.put(event, listeners);
+    public synchronized void startAsyncDispatch(int queueCapacity) {
+        if (asyncDispatcher == null) {
+            asyncDispatcher = new AsyncDispatcher(queueCapacity);
+        }
+    }
+
+    // Waits for every queued event to be dispatched, then goes back to dispatching on the publishing thread.
+    public synchronized void stopAsyncDispatch() {
+        final AsyncDispatcher dispatcher = asyncDispatcher;
+        if (dispatcher != null) {
+            dispatcher.stop();
+            asyncDispatcher = null;
+        }
+    }
+
+    // Waits for every event published so far to be dispatched.
+    public void flush() {
+        final AsyncDispatcher dispatcher = asyncDispatcher;
+        if (dispatcher != null && !dispatcher.isDispatchThread()) {
+            dispatcher.flush();
+        }
+    }
+
+    private <T> void dispatch(EventType<T> event, T payload, long publishedAt) {
+        for (SerialEventListener listener : safelyGetListeners(event)) {
+            listener.eventOccured(payload, publishedAt);
+        }
+    }
+
+    private List<SerialEventListener> safelyGetListeners(EventType event) {
+        return eventListenerMap.computeIfAbsent(event, key -> new CopyOnWriteArrayList<>());
+    }
+
+    private static class SerialEventListener {
+        private final Object listener;
+        private final TimedEventListener timedListener;
+
+        public SerialEventListener(Object listener, TimedEventListener timedListener) {
+            this.listener = listener;
+            this.timedListener = timedListener;
+        }
+
+        public synchronized void eventOccured(Object payload, long publishedAt) {
+            timedListener.eventOccured(payload, publishedAt);
+        }
+    }
+
+    private class AsyncDispatcher implements Runnable {
+        private final Runnable stop = () -> {};
+        private final BlockingQueue<Runnable> queue;
+        private final Thread thread;
+        // Publishers enqueue under the read lock so that once stop holds the write lock nothing new is queued behind the stop marker.
+        private final ReentrantReadWriteLock stopLock = new ReentrantReadWriteLock();
+        private boolean stopped = false;
+
+        public AsyncDispatcher(int queueCapacity) {
+            queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+            thread = new Thread(this, "detect-event-dispatch");
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        public boolean isDispatchThread() {
+            return Thread.currentThread() == thread;
+        }
+
+        // Once stopped, or if interrupted while waiting for room in the queue, the event is dispatched on the publishing thread.
+        public void enqueue(Runnable dispatch) {
+            stopLock.readLock().lock();
+            try {
+                if (!stopped) {
+                    queue.put(dispatch);
+                    return;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                stopLock.readLock().unlock();
+            }
+            dispatch.run();
+        }
+
+        public void flush() {
+            final CountDownLatch flushed = new CountDownLatch(1);
+            enqueue(flushed::countDown);
+            try {
+                flushed.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        // Publishers waiting to enqueue are held until every queued event has been dispatched, then dispatch on their own thread.
+        public void stop() {
+            stopLock.writeLock().lock();
+            try {
+                stopped = true;
+                queue.put(stop);
+                thread.join();
+            } catch (InterruptedException e) {
+                // The dispatch thread still drains the queue, it is just not waited for.
+                Thread.currentThread().interrupt();
+            } finally {
+                stopLock.writeLock().unlock();
+            }
+        }
+
+        @Override
+        public void run() {
+            while (true) {
+                final Runnable dispatch;
+                try {
+                    dispatch = queue.take();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                if (dispatch == stop) {
+                    return;
+                }
+                try {
+                    dispatch.run();
+                } catch (Throwable e) {
+                    // Nothing else drains the queue, so the dispatch thread has to outlive any listener failure.
+                    logger.error("An event listener failed.", e);
+                }
+            }
         }
-        return listeners;
     }
 }
@@ -24,9 +24,18 @@
 package com.blackducksoftware.integration.hub.detect.workflow.event;
 
 public class EventType<T> {
+    private final boolean synchronous;
 
     public EventType(Class<T> clazz) {
+        this(clazz, false);
+    }
 
+    // A synchronous event is always dispatched on the publishing thread, even while dispatch is asynchronous.
+    public EventType(Class<T> clazz, boolean synchronous) {
+        this.synchronous = synchronous;
     }
 
+    public boolean isSynchronous() {
+        return synchronous;
+    }
 }
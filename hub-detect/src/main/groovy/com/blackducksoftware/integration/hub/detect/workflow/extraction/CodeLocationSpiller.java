@@ -0,0 +1,91 @@
+/**
+ * hub-detect
+ *
+ * Copyright (C) 2019 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.blackducksoftware.integration.hub.detect.workflow.extraction;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.blackducksoftware.integration.hub.detect.detector.ExtractionId;
+import com.blackducksoftware.integration.hub.detect.workflow.codelocation.DetectCodeLocation;
+import com.blackducksoftware.integration.hub.detect.workflow.codelocation.SpilledDependencyGraph;
+import com.blackducksoftware.integration.hub.detect.workflow.file.DirectoryManager;
+
+/*
+ * Moves the dependency graphs of an extraction out of memory into its extraction output directory, so that the code locations of
+ * every detector do not have to fit on the heap at once before BDIO creation.
+ */
+public class CodeLocationSpiller {
+    private static final String GRAPH_EXTENSION = ".graph";
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+    private final DirectoryManager directoryManager;
+
+    private final AtomicInteger spilled = new AtomicInteger();
+
+    public CodeLocationSpiller(final DirectoryManager directoryManager) {
+        this.directoryManager = directoryManager;
+    }
+
+    public static CodeLocationSpiller disabled() {
+        return new CodeLocationSpiller(null);
+    }
+
+    public boolean isEnabled() {
+        return directoryManager != null;
+    }
+
+    public void spill(final ExtractionId extractionId, final List<DetectCodeLocation> codeLocations) {
+        if (!isEnabled() || codeLocations.isEmpty()) {
+            return;
+        }
+        final File outputDirectory = directoryManager.getExtractionOutputDirectory(extractionId);
+        final ListIterator<DetectCodeLocation> codeLocationIterator = codeLocations.listIterator();
+        while (codeLocationIterator.hasNext()) {
+            final File graphFile = new File(outputDirectory, "codeLocation" + codeLocationIterator.nextIndex() + GRAPH_EXTENSION);
+            final DetectCodeLocation codeLocation = codeLocationIterator.next();
+            if (codeLocation.getDependencyGraph() == null || codeLocation.getDependencyGraph() instanceof SpilledDependencyGraph) {
+                continue;
+            }
+            try {
+                final SpilledDependencyGraph spilledDependencyGraph = SpilledDependencyGraph.spill(codeLocation.getDependencyGraph(), graphFile);
+                codeLocationIterator.set(new DetectCodeLocation.Builder(codeLocation.getCodeLocationType(), codeLocation.getSourcePath(), codeLocation.getExternalId(), spilledDependencyGraph)
+                                             .dockerImage(codeLocation.getDockerImage())
+                                             .build());
+                spilled.incrementAndGet();
+            } catch (final IOException e) {
+                logger.warn(String.format("Unable to write the dependency graph of %s to disk, it will be kept in memory: %s", codeLocation.getSourcePath(), e.getMessage()));
+            }
+        }
+    }
+
+    public int getSpilled() {
+        return spilled.get();
+    }
+}
@@ -0,0 +1,216 @@
+/**
+ * hub-detect
+ *
+ * Copyright (C) 2019 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.blackducksoftware.integration.hub.detect.workflow.extraction;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.blackducksoftware.integration.hub.detect.detector.Detector;
+import com.blackducksoftware.integration.hub.detect.workflow.codelocation.DetectCodeLocation;
+import com.blackducksoftware.integration.hub.detect.workflow.codelocation.DetectCodeLocationSerializer;
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+
+/*
+ * Reuses the extraction of a detector from a previous run when the content of the files it declared as extraction inputs, and the
+ * detect properties of its detector type, have not changed. Entries are also keyed by the version of detect so an upgrade never reuses
+ * code locations produced by different detector code. Only successful extractions are cached and at most a fixed number of entries are
+ * kept, the least recently used are evicted first.
+ */
+public class ExtractionCache {
+    private static final String CACHE_FORMAT_VERSION = "1";
+    private static final String ENTRY_EXTENSION = ".json";
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+    private final Gson gson = new Gson();
+    private final File cacheDirectory;
+    private final String detectVersion;
+    private final int maxEntries;
+    private final Map<String, String> detectProperties;
+    private final DetectCodeLocationSerializer codeLocationSerializer;
+
+    private final AtomicInteger hits = new AtomicInteger();
+    private final AtomicInteger misses = new AtomicInteger();
+    private final AtomicInteger evictions = new AtomicInteger();
+
+    public ExtractionCache(final File cacheDirectory, final String detectVersion, final int maxEntries, final Map<String, String> detectProperties, final DetectCodeLocationSerializer codeLocationSerializer) {
+        this.cacheDirectory = cacheDirectory;
+        this.detectVersion = detectVersion;
+        this.maxEntries = maxEntries;
+        this.detectProperties = new TreeMap<>(detectProperties);
+        this.codeLocationSerializer = codeLocationSerializer;
+    }
+
+    public static ExtractionCache disabled() {
+        return new ExtractionCache(null, null, 0, new TreeMap<>(), null);
+    }
+
+    public boolean isEnabled() {
+        return cacheDirectory != null && maxEntries > 0;
+    }
+
+    public boolean isCacheable(final Detector detector) {
+        return isEnabled() && !detector.getExtractionInputFiles().isEmpty();
+    }
+
+    public Optional<Extraction> load(final Detector detector) {
+        if (!isCacheable(detector)) {
+            return Optional.empty();
+        }
+        final Optional<File> entryFile = getEntryFile(detector);
+        if (entryFile.isPresent() && entryFile.get().isFile()) {
+            try (Reader reader = Files.newBufferedReader(entryFile.get().toPath(), StandardCharsets.UTF_8)) {
+                final JsonObject entry = gson.fromJson(reader, JsonObject.class);
+                final List<DetectCodeLocation> codeLocations = codeLocationSerializer.deserialize(entry.get("codeLocations"));
+                final Extraction.Builder builder = new Extraction.Builder().success(codeLocations);
+                if (entry.has("projectName") && !entry.get("projectName").isJsonNull()) {
+                    builder.projectName(entry.get("projectName").getAsString());
+                }
+                if (entry.has("projectVersion") && !entry.get("projectVersion").isJsonNull()) {
+                    builder.projectVersion(entry.get("projectVersion").getAsString());
+                }
+                entryFile.get().setLastModified(System.currentTimeMillis());
+                hits.incrementAndGet();
+                return Optional.of(builder.build());
+            } catch (final Exception e) {
+                logger.debug(String.format("Unable to read cached extraction %s: %s", entryFile.get().getAbsolutePath(), e.getMessage()));
+            }
+        }
+        misses.incrementAndGet();
+        return Optional.empty();
+    }
+
+    public void save(final Detector detector, final Extraction extraction) {
+        if (!isCacheable(detector) || extraction.result != Extraction.ExtractionResultType.SUCCESS) {
+            return;
+        }
+        final Optional<File> entryFile = getEntryFile(detector);
+        if (!entryFile.isPresent()) {
+            return;
+        }
+        final JsonObject entry = new JsonObject();
+        entry.addProperty("projectName", extraction.projectName);
+        entry.addProperty("projectVersion", extraction.projectVersion);
+        entry.add("codeLocations", codeLocationSerializer.serialize(extraction.codeLocations));
+        try {
+            cacheDirectory.mkdirs();
+            final File tempFile = File.createTempFile(entryFile.get().getName(), ".tmp", cacheDirectory);
+            try (Writer writer = Files.newBufferedWriter(tempFile.toPath(), StandardCharsets.UTF_8)) {
+                gson.toJson(entry, writer);
+            }
+            Files.move(tempFile.toPath(), entryFile.get().toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (final Exception e) {
+            logger.debug(String.format("Unable to cache extraction of %s: %s", detector.getDescriptiveName(), e.getMessage()));
+        }
+    }
+
+    // Least recently used entries are removed first; a cache hit refreshes the modification time of its entry.
+    public void evict() {
+        if (!isEnabled()) {
+            return;
+        }
+        final File[] entryFiles = cacheDirectory.listFiles((dir, name) -> name.endsWith(ENTRY_EXTENSION));
+        if (entryFiles == null || entryFiles.length <= maxEntries) {
+            return;
+        }
+        Arrays.sort(entryFiles, Comparator.comparingLong(File::lastModified));
+        for (int i = 0; i < entryFiles.length - maxEntries; i++) {
+            if (entryFiles[i].delete()) {
+                evictions.incrementAndGet();
+            }
+        }
+    }
+
+    public int getHits() {
+        return hits.get();
+    }
+
+    public int getMisses() {
+        return misses.get();
+    }
+
+    public int getEvictions() {
+        return evictions.get();
+    }
+
+    private Optional<File> getEntryFile(final Detector detector) {
+        try {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            update(digest, CACHE_FORMAT_VERSION);
+            update(digest, detectVersion);
+            update(digest, detector.getClass().getName());
+            update(digest, detector.getName());
+
+            final String propertyPrefix = "detect." + detector.getDetectorType().name().toLowerCase().replace('_', '.') + ".";
+            for (final Map.Entry<String, String> detectProperty : detectProperties.entrySet()) {
+                if (detectProperty.getKey().startsWith(propertyPrefix)) {
+                    update(digest, detectProperty.getKey());
+                    update(digest, detectProperty.getValue());
+                }
+            }
+
+            for (final File inputFile : detector.getExtractionInputFiles()) {
+                update(digest, inputFile.getCanonicalPath());
+                try (InputStream inputStream = Files.newInputStream(inputFile.toPath())) {
+                    final byte[] buffer = new byte[8192];
+                    int read;
+                    while ((read = inputStream.read(buffer)) != -1) {
+                        digest.update(buffer, 0, read);
+                    }
+                }
+            }
+            final String key = String.format("%064x", new BigInteger(1, digest.digest()));
+            return Optional.of(new File(cacheDirectory, key + ENTRY_EXTENSION));
+        } catch (final IOException | NoSuchAlgorithmException e) {
+            logger.debug(String.format("Unable to compute the extraction cache key of %s: %s", detector.getDescriptiveName(), e.getMessage()));
+            return Optional.empty();
+        }
+    }
+
+    private void update(final MessageDigest digest, final String value) {
+        if (value != null) {
+            digest.update(value.getBytes(StandardCharsets.UTF_8));
+        }
+        digest.update((byte) 0);
+    }
+}
@@ -23,16 +23,32 @@
  */
 package com.blackducksoftware.integration.hub.detect.workflow.extraction;
 
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
 
 import com.blackducksoftware.integration.hub.detect.detector.DetectorType;
 import com.blackducksoftware.integration.hub.detect.detector.ExtractionId;
+import com.blackducksoftware.integration.hub.detect.workflow.codelocation.CompactDependencyGraph;
 import com.blackducksoftware.integration.hub.detect.workflow.codelocation.DetectCodeLocation;
+import com.blackducksoftware.integration.hub.detect.workflow.event.Event;
+import com.blackducksoftware.integration.hub.detect.workflow.event.EventSystem;
 import com.blackducksoftware.integration.hub.detect.workflow.extraction.Extraction.ExtractionResultType;
 import com.blackducksoftware.integration.hub.detect.workflow.report.util.ObjectPrinter;
 import com.blackducksoftware.integration.hub.detect.workflow.report.util.ReportConstants;
@@ -40,9 +56,20 @@ import com.blackducksoftware.integration.hub.detect.workflow.report.writer.InfoL
 import com.blackducksoftware.integration.hub.detect.workflow.search.result.DetectorEvaluation;
 
 public class ExtractionManager {
+    public static final String EXTRACTION_ID_MDC_KEY = "extractionId";
+
     private final Logger logger = LoggerFactory.getLogger(this.getClass());
 
-    public ExtractionManager() {
+    private final EventSystem eventSystem;
+    private final ExtractionOptions extractionOptions;
+    private final ExtractionCache extractionCache;
+    private final CodeLocationSpiller codeLocationSpiller;
+
+    public ExtractionManager(final EventSystem eventSystem, final ExtractionOptions extractionOptions, final ExtractionCache extractionCache, final CodeLocationSpiller codeLocationSpiller) {
+        this.eventSystem = eventSystem;
+        this.extractionOptions = extractionOptions;
+        this.extractionCache = extractionCache;
+        this.codeLocationSpiller = codeLocationSpiller;
     }
 
     public ExtractionResult performExtractions(final List<DetectorEvaluation> results) {
@@ -50,15 +77,16 @@ public class ExtractionManager {
 
         for (int i = 0; i < extractable.size(); i++) {
             final DetectorEvaluation detectorEvaluation = extractable.get(i);
-            final String progress = Integer.toString((int) Math.floor((i * 100.0f) / extractable.size()));
-            logger.info(String.format("Extracting %d of %d (%s%%)", i + 1, extractable.size(), progress));
-            logger.info(ReportConstants.SEPERATOR);
-
             final ExtractionId extractionId = new ExtractionId(detectorEvaluation.getDetector().getDetectorType(), Integer.toString(i));
             detectorEvaluation.setExtractionId(extractionId);
+        }
 
-            extract(extractable.get(i));
+        if (extractionOptions.getParallelProcessors() > 1 && extractable.size() > 1) {
+            performParallelExtractions(extractable);
+        } else {
+            performSequentialExtractions(extractable);
         }
+        extractionCache.evict();
 
         final Set<DetectorType> succesfulBomToolGroups = extractable.stream()
                                                              .filter(it -> it.wasExtractionSuccessful())
@@ -78,29 +106,168 @@ public class ExtractionManager {
         return new ExtractionResult(codeLocations, succesfulBomToolGroups, failedBomToolGroups);
     }
 
-    private void extract(final DetectorEvaluation result) { //TODO: Replace reporting.
+    private void performSequentialExtractions(final List<DetectorEvaluation> extractable) {
+        for (int i = 0; i < extractable.size(); i++) {
+            final String progress = Integer.toString((int) Math.floor((i * 100.0f) / extractable.size()));
+            logger.info(String.format("Extracting %d of %d (%s%%)", i + 1, extractable.size(), progress));
+            logger.info(ReportConstants.SEPERATOR);
+
+            extract(extractable.get(i));
+        }
+    }
+
+    private void performParallelExtractions(final List<DetectorEvaluation> extractable) {
+        final int parallelProcessors = extractionOptions.getParallelProcessors();
+        logger.info(String.format("Extracting with up to %d parallel extractions.", parallelProcessors));
 
-        logger.info("Starting extraction: " + result.getDetector().getDetectorType() + " - " + result.getDetector().getName());
-        logger.info("Identifier: " + result.getExtractionId().toUniqueString());
-        ObjectPrinter.printObjectPrivate(new InfoLogReportWriter(), result.getDetector());
-        logger.info(ReportConstants.SEPERATOR);
+        final ExecutorService executorService = Executors.newFixedThreadPool(parallelProcessors);
+        final CompletionService<DetectorEvaluation> completionService = new ExecutorCompletionService<>(executorService);
+        final List<DetectorEvaluation> pending = new LinkedList<>(extractable);
+        final Map<DetectorType, Integer> running = new HashMap<>();
+        final Map<Future<DetectorEvaluation>, DetectorEvaluation> submitted = new HashMap<>();
+        int inFlight = 0;
+        int finished = 0;
 
         try {
-            result.setExtraction(result.getDetector().extract(result.getExtractionId()));
-        } catch (final Exception e) {
-            result.setExtraction(new Extraction.Builder().exception(e).build());
+            while (!pending.isEmpty() || inFlight > 0) {
+                final Iterator<DetectorEvaluation> pendingIterator = pending.iterator();
+                while (inFlight < parallelProcessors && pendingIterator.hasNext()) {
+                    final DetectorEvaluation detectorEvaluation = pendingIterator.next();
+                    final DetectorType detectorType = detectorEvaluation.getDetector().getDetectorType();
+                    if (hasCapacity(detectorType, running)) {
+                        pendingIterator.remove();
+                        running.merge(detectorType, 1, Integer::sum);
+                        inFlight++;
+                        submitted.put(completionService.submit(() -> {
+                            extract(detectorEvaluation);
+                            return detectorEvaluation;
+                        }), detectorEvaluation);
+                    }
+                }
+
+                // A failed extraction is recorded on its own evaluation, the remaining extractions are still scheduled.
+                final Future<DetectorEvaluation> future = completionService.take();
+                final DetectorEvaluation completed = submitted.remove(future);
+                try {
+                    future.get();
+                } catch (final ExecutionException e) {
+                    logger.error("An extraction could not be completed.", e.getCause());
+                    completed.setExtraction(new Extraction.Builder().exception(asException(e.getCause())).build());
+                }
+                running.merge(completed.getDetector().getDetectorType(), -1, Integer::sum);
+                inFlight--;
+                finished++;
+                final String progress = Integer.toString((int) Math.floor((finished * 100.0f) / extractable.size()));
+                logger.info(String.format("Finished %d of %d extractions (%s%%)", finished, extractable.size(), progress));
+            }
+        } catch (final InterruptedException e) {
+            logger.error("Interrupted while waiting for extractions to finish.");
+            Thread.currentThread().interrupt();
+        } finally {
+            executorService.shutdownNow();
+            awaitTermination(executorService);
         }
 
-        logger.info(ReportConstants.SEPERATOR);
-        logger.info("Finished extraction: " + result.getExtraction().result.toString());
-        logger.info("Code locations found: " + result.getExtraction().codeLocations.size());
-        if (result.getExtraction().result == ExtractionResultType.EXCEPTION) {
-            logger.error("Exception:", result.getExtraction().error);
-        } else if (result.getExtraction().result == ExtractionResultType.FAILURE) {
-            logger.info(result.getExtraction().description);
+        for (final DetectorEvaluation detectorEvaluation : extractable) {
+            if (detectorEvaluation.getExtraction() == null) {
+                detectorEvaluation.setExtraction(new Extraction.Builder().failure("The extraction did not complete.").build());
+            }
         }
-        logger.info(ReportConstants.SEPERATOR);
+    }
 
+    // Interrupted extractions still record their own result, so they are waited for before the unfinished ones are marked.
+    private void awaitTermination(final ExecutorService executorService) {
+        boolean interrupted = Thread.interrupted();
+        while (!executorService.isTerminated()) {
+            try {
+                executorService.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+            } catch (final InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Exception asException(final Throwable throwable) {
+        if (throwable instanceof Exception) {
+            return (Exception) throwable;
+        }
+        return new Exception(throwable);
+    }
+
+    private boolean hasCapacity(final DetectorType detectorType, final Map<DetectorType, Integer> running) {
+        final int currentlyRunning = running.getOrDefault(detectorType, 0);
+        return extractionOptions.getDetectorTypeLimit(detectorType)
+                   .map(limit -> currentlyRunning < limit)
+                   .orElse(true);
+    }
+
+    private void extract(final DetectorEvaluation result) { //TODO: Replace reporting.
+        MDC.put(EXTRACTION_ID_MDC_KEY, result.getExtractionId().toUniqueString());
+        try {
+            eventSystem.publishEvent(Event.ExtractionStarted, result);
+
+            logger.info("Starting extraction: " + result.getDetector().getDetectorType() + " - " + result.getDetector().getName());
+            logger.info("Identifier: " + result.getExtractionId().toUniqueString());
+            ObjectPrinter.printObjectPrivate(new InfoLogReportWriter(), result.getDetector());
+            logger.info(ReportConstants.SEPERATOR);
+
+            // Caching, compacting and spilling fail the same way the detector itself does, in sequential and parallel mode alike.
+            try {
+                performExtraction(result);
+            } catch (final Exception e) {
+                result.setExtraction(new Extraction.Builder().exception(e).build());
+            }
+
+            logger.info(ReportConstants.SEPERATOR);
+            logger.info("Finished extraction: " + result.getExtraction().result.toString());
+            logger.info("Identifier: " + result.getExtractionId().toUniqueString());
+            logger.info("Code locations found: " + result.getExtraction().codeLocations.size());
+            if (result.getExtraction().result == ExtractionResultType.EXCEPTION) {
+                logger.error("Exception:", result.getExtraction().error);
+            } else if (result.getExtraction().result == ExtractionResultType.FAILURE) {
+                logger.info(result.getExtraction().description);
+            }
+            logger.info(ReportConstants.SEPERATOR);
+        } finally {
+            eventSystem.publishEvent(Event.ExtractionEnded, result);
+            MDC.remove(EXTRACTION_ID_MDC_KEY);
+        }
+    }
+
+    private void performExtraction(final DetectorEvaluation result) {
+        final Optional<Extraction> cachedExtraction = extractionCache.load(result.getDetector());
+        if (cachedExtraction.isPresent()) {
+            logger.info("The extraction inputs have not changed, reusing the code locations of a previous run.");
+            result.setExtractionCacheStatus(ExtractionCacheStatus.HIT);
+            result.setExtraction(cachedExtraction.get());
+        } else {
+            try {
+                result.setExtraction(result.getDetector().extract(result.getExtractionId()));
+            } catch (final Exception e) {
+                result.setExtraction(new Extraction.Builder().exception(e).build());
+            }
+            if (extractionCache.isCacheable(result.getDetector())) {
+                result.setExtractionCacheStatus(ExtractionCacheStatus.MISS);
+                extractionCache.save(result.getDetector(), result.getExtraction());
+            }
+        }
+        if (extractionOptions.isCompactGraphs()) {
+            result.getExtraction().codeLocations.replaceAll(this::compact);
+        }
+        codeLocationSpiller.spill(result.getExtractionId(), result.getExtraction().codeLocations);
+    }
+
+    private DetectCodeLocation compact(final DetectCodeLocation codeLocation) {
+        if (codeLocation.getDependencyGraph() == null || codeLocation.getDependencyGraph() instanceof CompactDependencyGraph) {
+            return codeLocation;
+        }
+        final CompactDependencyGraph compactDependencyGraph = CompactDependencyGraph.copyOf(codeLocation.getDependencyGraph());
+        return new DetectCodeLocation.Builder(codeLocation.getCodeLocationType(), codeLocation.getSourcePath(), codeLocation.getExternalId(), compactDependencyGraph)
+                   .dockerImage(codeLocation.getDockerImage())
+                   .build();
     }
 
 }
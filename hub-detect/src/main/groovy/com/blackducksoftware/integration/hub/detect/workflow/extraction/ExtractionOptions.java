@@ -0,0 +1,72 @@
+/**
+ * hub-detect
+ *
+ * Copyright (C) 2019 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.blackducksoftware.integration.hub.detect.workflow.extraction;
+
+import java.util.Map;
+import java.util.Optional;
+
+import com.blackducksoftware.integration.hub.detect.detector.DetectorType;
+
+public class ExtractionOptions {
+    private final int parallelProcessors;
+    private final Map<DetectorType, Integer> detectorTypeLimits;
+    private final boolean incremental;
+    private final boolean compactGraphs;
+    private final boolean spillToDisk;
+    private final boolean provisionInspectors;
+
+    public ExtractionOptions(final int parallelProcessors, final Map<DetectorType, Integer> detectorTypeLimits, final boolean incremental, final boolean compactGraphs, final boolean spillToDisk,
+        final boolean provisionInspectors) {
+        this.parallelProcessors = parallelProcessors;
+        this.detectorTypeLimits = detectorTypeLimits;
+        this.incremental = incremental;
+        this.compactGraphs = compactGraphs;
+        this.spillToDisk = spillToDisk;
+        this.provisionInspectors = provisionInspectors;
+    }
+
+    public int getParallelProcessors() {
+        return parallelProcessors;
+    }
+
+    public Optional<Integer> getDetectorTypeLimit(final DetectorType detectorType) {
+        return Optional.ofNullable(detectorTypeLimits.get(detectorType));
+    }
+
+    public boolean isIncremental() {
+        return incremental;
+    }
+
+    public boolean isCompactGraphs() {
+        return compactGraphs;
+    }
+
+    public boolean isSpillToDisk() {
+        return spillToDisk;
+    }
+
+    public boolean isProvisionInspectors() {
+        return provisionInspectors;
+    }
+}
@@ -0,0 +1,129 @@
+/**
+ * hub-detect
+ *
+ * Copyright (C) 2019 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.blackducksoftware.integration.hub.detect.workflow.extraction;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.blackducksoftware.integration.hub.detect.detector.InspectorProvisioner;
+import com.blackducksoftware.integration.hub.detect.workflow.event.Event;
+import com.blackducksoftware.integration.hub.detect.workflow.event.EventSystem;
+import com.blackducksoftware.integration.hub.detect.workflow.profiling.InspectorTime;
+import com.blackducksoftware.integration.hub.detect.workflow.search.result.DetectorEvaluation;
+
+/*
+ * Provisions the inspectors of every applicable detector concurrently, once the search knows which detectors apply, so the artifactory
+ * lookups and downloads overlap instead of running one after another while detectors check whether they are extractable. Failures are only
+ * logged here; the provisioners remember them and the detectors that need the inspector report them when they are prepared.
+ */
+public class InspectorProvisioningManager {
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final EventSystem eventSystem;
+    private final boolean enabled;
+
+    public InspectorProvisioningManager(final EventSystem eventSystem) {
+        this(eventSystem, true);
+    }
+
+    private InspectorProvisioningManager(final EventSystem eventSystem, final boolean enabled) {
+        this.eventSystem = eventSystem;
+        this.enabled = enabled;
+    }
+
+    public static InspectorProvisioningManager disabled() {
+        return new InspectorProvisioningManager(null, false);
+    }
+
+    public void provisionInspectors(final List<DetectorEvaluation> evaluations) {
+        if (!enabled) {
+            return;
+        }
+
+        final Set<InspectorProvisioner> provisioners = new LinkedHashSet<>();
+        for (final DetectorEvaluation evaluation : evaluations) {
+            if (evaluation.isApplicable()) {
+                evaluation.getDetector().getInspectorProvisioner().ifPresent(provisioners::add);
+            }
+        }
+        if (provisioners.isEmpty()) {
+            return;
+        }
+
+        logger.info(String.format("Provisioning %d inspectors.", provisioners.size()));
+        final ExecutorService executorService = Executors.newFixedThreadPool(provisioners.size());
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (final InspectorProvisioner provisioner : provisioners) {
+                futures.add(executorService.submit(() -> provision(provisioner)));
+            }
+            for (final Future<?> future : futures) {
+                if (!waitForProvisioning(future)) {
+                    break;
+                }
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    private void provision(final InspectorProvisioner provisioner) {
+        final long startTime = System.currentTimeMillis();
+        try {
+            provisioner.provisionInspector();
+        } catch (final Exception e) {
+            logger.debug(String.format("Unable to provision the %s inspector: %s", provisioner.getInspectorName(), e.getMessage()));
+        }
+        final long ms = System.currentTimeMillis() - startTime;
+        eventSystem.publishEvent(Event.InspectorProvisioned, new InspectorTime(provisioner.getInspectorName(), ms));
+    }
+
+    // When interrupted, the remaining inspectors are left to the detectors that need them.
+    private boolean waitForProvisioning(final Future<?> future) {
+        try {
+            future.get();
+            return true;
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (final ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new RuntimeException(cause);
+        }
+    }
+}
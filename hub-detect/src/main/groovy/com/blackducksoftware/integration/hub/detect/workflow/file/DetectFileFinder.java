@@ -30,6 +30,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 
 import org.apache.commons.io.FilenameUtils;
@@ -40,6 +41,16 @@ import org.slf4j.LoggerFactory;
 public class DetectFileFinder {
     private final Logger logger = LoggerFactory.getLogger(DetectFileFinder.class);
 
+    private final DirectoryIndex directoryIndex;
+
+    public DetectFileFinder() {
+        this(null);
+    }
+
+    public DetectFileFinder(final DirectoryIndex directoryIndex) {
+        this.directoryIndex = directoryIndex;
+    }
+
     public String extractFinalPieceFromPath(final String path) {
         if (path == null || path.length() == 0) {
             return "";
@@ -96,6 +107,17 @@ public class DetectFileFinder {
     }
 
     public List<File> findFiles(final File sourceDirectory, final String filenamePattern) {
+        if (directoryIndex != null) {
+            final Optional<DirectoryListing> listing = directoryIndex.getListing(sourceDirectory);
+            if (listing.isPresent()) {
+                final List<File> foundFiles = listing.get().findMatches(filenamePattern);
+                if (foundFiles.isEmpty()) {
+                    return null;
+                }
+                return new ArrayList<>(foundFiles);
+            }
+        }
+
         if (!sourceDirectory.isDirectory()) {
             return null;
         }
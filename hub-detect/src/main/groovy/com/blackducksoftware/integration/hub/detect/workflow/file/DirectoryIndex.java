@@ -0,0 +1,156 @@
+/**
+ * hub-detect
+ *
+ * Copyright (C) 2019 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.blackducksoftware.integration.hub.detect.workflow.file;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.blackducksoftware.integration.hub.detect.workflow.event.Event;
+import com.blackducksoftware.integration.hub.detect.workflow.event.EventSystem;
+import com.blackducksoftware.integration.hub.detect.workflow.search.result.DetectorEvaluation;
+
+/**
+ * Lists each directory at most once per run. Detect's own output directories are never indexed, and the directory
+ * of an extraction (and everything below it) is invalidated when that extraction starts and ends because build tools
+ * such as npm and go dep may write into the source tree. At most a fixed number of listings are kept, the least recently
+ * used are dropped first. The index only serves the search: once the search closes it, the listings are dropped and every
+ * later lookup is left to the caller so nothing listed before an extraction ran is ever reused.
+ */
+public class DirectoryIndex {
+    private final Logger logger = LoggerFactory.getLogger(DirectoryIndex.class);
+
+    public static final int DEFAULT_MAX_LISTINGS = 10000;
+
+    private final Map<String, DirectoryListing> listings;
+    private final List<String> unindexedDirectoryPaths;
+    private volatile boolean closed = false;
+
+    public DirectoryIndex(final EventSystem eventSystem, final List<File> unindexedDirectories) {
+        this(eventSystem, unindexedDirectories, DEFAULT_MAX_LISTINGS);
+    }
+
+    public DirectoryIndex(final EventSystem eventSystem, final List<File> unindexedDirectories, final int maxListings) {
+        this.listings = Collections.synchronizedMap(new ListingCache(maxListings));
+        this.unindexedDirectoryPaths = unindexedDirectories.stream()
+                                           .map(File::getAbsolutePath)
+                                           .collect(Collectors.toList());
+
+        eventSystem.registerListener(Event.ExtractionStarted, this::invalidateExtractionDirectory);
+        eventSystem.registerListener(Event.ExtractionEnded, this::invalidateExtractionDirectory);
+    }
+
+    public Optional<DirectoryListing> getListing(final File directory) {
+        final String path = directory.getAbsolutePath();
+        if (closed || isUnindexed(path)) {
+            return Optional.empty();
+        }
+
+        DirectoryListing listing = listings.get(path);
+        if (listing == null) {
+            listing = listDirectory(directory);
+            if (listing == null) {
+                return Optional.empty();
+            }
+            if (closed) {
+                return Optional.of(listing);
+            }
+            listings.put(path, listing);
+        }
+        return Optional.of(listing);
+    }
+
+    public void invalidate(final File directory) {
+        final String path = directory.getAbsolutePath();
+        final String childPrefix = path.endsWith(File.separator) ? path : path + File.separator;
+        synchronized (listings) {
+            listings.keySet().removeIf(key -> key.equals(path) || key.startsWith(childPrefix));
+        }
+    }
+
+    public void close() {
+        closed = true;
+        listings.clear();
+    }
+
+    public int size() {
+        return listings.size();
+    }
+
+    private void invalidateExtractionDirectory(final DetectorEvaluation detectorEvaluation) {
+        if (detectorEvaluation.getEnvironment() != null && detectorEvaluation.getEnvironment().getDirectory() != null) {
+            invalidate(detectorEvaluation.getEnvironment().getDirectory());
+        }
+    }
+
+    private boolean isUnindexed(final String path) {
+        for (final String unindexedPath : unindexedDirectoryPaths) {
+            if (path.equals(unindexedPath) || path.startsWith(unindexedPath + File.separator)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private DirectoryListing listDirectory(final File directory) {
+        final List<File> entries = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory.toPath())) {
+            for (final Path entry : stream) {
+                entries.add(entry.toFile());
+            }
+        } catch (final IOException | SecurityException e) {
+            logger.debug(String.format("Unable to index directory %s: %s", directory.getAbsolutePath(), e.getMessage()));
+            return null;
+        }
+        return new DirectoryListing(directory, entries);
+    }
+
+    private static class ListingCache extends LinkedHashMap<String, DirectoryListing> {
+        private static final long serialVersionUID = 1L;
+
+        private final int maxListings;
+
+        public ListingCache(final int maxListings) {
+            super(16, 0.75f, true);
+            this.maxListings = maxListings;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<String, DirectoryListing> eldest) {
+            return size() > maxListings;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+/**
+ * hub-detect
+ *
+ * Copyright (C) 2019 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.blackducksoftware.integration.hub.detect.workflow.file;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.apache.commons.io.FilenameUtils;
+import org.apache.commons.io.IOCase;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * An immutable snapshot of the entries of a single directory, bucketed by exact name and by extension so that
+ * the common detector patterns ("pom.xml", "*.sln") can be answered without another directory listing.
+ */
+public class DirectoryListing {
+    private final File directory;
+    private final List<File> entries;
+    private final Map<String, List<File>> entriesByName = new HashMap<>();
+    private final Map<String, List<File>> entriesByExtension = new HashMap<>();
+    private volatile List<File> subDirectories;
+
+    public DirectoryListing(final File directory, final List<File> entries) {
+        this.directory = directory;
+        this.entries = Collections.unmodifiableList(entries);
+        for (final File entry : entries) {
+            final String name = normalize(entry.getName());
+            entriesByName.computeIfAbsent(name, key -> new ArrayList<>()).add(entry);
+            final int extensionIndex = name.lastIndexOf('.');
+            if (extensionIndex >= 0) {
+                entriesByExtension.computeIfAbsent(name.substring(extensionIndex + 1), key -> new ArrayList<>()).add(entry);
+            }
+        }
+    }
+
+    public File getDirectory() {
+        return directory;
+    }
+
+    public List<File> getEntries() {
+        return entries;
+    }
+
+    public List<File> getSubDirectories() {
+        if (subDirectories == null) {
+            subDirectories = entries.stream()
+                                 .filter(File::isDirectory)
+                                 .collect(Collectors.toList());
+        }
+        return subDirectories;
+    }
+
+    public List<File> findMatches(final String filenamePattern) {
+        if (!StringUtils.containsAny(filenamePattern, '*', '?')) {
+            return entriesByName.getOrDefault(normalize(filenamePattern), Collections.emptyList());
+        }
+
+        if (filenamePattern.startsWith("*.")) {
+            final String extension = filenamePattern.substring(2);
+            if (!StringUtils.containsAny(extension, '*', '?', '.')) {
+                return entriesByExtension.getOrDefault(normalize(extension), Collections.emptyList());
+            }
+        }
+
+        return entries.stream()
+                   .filter(entry -> FilenameUtils.wildcardMatchOnSystem(entry.getName(), filenamePattern))
+                   .collect(Collectors.toList());
+    }
+
+    private String normalize(final String name) {
+        if (IOCase.SYSTEM.isCaseSensitive()) {
+            return name;
+        }
+        return name.toLowerCase(Locale.ROOT);
+    }
+}
@@ -43,7 +43,8 @@ public class DirectoryManager {
 
     private enum OutputDirectory {
         Runs("runs"),
-        Tools("tools");
+        Tools("tools"),
+        Cache("cache");
 
         private String directoryName;
 
@@ -143,7 +144,7 @@ public class DirectoryManager {
         return userHome;
     }
 
-    public File getExtractionOutputDirectory(final ExtractionId extractionId) {
+    public synchronized File getExtractionOutputDirectory(final ExtractionId extractionId) {
         if (extractionDirectories.containsKey(extractionId)) {
             return extractionDirectories.get(extractionId);
         } else {
@@ -225,4 +226,8 @@ public class DirectoryManager {
         return new File(getOutputDirectory(OutputDirectory.Tools), name);
     }
 
+    public File getCacheDirectory(String name) { // shared across all invocations of detect (incremental extraction), returns 'cache/name'
+        return new File(getOutputDirectory(OutputDirectory.Cache), name);
+    }
+
 }
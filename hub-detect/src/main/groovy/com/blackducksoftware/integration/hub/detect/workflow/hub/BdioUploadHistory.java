@@ -0,0 +1,111 @@
+/**
+ * hub-detect
+ *
+ * Copyright (C) 2019 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.blackducksoftware.integration.hub.detect.workflow.hub;
+
+import java.io.File;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/*
+ * Remembers the content hash of the BDIO last uploaded successfully for each code location of a Black Duck server, so that an
+ * unchanged code location does not have to be uploaded again.
+ */
+public class BdioUploadHistory {
+    private static final String ENTRY_EXTENSION = ".sha256";
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+    private final File historyDirectory;
+    private final String blackDuckUrl;
+
+    private final AtomicInteger skipped = new AtomicInteger();
+
+    public BdioUploadHistory(final File historyDirectory, final String blackDuckUrl) {
+        this.historyDirectory = historyDirectory;
+        this.blackDuckUrl = blackDuckUrl;
+    }
+
+    public static BdioUploadHistory disabled() {
+        return new BdioUploadHistory(null, null);
+    }
+
+    public boolean isEnabled() {
+        return historyDirectory != null;
+    }
+
+    public boolean isUnchanged(final String codeLocationName, final String contentHash) {
+        if (!isEnabled() || contentHash == null) {
+            return false;
+        }
+        final File entryFile = getEntryFile(codeLocationName);
+        if (entryFile.isFile()) {
+            try {
+                if (contentHash.equals(new String(Files.readAllBytes(entryFile.toPath()), StandardCharsets.UTF_8).trim())) {
+                    skipped.incrementAndGet();
+                    return true;
+                }
+            } catch (final IOException e) {
+                logger.debug(String.format("Unable to read the upload history of %s: %s", codeLocationName, e.getMessage()));
+            }
+        }
+        return false;
+    }
+
+    public void recordUpload(final String codeLocationName, final String contentHash) {
+        if (!isEnabled() || contentHash == null) {
+            return;
+        }
+        final File entryFile = getEntryFile(codeLocationName);
+        try {
+            historyDirectory.mkdirs();
+            final File tempFile = File.createTempFile(entryFile.getName(), ".tmp", historyDirectory);
+            Files.write(tempFile.toPath(), contentHash.getBytes(StandardCharsets.UTF_8));
+            Files.move(tempFile.toPath(), entryFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (final IOException e) {
+            logger.debug(String.format("Unable to record the upload of %s: %s", codeLocationName, e.getMessage()));
+        }
+    }
+
+    public int getSkipped() {
+        return skipped.get();
+    }
+
+    private File getEntryFile(final String codeLocationName) {
+        final String key = blackDuckUrl + '\0' + codeLocationName;
+        try {
+            final byte[] digest = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+            return new File(historyDirectory, String.format("%064x", new BigInteger(1, digest)) + ENTRY_EXTENSION);
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+/**
+ * hub-detect
+ *
+ * Copyright (C) 2019 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.blackducksoftware.integration.hub.detect.workflow.hub;
+
+import java.io.File;
+
+import com.synopsys.integration.blackduck.codelocation.Result;
+
+public class BdioUploadMetric {
+    private final String codeLocationName;
+    private final File uploadFile;
+    private final long bytes;
+    private final long ms;
+    private final int attempts;
+    private final Result result;
+
+    public BdioUploadMetric(final String codeLocationName, final File uploadFile, final long bytes, final long ms, final int attempts, final Result result) {
+        this.codeLocationName = codeLocationName;
+        this.uploadFile = uploadFile;
+        this.bytes = bytes;
+        this.ms = ms;
+        this.attempts = attempts;
+        this.result = result;
+    }
+
+    public String getCodeLocationName() {
+        return codeLocationName;
+    }
+
+    public File getUploadFile() {
+        return uploadFile;
+    }
+
+    public long getBytes() {
+        return bytes;
+    }
+
+    public long getMs() {
+        return ms;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public Result getResult() {
+        return result;
+    }
+}
@@ -0,0 +1,176 @@
+/**
+ * hub-detect
+ *
+ * Copyright (C) 2019 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.blackducksoftware.integration.hub.detect.workflow.hub;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.blackducksoftware.integration.hub.detect.workflow.event.Event;
+import com.blackducksoftware.integration.hub.detect.workflow.event.EventSystem;
+import com.synopsys.integration.blackduck.codelocation.CodeLocationCreationRequest;
+import com.synopsys.integration.blackduck.codelocation.Result;
+import com.synopsys.integration.blackduck.codelocation.bdioupload.UploadBatchOutput;
+import com.synopsys.integration.blackduck.codelocation.bdioupload.UploadOutput;
+import com.synopsys.integration.blackduck.codelocation.bdioupload.UploadTarget;
+import com.synopsys.integration.blackduck.exception.BlackDuckIntegrationException;
+import com.synopsys.integration.blackduck.service.model.RequestFactory;
+import com.synopsys.integration.exception.IntegrationException;
+import com.synopsys.integration.rest.client.IntHttpClient;
+import com.synopsys.integration.rest.exception.IntegrationRestException;
+import com.synopsys.integration.rest.request.Request;
+import com.synopsys.integration.rest.request.Response;
+
+/*
+ * Uploads BDIO files concurrently, streaming each file as the request body instead of reading it into memory. Uploads that fail because
+ * Black Duck is temporarily unavailable or the connection broke are retried with an exponential backoff. Every upload publishes its
+ * duration, size and attempt count as a BdioUploaded event.
+ */
+public class BdioUploader {
+    public static final long MAX_RETRY_DELAY_MILLIS = 30000;
+    private static final Set<Integer> TRANSIENT_STATUS_CODES = new HashSet<>(Arrays.asList(408, 429, 500, 502, 503, 504));
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+    private final IntHttpClient httpClient;
+    private final String uploadUri;
+    private final BdioUploadOptions bdioUploadOptions;
+    private final EventSystem eventSystem;
+
+    public BdioUploader(final IntHttpClient httpClient, final String uploadUri, final BdioUploadOptions bdioUploadOptions, final EventSystem eventSystem) {
+        this.httpClient = httpClient;
+        this.uploadUri = uploadUri;
+        this.bdioUploadOptions = bdioUploadOptions;
+        this.eventSystem = eventSystem;
+    }
+
+    public CodeLocationCreationRequest<UploadBatchOutput> createUploadRequest(final List<UploadTarget> uploadTargets) {
+        return new CodeLocationCreationRequest<UploadBatchOutput>() {
+            @Override
+            public UploadBatchOutput executeRequest() throws BlackDuckIntegrationException {
+                return uploadFiles(uploadTargets);
+            }
+        };
+    }
+
+    // Every target is attempted even when others fail; the outputs keep the order of the targets.
+    public UploadBatchOutput uploadFiles(final List<UploadTarget> uploadTargets) throws BlackDuckIntegrationException {
+        final List<UploadOutput> uploadOutputs = new ArrayList<>();
+        if (uploadTargets.isEmpty()) {
+            return new UploadBatchOutput(uploadOutputs);
+        }
+
+        final ExecutorService executorService = Executors.newFixedThreadPool(Math.min(bdioUploadOptions.getParallelProcessors(), uploadTargets.size()));
+        try {
+            final List<Future<UploadOutput>> futures = new ArrayList<>();
+            for (final UploadTarget uploadTarget : uploadTargets) {
+                futures.add(executorService.submit(() -> uploadFile(uploadTarget)));
+            }
+            for (final Future<UploadOutput> future : futures) {
+                uploadOutputs.add(waitForUpload(future));
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+
+        return new UploadBatchOutput(uploadOutputs);
+    }
+
+    private UploadOutput uploadFile(final UploadTarget uploadTarget) throws InterruptedException {
+        final String codeLocationName = uploadTarget.getCodeLocationName();
+        final long bytes = uploadTarget.getUploadFile().length();
+        final long startTime = System.currentTimeMillis();
+        final Request request = RequestFactory.createCommonPostRequestBuilder(uploadTarget.getUploadFile()).uri(uploadUri).mimeType(uploadTarget.getMediaType()).build();
+
+        int attempts = 0;
+        UploadOutput uploadOutput;
+        while (true) {
+            attempts++;
+            try (Response response = httpClient.execute(request)) {
+                response.throwExceptionForError();
+                uploadOutput = UploadOutput.SUCCESS(codeLocationName, response.getContentString());
+                break;
+            } catch (final IntegrationException | IOException e) {
+                if (attempts > bdioUploadOptions.getRetries() || !isTransient(e)) {
+                    final String errorMessage = String.format("Failed to upload file: %s because %s", uploadTarget.getUploadFile().getAbsolutePath(), e.getMessage());
+                    uploadOutput = UploadOutput.FAILURE(codeLocationName, errorMessage, e);
+                    break;
+                }
+                final long retryDelay = calculateRetryDelay(attempts);
+                logger.warn(String.format("Uploading %s failed (%s), retrying in %d ms.", uploadTarget.getUploadFile().getName(), e.getMessage(), retryDelay));
+                Thread.sleep(retryDelay);
+            }
+        }
+
+        final long ms = System.currentTimeMillis() - startTime;
+        eventSystem.publishEvent(Event.BdioUploaded, new BdioUploadMetric(codeLocationName, uploadTarget.getUploadFile(), bytes, ms, attempts, uploadOutput.getResult()));
+        return uploadOutput;
+    }
+
+    private boolean isTransient(final Exception exception) {
+        if (exception instanceof IntegrationRestException) {
+            return TRANSIENT_STATUS_CODES.contains(((IntegrationRestException) exception).getHttpStatusCode());
+        }
+        for (Throwable cause = exception; cause != null; cause = cause.getCause()) {
+            if (cause instanceof IOException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private long calculateRetryDelay(final int attempts) {
+        long retryDelay = bdioUploadOptions.getRetryDelayMillis();
+        for (int i = 1; i < attempts && retryDelay < MAX_RETRY_DELAY_MILLIS; i++) {
+            retryDelay *= 2;
+        }
+        return Math.min(retryDelay, MAX_RETRY_DELAY_MILLIS);
+    }
+
+    private UploadOutput waitForUpload(final Future<UploadOutput> uploadOutput) throws BlackDuckIntegrationException {
+        try {
+            return uploadOutput.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BlackDuckIntegrationException("Interrupted while uploading BDIO files.", e);
+        } catch (final ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new BlackDuckIntegrationException("Unable to upload a BDIO file: " + cause.getMessage(), cause);
+        }
+    }
+}
@@ -23,9 +23,10 @@
  */
 package com.blackducksoftware.integration.hub.detect.workflow.hub;
 
-import java.io.File;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -35,51 +36,72 @@ import com.blackducksoftware.integration.hub.detect.configuration.DetectProperty
 import com.blackducksoftware.integration.hub.detect.configuration.PropertyAuthority;
 import com.blackducksoftware.integration.hub.detect.exception.DetectUserFriendlyException;
 import com.blackducksoftware.integration.hub.detect.exitcode.ExitCodeType;
-import com.blackducksoftware.integration.hub.detect.lifecycle.shutdown.ExitCodeRequest;
-import com.blackducksoftware.integration.hub.detect.workflow.event.Event;
+import com.blackducksoftware.integration.hub.detect.workflow.bdio.BdioResult;
 import com.blackducksoftware.integration.hub.detect.workflow.event.EventSystem;
 import com.synopsys.integration.blackduck.codelocation.CodeLocationCreationData;
+import com.synopsys.integration.blackduck.codelocation.CodeLocationCreationService;
 import com.synopsys.integration.blackduck.codelocation.Result;
-import com.synopsys.integration.blackduck.codelocation.bdioupload.BdioUploadCodeLocationCreationRequest;
-import com.synopsys.integration.blackduck.codelocation.bdioupload.BdioUploadService;
-import com.synopsys.integration.blackduck.codelocation.bdioupload.UploadBatch;
 import com.synopsys.integration.blackduck.codelocation.bdioupload.UploadBatchOutput;
 import com.synopsys.integration.blackduck.codelocation.bdioupload.UploadOutput;
 import com.synopsys.integration.blackduck.codelocation.bdioupload.UploadTarget;
-import com.synopsys.integration.blackduck.service.CodeLocationService;
 import com.synopsys.integration.exception.IntegrationException;
 
 public class DetectBdioUploadService {
     private final Logger logger = LoggerFactory.getLogger(DetectBdioUploadService.class);
 
     private final DetectConfiguration detectConfiguration;
-    private final BdioUploadService bdioUploadService;
+    private final CodeLocationCreationService codeLocationCreationService;
+    private final BdioUploader bdioUploader;
     private final EventSystem eventSystem;
+    private final BdioUploadHistory bdioUploadHistory;
 
-    public DetectBdioUploadService(final DetectConfiguration detectConfiguration, final BdioUploadService bdioUploadService, EventSystem eventSystem) {
+    public DetectBdioUploadService(final DetectConfiguration detectConfiguration, final CodeLocationCreationService codeLocationCreationService, final BdioUploader bdioUploader, EventSystem eventSystem,
+        final BdioUploadHistory bdioUploadHistory) {
         this.detectConfiguration = detectConfiguration;
-        this.bdioUploadService = bdioUploadService;
+        this.codeLocationCreationService = codeLocationCreationService;
+        this.bdioUploader = bdioUploader;
         this.eventSystem = eventSystem;
+        this.bdioUploadHistory = bdioUploadHistory;
     }
 
-    public CodeLocationCreationData<UploadBatchOutput> uploadBdioFiles(List<UploadTarget> uploadTargets) throws IntegrationException, DetectUserFriendlyException {
-        UploadBatch uploadBatch = new UploadBatch();
+    // Empty when every code location was skipped because it has not changed since its last upload.
+    public Optional<CodeLocationCreationData<UploadBatchOutput>> uploadBdioFiles(BdioResult bdioResult) throws IntegrationException, DetectUserFriendlyException {
+        final Map<String, String> contentHashes = bdioResult.getContentHashes();
+        final List<UploadTarget> uploadTargets = new ArrayList<>();
+        for (UploadTarget uploadTarget : bdioResult.getUploadTargets()) {
+            if (bdioUploadHistory.isUnchanged(uploadTarget.getCodeLocationName(), contentHashes.get(uploadTarget.getCodeLocationName()))) {
+                logger.info(String.format("%s has not changed since it was last uploaded, skipping it.", uploadTarget.getCodeLocationName()));
+            } else {
+                uploadTargets.add(uploadTarget);
+            }
+        }
+        if (uploadTargets.isEmpty()) {
+            return Optional.empty();
+        }
+
         for (UploadTarget uploadTarget : uploadTargets) {
             logger.info(String.format("uploading %s to %s", uploadTarget.getUploadFile().getName(), detectConfiguration.getProperty(DetectProperty.BLACKDUCK_URL, PropertyAuthority.None)));
-            uploadBatch.addUploadTarget(uploadTarget);
         }
 
-        BdioUploadCodeLocationCreationRequest uploadRequest = bdioUploadService.createUploadRequest(uploadBatch);
-        CodeLocationCreationData<UploadBatchOutput> response = bdioUploadService.uploadBdio(uploadRequest);
-        for (UploadOutput uploadOutput : response.getOutput()){
-            if (uploadOutput.getResult() == Result.FAILURE){
+        CodeLocationCreationData<UploadBatchOutput> response = codeLocationCreationService.createCodeLocations(bdioUploader.createUploadRequest(uploadTargets));
+        // Successful uploads are remembered even when another upload failed, so a rerun only has to upload the failed code locations.
+        UploadOutput failedUploadOutput = null;
+        for (UploadOutput uploadOutput : response.getOutput()) {
+            if (uploadOutput.getResult() == Result.FAILURE) {
                 logger.error("Failed to upload code location: " + uploadOutput.getCodeLocationName());
                 logger.error("Reason: " + uploadOutput.getErrorMessage().orElse("Unknown reason."));
-                throw new DetectUserFriendlyException("An error occurred uploading a bdio file.", uploadOutput.getException().orElse(null), ExitCodeType.FAILURE_BLACKDUCK_FEATURE_ERROR);
+                if (failedUploadOutput == null) {
+                    failedUploadOutput = uploadOutput;
+                }
+            } else {
+                bdioUploadHistory.recordUpload(uploadOutput.getCodeLocationName(), contentHashes.get(uploadOutput.getCodeLocationName()));
             }
         }
+        if (failedUploadOutput != null) {
+            throw new DetectUserFriendlyException("An error occurred uploading a bdio file.", failedUploadOutput.getException().orElse(null), ExitCodeType.FAILURE_BLACKDUCK_FEATURE_ERROR);
+        }
 
-        return response;
+        return Optional.of(response);
     }
 
 }
\ No newline at end of file
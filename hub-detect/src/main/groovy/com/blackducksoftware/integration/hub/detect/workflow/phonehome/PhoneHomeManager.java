@@ -45,8 +45,10 @@ public abstract class PhoneHomeManager {
     protected final Gson gson;
     protected final DetectInfo detectInfo;
     protected final EventSystem eventSystem;
-    protected PhoneHomeResponse currentPhoneHomeResponse;
     protected Map<String, String> additionalMetaData;
+    // Phone home may start on the background connectivity thread while events arrive on other threads.
+    private PhoneHomeResponse currentPhoneHomeResponse;
+    private volatile boolean detectorsReported = false;
 
     public PhoneHomeManager(Map<String, String> additionalMetaData, final DetectInfo detectInfo, final Gson gson, EventSystem eventSystem) {
         this.gson = gson;
@@ -55,7 +57,7 @@ public abstract class PhoneHomeManager {
         this.additionalMetaData = additionalMetaData;
 
         eventSystem.registerListener(Event.SearchCompleted, event -> searchCompleted(event));
-        eventSystem.registerListener(Event.DetectorsProfiled, event -> startPhoneHome(event.getAggregateTimings()));
+        eventSystem.registerListener(Event.DetectorsProfiled, event -> detectorsProfiled(event.getAggregateTimings()));
     }
 
     public abstract PhoneHomeResponse phoneHome(final Map<String, String> metadata);
@@ -93,10 +95,21 @@ public abstract class PhoneHomeManager {
     }
 
     public void searchCompleted(final SearchResult searchResult) {
+        detectorsReported = true;
         startPhoneHome(searchResult.getApplicableBomTools());
     }
 
-    private void safelyPhoneHome(final Map<String, String> metadata) {
+    private void detectorsProfiled(final Map<DetectorType, Long> applicableDetectorTimes) {
+        detectorsReported = true;
+        startPhoneHome(applicableDetectorTimes);
+    }
+
+    // False when this manager was created after the detectors finished, so it has not yet phoned home with them.
+    public boolean hasReportedDetectors() {
+        return detectorsReported;
+    }
+
+    private synchronized void safelyPhoneHome(final Map<String, String> metadata) {
         endPhoneHome();
         try {
             currentPhoneHomeResponse = phoneHome(metadata);
@@ -105,7 +118,7 @@ public abstract class PhoneHomeManager {
         }
     }
 
-    public void endPhoneHome() {
+    public synchronized void endPhoneHome() {
         if (currentPhoneHomeResponse != null) {
             currentPhoneHomeResponse.getImmediateResult();
         }
@@ -23,6 +23,8 @@
  */
 package com.blackducksoftware.integration.hub.detect.workflow.profiling;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -36,47 +38,56 @@ public class BomToolProfiler {
     public BomToolTimekeeper applicableTimekeeper = new BomToolTimekeeper();
     public BomToolTimekeeper extractableTimekeeper = new BomToolTimekeeper();
     public BomToolTimekeeper extractionTimekeeper = new BomToolTimekeeper();
+    private final List<InspectorTime> provisioningTimings = Collections.synchronizedList(new ArrayList<>());
     private EventSystem eventSystem;
 
     public BomToolProfiler(EventSystem eventSystem) {
         this.eventSystem = eventSystem;
-        eventSystem.registerListener(Event.ApplicableStarted, event -> applicableStarted(event));
-        eventSystem.registerListener(Event.ApplicableEnded, event -> applicableEnded(event));
-        eventSystem.registerListener(Event.ExtractableStarted, event -> extractableStarted(event));
-        eventSystem.registerListener(Event.ExtractableEnded, event -> extractableEnded(event));
-        eventSystem.registerListener(Event.ExtractionStarted, event -> extractionStarted(event.getDetector()));
-        eventSystem.registerListener(Event.ExtractionEnded, event -> extractionEnded(event.getDetector()));
+        // Timed by when the events were published, they may be dispatched later on another thread.
+        eventSystem.registerTimedListener(Event.ApplicableStarted, (event, time) -> applicableStarted(event, time));
+        eventSystem.registerTimedListener(Event.ApplicableEnded, (event, time) -> applicableEnded(event, time));
+        eventSystem.registerListener(Event.InspectorProvisioned, event -> provisioningTimings.add(event));
+        eventSystem.registerTimedListener(Event.ExtractableStarted, (event, time) -> extractableStarted(event, time));
+        eventSystem.registerTimedListener(Event.ExtractableEnded, (event, time) -> extractableEnded(event, time));
+        eventSystem.registerTimedListener(Event.ExtractionStarted, (event, time) -> extractionStarted(event.getDetector(), time));
+        eventSystem.registerTimedListener(Event.ExtractionEnded, (event, time) -> extractionEnded(event.getDetector(), time));
         eventSystem.registerListener(Event.DetectorsComplete, event -> bomToolsComplete());
     }
 
-    private void applicableStarted(final Detector detector) {
-        applicableTimekeeper.started(detector);
+    private void applicableStarted(final Detector detector, final long time) {
+        applicableTimekeeper.started(detector, time);
     }
 
-    private void applicableEnded(final Detector detector) {
-        applicableTimekeeper.ended(detector);
+    private void applicableEnded(final Detector detector, final long time) {
+        applicableTimekeeper.ended(detector, time);
     }
 
-    private void extractableStarted(final Detector detector) {
-        extractableTimekeeper.started(detector);
+    private void extractableStarted(final Detector detector, final long time) {
+        extractableTimekeeper.started(detector, time);
     }
 
-    private void extractableEnded(final Detector detector) {
-        extractableTimekeeper.ended(detector);
+    private void extractableEnded(final Detector detector, final long time) {
+        extractableTimekeeper.ended(detector, time);
     }
 
-    private void extractionStarted(final Detector detector) {
-        extractionTimekeeper.started(detector);
+    private void extractionStarted(final Detector detector, final long time) {
+        extractionTimekeeper.started(detector, time);
     }
 
-    private void extractionEnded(final Detector detector) {
-        extractionTimekeeper.ended(detector);
+    private void extractionEnded(final Detector detector, final long time) {
+        extractionTimekeeper.ended(detector, time);
     }
 
     public List<DetectorTime> getApplicableTimings() {
         return applicableTimekeeper.getTimings();
     }
 
+    public List<InspectorTime> getProvisioningTimings() {
+        synchronized (provisioningTimings) {
+            return new ArrayList<>(provisioningTimings);
+        }
+    }
+
     public List<DetectorTime> getExtractableTimings() {
         return extractableTimekeeper.getTimings();
     }
@@ -86,7 +97,7 @@ public class BomToolProfiler {
     }
 
     public void bomToolsComplete() {
-        DetectorTimings timings = new DetectorTimings(getAggregateBomToolGroupTimes(), getApplicableTimings(), getExtractableTimings(), getExtractionTimings());
+        DetectorTimings timings = new DetectorTimings(getAggregateBomToolGroupTimes(), getApplicableTimings(), getProvisioningTimings(), getExtractableTimings(), getExtractionTimings());
         eventSystem.publishEvent(Event.DetectorsProfiled, timings);
     }
 
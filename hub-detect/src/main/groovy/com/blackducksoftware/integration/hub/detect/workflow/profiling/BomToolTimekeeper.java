@@ -28,37 +28,30 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
-import org.apache.commons.lang3.time.StopWatch;
-
 import com.blackducksoftware.integration.hub.detect.detector.Detector;
 
 public class BomToolTimekeeper {
 
-    private final Map<Detector, StopWatch> bomToolMap = new HashMap<>();
+    // The times are given by the caller (when the event was published) rather than read when the timekeeper is told.
+    private final Map<Detector, Long> startTimes = new HashMap<>();
+    private final Map<Detector, Long> elapsedTimes = new HashMap<>();
 
-    private StopWatch getStopWatch(final Detector detector) {
-        if (bomToolMap.containsKey(detector)) {
-            return bomToolMap.get(detector);
-        } else {
-            final StopWatch sw = new StopWatch();
-            bomToolMap.put(detector, sw);
-            return sw;
-        }
+    public synchronized void started(final Detector detector, final long time) {
+        startTimes.put(detector, time);
+        elapsedTimes.putIfAbsent(detector, 0L);
     }
 
-    public void started(final Detector detector) {
-        getStopWatch(detector).start();
-    }
-
-    public void ended(final Detector detector) {
-        getStopWatch(detector).stop();
+    public synchronized void ended(final Detector detector, final long time) {
+        final Long startTime = startTimes.remove(detector);
+        if (startTime != null) {
+            elapsedTimes.put(detector, elapsedTimes.get(detector) + time - startTime);
+        }
     }
 
-    public List<DetectorTime> getTimings() {
+    public synchronized List<DetectorTime> getTimings() {
         final List<DetectorTime> bomToolTimings = new ArrayList<>();
-        for (final Detector detector : bomToolMap.keySet()) {
-            final StopWatch sw = bomToolMap.get(detector);
-            final long ms = sw.getTime();
+        for (final Detector detector : elapsedTimes.keySet()) {
+            final long ms = elapsedTimes.get(detector);
             final DetectorTime detectorTime = new DetectorTime(detector, ms);
             bomToolTimings.add(detectorTime);
         }
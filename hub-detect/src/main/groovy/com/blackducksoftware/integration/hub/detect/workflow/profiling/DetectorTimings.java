@@ -31,13 +31,15 @@ import com.blackducksoftware.integration.hub.detect.detector.DetectorType;
 public class DetectorTimings {
     private final Map<DetectorType, Long> aggregateTimings;
     private final List<DetectorTime> applicableTimings;
+    private final List<InspectorTime> provisioningTimings;
     private final List<DetectorTime> extractableTimings;
     private final List<DetectorTime> extractionTimings;
 
     public DetectorTimings(final Map<DetectorType, Long> aggregateTimings, final List<DetectorTime> applicableTimings,
-        final List<DetectorTime> extractableTimings, final List<DetectorTime> extractionTimings) {
+        final List<InspectorTime> provisioningTimings, final List<DetectorTime> extractableTimings, final List<DetectorTime> extractionTimings) {
         this.aggregateTimings = aggregateTimings;
         this.applicableTimings = applicableTimings;
+        this.provisioningTimings = provisioningTimings;
         this.extractableTimings = extractableTimings;
         this.extractionTimings = extractionTimings;
     }
@@ -50,6 +52,10 @@ public class DetectorTimings {
         return applicableTimings;
     }
 
+    public List<InspectorTime> getProvisioningTimings() {
+        return provisioningTimings;
+    }
+
     public List<DetectorTime> getExtractableTimings() {
         return extractableTimings;
     }
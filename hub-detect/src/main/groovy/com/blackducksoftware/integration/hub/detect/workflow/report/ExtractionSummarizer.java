@@ -30,6 +30,7 @@ import java.util.stream.Collectors;
 
 import com.blackducksoftware.integration.hub.detect.workflow.codelocation.DetectCodeLocation;
 import com.blackducksoftware.integration.hub.detect.workflow.extraction.Extraction.ExtractionResultType;
+import com.blackducksoftware.integration.hub.detect.workflow.extraction.ExtractionCacheStatus;
 import com.blackducksoftware.integration.hub.detect.workflow.search.result.DetectorEvaluation;
 
 public class ExtractionSummarizer extends DetectorEvaluationSummarizer {
@@ -69,12 +70,20 @@ public class ExtractionSummarizer extends DetectorEvaluationSummarizer {
                                                        .filter(it -> it.getExtraction().result == ExtractionResultType.EXCEPTION)
                                                        .collect(Collectors.toList());
 
+        final List<DetectorEvaluation> cacheHits = extractions.stream()
+                                                       .filter(it -> it.getExtractionCacheStatus() == ExtractionCacheStatus.HIT)
+                                                       .collect(Collectors.toList());
+
+        final List<DetectorEvaluation> cacheMisses = extractions.stream()
+                                                         .filter(it -> it.getExtractionCacheStatus() == ExtractionCacheStatus.MISS)
+                                                         .collect(Collectors.toList());
+
         final List<String> codeLocationNames = extractions.stream()
                                                    .flatMap(it -> it.getExtraction().codeLocations.stream())
                                                    .map(codeLocation -> codeLocationNameMap.get(codeLocation))
                                                    .collect(Collectors.toList());
 
-        return new ExtractionSummaryData(directory, success, failure, exception, codeLocationNames);
+        return new ExtractionSummaryData(directory, success, failure, exception, cacheHits, cacheMisses, codeLocationNames);
     }
 
 }
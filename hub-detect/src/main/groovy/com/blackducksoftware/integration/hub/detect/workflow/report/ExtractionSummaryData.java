@@ -33,13 +33,18 @@ public class ExtractionSummaryData {
     private final List<DetectorEvaluation> success;
     private final List<DetectorEvaluation> failed;
     private final List<DetectorEvaluation> exception;
+    private final List<DetectorEvaluation> cacheHits;
+    private final List<DetectorEvaluation> cacheMisses;
     private final List<String> codeLocationNames;
 
-    public ExtractionSummaryData(final String directory, final List<DetectorEvaluation> success, final List<DetectorEvaluation> failed, final List<DetectorEvaluation> exception, final List<String> codeLocationNames) {
+    public ExtractionSummaryData(final String directory, final List<DetectorEvaluation> success, final List<DetectorEvaluation> failed, final List<DetectorEvaluation> exception, final List<DetectorEvaluation> cacheHits,
+        final List<DetectorEvaluation> cacheMisses, final List<String> codeLocationNames) {
         this.directory = directory;
         this.success = success;
         this.failed = failed;
         this.exception = exception;
+        this.cacheHits = cacheHits;
+        this.cacheMisses = cacheMisses;
         this.codeLocationNames = codeLocationNames;
     }
 
@@ -59,6 +64,14 @@ public class ExtractionSummaryData {
         return exception;
     }
 
+    public List<DetectorEvaluation> getCacheHits() {
+        return cacheHits;
+    }
+
+    public List<DetectorEvaluation> getCacheMisses() {
+        return cacheMisses;
+    }
+
     public List<String> getCodeLocationNames() {
         return codeLocationNames;
     }
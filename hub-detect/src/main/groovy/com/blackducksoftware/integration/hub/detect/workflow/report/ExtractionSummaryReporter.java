@@ -52,8 +52,14 @@ public class ExtractionSummaryReporter {
                 writeEvaluationsIfNotEmpty(writer, "\tSuccess: ", it.getSuccess());
                 writeEvaluationsIfNotEmpty(writer, "\tFailure: ", it.getFailed());
                 writeEvaluationsIfNotEmpty(writer, "\tException: ", it.getException());
+                writeEvaluationsIfNotEmpty(writer, "\tReused from cache: ", it.getCacheHits());
             }
         });
+        final int cacheHits = data.stream().mapToInt(it -> it.getCacheHits().size()).sum();
+        final int cacheMisses = data.stream().mapToInt(it -> it.getCacheMisses().size()).sum();
+        if (cacheHits > 0 || cacheMisses > 0) {
+            writer.writeLine(String.format("Extraction cache: %d hits, %d misses", cacheHits, cacheMisses));
+        }
         ReporterUtils.printFooter(writer);
     }
 
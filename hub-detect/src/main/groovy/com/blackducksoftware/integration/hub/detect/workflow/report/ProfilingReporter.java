@@ -29,6 +29,7 @@ import java.util.Map;
 
 import com.blackducksoftware.integration.hub.detect.workflow.profiling.DetectorTime;
 import com.blackducksoftware.integration.hub.detect.workflow.profiling.DetectorTimings;
+import com.blackducksoftware.integration.hub.detect.workflow.profiling.InspectorTime;
 import com.blackducksoftware.integration.hub.detect.workflow.report.writer.ReportWriter;
 
 public class ProfilingReporter {
@@ -38,6 +39,10 @@ public class ProfilingReporter {
         writer.writeSeperator();
         writeAggregateReport(writer, detectorTimings.getApplicableTimings());
         writer.writeSeperator();
+        writer.writeLine("Provisioning Times");
+        writer.writeSeperator();
+        writeProvisioningReport(writer, detectorTimings.getProvisioningTimings());
+        writer.writeSeperator();
         writer.writeLine("Extractable Times");
         writer.writeSeperator();
         writeReport(writer, detectorTimings.getExtractableTimings());
@@ -71,6 +76,12 @@ public class ProfilingReporter {
 
     }
 
+    private void writeProvisioningReport(final ReportWriter writer, final List<InspectorTime> timings) {
+        for (final InspectorTime inspectorTime : timings) {
+            writer.writeLine("\t" + padToLength(inspectorTime.getInspectorName(), 30) + "\t" + inspectorTime.getMs());
+        }
+    }
+
     private String padToLength(final String text, final int length) {
         String outText = text;
         while (outText.length() < length) {
@@ -30,6 +30,7 @@ import java.util.Map;
 import com.blackducksoftware.integration.hub.detect.workflow.codelocation.DetectCodeLocation;
 import com.blackducksoftware.integration.hub.detect.workflow.event.Event;
 import com.blackducksoftware.integration.hub.detect.workflow.event.EventSystem;
+import com.blackducksoftware.integration.hub.detect.workflow.hub.BdioUploadMetric;
 import com.blackducksoftware.integration.hub.detect.workflow.report.writer.InfoLogReportWriter;
 import com.blackducksoftware.integration.hub.detect.workflow.report.writer.ReportWriter;
 import com.blackducksoftware.integration.hub.detect.workflow.report.writer.TraceLogReportWriter;
@@ -64,6 +65,7 @@ public class ReportManager {
         eventSystem.registerListener(Event.PreparationsCompleted, event -> preparationsCompleted(event.getDetectorEvaluations()));
         eventSystem.registerListener(Event.DetectorsComplete, event -> bomToolsComplete(event.evaluatedDetectors));
         eventSystem.registerListener(Event.CodeLocationsCalculated, event -> codeLocationsCompleted(event.getCodeLocationNames()));
+        eventSystem.registerListener(Event.BdioUploaded, event -> bdioUploaded(event));
 
     }
 
@@ -93,6 +95,11 @@ public class ReportManager {
 
     }
 
+    public void bdioUploaded(final BdioUploadMetric bdioUploadMetric) {
+        logWriter.writeLine(String.format("BDIO upload of %s: %s, %d bytes in %d ms, %d attempt(s).", bdioUploadMetric.getUploadFile().getName(), bdioUploadMetric.getResult(), bdioUploadMetric.getBytes(),
+            bdioUploadMetric.getMs(), bdioUploadMetric.getAttempts()));
+    }
+
     public void printDetectorIssues() {
         errorSummaryReporter.writeSummary(logWriter, completedDetectorEvaluations);
     }
@@ -28,9 +28,14 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -43,16 +48,40 @@ import com.blackducksoftware.integration.hub.detect.detector.DetectorException;
 import com.blackducksoftware.integration.hub.detect.detector.DetectorType;
 import com.blackducksoftware.integration.hub.detect.exception.DetectUserFriendlyException;
 import com.blackducksoftware.integration.hub.detect.exitcode.ExitCodeType;
+import com.blackducksoftware.integration.hub.detect.workflow.file.DirectoryListing;
 import com.blackducksoftware.integration.hub.detect.workflow.search.result.DetectorEvaluation;
-import com.blackducksoftware.integration.hub.detect.workflow.search.rules.DetectorSearchRuleSet;
 
 public class DetectorFinder {
     private final Logger logger = LoggerFactory.getLogger(DetectorFinder.class);
 
     public List<DetectorEvaluation> findApplicableBomTools(final File initialDirectory, final DetectorFinderOptions options) throws DetectorException, DetectUserFriendlyException {
+        if (options.getParallelProcessors() > 1) {
+            return findApplicableBomToolsInParallel(initialDirectory, options);
+        }
+
         final List<File> subDirectories = new ArrayList<>();
         subDirectories.add(initialDirectory);
-        return findApplicableBomTools(subDirectories, new HashSet<Detector>(), 0, options);
+        return findApplicableBomTools(subDirectories, Collections.emptySet(), 0, options);
+    }
+
+    private List<DetectorEvaluation> findApplicableBomToolsInParallel(final File initialDirectory, final DetectorFinderOptions options) throws DetectUserFriendlyException {
+        logger.info(String.format("Searching directories with %d parallel processors.", options.getParallelProcessors()));
+        final ForkJoinPool pool = new ForkJoinPool(options.getParallelProcessors());
+        try {
+            return pool.invoke(new DirectorySearchTask(initialDirectory, Collections.emptySet(), 0, options));
+        } catch (final RuntimeException e) {
+            // A task failing on another thread may be rethrown as a copy, so look for the original in the causes.
+            Throwable cause = e;
+            while (cause != null) {
+                if (cause instanceof DirectorySearchException) {
+                    throw ((DirectorySearchException) cause).getUserFriendlyException();
+                }
+                cause = cause.getCause();
+            }
+            throw e;
+        } finally {
+            pool.shutdown();
+        }
     }
 
     private List<DetectorEvaluation> findApplicableBomTools(final List<File> directoriesToSearch, final Set<Detector> appliedBefore, final int depth, final DetectorFinderOptions options)
@@ -69,13 +98,10 @@ public class DetectorFinder {
         }
 
         for (final File directory : directoriesToSearch) {
-            if (depth > 0 && options.getDetectorSearchFilter().shouldExclude(directory)) { // NEVER skip at depth 0.
-                logger.info("Skipping excluded directory: " + directory.getPath());
+            if (shouldSkip(directory, depth, options)) {
                 continue;
             }
 
-            logger.info("Searching directory: " + directory.getPath());
-
             final Set<DetectorType> applicableTypes = new HashSet<>();
             final Set<Detector> applied = new HashSet<>();
             final List<DetectorEvaluation> evaluations = processDirectory(directory, appliedBefore, depth, options);
@@ -89,10 +115,8 @@ public class DetectorFinder {
             applied.addAll(appliedBomTools);
 
             // TODO: Used to have a remaining detectors and would bail early here, not sure how to go about that?
-            final Set<Detector> everApplied = new HashSet<>();
-            everApplied.addAll(applied);
-            everApplied.addAll(appliedBefore);
-            final List<File> subdirectories = getSubDirectories(directory, options.getDetectorSearchFilter());
+            final Set<Detector> everApplied = combineApplied(appliedBefore, applied);
+            final List<File> subdirectories = getSubDirectories(directory, options);
             final List<DetectorEvaluation> recursiveResults = findApplicableBomTools(subdirectories, everApplied, depth + 1, options);
             results.addAll(recursiveResults);
 
@@ -102,14 +126,37 @@ public class DetectorFinder {
         return results;
     }
 
+    private boolean shouldSkip(final File directory, final int depth, final DetectorFinderOptions options) {
+        if (depth > 0 && options.getDetectorSearchFilter().shouldExclude(directory)) { // NEVER skip at depth 0.
+            logger.info("Skipping excluded directory: " + directory.getPath());
+            return true;
+        }
+
+        logger.info("Searching directory: " + directory.getPath());
+        return false;
+    }
+
+    private Set<Detector> combineApplied(final Set<Detector> appliedBefore, final Collection<Detector> applied) {
+        final Set<Detector> everApplied = new HashSet<>();
+        everApplied.addAll(applied);
+        everApplied.addAll(appliedBefore);
+        return Collections.unmodifiableSet(everApplied);
+    }
+
     private List<DetectorEvaluation> processDirectory(final File directory, final Set<Detector> appliedBefore, final int depth, final DetectorFinderOptions options) {
         final DetectorEnvironment environment = new DetectorEnvironment(directory, appliedBefore, depth, options.getDetectorFilter(), options.getForceNestedSearch());
-        final DetectorSearchRuleSet bomToolSet = options.getDetectorSearchProvider().createBomToolSearchRuleSet(environment);
-        final List<DetectorEvaluation> evaluations = options.getDetectorSearchEvaluator().evaluate(bomToolSet, options.getEventSystem());
+        final List<DetectorEvaluation> evaluations = options.getDetectorSearchEvaluator().evaluate(options.getDetectorSearchRuleSet(), environment, options.getEventSystem());
         return evaluations;
     }
 
-    private List<File> getSubDirectories(final File directory, DetectorSearchFilter filter) throws DetectUserFriendlyException {
+    private List<File> getSubDirectories(final File directory, final DetectorFinderOptions options) throws DetectUserFriendlyException {
+        if (options.getDirectoryIndex() != null) {
+            final Optional<DirectoryListing> listing = options.getDirectoryIndex().getListing(directory);
+            if (listing.isPresent()) {
+                return listing.get().getSubDirectories();
+            }
+        }
+
         Stream<Path> stream = null;
         try {
             stream = Files.list(directory.toPath());
@@ -125,4 +172,68 @@ public class DetectorFinder {
             }
         }
     }
+    private class DirectorySearchTask extends RecursiveTask<List<DetectorEvaluation>> {
+        private static final long serialVersionUID = 1L;
+
+        private final File directory;
+        private final Set<Detector> appliedBefore;
+        private final int depth;
+        private final DetectorFinderOptions options;
+
+        public DirectorySearchTask(final File directory, final Set<Detector> appliedBefore, final int depth, final DetectorFinderOptions options) {
+            this.directory = directory;
+            this.appliedBefore = appliedBefore;
+            this.depth = depth;
+            this.options = options;
+        }
+
+        @Override
+        protected List<DetectorEvaluation> compute() {
+            final List<DetectorEvaluation> results = new ArrayList<>();
+            if (depth > options.getMaximumDepth() || shouldSkip(directory, depth, options)) {
+                return results;
+            }
+
+            final List<DetectorEvaluation> evaluations = processDirectory(directory, appliedBefore, depth, options);
+            results.addAll(evaluations);
+
+            final List<Detector> appliedBomTools = evaluations.stream()
+                                                       .filter(it -> it.isApplicable())
+                                                       .map(it -> it.getDetector())
+                                                       .collect(Collectors.toList());
+            final Set<Detector> everApplied = combineApplied(appliedBefore, appliedBomTools);
+
+            final List<File> subdirectories;
+            try {
+                subdirectories = getSubDirectories(directory, options);
+            } catch (final DetectUserFriendlyException e) {
+                throw new DirectorySearchException(e);
+            }
+
+            final List<DirectorySearchTask> subdirectoryTasks = subdirectories.stream()
+                                                                    .map(subdirectory -> new DirectorySearchTask(subdirectory, everApplied, depth + 1, options))
+                                                                    .collect(Collectors.toList());
+            invokeAll(subdirectoryTasks);
+            // Joining in directory order keeps the results identical to the sequential search.
+            for (final DirectorySearchTask subdirectoryTask : subdirectoryTasks) {
+                results.addAll(subdirectoryTask.join());
+            }
+            return results;
+        }
+    }
+
+    private static class DirectorySearchException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        private final DetectUserFriendlyException userFriendlyException;
+
+        public DirectorySearchException(final DetectUserFriendlyException userFriendlyException) {
+            super(userFriendlyException);
+            this.userFriendlyException = userFriendlyException;
+        }
+
+        public DetectUserFriendlyException getUserFriendlyException() {
+            return userFriendlyException;
+        }
+    }
 }
@@ -27,8 +27,9 @@ import java.util.List;
 
 import com.blackducksoftware.integration.hub.detect.util.filter.DetectFilter;
 import com.blackducksoftware.integration.hub.detect.workflow.event.EventSystem;
+import com.blackducksoftware.integration.hub.detect.workflow.file.DirectoryIndex;
 import com.blackducksoftware.integration.hub.detect.workflow.search.rules.DetectorSearchEvaluator;
-import com.blackducksoftware.integration.hub.detect.workflow.search.rules.DetectorSearchProvider;
+import com.blackducksoftware.integration.hub.detect.workflow.search.rules.DetectorSearchRuleSet;
 
 public class DetectorFinderOptions {
 
@@ -36,19 +37,24 @@ public class DetectorFinderOptions {
     private final Boolean forceNestedSearch;
     private final int maximumDepth;
     private final DetectFilter detectorFilter;
-    private final DetectorSearchProvider detectorSearchProvider;
+    private final DetectorSearchRuleSet detectorSearchRuleSet;
     private final DetectorSearchEvaluator detectorSearchEvaluator;
     private final EventSystem eventSystem;
+    private final DirectoryIndex directoryIndex;
+    private final int parallelProcessors;
 
     public DetectorFinderOptions(DetectorSearchFilter detectorSearchFilter, final Boolean forceNestedSearch, final int maximumDepth, final DetectFilter detectorFilter,
-        final DetectorSearchProvider detectorSearchProvider, final DetectorSearchEvaluator detectorSearchEvaluator, EventSystem eventSystem) {
+        final DetectorSearchRuleSet detectorSearchRuleSet, final DetectorSearchEvaluator detectorSearchEvaluator, EventSystem eventSystem, final DirectoryIndex directoryIndex,
+        final int parallelProcessors) {
         this.detectorSearchFilter = detectorSearchFilter;
         this.forceNestedSearch = forceNestedSearch;
         this.maximumDepth = maximumDepth;
         this.detectorFilter = detectorFilter;
-        this.detectorSearchProvider = detectorSearchProvider;
+        this.detectorSearchRuleSet = detectorSearchRuleSet;
         this.detectorSearchEvaluator = detectorSearchEvaluator;
         this.eventSystem = eventSystem;
+        this.directoryIndex = directoryIndex;
+        this.parallelProcessors = parallelProcessors;
     }
 
     public DetectorSearchFilter getDetectorSearchFilter() {
@@ -67,8 +73,8 @@ public class DetectorFinderOptions {
         return maximumDepth;
     }
 
-    public DetectorSearchProvider getDetectorSearchProvider() {
-        return detectorSearchProvider;
+    public DetectorSearchRuleSet getDetectorSearchRuleSet() {
+        return detectorSearchRuleSet;
     }
 
     public DetectorSearchEvaluator getDetectorSearchEvaluator() {
@@ -78,4 +84,12 @@ public class DetectorFinderOptions {
     public EventSystem getEventSystem() {
         return eventSystem;
     }
+
+    public DirectoryIndex getDirectoryIndex() {
+        return directoryIndex;
+    }
+
+    public int getParallelProcessors() {
+        return parallelProcessors;
+    }
 }
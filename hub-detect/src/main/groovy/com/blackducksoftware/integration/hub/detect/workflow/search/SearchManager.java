@@ -24,6 +24,7 @@
 package com.blackducksoftware.integration.hub.detect.workflow.search;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -31,13 +32,16 @@ import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.blackducksoftware.integration.hub.detect.detector.DetectorEnvironment;
 import com.blackducksoftware.integration.hub.detect.detector.DetectorException;
 import com.blackducksoftware.integration.hub.detect.detector.DetectorType;
 import com.blackducksoftware.integration.hub.detect.exception.DetectUserFriendlyException;
 import com.blackducksoftware.integration.hub.detect.workflow.event.EventSystem;
+import com.blackducksoftware.integration.hub.detect.workflow.file.DirectoryIndex;
 import com.blackducksoftware.integration.hub.detect.workflow.search.result.DetectorEvaluation;
 import com.blackducksoftware.integration.hub.detect.workflow.search.rules.DetectorSearchEvaluator;
 import com.blackducksoftware.integration.hub.detect.workflow.search.rules.DetectorSearchProvider;
+import com.blackducksoftware.integration.hub.detect.workflow.search.rules.DetectorSearchRuleSet;
 
 public class SearchManager {
     private final Logger logger = LoggerFactory.getLogger(SearchManager.class);
@@ -46,26 +50,36 @@ public class SearchManager {
     private final DetectorSearchProvider detectorSearchProvider;
     private final DetectorSearchEvaluator detectorSearchEvaluator;
     private final EventSystem eventSystem;
+    private final DirectoryIndex directoryIndex;
 
-    public SearchManager(final SearchOptions searchOptions, final DetectorSearchProvider detectorSearchProvider, final DetectorSearchEvaluator detectorSearchEvaluator, EventSystem eventSystem) {
+    public SearchManager(final SearchOptions searchOptions, final DetectorSearchProvider detectorSearchProvider, final DetectorSearchEvaluator detectorSearchEvaluator, EventSystem eventSystem,
+        final DirectoryIndex directoryIndex) {
         this.searchOptions = searchOptions;
         this.detectorSearchProvider = detectorSearchProvider;
         this.detectorSearchEvaluator = detectorSearchEvaluator;
         this.eventSystem = eventSystem;
+        this.directoryIndex = directoryIndex;
     }
 
     public SearchResult performSearch() throws DetectUserFriendlyException {
         List<DetectorEvaluation> searchResults = new ArrayList<>();
         try {
             DetectorExclusionSearchFilter detectorExclusionSearchFilter = new DetectorExclusionSearchFilter(searchOptions.excludedDirectories, searchOptions.excludedDirectoryPatterns);
-            final DetectorFinderOptions findOptions = new DetectorFinderOptions(detectorExclusionSearchFilter, searchOptions.forceNestedSearch, searchOptions.maxDepth, searchOptions.detectorFilter, detectorSearchProvider,
-                detectorSearchEvaluator, eventSystem);
+            final DetectorEnvironment ruleEnvironment = new DetectorEnvironment(searchOptions.searchPath, new HashSet<>(), 0, searchOptions.detectorFilter, searchOptions.forceNestedSearch);
+            final DetectorSearchRuleSet detectorSearchRuleSet = detectorSearchProvider.createBomToolSearchRuleSet(ruleEnvironment);
+            final DetectorFinderOptions findOptions = new DetectorFinderOptions(detectorExclusionSearchFilter, searchOptions.forceNestedSearch, searchOptions.maxDepth, searchOptions.detectorFilter, detectorSearchRuleSet,
+                detectorSearchEvaluator, eventSystem, directoryIndex, searchOptions.parallelProcessors);
 
             logger.info("Starting search for detectors.");
             final DetectorFinder bomToolTreeWalker = new DetectorFinder();
             searchResults = bomToolTreeWalker.findApplicableBomTools(searchOptions.searchPath, findOptions);
         } catch (final DetectorException e) {
             return new SearchResultBomToolFailed(e);
+        } finally {
+            // The listings are only reused while searching, extraction lists few directories and may change them.
+            if (directoryIndex != null) {
+                directoryIndex.close();
+            }
         }
 
         final Set<DetectorType> applicableBomTools = searchResults.stream()
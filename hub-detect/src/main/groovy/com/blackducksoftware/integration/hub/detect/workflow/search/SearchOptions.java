@@ -35,13 +35,16 @@ public class SearchOptions {
     public final boolean forceNestedSearch;
     public final int maxDepth;
     public final DetectFilter detectorFilter;
+    public final int parallelProcessors;
 
-    public SearchOptions(File searchPath, List<String> excludedDirectories, List<String> excludedDirectoryPatterns, boolean forceNestedSearch, int maxDepth, DetectFilter detectorFilter) {
+    public SearchOptions(File searchPath, List<String> excludedDirectories, List<String> excludedDirectoryPatterns, boolean forceNestedSearch, int maxDepth, DetectFilter detectorFilter,
+        int parallelProcessors) {
         this.searchPath = searchPath;
         this.excludedDirectories = excludedDirectories;
         this.excludedDirectoryPatterns = excludedDirectoryPatterns;
         this.forceNestedSearch = forceNestedSearch;
         this.maxDepth = maxDepth;
         this.detectorFilter = detectorFilter;
+        this.parallelProcessors = parallelProcessors;
     }
 }
@@ -30,6 +30,7 @@ import com.blackducksoftware.integration.hub.detect.detector.DetectorEnvironment
 import com.blackducksoftware.integration.hub.detect.detector.ExtractionId;
 import com.blackducksoftware.integration.hub.detect.workflow.extraction.Extraction;
 import com.blackducksoftware.integration.hub.detect.workflow.extraction.Extraction.ExtractionResultType;
+import com.blackducksoftware.integration.hub.detect.workflow.extraction.ExtractionCacheStatus;
 
 public class DetectorEvaluation {
     public static final String NO_MESSAGE = "Unknown";
@@ -43,6 +44,7 @@ public class DetectorEvaluation {
 
     private ExtractionId extractionId;
     private Extraction extraction;
+    private ExtractionCacheStatus extractionCacheStatus = ExtractionCacheStatus.NOT_CACHEABLE;
 
     public DetectorEvaluation(final Detector detector, final DetectorEnvironment environment) {
         this.detector = detector;
@@ -57,6 +59,14 @@ public class DetectorEvaluation {
         return extraction;
     }
 
+    public void setExtractionCacheStatus(final ExtractionCacheStatus extractionCacheStatus) {
+        this.extractionCacheStatus = extractionCacheStatus;
+    }
+
+    public ExtractionCacheStatus getExtractionCacheStatus() {
+        return extractionCacheStatus;
+    }
+
     public void setExtractionId(final ExtractionId extractionId) {
         this.extractionId = extractionId;
     }
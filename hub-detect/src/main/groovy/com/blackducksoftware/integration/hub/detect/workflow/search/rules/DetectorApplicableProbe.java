@@ -0,0 +1,71 @@
+/**
+ * hub-detect
+ *
+ * Copyright (C) 2019 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.blackducksoftware.integration.hub.detect.workflow.search.rules;
+
+import java.io.File;
+import java.util.List;
+
+import com.blackducksoftware.integration.hub.detect.workflow.file.DetectFileFinder;
+import com.blackducksoftware.integration.hub.detect.workflow.search.result.DetectorResult;
+import com.blackducksoftware.integration.hub.detect.workflow.search.result.FileNotFoundDetectorResult;
+import com.blackducksoftware.integration.hub.detect.workflow.search.result.FilesNotFoundDetectorResult;
+
+/**
+ * A cheap check that runs before a detector is created for a directory. If none of the file patterns are present, the detector could not
+ * apply so it never needs to be created and the probe supplies the same result the detector itself would have reported.
+ */
+public class DetectorApplicableProbe {
+    private final String[] filePatterns;
+    private final boolean anyOf;
+
+    private DetectorApplicableProbe(final String[] filePatterns, final boolean anyOf) {
+        this.filePatterns = filePatterns;
+        this.anyOf = anyOf;
+    }
+
+    public static DetectorApplicableProbe requiresFile(final String filePattern) {
+        return new DetectorApplicableProbe(new String[] { filePattern }, false);
+    }
+
+    public static DetectorApplicableProbe requiresAnyFile(final String... filePatterns) {
+        return new DetectorApplicableProbe(filePatterns, true);
+    }
+
+    public boolean mightApply(final DetectFileFinder fileFinder, final File directory) {
+        for (final String filePattern : filePatterns) {
+            final List<File> found = fileFinder.findFiles(directory, filePattern);
+            if (found != null && !found.isEmpty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public DetectorResult createNotApplicableResult() {
+        if (anyOf) {
+            return new FilesNotFoundDetectorResult(filePatterns);
+        }
+        return new FileNotFoundDetectorResult(filePatterns[0]);
+    }
+}
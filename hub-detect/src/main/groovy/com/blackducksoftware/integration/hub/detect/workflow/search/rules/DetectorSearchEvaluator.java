@@ -25,14 +25,17 @@ package com.blackducksoftware.integration.hub.detect.workflow.search.rules;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 
 import com.blackducksoftware.integration.hub.detect.detector.Detector;
 import com.blackducksoftware.integration.hub.detect.detector.DetectorEnvironment;
+import com.blackducksoftware.integration.hub.detect.detector.DetectorFactory;
 import com.blackducksoftware.integration.hub.detect.detector.DetectorType;
 import com.blackducksoftware.integration.hub.detect.workflow.event.Event;
 import com.blackducksoftware.integration.hub.detect.workflow.event.EventSystem;
+import com.blackducksoftware.integration.hub.detect.workflow.file.DetectFileFinder;
 import com.blackducksoftware.integration.hub.detect.workflow.search.result.DetectorEvaluation;
 import com.blackducksoftware.integration.hub.detect.workflow.search.result.DetectorResult;
 import com.blackducksoftware.integration.hub.detect.workflow.search.result.ExcludedDetectorResult;
@@ -44,22 +47,44 @@ import com.blackducksoftware.integration.hub.detect.workflow.search.result.Passe
 import com.blackducksoftware.integration.hub.detect.workflow.search.result.YieldedDetectorResult;
 
 public class DetectorSearchEvaluator {
+    private final DetectorFactory detectorFactory;
+    private final DetectFileFinder fileFinder;
 
-    public List<DetectorEvaluation> evaluate(DetectorSearchRuleSet rules, EventSystem eventSystem) {
+    public DetectorSearchEvaluator(final DetectorFactory detectorFactory, final DetectFileFinder fileFinder) {
+        this.detectorFactory = detectorFactory;
+        this.fileFinder = fileFinder;
+    }
+
+    public List<DetectorEvaluation> evaluate(final DetectorSearchRuleSet rules, final DetectorEnvironment environment, final EventSystem eventSystem) {
         final List<DetectorEvaluation> evaluations = new ArrayList<>();
         final List<Detector> appliedSoFar = new ArrayList<>();
         for (final DetectorSearchRule searchRule : rules.getOrderedBomToolRules()) {
-            final Detector detector = searchRule.getDetector();
-            final DetectorEvaluation evaluation = new DetectorEvaluation(detector, rules.getEnvironment());
+            final DetectorResult searchableResult = searchable(searchRule, appliedSoFar, environment);
+            if (!searchableResult.getPassed()) {
+                final DetectorEvaluation evaluation = new DetectorEvaluation(searchRule.getDetector(), environment);
+                evaluation.setSearchable(searchableResult);
+                evaluations.add(evaluation);
+                continue;
+            }
+
+            final Optional<DetectorApplicableProbe> applicableProbe = searchRule.getApplicableProbe();
+            if (applicableProbe.isPresent() && !applicableProbe.get().mightApply(fileFinder, environment.getDirectory())) {
+                final DetectorEvaluation evaluation = new DetectorEvaluation(searchRule.getDetector(), environment);
+                evaluation.setSearchable(searchableResult);
+                evaluation.setApplicable(applicableProbe.get().createNotApplicableResult());
+                evaluations.add(evaluation);
+                continue;
+            }
+
+            final Detector detector = detectorFactory.createDetector(searchRule.getDetector().getClass(), environment);
+            final DetectorEvaluation evaluation = new DetectorEvaluation(detector, environment);
             evaluations.add(evaluation);
-            evaluation.setSearchable(searchable(searchRule, appliedSoFar, rules.getEnvironment()));
-            if (evaluation.isSearchable()) {
-                eventSystem.publishEvent(Event.ApplicableStarted, detector);
-                evaluation.setApplicable(detector.applicable());
-                eventSystem.publishEvent(Event.ApplicableEnded, detector);
-                if (evaluation.isApplicable()) {
-                    appliedSoFar.add(detector);
-                }
+            evaluation.setSearchable(searchableResult);
+            eventSystem.publishEvent(Event.ApplicableStarted, detector);
+            evaluation.setApplicable(detector.applicable());
+            eventSystem.publishEvent(Event.ApplicableEnded, detector);
+            if (evaluation.isApplicable()) {
+                appliedSoFar.add(detector);
             }
         }
         return evaluations;
@@ -78,7 +103,7 @@ public class DetectorSearchEvaluator {
         }
 
         final Set<Detector> yieldTo = appliedSoFar.stream()
-                                          .filter(it -> searchRules.getYieldsTo().contains(it))
+                                          .filter(it -> searchRules.getYieldsTo().stream().anyMatch(yieldsTo -> yieldsTo.isSame(it)))
                                           .collect(Collectors.toSet());
 
         if (yieldTo.size() > 0) {
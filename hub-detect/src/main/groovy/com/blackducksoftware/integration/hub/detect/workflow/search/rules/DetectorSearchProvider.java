@@ -26,6 +26,29 @@ package com.blackducksoftware.integration.hub.detect.workflow.search.rules;
 import com.blackducksoftware.integration.hub.detect.detector.Detector;
 import com.blackducksoftware.integration.hub.detect.detector.DetectorEnvironment;
 import com.blackducksoftware.integration.hub.detect.detector.DetectorFactory;
+import com.blackducksoftware.integration.hub.detect.detector.clang.ClangDetector;
+import com.blackducksoftware.integration.hub.detect.detector.cocoapods.PodlockDetector;
+import com.blackducksoftware.integration.hub.detect.detector.conda.CondaCliDetector;
+import com.blackducksoftware.integration.hub.detect.detector.cpan.CpanCliDetector;
+import com.blackducksoftware.integration.hub.detect.detector.cran.PackratLockDetector;
+import com.blackducksoftware.integration.hub.detect.detector.go.GoCliDetector;
+import com.blackducksoftware.integration.hub.detect.detector.go.GoLockDetector;
+import com.blackducksoftware.integration.hub.detect.detector.go.GoVndrDetector;
+import com.blackducksoftware.integration.hub.detect.detector.gradle.GradleInspectorDetector;
+import com.blackducksoftware.integration.hub.detect.detector.hex.RebarDetector;
+import com.blackducksoftware.integration.hub.detect.detector.maven.MavenPomDetector;
+import com.blackducksoftware.integration.hub.detect.detector.maven.MavenPomWrapperDetector;
+import com.blackducksoftware.integration.hub.detect.detector.npm.NpmCliDetector;
+import com.blackducksoftware.integration.hub.detect.detector.npm.NpmPackageLockDetector;
+import com.blackducksoftware.integration.hub.detect.detector.npm.NpmShrinkwrapDetector;
+import com.blackducksoftware.integration.hub.detect.detector.nuget.NugetProjectDetector;
+import com.blackducksoftware.integration.hub.detect.detector.nuget.NugetSolutionDetector;
+import com.blackducksoftware.integration.hub.detect.detector.packagist.ComposerLockDetector;
+import com.blackducksoftware.integration.hub.detect.detector.pear.PearCliDetector;
+import com.blackducksoftware.integration.hub.detect.detector.pip.PipenvDetector;
+import com.blackducksoftware.integration.hub.detect.detector.rubygems.GemlockDetector;
+import com.blackducksoftware.integration.hub.detect.detector.sbt.SbtResolutionCacheDetector;
+import com.blackducksoftware.integration.hub.detect.detector.yarn.YarnLockDetector;
 
 public class DetectorSearchProvider {
     private final DetectorFactory detectorFactory;
@@ -34,46 +57,50 @@ public class DetectorSearchProvider {
         this.detectorFactory = detectorFactory;
     }
 
+    /*
+     * The rule set is built once per search. The detectors it holds only describe the rules (type, name, yields) and are never run,
+     * the evaluator creates a detector for each directory that passes the rule and its probe.
+     */
     public DetectorSearchRuleSet createBomToolSearchRuleSet(final DetectorEnvironment environment) {
-        final DetectorSearchRuleSetBuilder searchRuleSet = new DetectorSearchRuleSetBuilder(environment);
+        final DetectorSearchRuleSetBuilder searchRuleSet = new DetectorSearchRuleSetBuilder();
 
         searchRuleSet.addBomTool(detectorFactory.createBitbakeBomTool(environment)).defaultNotNested();
 
-        searchRuleSet.addBomTool(detectorFactory.createPodLockBomTool(environment)).defaultNested();
-        searchRuleSet.addBomTool(detectorFactory.createCondaBomTool(environment)).defaultNotNested();
-        searchRuleSet.addBomTool(detectorFactory.createCpanCliBomTool(environment)).defaultNotNested();
-        searchRuleSet.addBomTool(detectorFactory.createPackratLockBomTool(environment)).defaultNotNested();
+        searchRuleSet.addBomTool(detectorFactory.createPodLockBomTool(environment)).defaultNested().requiresFile(PodlockDetector.PODFILE_LOCK_FILENAME);
+        searchRuleSet.addBomTool(detectorFactory.createCondaBomTool(environment)).defaultNotNested().requiresFile(CondaCliDetector.ENVIRONEMNT_YML);
+        searchRuleSet.addBomTool(detectorFactory.createCpanCliBomTool(environment)).defaultNotNested().requiresFile(CpanCliDetector.MAKEFILE);
+        searchRuleSet.addBomTool(detectorFactory.createPackratLockBomTool(environment)).defaultNotNested().requiresFile(PackratLockDetector.PACKRATLOCK_FILE_NAME);
 
         Detector goCli = detectorFactory.createGoCliBomTool(environment);
         Detector goLock = detectorFactory.createGoLockBomTool(environment);
         Detector goVnd = detectorFactory.createGoVndrBomTool(environment);
         Detector goVendor = detectorFactory.createGoVendorBomTool(environment);
 
-        searchRuleSet.addBomTool(goLock).defaultNotNested();
-        searchRuleSet.addBomTool(goVnd).defaultNotNested();
+        searchRuleSet.addBomTool(goLock).defaultNotNested().requiresFile(GoLockDetector.GOPKG_LOCK_FILENAME);
+        searchRuleSet.addBomTool(goVnd).defaultNotNested().requiresFile(GoVndrDetector.VNDR_CONF_FILENAME);
         searchRuleSet.addBomTool(goVendor).defaultNotNested();
-        searchRuleSet.addBomTool(goCli).defaultNotNested();
+        searchRuleSet.addBomTool(goCli).defaultNotNested().requiresFile(GoCliDetector.GOFILE_FILENAME_PATTERN);
 
         searchRuleSet.yield(goCli).to(goLock);
         searchRuleSet.yield(goCli).to(goVnd);
         searchRuleSet.yield(goCli).to(goVendor);
 
-        searchRuleSet.addBomTool(detectorFactory.createGradleInspectorBomTool(environment)).defaultNotNested();
-        searchRuleSet.addBomTool(detectorFactory.createRebarBomTool(environment)).defaultNotNested();
+        searchRuleSet.addBomTool(detectorFactory.createGradleInspectorBomTool(environment)).defaultNotNested().requiresFile(GradleInspectorDetector.BUILD_GRADLE_FILENAME);
+        searchRuleSet.addBomTool(detectorFactory.createRebarBomTool(environment)).defaultNotNested().requiresFile(RebarDetector.REBAR_CONFIG);
 
-        searchRuleSet.addBomTool(detectorFactory.createMavenPomBomTool(environment)).defaultNotNested();
-        searchRuleSet.addBomTool(detectorFactory.createMavenPomWrapperBomTool(environment)).defaultNotNested();
+        searchRuleSet.addBomTool(detectorFactory.createMavenPomBomTool(environment)).defaultNotNested().requiresFile(MavenPomDetector.POM_FILENAME);
+        searchRuleSet.addBomTool(detectorFactory.createMavenPomWrapperBomTool(environment)).defaultNotNested().requiresFile(MavenPomWrapperDetector.POM_WRAPPER_FILENAME);
 
         Detector yarnLock = detectorFactory.createYarnLockBomTool(environment);
-        searchRuleSet.addBomTool(yarnLock).defaultNested();
+        searchRuleSet.addBomTool(yarnLock).defaultNested().requiresFile(YarnLockDetector.YARN_LOCK_FILENAME);
 
         Detector npmPackageLock = detectorFactory.createNpmPackageLockBomTool(environment);
         Detector npmShrinkwrap = detectorFactory.createNpmShrinkwrapBomTool(environment);
         Detector npmCli = detectorFactory.createNpmCliBomTool(environment);
 
-        searchRuleSet.addBomTool(npmPackageLock).defaultNested();
-        searchRuleSet.addBomTool(npmShrinkwrap).defaultNested();
-        searchRuleSet.addBomTool(npmCli).defaultNested();
+        searchRuleSet.addBomTool(npmPackageLock).defaultNested().requiresFile(NpmPackageLockDetector.PACKAGE_LOCK_JSON);
+        searchRuleSet.addBomTool(npmShrinkwrap).defaultNested().requiresFile(NpmShrinkwrapDetector.SHRINKWRAP_JSON);
+        searchRuleSet.addBomTool(npmCli).defaultNested().requiresFile(NpmCliDetector.PACKAGE_JSON);
 
         searchRuleSet.yield(npmShrinkwrap).to(npmPackageLock);
         searchRuleSet.yield(npmCli).to(npmPackageLock);
@@ -85,25 +112,25 @@ public class DetectorSearchProvider {
 
         Detector nugetSolution = detectorFactory.createNugetSolutionBomTool(environment);
         Detector nugetProject = detectorFactory.createNugetProjectBomTool(environment);
-        searchRuleSet.addBomTool(nugetSolution).defaultNested();
-        searchRuleSet.addBomTool(nugetProject).defaultNotNested();
+        searchRuleSet.addBomTool(nugetSolution).defaultNested().requiresAnyFile(NugetSolutionDetector.SUPPORTED_SOLUTION_PATTERNS);
+        searchRuleSet.addBomTool(nugetProject).defaultNotNested().requiresAnyFile(NugetProjectDetector.SUPPORTED_PROJECT_PATTERNS);
 
         searchRuleSet.yield(nugetProject).to(nugetSolution);
 
-        searchRuleSet.addBomTool(detectorFactory.createComposerLockBomTool(environment)).defaultNotNested();
+        searchRuleSet.addBomTool(detectorFactory.createComposerLockBomTool(environment)).defaultNotNested().requiresFile(ComposerLockDetector.COMPOSER_LOCK);
 
         Detector pipEnv = detectorFactory.createPipenvBomTool(environment);
         Detector pipInspector = detectorFactory.createPipInspectorBomTool(environment);
-        searchRuleSet.addBomTool(pipEnv).defaultNotNested();
+        searchRuleSet.addBomTool(pipEnv).defaultNotNested().requiresAnyFile(PipenvDetector.PIPFILE_FILE_NAME, PipenvDetector.PIPFILE_DOT_LOCK_FILE_NAME);
         searchRuleSet.addBomTool(pipInspector).defaultNotNested();
 
         searchRuleSet.yield(pipInspector).to(pipEnv);
 
-        searchRuleSet.addBomTool(detectorFactory.createGemlockBomTool(environment)).defaultNotNested();
-        searchRuleSet.addBomTool(detectorFactory.createSbtResolutionCacheBomTool(environment)).defaultNotNested();
-        searchRuleSet.addBomTool(detectorFactory.createPearCliBomTool(environment)).defaultNotNested();
+        searchRuleSet.addBomTool(detectorFactory.createGemlockBomTool(environment)).defaultNotNested().requiresFile(GemlockDetector.GEMFILE_LOCK_FILENAME);
+        searchRuleSet.addBomTool(detectorFactory.createSbtResolutionCacheBomTool(environment)).defaultNotNested().requiresFile(SbtResolutionCacheDetector.BUILD_SBT_FILENAME);
+        searchRuleSet.addBomTool(detectorFactory.createPearCliBomTool(environment)).defaultNotNested().requiresFile(PearCliDetector.PACKAGE_XML_FILENAME);
 
-        searchRuleSet.addBomTool(detectorFactory.createClangBomTool(environment)).defaultNested();
+        searchRuleSet.addBomTool(detectorFactory.createClangBomTool(environment)).defaultNested().requiresFile(ClangDetector.JSON_COMPILATION_DATABASE_FILENAME);
 
         return searchRuleSet.build();
     }
@@ -24,6 +24,7 @@
 package com.blackducksoftware.integration.hub.detect.workflow.search.rules;
 
 import java.util.List;
+import java.util.Optional;
 
 import com.blackducksoftware.integration.hub.detect.detector.Detector;
 
@@ -32,12 +33,14 @@ public class DetectorSearchRule {
     private final int maxDepth;
     private final boolean nestable;
     private final List<Detector> yieldsTo;
+    private final DetectorApplicableProbe applicableProbe;
 
-    public DetectorSearchRule(final Detector detector, final int maxDepth, final boolean nestable, final List<Detector> yieldsTo) {
+    public DetectorSearchRule(final Detector detector, final int maxDepth, final boolean nestable, final List<Detector> yieldsTo, final DetectorApplicableProbe applicableProbe) {
         this.detector = detector;
         this.maxDepth = maxDepth;
         this.nestable = nestable;
         this.yieldsTo = yieldsTo;
+        this.applicableProbe = applicableProbe;
     }
 
     public Detector getDetector() {
@@ -55,4 +58,8 @@ public class DetectorSearchRule {
     public List<Detector> getYieldsTo() {
         return yieldsTo;
     }
+
+    public Optional<DetectorApplicableProbe> getApplicableProbe() {
+        return Optional.ofNullable(applicableProbe);
+    }
 }
@@ -33,6 +33,7 @@ public class DetectorSearchRuleBuilder {
     private int maxDepth;
     private boolean nestable;
     private final List<Detector> yieldsTo;
+    private DetectorApplicableProbe applicableProbe;
 
     public DetectorSearchRuleBuilder(final Detector detector) {
         this.detector = detector;
@@ -64,7 +65,17 @@ public class DetectorSearchRuleBuilder {
         return this;
     }
 
+    public DetectorSearchRuleBuilder requiresFile(final String filePattern) {
+        this.applicableProbe = DetectorApplicableProbe.requiresFile(filePattern);
+        return this;
+    }
+
+    public DetectorSearchRuleBuilder requiresAnyFile(final String... filePatterns) {
+        this.applicableProbe = DetectorApplicableProbe.requiresAnyFile(filePatterns);
+        return this;
+    }
+
     public DetectorSearchRule build() {
-        return new DetectorSearchRule(detector, maxDepth, nestable, yieldsTo);
+        return new DetectorSearchRule(detector, maxDepth, nestable, yieldsTo, applicableProbe);
     }
 }
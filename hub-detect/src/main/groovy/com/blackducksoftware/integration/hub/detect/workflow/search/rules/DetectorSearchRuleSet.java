@@ -25,22 +25,14 @@ package com.blackducksoftware.integration.hub.detect.workflow.search.rules;
 
 import java.util.List;
 
-import com.blackducksoftware.integration.hub.detect.detector.DetectorEnvironment;
-
 public class DetectorSearchRuleSet {
     private final List<DetectorSearchRule> orderedBomToolRules;
-    private final DetectorEnvironment environment;
 
-    public DetectorSearchRuleSet(final List<DetectorSearchRule> orderedBomToolRules, final DetectorEnvironment environment) {
+    public DetectorSearchRuleSet(final List<DetectorSearchRule> orderedBomToolRules) {
         this.orderedBomToolRules = orderedBomToolRules;
-        this.environment = environment;
     }
 
     public List<DetectorSearchRule> getOrderedBomToolRules() {
         return orderedBomToolRules;
     }
-
-    public DetectorEnvironment getEnvironment() {
-        return environment;
-    }
 }
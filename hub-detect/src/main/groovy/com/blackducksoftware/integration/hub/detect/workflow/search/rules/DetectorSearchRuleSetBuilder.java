@@ -29,17 +29,11 @@ import java.util.List;
 import java.util.Map;
 
 import com.blackducksoftware.integration.hub.detect.detector.Detector;
-import com.blackducksoftware.integration.hub.detect.detector.DetectorEnvironment;
 
 public class DetectorSearchRuleSetBuilder {
     private final List<Detector> desiredDetectorOrder = new ArrayList<>();
     private final Map<Detector, DetectorSearchRuleBuilder> builderMap = new HashMap<>();
     private final List<DetectorYieldBuilder> yieldBuilders = new ArrayList<>();
-    private final DetectorEnvironment environment;
-
-    public DetectorSearchRuleSetBuilder(final DetectorEnvironment environment) {
-        this.environment = environment;
-    }
 
     public DetectorSearchRuleBuilder addBomTool(final Detector detector) {
         final DetectorSearchRuleBuilder builder = new DetectorSearchRuleBuilder(detector);
@@ -66,6 +60,6 @@ public class DetectorSearchRuleSetBuilder {
             bomToolRules.add(builder.build());
         }
 
-        return new DetectorSearchRuleSet(bomToolRules, environment);
+        return new DetectorSearchRuleSet(bomToolRules);
     }
 }
@@ -76,11 +76,11 @@ public class DetectorFactoryTest {
 
         DetectorEnvironment mockEnv = Mockito.mock(DetectorEnvironment.class);
 
-        DetectorSearchRuleSet ruleSet1 = provider.createBomToolSearchRuleSet(mockEnv);
-        DetectorSearchRuleSet ruleSet2 = provider.createBomToolSearchRuleSet(mockEnv);
+        DetectorSearchRuleSet ruleSet = provider.createBomToolSearchRuleSet(mockEnv);
+        Detector ruleDetector = ruleSet.getOrderedBomToolRules().get(0).getDetector();
 
-        Detector detector1 = ruleSet1.getOrderedBomToolRules().get(0).getDetector();
-        Detector detector2 = ruleSet2.getOrderedBomToolRules().get(0).getDetector();
+        Detector detector1 = detectorFactory.createDetector(ruleDetector.getClass(), Mockito.mock(DetectorEnvironment.class));
+        Detector detector2 = detectorFactory.createDetector(ruleDetector.getClass(), Mockito.mock(DetectorEnvironment.class));
 
         //Sanity check they are the same class
         Assert.assertTrue(detector1.getClass().isInstance(detector2));
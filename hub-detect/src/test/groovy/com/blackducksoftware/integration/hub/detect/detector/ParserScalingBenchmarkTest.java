@@ -0,0 +1,155 @@
+package com.blackducksoftware.integration.hub.detect.detector;
+
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.Assume;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.blackducksoftware.integration.hub.detect.configuration.DetectConfiguration;
+import com.blackducksoftware.integration.hub.detect.detector.npm.NpmLockfileParser;
+import com.blackducksoftware.integration.hub.detect.detector.packagist.PackagistParser;
+import com.blackducksoftware.integration.hub.detect.detector.rubygems.GemlockParser;
+import com.blackducksoftware.integration.hub.detect.detector.yarn.YarnLockGraphBuilder;
+import com.blackducksoftware.integration.hub.detect.detector.yarn.YarnLockParser;
+import com.google.gson.Gson;
+import com.synopsys.integration.bdio.model.externalid.ExternalIdFactory;
+
+/*
+ * Parses synthetic lock files of 1k, 10k and 100k packages and fails if ten times the packages takes much more than ten times as long.
+ * Run with -Ddetect.benchmark=true, the largest size can be changed with detect.benchmark.packages.
+ */
+public class ParserScalingBenchmarkTest {
+    private final Logger logger = LoggerFactory.getLogger(ParserScalingBenchmarkTest.class);
+
+    // Allows for JIT warm up and timer noise on top of linear growth.
+    private static final double ALLOWED_SLOWDOWN = 4.0;
+    private static final long MINIMUM_MEASURABLE_MILLIS = 50;
+
+    private final ExternalIdFactory externalIdFactory = new ExternalIdFactory();
+
+    @Test
+    public void benchmarkParsers() {
+        Assume.assumeTrue(Boolean.getBoolean("detect.benchmark"));
+        final int largest = Integer.getInteger("detect.benchmark.packages", 100000);
+
+        final GemlockParser gemlockParser = new GemlockParser(externalIdFactory);
+        assertLinear("Gemlock", largest, packages -> {
+            final List<String> gemfileLock = createGemfileLock(packages);
+            return () -> gemlockParser.parseProjectDependencies(gemfileLock);
+        });
+
+        final PackagistParser packagistParser = new PackagistParser(externalIdFactory, Mockito.mock(DetectConfiguration.class));
+        assertLinear("Packagist", largest, packages -> {
+            final String composerJson = "{\"name\": \"bench/app\", \"version\": \"1.0.0\", \"require\": {\"bench/p0\": \"^1.0\"}}";
+            final String composerLock = createComposerLock(packages);
+            return () -> packagistParser.getDependencyGraphFromProject("source", composerJson, composerLock);
+        });
+
+        final YarnLockParser yarnLockParser = new YarnLockParser();
+        final YarnLockGraphBuilder yarnLockGraphBuilder = new YarnLockGraphBuilder(externalIdFactory, yarnLockParser);
+        assertLinear("Yarn Lock", largest, packages -> {
+            final List<String> yarnLock = createYarnLock(packages);
+            final Map<String, String> rootDependencies = Collections.singletonMap("p0", "^1.0.0");
+            return () -> yarnLockGraphBuilder.buildDependencyGraph(yarnLockParser.parseYarnLock(yarnLock), rootDependencies, Collections.emptySet());
+        });
+
+        final NpmLockfileParser npmLockfileParser = new NpmLockfileParser(new Gson(), externalIdFactory);
+        assertLinear("Package Lock", largest, packages -> {
+            final String packageLock = createPackageLock(packages);
+            return () -> npmLockfileParser.parse("source", Optional.of("{\"dependencies\": {\"p0\": \"^1.0.0\"}}"), packageLock, true);
+        });
+    }
+
+    private void assertLinear(final String parserName, final int largest, final ParseFactory parseFactory) {
+        final Map<Integer, Long> millisBySize = new HashMap<>();
+        for (int packages = largest / 100; packages <= largest; packages *= 10) {
+            final Runnable parse = parseFactory.create(packages);
+            long best = Long.MAX_VALUE;
+            for (int run = 0; run < 3; run++) {
+                final long start = System.nanoTime();
+                parse.run();
+                best = Math.min(best, (System.nanoTime() - start) / 1000000);
+            }
+            millisBySize.put(packages, best);
+            logger.info(String.format("%s: %d packages in %d ms", parserName, packages, best));
+        }
+
+        final long medium = Math.max(millisBySize.get(largest / 10), MINIMUM_MEASURABLE_MILLIS);
+        final long large = millisBySize.get(largest);
+        assertTrue(String.format("%s took %d ms for %d packages but %d ms for %d packages.", parserName, medium, largest / 10, large, largest), large <= medium * 10 * ALLOWED_SLOWDOWN);
+    }
+
+    private List<String> createGemfileLock(final int packages) {
+        final List<String> lines = new ArrayList<>();
+        lines.add("GEM");
+        lines.add("  remote: https://rubygems.org/");
+        lines.add("  specs:");
+        for (int i = 0; i < packages; i++) {
+            lines.add(String.format("    gem%d (1.0.%d)", i, i));
+            lines.add(String.format("      gem%d (>= 1.0)", (i + 1) % packages));
+            lines.add(String.format("      gem%d", (i * 7 + 3) % packages));
+        }
+        lines.add("");
+        lines.add("PLATFORMS");
+        lines.add("  ruby");
+        lines.add("");
+        lines.add("DEPENDENCIES");
+        lines.add("  gem0");
+        lines.add("");
+        lines.add("BUNDLED WITH");
+        lines.add("   1.16.1");
+        return lines;
+    }
+
+    private String createComposerLock(final int packages) {
+        final StringBuilder lock = new StringBuilder("{\"packages\": [");
+        for (int i = 0; i < packages; i++) {
+            if (i > 0) {
+                lock.append(',');
+            }
+            lock.append(String.format("{\"name\": \"bench/p%d\", \"version\": \"1.0.%d\", \"require\": {\"php\": \">=7.0\", \"bench/p%d\": \"^1.0\", \"bench/p%d\": \"^1.0\"}}", i, i, (i + 1) % packages,
+                (i * 7 + 3) % packages));
+        }
+        return lock.append("]}").toString();
+    }
+
+    private List<String> createYarnLock(final int packages) {
+        final List<String> lines = new ArrayList<>();
+        lines.add("# yarn lockfile v1");
+        for (int i = 0; i < packages; i++) {
+            lines.add("");
+            lines.add(String.format("p%d@^1.0.0:", i));
+            lines.add(String.format("  version \"1.0.%d\"", i));
+            lines.add(String.format("  resolved \"https://registry.yarnpkg.com/p%d/-/p%d-1.0.%d.tgz\"", i, i, i));
+            lines.add("  dependencies:");
+            lines.add(String.format("    p%d \"^1.0.0\"", (i + 1) % packages));
+            lines.add(String.format("    p%d \"^1.0.0\"", (i * 7 + 3) % packages));
+        }
+        return lines;
+    }
+
+    private String createPackageLock(final int packages) {
+        final StringBuilder lock = new StringBuilder("{\"name\": \"app\", \"version\": \"1.0.0\", \"lockfileVersion\": 1, \"requires\": true, \"dependencies\": {");
+        for (int i = 0; i < packages; i++) {
+            if (i > 0) {
+                lock.append(',');
+            }
+            lock.append(String.format("\"p%d\": {\"version\": \"1.0.%d\", \"requires\": {\"p%d\": \"^1.0.0\", \"p%d\": \"^1.0.0\"}}", i, i, (i + 1) % packages, (i * 7 + 3) % packages));
+        }
+        return lock.append("}}").toString();
+    }
+
+    private interface ParseFactory {
+        Runnable create(int packages);
+    }
+}
@@ -76,7 +76,7 @@ public class ClangExtractorTest {
         packages.add(new PackageDetails("testPackageName", "testPackageVersion", "testPackageArch"));
 
         Mockito.when(pkgMgr.getDefaultForge()).thenReturn(Forge.UBUNTU);
-        Mockito.when(pkgMgr.getPackages(Mockito.any(File.class), Mockito.any(ExecutableRunner.class), Mockito.any(Set.class), Mockito.any(DependencyFileDetails.class))).thenReturn(packages);
+        Mockito.when(pkgMgr.getPackages(Mockito.any(File.class), Mockito.any(ExecutableRunner.class), Mockito.any(Set.class), Mockito.anyList())).thenReturn(packages);
         Mockito.when(pkgMgr.getForges()).thenReturn(Arrays.asList(Forge.UBUNTU, Forge.DEBIAN));
         final Extraction extraction = extractor.extract(pkgMgr, givenDir, depth, extractionId, jsonCompilationDatabaseFile);
 
@@ -121,7 +121,7 @@ public class ClangExtractorTest {
         packages.add(new PackageDetails("testPackageName2", "testPackageVersion2", "testPackageArch2"));
 
         Mockito.when(pkgMgr.getDefaultForge()).thenReturn(Forge.CENTOS);
-        Mockito.when(pkgMgr.getPackages(Mockito.any(File.class), Mockito.any(ExecutableRunner.class), Mockito.any(Set.class), Mockito.any(DependencyFileDetails.class))).thenReturn(packages);
+        Mockito.when(pkgMgr.getPackages(Mockito.any(File.class), Mockito.any(ExecutableRunner.class), Mockito.any(Set.class), Mockito.anyList())).thenReturn(packages);
         Mockito.when(pkgMgr.getForges()).thenReturn(Arrays.asList(Forge.CENTOS, Forge.FEDORA, Forge.REDHAT));
         final Extraction extraction = extractor.extract(pkgMgr, givenDir, depth, extractionId, jsonCompilationDatabaseFile);
 
@@ -168,7 +168,7 @@ public class ClangExtractorTest {
         packages.add(new PackageDetails("testPackageName2", "testPackageVersion2", "testPackageArch2"));
 
         Mockito.when(pkgMgr.getDefaultForge()).thenReturn(Forge.CENTOS);
-        Mockito.when(pkgMgr.getPackages(Mockito.any(File.class), Mockito.any(ExecutableRunner.class), Mockito.any(Set.class), Mockito.any(DependencyFileDetails.class))).thenReturn(packages);
+        Mockito.when(pkgMgr.getPackages(Mockito.any(File.class), Mockito.any(ExecutableRunner.class), Mockito.any(Set.class), Mockito.anyList())).thenReturn(packages);
         Mockito.when(pkgMgr.getForges()).thenReturn(Arrays.asList(Forge.CENTOS, Forge.FEDORA, Forge.REDHAT));
         final Extraction extraction = extractor.extract(pkgMgr, givenDir, depth, extractionId, jsonCompilationDatabaseFile);
 
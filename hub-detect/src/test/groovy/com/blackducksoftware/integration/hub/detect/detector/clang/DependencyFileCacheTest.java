@@ -0,0 +1,125 @@
+package com.blackducksoftware.integration.hub.detect.detector.clang;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.blackducksoftware.integration.hub.detect.util.executable.ExecutableFinder;
+
+public class DependencyFileCacheTest {
+    private File tempDirectory;
+    private File cacheDirectory;
+    private File source;
+    private File header;
+    private File compiler;
+    private ExecutableFinder executableFinder;
+
+    @Before
+    public void setUp() throws IOException {
+        tempDirectory = Files.createTempDirectory("clang-dependency-cache").toFile();
+        cacheDirectory = new File(tempDirectory, "cache");
+        source = new File(tempDirectory, "hello_world.cpp");
+        header = new File(tempDirectory, "hello_world.h");
+        FileUtils.write(source, "#include \"hello_world.h\"", "UTF-8");
+        FileUtils.write(header, "", "UTF-8");
+        compiler = new File(tempDirectory, "g++");
+        FileUtils.write(compiler, "", "UTF-8");
+        executableFinder = mock(ExecutableFinder.class);
+        when(executableFinder.getExecutableFromSystemPath("g++")).thenReturn(compiler);
+    }
+
+    @After
+    public void tearDown() {
+        FileUtils.deleteQuietly(tempDirectory);
+    }
+
+    @Test
+    public void testHitAndInvalidation() {
+        final DependencyFileCache cache = new DependencyFileCache(cacheDirectory, 10, new ClangCompileCommandParser(), executableFinder);
+        final CompileCommand compileCommand = createCompileCommand(source, "g++ -c hello_world.cpp");
+        final Set<String> dependencyFilePaths = new HashSet<>(Arrays.asList(source.getAbsolutePath(), header.getAbsolutePath()));
+
+        assertFalse(cache.get(compileCommand).isPresent());
+        cache.put(compileCommand, dependencyFilePaths);
+
+        final Optional<Set<String>> cached = cache.get(compileCommand);
+        assertTrue(cached.isPresent());
+        assertEquals(dependencyFilePaths, cached.get());
+        assertFalse(cache.get(createCompileCommand(source, "g++ -DDEBUG -c hello_world.cpp")).isPresent());
+
+        header.setLastModified(header.lastModified() - 10000);
+        assertFalse(cache.get(compileCommand).isPresent());
+
+        assertEquals(1, cache.getHits());
+        assertEquals(3, cache.getMisses());
+    }
+
+    @Test
+    public void testRelativeHeaderChangeInvalidates() {
+        final DependencyFileCache cache = new DependencyFileCache(cacheDirectory, 10, new ClangCompileCommandParser(), executableFinder);
+        final CompileCommand compileCommand = createCompileCommand(source, "g++ -c hello_world.cpp");
+        final Set<String> dependencyFilePaths = new HashSet<>(Arrays.asList(source.getName(), header.getName()));
+        cache.put(compileCommand, dependencyFilePaths);
+        assertTrue(cache.get(compileCommand).isPresent());
+
+        header.setLastModified(header.lastModified() - 10000);
+        assertFalse(cache.get(compileCommand).isPresent());
+    }
+
+    @Test
+    public void testCompilerOnPathChangeInvalidates() throws IOException {
+        final DependencyFileCache cache = new DependencyFileCache(cacheDirectory, 10, new ClangCompileCommandParser(), executableFinder);
+        final CompileCommand compileCommand = createCompileCommand(source, "g++ -c hello_world.cpp");
+        cache.put(compileCommand, new HashSet<>(Arrays.asList(source.getAbsolutePath())));
+        assertTrue(cache.get(compileCommand).isPresent());
+
+        FileUtils.write(compiler, "upgraded", "UTF-8");
+        assertFalse(cache.get(compileCommand).isPresent());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEviction() {
+        final DependencyFileCache cache = new DependencyFileCache(cacheDirectory, 2, new ClangCompileCommandParser(), executableFinder);
+        final Set<String> dependencyFilePaths = new HashSet<>(Arrays.asList(source.getAbsolutePath()));
+        final CompileCommand first = createCompileCommand(source, "g++ -O1 -c hello_world.cpp");
+        final CompileCommand second = createCompileCommand(source, "g++ -O2 -c hello_world.cpp");
+        final CompileCommand third = createCompileCommand(source, "g++ -O3 -c hello_world.cpp");
+
+        cache.put(first, dependencyFilePaths);
+        cache.put(second, dependencyFilePaths);
+        cache.put(third, dependencyFilePaths);
+        final File[] entries = cacheDirectory.listFiles();
+        for (int i = 0; i < entries.length; i++) {
+            entries[i].setLastModified(System.currentTimeMillis() - 100000);
+        }
+        assertTrue(cache.get(first).isPresent());
+
+        cache.evict();
+        assertEquals(1, cache.getEvictions());
+        assertEquals(2, cacheDirectory.listFiles().length);
+        assertTrue(cache.get(first).isPresent());
+    }
+
+    private CompileCommand createCompileCommand(final File file, final String command) {
+        final CompileCommandJsonData compileCommandJsonData = new CompileCommandJsonData();
+        compileCommandJsonData.directory = file.getParentFile().getAbsolutePath();
+        compileCommandJsonData.file = file.getName();
+        compileCommandJsonData.command = command;
+        return new CompileCommand(compileCommandJsonData);
+    }
+}
@@ -1,5 +1,22 @@
 package com.blackducksoftware.integration.hub.detect.detector.clang;
 
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.commons.lang3.SystemUtils;
+import org.junit.Assume;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import com.blackducksoftware.integration.hub.detect.util.executable.ExecutableOutput;
+import com.blackducksoftware.integration.hub.detect.util.executable.ExecutableRunner;
+import com.blackducksoftware.integration.hub.detect.util.executable.ExecutableRunnerException;
+
 public class DpkgPackageManagerTest {
 /*
     @Test
@@ -50,4 +67,46 @@ public class DpkgPackageManagerTest {
         assertEquals("amd64", pkgs.get(0).getPackageArch());
     }
 */
+    @Test
+    public void testBatchedQueries() throws ExecutableRunnerException {
+        Assume.assumeFalse(SystemUtils.IS_OS_WINDOWS);
+
+        final File stdlib = new File("/usr/include/stdlib.h");
+        final File stdio = new File("/usr/include/stdio.h");
+        final File zlib = new File("/usr/include/zlib.h");
+        final File local = new File("/opt/local/include/local.h");
+
+        final String pkgMgrOwnedByOutput = "libc6-dev:amd64: " + stdlib.getAbsolutePath() + "\n"
+                                               + "libc6-dev:amd64: " + stdio.getAbsolutePath() + "\n"
+                                               + "zlib1g-dev:amd64, zlib1g-dev:i386: " + zlib.getAbsolutePath() + "\n";
+        final String pkgMgrPkgInfoOutput = "Package: libc6-dev\n"
+                                               + "Status: install ok installed\n"
+                                               + "Version: 2.27-3ubuntu1\n"
+                                               + "Description: GNU C Library: Development Libraries and Header Files\n"
+                                               + " Contains the symlinks, headers, and object files needed to compile\n"
+                                               + "\n"
+                                               + "Package: zlib1g-dev\n"
+                                               + "Status: install ok installed\n"
+                                               + "Version: 1:1.2.11.dfsg-0ubuntu2\n";
+
+        final ExecutableRunner executableRunner = Mockito.mock(ExecutableRunner.class);
+        Mockito.when(executableRunner.executeQuietly(null, "dpkg", Arrays.asList("-S", stdlib.getAbsolutePath(), stdio.getAbsolutePath(), zlib.getAbsolutePath(), local.getAbsolutePath())))
+            .thenReturn(new ExecutableOutput(1, pkgMgrOwnedByOutput, "dpkg-query: no path found matching pattern " + local.getAbsolutePath()));
+        Mockito.when(executableRunner.executeQuietly(null, "dpkg", Arrays.asList("-s", "libc6-dev", "zlib1g-dev"))).thenReturn(new ExecutableOutput(0, pkgMgrPkgInfoOutput, ""));
+
+        final List<DependencyFileDetails> dependencyFiles = Arrays.asList(new DependencyFileDetails(false, stdlib), new DependencyFileDetails(false, stdio), new DependencyFileDetails(false, zlib),
+            new DependencyFileDetails(false, local));
+        final Set<File> unManagedDependencyFiles = new HashSet<>();
+        final List<PackageDetails> pkgs = new DpkgPackageManager().getPackages(null, executableRunner, unManagedDependencyFiles, dependencyFiles);
+
+        Mockito.verify(executableRunner, Mockito.times(2)).executeQuietly(Mockito.any(), Mockito.anyString(), Mockito.anyList());
+        assertEquals(3, pkgs.size());
+        assertEquals("libc6-dev", pkgs.get(0).getPackageName());
+        assertEquals("2.27-3ubuntu1", pkgs.get(0).getPackageVersion());
+        assertEquals("amd64", pkgs.get(0).getPackageArch());
+        assertEquals("zlib1g-dev", pkgs.get(2).getPackageName());
+        assertEquals("1:1.2.11.dfsg-0ubuntu2", pkgs.get(2).getPackageVersion());
+        assertEquals("i386", pkgs.get(2).getPackageArch());
+        assertEquals(0, unManagedDependencyFiles.size());
+    }
 }
@@ -12,6 +12,8 @@ import com.blackducksoftware.integration.hub.detect.testutils.DependencyGraphRes
 import com.blackducksoftware.integration.hub.detect.testutils.TestUtil;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.synopsys.integration.bdio.graph.DependencyGraph;
+import com.synopsys.integration.bdio.model.dependency.Dependency;
 import com.synopsys.integration.bdio.model.externalid.ExternalIdFactory;
 
 public class NpmLockfileParserTest {
@@ -46,6 +48,23 @@ public class NpmLockfileParserTest {
         DependencyGraphResourceTestUtil.assertGraph("/npm/packageLockExpected_graph.json", result.codeLocation.getDependencyGraph());
     }
 
+    @Test
+    public void parseLockFileResolvesNestedScopesFirst() {
+        final String lockFileText = "{\"name\": \"app\", \"version\": \"1.0.0\", \"lockfileVersion\": 1, \"requires\": true, \"dependencies\": {"
+                                        + "\"a\": {\"version\": \"1.0.0\", \"requires\": {\"b\": \"^2.0.0\"}, \"dependencies\": {\"b\": {\"version\": \"2.0.0\"}}},"
+                                        + "\"b\": {\"version\": \"1.0.0\"},"
+                                        + "\"c\": {\"version\": \"1.0.0\", \"dev\": true, \"requires\": {\"b\": \"^1.0.0\"}}}}";
+
+        final NpmParseResult result = npmLockfileParser.parse("source", Optional.of("{\"dependencies\": {\"a\": \"^1.0.0\"}}"), lockFileText, false);
+
+        final DependencyGraph graph = result.codeLocation.getDependencyGraph();
+        Assert.assertEquals("app", result.projectName);
+        Assert.assertEquals(1, graph.getRootDependencies().size());
+        final Dependency a = graph.getRootDependencies().iterator().next();
+        Assert.assertEquals("a", a.name);
+        Assert.assertEquals("2.0.0", graph.getChildrenForParent(a).iterator().next().version);
+    }
+
     private Optional<String> recreatePackageJsonFromLock(String lockFileText) {
         //These tests were written before we needed a package json.
         //So we replicate a package json with every package as root.
@@ -0,0 +1,112 @@
+package com.blackducksoftware.integration.hub.detect.detector.yarn;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import com.blackducksoftware.integration.hub.detect.configuration.DetectConfiguration;
+import com.blackducksoftware.integration.hub.detect.configuration.DetectProperty;
+import com.blackducksoftware.integration.hub.detect.configuration.PropertyAuthority;
+import com.blackducksoftware.integration.hub.detect.detector.yarn.model.YarnLock;
+import com.blackducksoftware.integration.hub.detect.workflow.codelocation.DetectCodeLocation;
+import com.blackducksoftware.integration.hub.detect.workflow.extraction.Extraction;
+import com.google.gson.Gson;
+import com.synopsys.integration.bdio.graph.DependencyGraph;
+import com.synopsys.integration.bdio.model.dependency.Dependency;
+import com.synopsys.integration.bdio.model.externalid.ExternalIdFactory;
+
+public class YarnLockGraphBuilderTest {
+    private final ExternalIdFactory externalIdFactory = new ExternalIdFactory();
+    private final YarnLockParser yarnLockParser = new YarnLockParser();
+    private final YarnLockGraphBuilder yarnLockGraphBuilder = new YarnLockGraphBuilder(externalIdFactory, yarnLockParser);
+
+    @Test
+    public void testTransitiveGraphFromYarnLock() {
+        final List<String> yarnLockText = new ArrayList<>();
+        yarnLockText.add("# THIS IS AN AUTOGENERATED FILE. DO NOT EDIT THIS FILE DIRECTLY.");
+        yarnLockText.add("# yarn lockfile v1");
+        yarnLockText.add("");
+        yarnLockText.add("\"@babel/code-frame@^7.0.0\":");
+        yarnLockText.add("  version \"7.0.0\"");
+        yarnLockText.add("  dependencies:");
+        yarnLockText.add("    \"@babel/highlight\" \"^7.0.0\"");
+        yarnLockText.add("");
+        yarnLockText.add("\"@babel/highlight@^7.0.0\":");
+        yarnLockText.add("  version \"7.0.0\"");
+        yarnLockText.add("  dependencies:");
+        yarnLockText.add("    js-tokens \"^4.0.0\"");
+        yarnLockText.add("  optionalDependencies:");
+        yarnLockText.add("    chalk \"^2.0.0 || ^3.0.0\"");
+        yarnLockText.add("");
+        yarnLockText.add("\"chalk@^2.0.0 || ^3.0.0\", chalk@^2.4.1:");
+        yarnLockText.add("  version \"2.4.1\"");
+        yarnLockText.add("");
+        yarnLockText.add("js-tokens@^4.0.0:");
+        yarnLockText.add("  version \"4.0.0\"");
+
+        final YarnLock yarnLock = yarnLockParser.parseYarnLock(yarnLockText);
+        final Map<String, String> rootDependencies = new HashMap<>();
+        rootDependencies.put("@babel/code-frame", "^7.0.0");
+        rootDependencies.put("chalk", "^2.4.1");
+        rootDependencies.put("left-pad", "^1.0.0");
+        final DependencyGraph graph = yarnLockGraphBuilder.buildDependencyGraph(yarnLock, rootDependencies, Collections.emptySet());
+
+        assertEquals(new HashSet<>(Arrays.asList("@babel/code-frame@7.0.0", "chalk@2.4.1")), nameVersions(graph.getRootDependencies()));
+        final Dependency codeFrame = find(graph.getRootDependencies(), "@babel/code-frame");
+        final Dependency highlight = find(graph.getChildrenForParent(codeFrame), "@babel/highlight");
+        assertEquals(new HashSet<>(Arrays.asList("js-tokens@4.0.0", "chalk@2.4.1")), nameVersions(graph.getChildrenForParent(highlight)));
+    }
+
+    @Test
+    public void testWorkspacesAreSeparateCodeLocations() throws IOException {
+        final File directory = Files.createTempDirectory("yarn-workspaces").toFile();
+        try {
+            FileUtils.write(new File(directory, "package.json"), "{\"private\": true, \"workspaces\": [\"packages/*\"], \"devDependencies\": {\"js-tokens\": \"^4.0.0\"}}", "UTF-8");
+            FileUtils.write(new File(directory, "packages/app/package.json"), "{\"name\": \"app\", \"dependencies\": {\"lib\": \"1.0.0\", \"chalk\": \"^2.4.1\"}}", "UTF-8");
+            FileUtils.write(new File(directory, "packages/lib/package.json"), "{\"name\": \"lib\", \"dependencies\": {\"js-tokens\": \"^4.0.0\"}}", "UTF-8");
+            final File yarnLock = new File(directory, "yarn.lock");
+            FileUtils.writeLines(yarnLock, Arrays.asList("chalk@^2.4.1:", "  version \"2.4.1\"", "", "js-tokens@^4.0.0:", "  version \"4.0.0\""));
+
+            final DetectConfiguration detectConfiguration = Mockito.mock(DetectConfiguration.class);
+            Mockito.when(detectConfiguration.getBooleanProperty(DetectProperty.DETECT_YARN_PROD_ONLY, PropertyAuthority.None)).thenReturn(true);
+            final YarnLockExtractor extractor = new YarnLockExtractor(externalIdFactory, null, yarnLockParser, yarnLockGraphBuilder, null, detectConfiguration, new Gson());
+            final Optional<File> packageJson = Optional.of(new File(directory, "package.json"));
+            final Extraction extraction = extractor.extract(directory, yarnLock, packageJson, "");
+
+            assertEquals(Extraction.ExtractionResultType.SUCCESS, extraction.result);
+            assertEquals(3, extraction.codeLocations.size());
+            final Map<String, Set<String>> rootsBySourcePath = extraction.codeLocations.stream()
+                                                                   .collect(Collectors.toMap(DetectCodeLocation::getSourcePath, it -> nameVersions(it.getDependencyGraph().getRootDependencies())));
+            assertTrue(rootsBySourcePath.get(directory.getCanonicalPath()).isEmpty());
+            assertEquals(Collections.singleton("chalk@2.4.1"), rootsBySourcePath.get(new File(directory, "packages/app").getCanonicalPath()));
+            assertEquals(Collections.singleton("js-tokens@4.0.0"), rootsBySourcePath.get(new File(directory, "packages/lib").getCanonicalPath()));
+        } finally {
+            FileUtils.deleteQuietly(directory);
+        }
+    }
+
+    private Set<String> nameVersions(final Set<Dependency> dependencies) {
+        return dependencies.stream().map(dependency -> dependency.name + "@" + dependency.version).collect(Collectors.toSet());
+    }
+
+    private Dependency find(final Set<Dependency> dependencies, final String name) {
+        return dependencies.stream().filter(dependency -> name.equals(dependency.name)).findFirst().get();
+    }
+}
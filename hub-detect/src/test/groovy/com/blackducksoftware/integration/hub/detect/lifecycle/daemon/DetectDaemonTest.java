@@ -0,0 +1,146 @@
+package com.blackducksoftware.integration.hub.detect.lifecycle.daemon;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.blackducksoftware.integration.hub.detect.exitcode.ExitCodeType;
+
+public class DetectDaemonTest {
+    private final List<List<String>> submissions = Collections.synchronizedList(new ArrayList<>());
+    private File tokenDirectory;
+    private DetectDaemon detectDaemon;
+    private Thread daemonThread;
+
+    @Before
+    public void setUp() throws IOException {
+        tokenDirectory = Files.createTempDirectory("detect-daemon").toFile();
+        detectDaemon = DetectDaemon.open(0, new File(tokenDirectory, "daemon.token"), (args, output) -> {
+            submissions.add(args);
+            if (args.contains("--fail")) {
+                throw new AssertionError("Submission failed");
+            }
+            try {
+                output.write(("scanned " + String.join(" ", args) + "\n").getBytes(StandardCharsets.UTF_8));
+            } catch (final IOException e) {
+                throw new RuntimeException(e);
+            }
+            return args.size();
+        });
+        daemonThread = new Thread(detectDaemon::serve, "detect-daemon-test");
+        daemonThread.start();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        detectDaemon.close();
+        daemonThread.join(10000);
+        FileUtils.deleteQuietly(tokenDirectory);
+    }
+
+    @Test
+    public void testRunsEverySubmission() throws Exception {
+        final DetectDaemonClient client = new DetectDaemonClient(detectDaemon.getPort(), detectDaemon.getTokenFile());
+
+        final ByteArrayOutputStream firstOutput = new ByteArrayOutputStream();
+        final int firstExitCode = client.submit(Arrays.asList("--detect.source.path=/first", "--blackduck.offline.mode=true"), firstOutput);
+        final ByteArrayOutputStream secondOutput = new ByteArrayOutputStream();
+        final int secondExitCode = client.submit(Collections.singletonList("--detect.source.path=/second"), secondOutput);
+
+        assertEquals(2, firstExitCode);
+        assertEquals("scanned --detect.source.path=/first --blackduck.offline.mode=true\n", new String(firstOutput.toByteArray(), StandardCharsets.UTF_8));
+        assertEquals(1, secondExitCode);
+        assertEquals("scanned --detect.source.path=/second\n", new String(secondOutput.toByteArray(), StandardCharsets.UTF_8));
+        assertEquals(2, submissions.size());
+    }
+
+    @Test
+    public void testFailedSubmissionReportsUnknownError() throws Exception {
+        final DetectDaemonClient client = new DetectDaemonClient(detectDaemon.getPort(), detectDaemon.getTokenFile());
+
+        final int failedExitCode = client.submit(Collections.singletonList("--fail"), new ByteArrayOutputStream());
+        final int exitCode = client.submit(Collections.singletonList("--detect.source.path=/after"), new ByteArrayOutputStream());
+
+        assertEquals(ExitCodeType.FAILURE_UNKNOWN_ERROR.getExitCode(), failedExitCode);
+        assertEquals(1, exitCode);
+    }
+
+    @Test
+    public void testRejectsWrongToken() throws Exception {
+        final File wrongTokenFile = new File(tokenDirectory, "wrong.token");
+        FileUtils.writeStringToFile(wrongTokenFile, "wrong", StandardCharsets.UTF_8);
+        final DetectDaemonClient client = new DetectDaemonClient(detectDaemon.getPort(), wrongTokenFile);
+
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        final int exitCode = client.submit(Collections.singletonList("--detect.source.path=/rejected"), output);
+
+        assertEquals(7, exitCode);
+        assertTrue(new String(output.toByteArray(), StandardCharsets.UTF_8).contains("token"));
+        assertTrue(submissions.isEmpty());
+    }
+
+    @Test
+    public void testCloseRemovesToken() throws Exception {
+        assertTrue(detectDaemon.getTokenFile().isFile());
+        detectDaemon.close();
+        assertFalse(detectDaemon.getTokenFile().exists());
+    }
+
+    @Test
+    public void testSubmissionForwardsEnvironmentAndWorkingDirectory() {
+        final Map<String, String> environmentVariables = new HashMap<>();
+        environmentVariables.put("BLACKDUCK_API_TOKEN", "secret");
+        environmentVariables.put("DETECT_PROJECT_NAME", "environment");
+        environmentVariables.put("DETECT_DAEMON_SUBMIT_PORT", "9000");
+        environmentVariables.put("PATH", "/usr/bin");
+        final String[] args = { "--detect.daemon.submit.port=9000", "--detect.project.name=command-line" };
+
+        final List<String> submission = DetectDaemonClient.createSubmission(args, environmentVariables, new File("/work"));
+
+        assertEquals(Arrays.asList("--blackduck.api.token=secret", "--detect.source.path=" + new File("/work").getAbsolutePath(), "--detect.project.name=command-line"), submission);
+    }
+
+    @Test
+    public void testSubmissionResolvesRelativePaths() {
+        final File workingDirectory = new File("/work");
+        final Map<String, String> environmentVariables = Collections.singletonMap("DETECT_OUTPUT_PATH", "out");
+        final String[] args = { "--detect.source.path=sub", "--detect.bdio.output.path=/tmp/bdio", "--detect.blackduck.signature.scanner.paths=a, /b", "--detect.maven.path=mvn",
+            "--detect.gradle.path=tools/gradle", "--detect.notices.report.path=~/reports", "--detect.hub.signature.scanner.local.path=scanner", "--detect.project.name=sub" };
+
+        final List<String> submission = DetectDaemonClient.createSubmission(args, environmentVariables, workingDirectory);
+
+        assertEquals(Arrays.asList("--detect.output.path=" + new File(workingDirectory, "out").getAbsolutePath(),
+            "--detect.source.path=" + new File(workingDirectory, "sub").getAbsolutePath(),
+            "--detect.bdio.output.path=/tmp/bdio",
+            "--detect.blackduck.signature.scanner.paths=" + new File(workingDirectory, "a").getAbsolutePath() + ",/b",
+            "--detect.maven.path=mvn",
+            "--detect.gradle.path=" + new File(workingDirectory, "tools/gradle").getAbsolutePath(),
+            "--detect.notices.report.path=~/reports",
+            "--detect.hub.signature.scanner.local.path=" + new File(workingDirectory, "scanner").getAbsolutePath(),
+            "--detect.project.name=sub"), submission);
+    }
+
+    @Test
+    public void testFindsSubmitPort() {
+        assertEquals(Integer.valueOf(9000), DetectDaemonClient.findSubmitPort(new String[] { "--detect.daemon.submit.port=9000" }, Collections.emptyMap()).get());
+        assertEquals(Integer.valueOf(9001), DetectDaemonClient.findSubmitPort(new String[0], Collections.singletonMap("DETECT_DAEMON_SUBMIT_PORT", "9001")).get());
+        assertFalse(DetectDaemonClient.findSubmitPort(new String[] { "--detect.daemon.port=9000" }, Collections.emptyMap()).isPresent());
+    }
+}
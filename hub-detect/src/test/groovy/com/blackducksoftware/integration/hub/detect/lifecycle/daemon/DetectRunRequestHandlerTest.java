@@ -0,0 +1,76 @@
+package com.blackducksoftware.integration.hub.detect.lifecycle.daemon;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.SimpleCommandLinePropertySource;
+import org.springframework.core.env.StandardEnvironment;
+
+import com.blackducksoftware.integration.hub.detect.lifecycle.DetectRunner;
+
+import ch.qos.logback.classic.Level;
+
+public class DetectRunRequestHandlerTest {
+    @Test
+    public void testSubmittedPropertiesOverrideDaemonProperties() {
+        final StandardEnvironment daemonEnvironment = new StandardEnvironment();
+        daemonEnvironment.getPropertySources().addFirst(new SimpleCommandLinePropertySource("--blackduck.url=https://daemon", "--detect.project.name=daemon"));
+        final String[] observed = new String[3];
+        final DetectRunner detectRunner = new DetectRunner() {
+            @Override
+            public int run(final String[] sourceArgs, final ConfigurableEnvironment environment) {
+                observed[0] = environment.getProperty("blackduck.url");
+                observed[1] = environment.getProperty("detect.project.name");
+                observed[2] = environment.getProperty("detect.source.path");
+                return 3;
+            }
+        };
+
+        final int exitCode = new DetectRunRequestHandler(daemonEnvironment, detectRunner).run(Arrays.asList("--detect.project.name=submitted", "--detect.source.path=/work"), new ByteArrayOutputStream());
+
+        assertEquals(3, exitCode);
+        assertEquals("https://daemon", observed[0]);
+        assertEquals("submitted", observed[1]);
+        assertEquals("/work", observed[2]);
+        assertEquals("daemon", daemonEnvironment.getProperty("detect.project.name"));
+    }
+
+    @Test
+    public void testCapturesOutputAndRestoresProcessState() {
+        final ch.qos.logback.classic.Logger detectLogger = (ch.qos.logback.classic.Logger) LoggerFactory.getLogger("com.blackducksoftware.integration");
+        final Level daemonLevel = detectLogger.getLevel();
+        final PrintStream daemonOut = System.out;
+        final DetectRunner detectRunner = new DetectRunner() {
+            @Override
+            public int run(final String[] sourceArgs, final ConfigurableEnvironment environment) {
+                LoggerFactory.getLogger(DetectRunRequestHandlerTest.class).debug("submitted debug message");
+                System.out.println("submitted standard output");
+                return 0;
+            }
+        };
+
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        new DetectRunRequestHandler(new StandardEnvironment(), detectRunner).run(Collections.singletonList("--logging.level.com.blackducksoftware.integration=DEBUG"), output);
+        final String submittedOutput = new String(output.toByteArray(), StandardCharsets.UTF_8);
+
+        assertTrue(submittedOutput.contains("submitted debug message"));
+        assertTrue(submittedOutput.contains("submitted standard output"));
+        assertSame(daemonOut, System.out);
+        assertEquals(daemonLevel, detectLogger.getLevel());
+
+        final ByteArrayOutputStream laterOutput = new ByteArrayOutputStream();
+        new DetectRunRequestHandler(new StandardEnvironment(), detectRunner).run(Collections.singletonList("--logging.level.com.blackducksoftware.integration=ERROR"), laterOutput);
+        assertFalse(new String(laterOutput.toByteArray(), StandardCharsets.UTF_8).contains("submitted debug message"));
+    }
+}
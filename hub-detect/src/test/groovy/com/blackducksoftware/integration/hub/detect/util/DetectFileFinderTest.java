@@ -6,10 +6,15 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 import java.io.File;
+import java.nio.file.Files;
+import java.util.Collections;
 
+import org.apache.commons.io.FileUtils;
 import org.junit.Test;
 
+import com.blackducksoftware.integration.hub.detect.workflow.event.EventSystem;
 import com.blackducksoftware.integration.hub.detect.workflow.file.DetectFileFinder;
+import com.blackducksoftware.integration.hub.detect.workflow.file.DirectoryIndex;
 
 public class DetectFileFinderTest {
 
@@ -47,6 +52,77 @@ public class DetectFileFinderTest {
         List<File> filesFound = finder.findAllFilesToDepth(targetDir, new StringBuilder("Maximum search depth hit during test at %s"), 2,"*.txt");
         assertEquals(1, filesFound.size());
     }
+    @Test
+    public void testIndexedFindFiles() throws Exception {
+        final File targetDir = Files.createTempDirectory("detect-file-finder").toFile();
+        targetDir.deleteOnExit();
+        new File(targetDir, "pom.xml").createNewFile();
+        new File(targetDir, "one.sln").createNewFile();
+        new File(targetDir, "two.sln").createNewFile();
+        new File(targetDir, "archive.tar.gz").createNewFile();
+
+        final DirectoryIndex directoryIndex = new DirectoryIndex(new EventSystem(), Collections.emptyList());
+        final DetectFileFinder finder = new DetectFileFinder(directoryIndex);
+        assertEquals("pom.xml", finder.findFile(targetDir, "pom.xml").getName());
+        assertEquals(2, finder.findFiles(targetDir, "*.sln").size());
+        assertEquals(1, finder.findFiles(targetDir, "*.tar.gz").size());
+        assertEquals(null, finder.findFile(targetDir, "build.gradle"));
+
+        new File(targetDir, "build.gradle").createNewFile();
+        assertEquals(null, finder.findFile(targetDir, "build.gradle"));
+        directoryIndex.invalidate(targetDir);
+        assertEquals("build.gradle", finder.findFile(targetDir, "build.gradle").getName());
+
+        for (final File file : targetDir.listFiles()) {
+            file.delete();
+        }
+        targetDir.delete();
+    }
+
+    @Test
+    public void testIndexKeepsMostRecentListings() throws Exception {
+        final File targetDir = Files.createTempDirectory("detect-directory-index").toFile();
+        final File first = new File(targetDir, "first");
+        final File second = new File(targetDir, "second");
+        final File third = new File(targetDir, "third");
+        first.mkdirs();
+        second.mkdirs();
+        third.mkdirs();
+
+        final DirectoryIndex directoryIndex = new DirectoryIndex(new EventSystem(), Collections.emptyList(), 2);
+        directoryIndex.getListing(first);
+        directoryIndex.getListing(second);
+        directoryIndex.getListing(first);
+        directoryIndex.getListing(third);
+        assertEquals(2, directoryIndex.size());
+
+        new File(second, "pom.xml").createNewFile();
+        new File(first, "pom.xml").createNewFile();
+        final DetectFileFinder finder = new DetectFileFinder(directoryIndex);
+        assertEquals(null, finder.findFile(first, "pom.xml"));
+        assertEquals("pom.xml", finder.findFile(second, "pom.xml").getName());
+
+        FileUtils.deleteQuietly(targetDir);
+    }
+
+    @Test
+    public void testClosedIndexListsDirectly() throws Exception {
+        final File targetDir = Files.createTempDirectory("detect-closed-index").toFile();
+        new File(targetDir, "pom.xml").createNewFile();
+
+        final DirectoryIndex directoryIndex = new DirectoryIndex(new EventSystem(), Collections.emptyList());
+        final DetectFileFinder finder = new DetectFileFinder(directoryIndex);
+        assertEquals(null, finder.findFile(targetDir, "build.gradle"));
+        directoryIndex.close();
+        assertEquals(0, directoryIndex.size());
+
+        new File(targetDir, "build.gradle").createNewFile();
+        assertEquals("build.gradle", finder.findFile(targetDir, "build.gradle").getName());
+        assertEquals(0, directoryIndex.size());
+
+        FileUtils.deleteQuietly(targetDir);
+    }
+
     @Test
     public void testFindAllFilesToDepthSimpleMsgString() {
         final DetectFileFinder finder = new DetectFileFinder();
@@ -0,0 +1,107 @@
+package com.blackducksoftware.integration.hub.detect.util.executable;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang3.SystemUtils;
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ExecutablePathIndexTest {
+    private File first;
+    private File second;
+    private String path;
+
+    @Before
+    public void setUp() throws IOException {
+        Assume.assumeFalse(SystemUtils.IS_OS_WINDOWS);
+        first = Files.createTempDirectory("detect-path-first").toFile();
+        second = Files.createTempDirectory("detect-path-second").toFile();
+        path = first.getAbsolutePath() + File.pathSeparator + second.getAbsolutePath();
+    }
+
+    @After
+    public void tearDown() {
+        FileUtils.deleteQuietly(first);
+        FileUtils.deleteQuietly(second);
+    }
+
+    @Test
+    public void testFindsFirstExecutableOnPath() throws IOException {
+        createFile(first, "tool", false);
+        final File expected = createFile(second, "tool", true);
+        new File(first, "folder").mkdirs();
+        final ExecutablePathIndex index = new ExecutablePathIndex(path, Long.MAX_VALUE);
+
+        assertEquals(expected, index.findExecutable(names("tool")).get());
+        assertFalse(index.findExecutable(names("folder")).isPresent());
+
+        final File preferred = createFile(first, "other", true);
+        createFile(second, "other", true);
+        assertEquals(preferred, index.findExecutable(names("other")).get());
+    }
+
+    @Test
+    public void testCachesMisses() throws IOException {
+        final ExecutablePathIndex index = new ExecutablePathIndex(path, Long.MAX_VALUE);
+        assertFalse(index.findExecutable(names("rebar3")).isPresent());
+
+        createFile(first, "rebar3", true);
+
+        assertFalse(index.findExecutable(names("rebar3")).isPresent());
+        assertTrue(ExecutablePathIndex.findExecutable(path, names("rebar3")).isPresent());
+    }
+
+    @Test
+    public void testRechecksExpiredMissesAndRemovedExecutables() throws IOException {
+        final ExecutablePathIndex index = new ExecutablePathIndex(path, 0);
+        assertFalse(index.findExecutable(names("cpan")).isPresent());
+
+        final File installed = createFile(second, "cpan", true);
+        assertEquals(installed, index.findExecutable(names("cpan")).get());
+
+        installed.delete();
+        final File reinstalled = createFile(first, "cpan", true);
+        assertEquals(reinstalled, index.findExecutable(names("cpan")).get());
+    }
+
+    @Test
+    public void testSearchesCandidatesWithinEachDirectory() throws IOException {
+        final File expected = createFile(first, "mvn.exe", true);
+        createFile(second, "mvn.cmd", true);
+        final ExecutablePathIndex index = new ExecutablePathIndex(path, Long.MAX_VALUE);
+
+        assertEquals(expected, index.findExecutable(Arrays.asList("mvn.cmd", "mvn.bat", "mvn.exe")).get());
+    }
+
+    @Test
+    public void testSharesIndexForSamePath() {
+        assertSame(ExecutablePathIndex.forPath(path), ExecutablePathIndex.forPath(path));
+        final Optional<File> missing = ExecutablePathIndex.forPath(null).findExecutable(names("tool"));
+        assertFalse(missing.isPresent());
+    }
+
+    private List<String> names(final String name) {
+        return Collections.singletonList(name);
+    }
+
+    private File createFile(final File directory, final String name, final boolean executable) throws IOException {
+        final File file = new File(directory, name);
+        FileUtils.writeStringToFile(file, "#!/bin/sh\n", "UTF-8");
+        file.setExecutable(executable);
+        return file;
+    }
+}
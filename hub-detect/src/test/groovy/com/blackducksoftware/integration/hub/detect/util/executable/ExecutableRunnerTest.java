@@ -0,0 +1,79 @@
+package com.blackducksoftware.integration.hub.detect.util.executable;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.SystemUtils;
+import org.junit.Assume;
+import org.junit.Test;
+import org.slf4j.MDC;
+
+public class ExecutableRunnerTest {
+
+    @Test
+    public void testExecuteStreamingDeliversLines() throws ExecutableRunnerException {
+        Assume.assumeFalse(SystemUtils.IS_OS_WINDOWS);
+
+        final List<String> lines = new ArrayList<>();
+        final Executable executable = new Executable(new File("."), "sh", Arrays.asList("-c", "printf 'one\\ntwo\\nthree\\n'; printf 'oops' 1>&2"));
+        final ExecutableOutput output = new ExecutableRunner().executeStreaming(executable, lines::add);
+
+        assertEquals(Arrays.asList("one", "two", "three"), lines);
+        assertEquals("", output.getStandardOutput());
+        assertEquals("oops", output.getErrorOutput());
+        assertEquals(0, output.getReturnCode());
+    }
+
+    @Test(expected = ExecutableRunnerException.class)
+    public void testExecuteStreamingReportsConsumerFailure() throws ExecutableRunnerException {
+        Assume.assumeFalse(SystemUtils.IS_OS_WINDOWS);
+
+        final Executable executable = new Executable(new File("."), "sh", Arrays.asList("-c", "printf 'one\\ntwo\\n'"));
+        new ExecutableRunner().executeStreaming(executable, line -> {
+            throw new IllegalStateException("Could not parse " + line);
+        });
+    }
+
+    @Test
+    public void testSpoolMovesToFilePastThreshold() throws Exception {
+        final ExecutableOutputSpool spool = new ExecutableOutputSpool(10);
+        spool.accept("first");
+        assertFalse(spool.isSpooled());
+        spool.accept("second line");
+        spool.accept("third");
+        assertTrue(spool.isSpooled());
+        assertTrue(spool.hasContent());
+
+        try (Reader reader = spool.openReader()) {
+            final String separator = System.lineSeparator();
+            assertEquals("first" + separator + "second line" + separator + "third" + separator, IOUtils.toString(reader));
+        }
+        spool.close();
+    }
+
+    @Test
+    public void testStreamThreadKeepsCallerMdc() throws Exception {
+        final List<String> extractionIds = new ArrayList<>();
+        MDC.put("extractionId", "NPM-0");
+        try {
+            final ExecutableStreamThread thread = new ExecutableStreamThread(new ByteArrayInputStream("one\ntwo\n".getBytes(StandardCharsets.UTF_8)), line -> extractionIds.add(MDC.get("extractionId")), line -> {
+            });
+            thread.start();
+            thread.join();
+        } finally {
+            MDC.remove("extractionId");
+        }
+
+        assertEquals(Arrays.asList("NPM-0", "NPM-0"), extractionIds);
+    }
+}
@@ -0,0 +1,270 @@
+package com.blackducksoftware.integration.hub.detect.workflow;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.synopsys.integration.exception.IntegrationException;
+
+public class ArtifactCacheTest {
+    private final Map<String, byte[]> artifacts = new ConcurrentHashMap<>();
+    private final Map<String, String> advertisedSha256 = new ConcurrentHashMap<>();
+    private final AtomicInteger requests = new AtomicInteger();
+    private HttpServer server;
+    private String serverUrl;
+    private File cacheDirectory;
+
+    @Before
+    public void setUp() throws IOException {
+        cacheDirectory = Files.createTempDirectory("detect-artifact-cache").toFile();
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/artifacts/", this::handleDownload);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+        serverUrl = "http://127.0.0.1:" + server.getAddress().getPort() + "/artifacts/";
+    }
+
+    @After
+    public void tearDown() {
+        server.stop(0);
+        FileUtils.deleteQuietly(cacheDirectory);
+    }
+
+    @Test
+    public void testConcurrentRunsDownloadOnce() throws Exception {
+        final byte[] content = createContent('a', 200000);
+        artifacts.put("inspector.jar", content);
+
+        // Every thread uses its own cache instance, like separate detect runs sharing the tools directory.
+        final int runs = 8;
+        final CountDownLatch start = new CountDownLatch(1);
+        final ExecutorService executorService = Executors.newFixedThreadPool(runs);
+        try {
+            final List<Future<File>> futures = new ArrayList<>();
+            for (int i = 0; i < runs; i++) {
+                futures.add(executorService.submit(() -> {
+                    start.await();
+                    return fetch(new ArtifactCache(cacheDirectory, Long.MAX_VALUE), "inspector.jar");
+                }));
+            }
+            start.countDown();
+            for (final Future<File> future : futures) {
+                final File artifact = future.get(30, TimeUnit.SECONDS);
+                assertEquals("inspector.jar", artifact.getName());
+                assertEquals(sha256(content), sha256(Files.readAllBytes(artifact.toPath())));
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+        assertEquals(1, requests.get());
+    }
+
+    @Test
+    public void testCorruptedArtifactIsDownloadedAgain() throws Exception {
+        final byte[] content = createContent('b', 1000);
+        artifacts.put("inspector.nupkg", content);
+        final ArtifactCache artifactCache = new ArtifactCache(cacheDirectory, Long.MAX_VALUE);
+
+        final File artifact = fetch(artifactCache, "inspector.nupkg");
+        Files.write(artifact.toPath(), createContent('b', 500));
+        final File refetched = fetch(artifactCache, "inspector.nupkg");
+
+        assertEquals(2, requests.get());
+        assertEquals(sha256(content), sha256(Files.readAllBytes(refetched.toPath())));
+    }
+
+    @Test
+    public void testChecksumMismatchIsNotCached() throws Exception {
+        artifacts.put("inspector.jar", createContent('c', 1000));
+        advertisedSha256.put("inspector.jar", sha256(createContent('d', 1000)));
+        final ArtifactCache artifactCache = new ArtifactCache(cacheDirectory, Long.MAX_VALUE);
+
+        try {
+            fetch(artifactCache, "inspector.jar");
+            fail("Expected the checksum mismatch to fail the download.");
+        } catch (final IntegrationException e) {
+            assertTrue(e.getMessage().contains("SHA-256"));
+        }
+
+        advertisedSha256.remove("inspector.jar");
+        fetch(artifactCache, "inspector.jar");
+        assertEquals(2, requests.get());
+    }
+
+    @Test
+    public void testEvictsLeastRecentlyUsed() throws Exception {
+        final byte[] first = createContent('e', 100);
+        final byte[] second = createContent('f', 100);
+        final byte[] third = createContent('g', 100);
+        artifacts.put("first.jar", first);
+        artifacts.put("second.jar", second);
+        artifacts.put("third.jar", third);
+        final ArtifactCache artifactCache = new ArtifactCache(cacheDirectory, 250);
+
+        final File firstArtifact = fetch(artifactCache, "first.jar");
+        final File secondArtifact = fetch(artifactCache, "second.jar");
+        final long now = System.currentTimeMillis();
+        firstArtifact.getParentFile().setLastModified(now - TimeUnit.DAYS.toMillis(3));
+        secondArtifact.getParentFile().setLastModified(now - TimeUnit.DAYS.toMillis(2));
+        fetch(artifactCache, "first.jar");
+        final File thirdArtifact = fetch(artifactCache, "third.jar");
+
+        assertTrue(firstArtifact.exists());
+        assertFalse(secondArtifact.exists());
+        assertTrue(thirdArtifact.exists());
+        assertEquals(3, requests.get());
+    }
+
+    @Test
+    public void testDoesNotEvictRecentlyUsedArtifact() throws Exception {
+        artifacts.put("first.jar", createContent('j', 100));
+        artifacts.put("second.jar", createContent('k', 100));
+        final ArtifactCache artifactCache = new ArtifactCache(cacheDirectory, 150);
+
+        // The run that fetched the first artifact may still be using it after its lock was released.
+        final File firstArtifact = fetch(artifactCache, "first.jar");
+        final File secondArtifact = fetch(artifactCache, "second.jar");
+
+        assertTrue(firstArtifact.exists());
+        assertTrue(secondArtifact.exists());
+    }
+
+    @Test
+    public void testDoesNotEvictLockedArtifact() throws Exception {
+        artifacts.put("first.jar", createContent('h', 100));
+        artifacts.put("second.jar", createContent('i', 100));
+        final ArtifactCache artifactCache = new ArtifactCache(cacheDirectory, 150);
+        final File firstArtifact = fetch(artifactCache, "first.jar");
+        firstArtifact.getParentFile().setLastModified(System.currentTimeMillis() - TimeUnit.DAYS.toMillis(2));
+
+        // Another run holds the lock of the stored artifact, the way it does while fetching or extracting it.
+        final CountDownLatch locked = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final ExecutorService executorService = Executors.newSingleThreadExecutor();
+        try {
+            final Future<?> otherRun = executorService.submit(() -> {
+                final ArtifactCache.ArtifactCacheLock lock = new ArtifactCache(cacheDirectory, 150).lock("objects/" + firstArtifact.getParentFile().getName());
+                try {
+                    locked.countDown();
+                    release.await();
+                } finally {
+                    lock.close();
+                }
+                return null;
+            });
+            locked.await();
+            fetch(artifactCache, "second.jar");
+            assertTrue(firstArtifact.exists());
+
+            release.countDown();
+            otherRun.get(30, TimeUnit.SECONDS);
+        } finally {
+            executorService.shutdownNow();
+        }
+
+        fetch(artifactCache, "second.jar");
+        assertFalse(firstArtifact.exists());
+    }
+
+    @Test
+    public void testExtractsOnce() throws Exception {
+        artifacts.put("inspector.nupkg", createZip("tools/inspector.dll", "inspector"));
+        final ArtifactCache artifactCache = new ArtifactCache(cacheDirectory, Long.MAX_VALUE);
+
+        final File extracted = artifactCache.fetchExtracted(serverUrl + "inspector.nupkg", "inspector.nupkg", file -> download("inspector.nupkg", file));
+        final File extractedAgain = artifactCache.fetchExtracted(serverUrl + "inspector.nupkg", "inspector.nupkg", file -> download("inspector.nupkg", file));
+
+        assertEquals(extracted, extractedAgain);
+        assertEquals("inspector", new String(Files.readAllBytes(new File(extracted, "tools/inspector.dll").toPath()), StandardCharsets.UTF_8));
+        assertEquals(1, requests.get());
+    }
+
+    private File fetch(final ArtifactCache artifactCache, final String name) throws Exception {
+        return artifactCache.fetch(serverUrl + name, name, file -> download(name, file));
+    }
+
+    private Optional<String> download(final String name, final File file) throws IOException {
+        final HttpURLConnection connection = (HttpURLConnection) new URL(serverUrl + name).openConnection();
+        try (InputStream inputStream = connection.getInputStream()) {
+            FileUtils.copyInputStreamToFile(inputStream, file);
+        }
+        return Optional.ofNullable(connection.getHeaderField("X-Checksum-Sha256"));
+    }
+
+    // Slow enough that concurrent downloads of the same artifact would overlap.
+    private void handleDownload(final HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        final String name = exchange.getRequestURI().getPath().substring("/artifacts/".length());
+        final byte[] content = artifacts.get(name);
+        if (advertisedSha256.containsKey(name)) {
+            exchange.getResponseHeaders().add("X-Checksum-Sha256", advertisedSha256.get(name));
+        }
+        exchange.sendResponseHeaders(200, content.length);
+        try (OutputStream outputStream = exchange.getResponseBody()) {
+            final int half = content.length / 2;
+            outputStream.write(content, 0, half);
+            outputStream.flush();
+            Thread.sleep(100);
+            outputStream.write(content, half, content.length - half);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private byte[] createContent(final char character, final int length) {
+        final byte[] content = new byte[length];
+        for (int i = 0; i < length; i++) {
+            content[i] = (byte) (character + i % 7);
+        }
+        return content;
+    }
+
+    private byte[] createZip(final String entryName, final String entryContent) throws IOException {
+        final File zipFile = new File(cacheDirectory, "test.zip");
+        try (ZipOutputStream zipOutputStream = new ZipOutputStream(Files.newOutputStream(zipFile.toPath()))) {
+            zipOutputStream.putNextEntry(new ZipEntry(entryName));
+            zipOutputStream.write(entryContent.getBytes(StandardCharsets.UTF_8));
+            zipOutputStream.closeEntry();
+        }
+        final byte[] content = Files.readAllBytes(zipFile.toPath());
+        zipFile.delete();
+        return content;
+    }
+
+    private String sha256(final byte[] content) throws Exception {
+        return String.format("%064x", new BigInteger(1, MessageDigest.getInstance("SHA-256").digest(content)));
+    }
+}
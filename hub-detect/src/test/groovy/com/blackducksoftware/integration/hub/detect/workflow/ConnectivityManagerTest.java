@@ -0,0 +1,123 @@
+package com.blackducksoftware.integration.hub.detect.workflow;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.blackducksoftware.integration.hub.detect.DetectInfo;
+import com.blackducksoftware.integration.hub.detect.exception.DetectUserFriendlyException;
+import com.blackducksoftware.integration.hub.detect.exitcode.ExitCodeType;
+import com.blackducksoftware.integration.hub.detect.lifecycle.boot.ConnectivityChecker;
+import com.blackducksoftware.integration.hub.detect.workflow.event.EventSystem;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.gson.Gson;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.synopsys.integration.blackduck.configuration.BlackDuckServerConfig;
+
+public class ConnectivityManagerTest {
+    private final CountDownLatch serverReleased = new CountDownLatch(1);
+    private HttpServer server;
+    private String serverUrl;
+    private int authenticationStatus = 204;
+
+    @Before
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/j_spring_security_check", this::handleAuthentication);
+        server.createContext("/api/current-version", exchange -> respond(exchange, 200, "{\"version\":\"2019.2.0\"}"));
+        server.start();
+        serverUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    @After
+    public void tearDown() {
+        serverReleased.countDown();
+        server.stop(0);
+    }
+
+    @Test
+    public void testLocalWorkDoesNotWaitForServer() throws Exception {
+        final long startTime = System.currentTimeMillis();
+        final ConnectivityManager connectivityManager = createBackgroundConnectivityManager(false);
+        final long bootTime = System.currentTimeMillis() - startTime;
+
+        // The server holds the authentication request for up to ten seconds, so creating the manager only returns this quickly if the check runs in the background.
+        assertTrue(connectivityManager.isCheckedInBackground());
+        assertTrue("Creating the connectivity manager took " + bootTime + " ms.", bootTime < 5000);
+        serverReleased.countDown();
+
+        assertTrue(connectivityManager.awaitConnectivity());
+        assertTrue(connectivityManager.isDetectOnline());
+        assertTrue(connectivityManager.getBlackDuckServicesFactory().isPresent());
+        assertTrue(connectivityManager.getPhoneHomeManager().isPresent());
+    }
+
+    @Test
+    public void testExitsWithoutBlackDuck() throws Exception {
+        authenticationStatus = 401;
+        final ConnectivityManager connectivityManager = createBackgroundConnectivityManager(true);
+        serverReleased.countDown();
+
+        assertFalse(connectivityManager.awaitConnectivity());
+        assertFalse(connectivityManager.isDetectOnline());
+        assertFalse(connectivityManager.getBlackDuckServicesFactory().isPresent());
+    }
+
+    @Test
+    public void testFailsWithoutBlackDuck() throws Exception {
+        authenticationStatus = 401;
+        final ConnectivityManager connectivityManager = createBackgroundConnectivityManager(false);
+        serverReleased.countDown();
+
+        try {
+            connectivityManager.awaitConnectivity();
+            fail("Expected the failed connection to fail the run.");
+        } catch (final DetectUserFriendlyException e) {
+            assertEquals(ExitCodeType.FAILURE_HUB_CONNECTIVITY, e.getExitCodeType());
+        }
+    }
+
+    private ConnectivityManager createBackgroundConnectivityManager(final boolean disableWithoutBlackDuck) {
+        final BlackDuckServerConfig blackDuckServerConfig = BlackDuckServerConfig.newBuilder().setUrl(serverUrl).setUsername("user").setPassword("password").setTimeout(10).build();
+        final ConnectivityChecker connectivityChecker = new ConnectivityChecker();
+        final DetectInfo detectInfo = new DetectInfo("5.3.0", 5, null);
+        return ConnectivityManager.background(() -> {
+            return connectivityChecker.createConnectivityManager(
+                connectivityChecker.determineConnectivity(blackDuckServerConfig, Collections.emptyMap(), detectInfo, new Gson(), new ObjectMapper(), new EventSystem()), disableWithoutBlackDuck);
+        });
+    }
+
+    private void handleAuthentication(final HttpExchange exchange) throws IOException {
+        try {
+            serverReleased.await(10, TimeUnit.SECONDS);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        exchange.getResponseHeaders().add("X-CSRF-TOKEN", "token");
+        exchange.sendResponseHeaders(authenticationStatus, -1);
+        exchange.close();
+    }
+
+    private void respond(final HttpExchange exchange, final int status, final String body) throws IOException {
+        final byte[] content = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, content.length);
+        try (OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write(content);
+        }
+    }
+}
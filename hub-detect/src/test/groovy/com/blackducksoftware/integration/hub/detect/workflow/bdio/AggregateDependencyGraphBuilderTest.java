@@ -0,0 +1,111 @@
+package com.blackducksoftware.integration.hub.detect.workflow.bdio;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.junit.Test;
+
+import com.blackducksoftware.integration.hub.detect.workflow.codelocation.CompactDependencyGraph;
+import com.synopsys.integration.bdio.SimpleBdioFactory;
+import com.synopsys.integration.bdio.graph.DependencyGraph;
+import com.synopsys.integration.bdio.graph.MutableDependencyGraph;
+import com.synopsys.integration.bdio.model.Forge;
+import com.synopsys.integration.bdio.model.dependency.Dependency;
+
+public class AggregateDependencyGraphBuilderTest {
+    private final SimpleBdioFactory simpleBdioFactory = new SimpleBdioFactory();
+
+    @Test
+    public void testSameGraphAsCombiningCodeLocations() {
+        final MutableDependencyGraph combined = simpleBdioFactory.createMutableDependencyGraph();
+        final AggregateDependencyGraphBuilder builder = new AggregateDependencyGraphBuilder();
+        for (int codeLocation = 0; codeLocation < 3; codeLocation++) {
+            final Dependency codeLocationDependency = createDependency("codeLocation" + codeLocation);
+            final DependencyGraph graph = createGraph(codeLocation);
+            combined.addChildrenToRoot(codeLocationDependency);
+            combined.addGraphAsChildrenToParent(codeLocationDependency, graph);
+            builder.addCodeLocation(codeLocationDependency, graph);
+        }
+
+        assertEquals(describe(combined), describe(builder.getAggregateDependencyGraph()));
+        assertEquals(23, builder.getDependencyCount());
+        assertEquals(40, builder.getDuplicateDependencies());
+    }
+
+    @Test
+    public void testDuplicatesShareOneInstance() {
+        final AggregateDependencyGraphBuilder builder = new AggregateDependencyGraphBuilder();
+        builder.addCodeLocation(createDependency("first"), createGraph(0));
+        builder.addCodeLocation(createDependency("second"), createGraph(1));
+
+        final DependencyGraph aggregate = builder.getAggregateDependencyGraph();
+        final Dependency fromFirst = aggregate.getChildrenForParent(createDependency("first")).iterator().next();
+        final Dependency fromSecond = aggregate.getDependency(fromFirst.externalId);
+        assertSame(fromFirst, fromSecond);
+    }
+
+    // A compact graph creates new instances on every read, the graph has shared children and every component is part of a cycle.
+    @Test(timeout = 30000)
+    public void testCompactGraphWithSharedAndCyclicChildren() {
+        final MutableDependencyGraph combined = simpleBdioFactory.createMutableDependencyGraph();
+        final AggregateDependencyGraphBuilder builder = new AggregateDependencyGraphBuilder();
+        final Dependency codeLocationDependency = createDependency("codeLocation");
+        final DependencyGraph graph = createGraph(1);
+        combined.addChildrenToRoot(codeLocationDependency);
+        combined.addGraphAsChildrenToParent(codeLocationDependency, graph);
+        builder.addCodeLocation(codeLocationDependency, CompactDependencyGraph.copyOf(graph));
+
+        assertEquals(describe(combined), describe(builder.getAggregateDependencyGraph()));
+        assertEquals(21, builder.getDependencyCount());
+        assertEquals(0, builder.getDuplicateDependencies());
+    }
+
+    // Every code location has its own instances of the shared components, as they would when parsed by separate extractions.
+    private DependencyGraph createGraph(final int codeLocation) {
+        final MutableDependencyGraph graph = simpleBdioFactory.createMutableDependencyGraph();
+        final Dependency[] dependencies = new Dependency[20];
+        for (int i = 0; i < dependencies.length; i++) {
+            dependencies[i] = createDependency("component" + i);
+        }
+        graph.addChildToRoot(dependencies[codeLocation]);
+        graph.addChildToRoot(dependencies[10]);
+        for (int i = 0; i < dependencies.length - 1; i++) {
+            graph.addParentWithChild(dependencies[i], dependencies[(i + codeLocation + 1) % dependencies.length]);
+        }
+        return graph;
+    }
+
+    private Dependency createDependency(final String name) {
+        return simpleBdioFactory.createDependency(name, "1.0", simpleBdioFactory.createNameVersionExternalId(Forge.MAVEN, name, "1.0"));
+    }
+
+    private Map<String, Set<String>> describe(final DependencyGraph graph) {
+        final Map<String, Set<String>> children = new HashMap<>();
+        final Deque<Dependency> toVisit = new ArrayDeque<>(graph.getRootDependencies());
+        children.put("root", bdioIds(graph.getRootDependencies()));
+        while (!toVisit.isEmpty()) {
+            final Dependency parent = toVisit.pop();
+            if (!children.containsKey(parent.externalId.createBdioId())) {
+                final Set<Dependency> parentChildren = graph.getChildrenForParent(parent);
+                children.put(parent.externalId.createBdioId(), bdioIds(parentChildren));
+                toVisit.addAll(parentChildren);
+            }
+        }
+        return children;
+    }
+
+    private Set<String> bdioIds(final Set<Dependency> dependencies) {
+        final Set<String> bdioIds = new TreeSet<>();
+        for (final Dependency dependency : dependencies) {
+            bdioIds.add(dependency.externalId.createBdioId());
+        }
+        return bdioIds;
+    }
+}
@@ -0,0 +1,108 @@
+package com.blackducksoftware.integration.hub.detect.workflow.bdio;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.zip.GZIPInputStream;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.blackducksoftware.integration.hub.detect.DetectInfo;
+import com.blackducksoftware.integration.hub.detect.exception.DetectUserFriendlyException;
+import com.synopsys.integration.bdio.SimpleBdioFactory;
+import com.synopsys.integration.bdio.graph.MutableDependencyGraph;
+import com.synopsys.integration.bdio.model.Forge;
+import com.synopsys.integration.bdio.model.SimpleBdioDocument;
+import com.synopsys.integration.bdio.model.SpdxCreator;
+import com.synopsys.integration.bdio.model.dependency.Dependency;
+import com.synopsys.integration.bdio.model.externalid.ExternalId;
+import com.synopsys.integration.util.NameVersion;
+
+public class DetectBdioWriterTest {
+    private final SimpleBdioFactory simpleBdioFactory = new SimpleBdioFactory();
+    private final DetectInfo detectInfo = new DetectInfo("5.3.0", 5, null);
+    private final NameVersion projectNameVersion = new NameVersion("project", "1.0.0");
+    private final ExternalId projectExternalId = simpleBdioFactory.createNameVersionExternalId(Forge.MAVEN, "project", "1.0.0");
+    private File tempDirectory;
+
+    @Before
+    public void setUp() throws IOException {
+        tempDirectory = Files.createTempDirectory("detect-bdio-writer").toFile();
+    }
+
+    @After
+    public void tearDown() {
+        FileUtils.deleteQuietly(tempDirectory);
+    }
+
+    @Test
+    public void testSameOutputAsSimpleBdioFactory() throws IOException, DetectUserFriendlyException {
+        final MutableDependencyGraph graph = createGraph();
+        final File streamed = new DetectBdioWriter(simpleBdioFactory, detectInfo).writeBdioFile(new File(tempDirectory, "streamed.jsonld"), "codeLocation", projectNameVersion, projectExternalId, graph).getFile();
+
+        final SimpleBdioDocument simpleBdioDocument = simpleBdioFactory.createSimpleBdioDocument("codeLocation", "project", "1.0.0", projectExternalId, graph);
+        simpleBdioDocument.billOfMaterials.creationInfo.setPrimarySpdxCreator(SpdxCreator.createToolSpdxCreator("Detect", "5.3.0"));
+        final File materialized = new File(tempDirectory, "materialized.jsonld");
+        simpleBdioFactory.writeSimpleBdioDocumentToFile(materialized, simpleBdioDocument);
+
+        assertEquals(withoutCreation(FileUtils.readFileToString(materialized, StandardCharsets.UTF_8)), withoutCreation(FileUtils.readFileToString(streamed, StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    public void testCompressed() throws IOException, DetectUserFriendlyException {
+        final MutableDependencyGraph graph = createGraph();
+        final File uncompressed = new DetectBdioWriter(simpleBdioFactory, detectInfo).writeBdioFile(new File(tempDirectory, "bdio.jsonld"), "codeLocation", projectNameVersion, projectExternalId, graph).getFile();
+        final File compressed = new DetectBdioWriter(simpleBdioFactory, detectInfo, true).writeBdioFile(new File(tempDirectory, "bdio.jsonld"), "codeLocation", projectNameVersion, projectExternalId, graph).getFile();
+
+        assertEquals("bdio.jsonld.gz", compressed.getName());
+        try (InputStream inputStream = new GZIPInputStream(Files.newInputStream(compressed.toPath()))) {
+            assertEquals(withoutCreation(FileUtils.readFileToString(uncompressed, StandardCharsets.UTF_8)), withoutCreation(IOUtils.toString(inputStream, StandardCharsets.UTF_8)));
+        }
+    }
+
+    @Test
+    public void testContentHash() throws IOException, DetectUserFriendlyException {
+        final DetectBdioWriter detectBdioWriter = new DetectBdioWriter(simpleBdioFactory, detectInfo);
+        final BdioFile first = detectBdioWriter.writeBdioFile(new File(tempDirectory, "first.jsonld"), "codeLocation", projectNameVersion, projectExternalId, createGraph());
+        final BdioFile second = detectBdioWriter.writeBdioFile(new File(tempDirectory, "second.jsonld"), "codeLocation", projectNameVersion, projectExternalId, createGraph());
+        assertEquals(first.getContentHash(), second.getContentHash());
+
+        final MutableDependencyGraph changedGraph = createGraph();
+        changedGraph.addChildToRoot(simpleBdioFactory.createDependency("added", "1.0", simpleBdioFactory.createMavenExternalId("group", "added", "1.0")));
+        final BdioFile changed = detectBdioWriter.writeBdioFile(new File(tempDirectory, "changed.jsonld"), "codeLocation", projectNameVersion, projectExternalId, changedGraph);
+        assertNotEquals(first.getContentHash(), changed.getContentHash());
+
+        final BdioFile renamed = detectBdioWriter.writeBdioFile(new File(tempDirectory, "renamed.jsonld"), "otherCodeLocation", projectNameVersion, projectExternalId, createGraph());
+        assertNotEquals(first.getContentHash(), renamed.getContentHash());
+    }
+
+    // Every bill of materials gets a random id and the time it was created.
+    private String withoutCreation(final String bdio) {
+        return bdio.replaceFirst("\"uuid:[0-9a-f-]+\"", "\"uuid\"").replaceFirst("\"spdx:created\": \"[^\"]+\"", "\"spdx:created\": \"\"");
+    }
+
+    private MutableDependencyGraph createGraph() {
+        final MutableDependencyGraph graph = simpleBdioFactory.createMutableDependencyGraph();
+        final Dependency[] dependencies = new Dependency[50];
+        for (int i = 0; i < dependencies.length; i++) {
+            dependencies[i] = simpleBdioFactory.createDependency("component" + i, "1." + i, simpleBdioFactory.createMavenExternalId("group", "component" + i, "1." + i));
+        }
+        for (int i = 0; i < dependencies.length; i++) {
+            if (i % 10 == 0) {
+                graph.addChildToRoot(dependencies[i]);
+            }
+            graph.addParentWithChild(dependencies[i], dependencies[(i * 7 + 3) % dependencies.length]);
+            graph.addParentWithChild(dependencies[i], dependencies[(i + 1) % dependencies.length]);
+        }
+        return graph;
+    }
+}
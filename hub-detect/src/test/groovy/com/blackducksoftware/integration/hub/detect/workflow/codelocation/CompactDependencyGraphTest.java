@@ -0,0 +1,74 @@
+package com.blackducksoftware.integration.hub.detect.workflow.codelocation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.synopsys.integration.bdio.graph.MutableDependencyGraph;
+import com.synopsys.integration.bdio.graph.MutableMapDependencyGraph;
+import com.synopsys.integration.bdio.model.Forge;
+import com.synopsys.integration.bdio.model.dependency.Dependency;
+import com.synopsys.integration.bdio.model.externalid.ExternalId;
+import com.synopsys.integration.bdio.model.externalid.ExternalIdFactory;
+
+public class CompactDependencyGraphTest {
+    private final ExternalIdFactory externalIdFactory = new ExternalIdFactory();
+
+    @Test
+    public void testSameAnswersAsOriginal() {
+        final List<Dependency> dependencies = createDependencies();
+        final MutableDependencyGraph original = new MutableMapDependencyGraph();
+        original.addChildrenToRoot(dependencies.get(0), dependencies.get(1));
+        for (int i = 0; i < dependencies.size(); i++) {
+            original.addParentWithChild(dependencies.get(i), dependencies.get((i * 3 + 1) % dependencies.size()));
+            original.addParentWithChild(dependencies.get(i), dependencies.get((i + 2) % dependencies.size()));
+        }
+
+        final CompactDependencyGraph compact = CompactDependencyGraph.copyOf(original);
+
+        assertEquals(dependencies.size(), compact.getDependencyCount());
+        assertEquals(original.getRootDependencies(), compact.getRootDependencies());
+        assertEquals(original.getRootDependencyExternalIds(), compact.getRootDependencyExternalIds());
+        for (final Dependency dependency : dependencies) {
+            assertTrue(compact.hasDependency(dependency));
+            assertEquals(dependency, compact.getDependency(dependency.externalId));
+            assertEquals(new ArrayList<>(original.getChildrenForParent(dependency)), new ArrayList<>(compact.getChildrenForParent(dependency)));
+            assertEquals(original.getChildrenExternalIdsForParent(dependency), compact.getChildrenExternalIdsForParent(dependency));
+            assertEquals(original.getParentsForChild(dependency), compact.getParentsForChild(dependency));
+            assertEquals(original.getParentExternalIdsForChild(dependency), compact.getParentExternalIdsForChild(dependency));
+        }
+    }
+
+    @Test
+    public void testMissingDependency() {
+        final MutableDependencyGraph original = new MutableMapDependencyGraph();
+        original.addChildToRoot(new Dependency("present", "1.0", externalIdFactory.createMavenExternalId("group", "present", "1.0")));
+        final CompactDependencyGraph compact = CompactDependencyGraph.copyOf(original);
+
+        final ExternalId missing = externalIdFactory.createMavenExternalId("group", "present", "2.0");
+        assertFalse(compact.hasDependency(missing));
+        assertNull(compact.getDependency(missing));
+        assertTrue(compact.getChildrenForParent(missing).isEmpty());
+        assertTrue(compact.getParentsForChild(missing).isEmpty());
+    }
+
+    // Covers every kind of external id, with names and versions repeated across dependencies.
+    private List<Dependency> createDependencies() {
+        final List<Dependency> dependencies = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            final String version = "1." + (i % 3);
+            dependencies.add(new Dependency("maven" + i, version, externalIdFactory.createMavenExternalId("com.example", "maven" + i, version)));
+            dependencies.add(new Dependency("npm" + i, version, externalIdFactory.createNameVersionExternalId(Forge.NPM, "npm" + i, version)));
+            dependencies.add(new Dependency("rpm" + i, version, externalIdFactory.createArchitectureExternalId(Forge.CENTOS, "rpm" + i, version, "x86_64")));
+            dependencies.add(new Dependency("module" + i, version, externalIdFactory.createModuleNamesExternalId(Forge.GOLANG, "module" + i, "sub", version)));
+            dependencies.add(new Dependency("path" + i, null, externalIdFactory.createPathExternalId(Forge.GOLANG, "/path/" + i)));
+        }
+        return dependencies;
+    }
+}
@@ -0,0 +1,46 @@
+package com.blackducksoftware.integration.hub.detect.workflow.codelocation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+
+import org.junit.Test;
+
+import com.synopsys.integration.bdio.graph.MutableDependencyGraph;
+import com.synopsys.integration.bdio.graph.MutableMapDependencyGraph;
+import com.synopsys.integration.bdio.model.Forge;
+import com.synopsys.integration.bdio.model.dependency.Dependency;
+import com.synopsys.integration.bdio.model.externalid.ExternalIdFactory;
+
+public class SpilledDependencyGraphTest {
+    private final ExternalIdFactory externalIdFactory = new ExternalIdFactory();
+
+    @Test
+    public void testReadBackFromDisk() throws IOException {
+        final Dependency parent = new Dependency("parent", "1.0", externalIdFactory.createMavenExternalId("com.example", "parent", "1.0"));
+        final Dependency child = new Dependency("child", "2.0", externalIdFactory.createModuleNamesExternalId(Forge.GOLANG, "child", "sub"));
+        final Dependency unnamed = new Dependency(null, null, externalIdFactory.createPathExternalId(Forge.GOLANG, "/path/\u00e9"));
+        final MutableDependencyGraph original = new MutableMapDependencyGraph();
+        original.addChildToRoot(parent);
+        original.addParentWithChild(parent, child);
+        original.addParentWithChild(child, unnamed);
+
+        final File graphFile = File.createTempFile("detect-graph", ".graph");
+        try {
+            final SpilledDependencyGraph spilled = SpilledDependencyGraph.spill(original, graphFile);
+
+            assertEquals(original.getRootDependencies(), spilled.getRootDependencies());
+            for (final Dependency dependency : new Dependency[] { parent, child, unnamed }) {
+                assertEquals(dependency, spilled.getDependency(dependency.externalId));
+                assertEquals(new ArrayList<>(original.getChildrenForParent(dependency)), new ArrayList<>(spilled.getChildrenForParent(dependency)));
+                assertEquals(original.getParentsForChild(dependency), spilled.getParentsForChild(dependency));
+            }
+            assertTrue(Forge.GOLANG == spilled.getDependency(child.externalId).externalId.forge);
+        } finally {
+            graphFile.delete();
+        }
+    }
+}
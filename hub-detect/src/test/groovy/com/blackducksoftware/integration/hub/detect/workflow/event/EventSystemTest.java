@@ -0,0 +1,143 @@
+package com.blackducksoftware.integration.hub.detect.workflow.event;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+public class EventSystemTest {
+    private static final EventType<Integer> NUMBER = new EventType<>(Integer.class);
+    private static final EventType<Integer> SYNCHRONOUS_NUMBER = new EventType<>(Integer.class, true);
+
+    @Test
+    public void testConcurrentRegistrationAndPublishing() throws InterruptedException {
+        final EventSystem eventSystem = new EventSystem();
+        final List<Integer> received = new ArrayList<>();
+        eventSystem.registerListener(NUMBER, received::add);
+
+        final ExecutorService executorService = Executors.newFixedThreadPool(8);
+        final AtomicInteger registered = new AtomicInteger();
+        for (int i = 0; i < 1000; i++) {
+            final int number = i;
+            executorService.submit(() -> {
+                eventSystem.registerListener(NUMBER, payload -> registered.incrementAndGet());
+                eventSystem.publishEvent(NUMBER, number);
+            });
+        }
+        executorService.shutdown();
+        executorService.awaitTermination(30, TimeUnit.SECONDS);
+
+        assertEquals(1000, received.size());
+        assertNotEquals(0, registered.get());
+    }
+
+    @Test
+    public void testAsyncDispatchPreservesOrder() {
+        final EventSystem eventSystem = new EventSystem();
+        final List<Integer> received = new ArrayList<>();
+        final List<Thread> threads = new ArrayList<>();
+        eventSystem.registerListener(NUMBER, payload -> {
+            received.add(payload);
+            threads.add(Thread.currentThread());
+        });
+
+        eventSystem.startAsyncDispatch(4);
+        for (int i = 0; i < 100; i++) {
+            eventSystem.publishEvent(NUMBER, i);
+        }
+        eventSystem.flush();
+
+        assertEquals(100, received.size());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(Integer.valueOf(i), received.get(i));
+            assertNotEquals(Thread.currentThread(), threads.get(i));
+        }
+
+        eventSystem.publishEvent(NUMBER, 100);
+        eventSystem.stopAsyncDispatch();
+        eventSystem.publishEvent(NUMBER, 101);
+        assertEquals(102, received.size());
+        assertEquals(Thread.currentThread(), threads.get(101));
+    }
+
+    @Test
+    public void testSynchronousEventsDispatchOnPublishingThreadInOrder() {
+        final EventSystem eventSystem = new EventSystem();
+        final List<Integer> received = new ArrayList<>();
+        final List<Thread> threads = new ArrayList<>();
+        final EventListener<Integer> listener = payload -> {
+            received.add(payload);
+            threads.add(Thread.currentThread());
+        };
+        eventSystem.registerListener(NUMBER, listener);
+        eventSystem.registerListener(SYNCHRONOUS_NUMBER, listener);
+
+        eventSystem.startAsyncDispatch(4);
+        for (int i = 0; i < 10; i++) {
+            eventSystem.publishEvent(NUMBER, i);
+        }
+        eventSystem.publishEvent(SYNCHRONOUS_NUMBER, 10);
+
+        assertEquals(11, received.size());
+        for (int i = 0; i < 10; i++) {
+            assertEquals(Integer.valueOf(i), received.get(i));
+        }
+        assertEquals(Thread.currentThread(), threads.get(10));
+        eventSystem.stopAsyncDispatch();
+    }
+
+    @Test
+    public void testTimedListenersGetThePublishTime() throws InterruptedException {
+        final EventSystem eventSystem = new EventSystem();
+        final CountDownLatch released = new CountDownLatch(1);
+        final List<Long> published = new ArrayList<>();
+        eventSystem.registerListener(NUMBER, payload -> {
+            try {
+                released.await();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        eventSystem.registerTimedListener(NUMBER, (payload, publishedAt) -> published.add(publishedAt));
+
+        eventSystem.startAsyncDispatch(4);
+        final long before = System.currentTimeMillis();
+        eventSystem.publishEvent(NUMBER, 1);
+        final long after = System.currentTimeMillis();
+        Thread.sleep(50);
+        released.countDown();
+        eventSystem.stopAsyncDispatch();
+
+        assertEquals(1, published.size());
+        assertTrue(published.get(0) >= before && published.get(0) <= after);
+    }
+
+    @Test
+    public void testAsyncDispatchSurvivesListenerErrors() {
+        final EventSystem eventSystem = new EventSystem();
+        final List<Integer> received = new ArrayList<>();
+        eventSystem.registerListener(NUMBER, payload -> {
+            if (payload == 0) {
+                throw new AssertionError("Listener failure");
+            }
+            received.add(payload);
+        });
+
+        eventSystem.startAsyncDispatch(4);
+        for (int i = 0; i < 10; i++) {
+            eventSystem.publishEvent(NUMBER, i);
+        }
+        eventSystem.stopAsyncDispatch();
+
+        assertEquals(9, received.size());
+    }
+}
@@ -0,0 +1,223 @@
+package com.blackducksoftware.integration.hub.detect.workflow.extraction;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Test;
+
+import com.blackducksoftware.integration.hub.detect.detector.Detector;
+import com.blackducksoftware.integration.hub.detect.detector.DetectorType;
+import com.blackducksoftware.integration.hub.detect.detector.ExtractionId;
+import com.blackducksoftware.integration.hub.detect.workflow.codelocation.DetectCodeLocation;
+import com.blackducksoftware.integration.hub.detect.workflow.codelocation.DetectCodeLocationSerializer;
+import com.blackducksoftware.integration.hub.detect.workflow.codelocation.DetectCodeLocationType;
+import com.blackducksoftware.integration.hub.detect.workflow.event.Event;
+import com.blackducksoftware.integration.hub.detect.workflow.event.EventSystem;
+import com.blackducksoftware.integration.hub.detect.workflow.extraction.Extraction.ExtractionResultType;
+import com.blackducksoftware.integration.hub.detect.workflow.search.result.DetectorEvaluation;
+import com.blackducksoftware.integration.hub.detect.workflow.search.result.PassedDetectorResult;
+import com.synopsys.integration.bdio.graph.MutableDependencyGraph;
+import com.synopsys.integration.bdio.graph.MutableMapDependencyGraph;
+import com.synopsys.integration.bdio.model.Forge;
+import com.synopsys.integration.bdio.model.dependency.Dependency;
+import com.synopsys.integration.bdio.model.externalid.ExternalIdFactory;
+
+public class ExtractionManagerTest {
+
+    @Test
+    public void testParallelExtractionKeepsIdsAndPublishesEvents() {
+        final List<DetectorEvaluation> evaluations = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            evaluations.add(createEvaluation(i % 2 == 0 ? DetectorType.NPM : DetectorType.PIP, new AtomicInteger(), new AtomicInteger()));
+        }
+
+        final EventSystem eventSystem = new EventSystem();
+        final AtomicInteger started = new AtomicInteger();
+        final AtomicInteger ended = new AtomicInteger();
+        eventSystem.registerListener(Event.ExtractionStarted, it -> started.incrementAndGet());
+        eventSystem.registerListener(Event.ExtractionEnded, it -> ended.incrementAndGet());
+
+        final ExtractionManager extractionManager = new ExtractionManager(eventSystem, new ExtractionOptions(4, Collections.emptyMap(), false, true, false, false), ExtractionCache.disabled(), CodeLocationSpiller.disabled());
+        final ExtractionResult extractionResult = extractionManager.performExtractions(evaluations);
+
+        assertEquals(6, started.get());
+        assertEquals(6, ended.get());
+        assertEquals(2, extractionResult.getSuccessfulBomToolTypes().size());
+        for (int i = 0; i < evaluations.size(); i++) {
+            final DetectorEvaluation evaluation = evaluations.get(i);
+            assertEquals(evaluation.getDetector().getDetectorType() + "-" + i, evaluation.getExtractionId().toUniqueString());
+            assertTrue(evaluation.wasExtractionSuccessful());
+        }
+    }
+
+    @Test
+    public void testDetectorTypeLimitIsRespected() {
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger maxRunning = new AtomicInteger();
+        final List<DetectorEvaluation> evaluations = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            evaluations.add(createEvaluation(DetectorType.GRADLE, running, maxRunning));
+        }
+
+        final Map<DetectorType, Integer> limits = new HashMap<>();
+        limits.put(DetectorType.GRADLE, 1);
+        final ExtractionManager extractionManager = new ExtractionManager(new EventSystem(), new ExtractionOptions(4, limits, false, true, false, false), ExtractionCache.disabled(), CodeLocationSpiller.disabled());
+        extractionManager.performExtractions(evaluations);
+
+        assertEquals(1, maxRunning.get());
+        assertTrue(evaluations.stream().allMatch(DetectorEvaluation::wasExtractionSuccessful));
+    }
+
+    @Test
+    public void testFailedExtractionDoesNotStopOthers() {
+        final Detector failingDetector = mock(Detector.class);
+        when(failingDetector.getDetectorType()).thenReturn(DetectorType.NPM);
+        when(failingDetector.getName()).thenReturn("Failing");
+        when(failingDetector.extract(any(ExtractionId.class))).thenThrow(new AssertionError("boom"));
+        final List<DetectorEvaluation> evaluations = new ArrayList<>();
+        evaluations.add(createEvaluation(failingDetector));
+        for (int i = 0; i < 4; i++) {
+            evaluations.add(createEvaluation(DetectorType.PIP, new AtomicInteger(), new AtomicInteger()));
+        }
+
+        final ExtractionManager extractionManager = new ExtractionManager(new EventSystem(), new ExtractionOptions(2, Collections.emptyMap(), false, true, false, false), ExtractionCache.disabled(), CodeLocationSpiller.disabled());
+        extractionManager.performExtractions(evaluations);
+
+        assertFalse(evaluations.get(0).wasExtractionSuccessful());
+        assertEquals(ExtractionResultType.EXCEPTION, evaluations.get(0).getExtraction().result);
+        for (int i = 1; i < evaluations.size(); i++) {
+            assertTrue(evaluations.get(i).wasExtractionSuccessful());
+        }
+    }
+
+    @Test
+    public void testFailedSpillIsAnExtractionExceptionInSequentialMode() {
+        final List<DetectorEvaluation> evaluations = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            evaluations.add(createEvaluation(DetectorType.PIP, new AtomicInteger(), new AtomicInteger()));
+        }
+        final CodeLocationSpiller codeLocationSpiller = mock(CodeLocationSpiller.class);
+        doThrow(new IllegalStateException("disk full")).when(codeLocationSpiller).spill(any(ExtractionId.class), anyList());
+        final EventSystem eventSystem = new EventSystem();
+        final AtomicInteger ended = new AtomicInteger();
+        eventSystem.registerListener(Event.ExtractionEnded, it -> ended.incrementAndGet());
+
+        final ExtractionManager extractionManager = new ExtractionManager(eventSystem, new ExtractionOptions(1, Collections.emptyMap(), false, true, false, false), ExtractionCache.disabled(), codeLocationSpiller);
+        extractionManager.performExtractions(evaluations);
+
+        assertEquals(2, ended.get());
+        for (final DetectorEvaluation evaluation : evaluations) {
+            assertEquals(ExtractionResultType.EXCEPTION, evaluation.getExtraction().result);
+        }
+    }
+
+    @Test
+    public void testIncrementalExtractionReusesUnchangedLockfile() throws Exception {
+        final File directory = Files.createTempDirectory("detect-extraction-cache").toFile();
+        try {
+            final File lockfile = new File(directory, "Gemfile.lock");
+            FileUtils.write(lockfile, "GEM\n  specs:\n    rake (12.3.1)\n", "UTF-8");
+            final ExternalIdFactory externalIdFactory = new ExternalIdFactory();
+            final Dependency parent = new Dependency("rails", "5.2.0", externalIdFactory.createNameVersionExternalId(Forge.RUBYGEMS, "rails", "5.2.0"));
+            final Dependency child = new Dependency("rake", "12.3.1", externalIdFactory.createNameVersionExternalId(Forge.RUBYGEMS, "rake", "12.3.1"));
+            final MutableDependencyGraph graph = new MutableMapDependencyGraph();
+            graph.addChildToRoot(parent);
+            graph.addParentWithChild(parent, child);
+            final DetectCodeLocation codeLocation = new DetectCodeLocation.Builder(DetectCodeLocationType.RUBYGEMS, directory.getAbsolutePath(),
+                externalIdFactory.createPathExternalId(Forge.RUBYGEMS, directory.getAbsolutePath()), graph).build();
+
+            final Detector detector = mock(Detector.class);
+            when(detector.getDetectorType()).thenReturn(DetectorType.RUBYGEMS);
+            when(detector.getName()).thenReturn("Gemlock");
+            when(detector.getExtractionInputFiles()).thenReturn(Arrays.asList(lockfile));
+            when(detector.extract(any(ExtractionId.class))).thenReturn(new Extraction.Builder().success(codeLocation).projectName("project").build());
+
+            final File cacheDirectory = new File(directory, "cache");
+            final List<DetectorEvaluation> first = Arrays.asList(createEvaluation(detector));
+            createIncrementalExtractionManager(cacheDirectory).performExtractions(first);
+            assertEquals(ExtractionCacheStatus.MISS, first.get(0).getExtractionCacheStatus());
+
+            final List<DetectorEvaluation> second = Arrays.asList(createEvaluation(detector));
+            final ExtractionResult secondResult = createIncrementalExtractionManager(cacheDirectory).performExtractions(second);
+            assertEquals(ExtractionCacheStatus.HIT, second.get(0).getExtractionCacheStatus());
+            assertEquals("project", second.get(0).getExtraction().projectName);
+            verify(detector, times(1)).extract(any(ExtractionId.class));
+
+            final DetectCodeLocation cachedCodeLocation = secondResult.getDetectCodeLocations().get(0);
+            assertEquals(directory.getAbsolutePath(), cachedCodeLocation.getSourcePath());
+            assertEquals(1, cachedCodeLocation.getDependencyGraph().getRootDependencies().size());
+            assertTrue(cachedCodeLocation.getDependencyGraph().getRootDependencies().contains(parent));
+            assertTrue(cachedCodeLocation.getDependencyGraph().getChildrenForParent(parent).contains(child));
+            assertTrue(Forge.RUBYGEMS == cachedCodeLocation.getDependencyGraph().getDependency(child.externalId).externalId.forge);
+
+            FileUtils.write(lockfile, "GEM\n  specs:\n    rake (12.3.2)\n", "UTF-8");
+            final List<DetectorEvaluation> third = Arrays.asList(createEvaluation(detector));
+            createIncrementalExtractionManager(cacheDirectory).performExtractions(third);
+            assertEquals(ExtractionCacheStatus.MISS, third.get(0).getExtractionCacheStatus());
+            verify(detector, times(2)).extract(any(ExtractionId.class));
+            assertEquals(1, cacheDirectory.listFiles().length);
+
+            final List<DetectorEvaluation> upgraded = Arrays.asList(createEvaluation(detector));
+            createIncrementalExtractionManager(cacheDirectory, "5.4.0").performExtractions(upgraded);
+            assertEquals(ExtractionCacheStatus.MISS, upgraded.get(0).getExtractionCacheStatus());
+            verify(detector, times(3)).extract(any(ExtractionId.class));
+        } finally {
+            FileUtils.deleteQuietly(directory);
+        }
+    }
+
+    private ExtractionManager createIncrementalExtractionManager(final File cacheDirectory) {
+        return createIncrementalExtractionManager(cacheDirectory, "5.3.0");
+    }
+
+    private ExtractionManager createIncrementalExtractionManager(final File cacheDirectory, final String detectVersion) {
+        final ExtractionCache extractionCache = new ExtractionCache(cacheDirectory, detectVersion, 1, Collections.emptyMap(), new DetectCodeLocationSerializer());
+        return new ExtractionManager(new EventSystem(), new ExtractionOptions(1, Collections.emptyMap(), true, true, false, false), extractionCache, CodeLocationSpiller.disabled());
+    }
+
+    private DetectorEvaluation createEvaluation(final Detector detector) {
+        final DetectorEvaluation evaluation = new DetectorEvaluation(detector, null);
+        evaluation.setSearchable(new PassedDetectorResult());
+        evaluation.setApplicable(new PassedDetectorResult());
+        evaluation.setExtractable(new PassedDetectorResult());
+        return evaluation;
+    }
+
+    private DetectorEvaluation createEvaluation(final DetectorType detectorType, final AtomicInteger running, final AtomicInteger maxRunning) {
+        final Detector detector = mock(Detector.class);
+        when(detector.getDetectorType()).thenReturn(detectorType);
+        when(detector.getName()).thenReturn(detectorType.toString());
+        when(detector.extract(any(ExtractionId.class))).thenAnswer(invocation -> {
+            final int current = running.incrementAndGet();
+            maxRunning.accumulateAndGet(current, Math::max);
+            Thread.sleep(20);
+            running.decrementAndGet();
+            return new Extraction.Builder().success().build();
+        });
+
+        final DetectorEvaluation evaluation = new DetectorEvaluation(detector, null);
+        evaluation.setSearchable(new PassedDetectorResult());
+        evaluation.setApplicable(new PassedDetectorResult());
+        evaluation.setExtractable(new PassedDetectorResult());
+        return evaluation;
+    }
+}
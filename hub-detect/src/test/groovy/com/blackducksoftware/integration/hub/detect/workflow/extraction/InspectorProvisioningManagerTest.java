@@ -0,0 +1,125 @@
+package com.blackducksoftware.integration.hub.detect.workflow.extraction;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.blackducksoftware.integration.hub.detect.detector.Detector;
+import com.blackducksoftware.integration.hub.detect.detector.DetectorException;
+import com.blackducksoftware.integration.hub.detect.detector.InspectorProvisioner;
+import com.blackducksoftware.integration.hub.detect.workflow.event.Event;
+import com.blackducksoftware.integration.hub.detect.workflow.event.EventSystem;
+import com.blackducksoftware.integration.hub.detect.workflow.profiling.InspectorTime;
+import com.blackducksoftware.integration.hub.detect.workflow.search.result.DetectorEvaluation;
+import com.blackducksoftware.integration.hub.detect.workflow.search.result.FileNotFoundDetectorResult;
+import com.blackducksoftware.integration.hub.detect.workflow.search.result.PassedDetectorResult;
+
+public class InspectorProvisioningManagerTest {
+    @Test
+    public void testProvisionsInspectorsConcurrently() {
+        // Each provisioner waits until both have started, so they only finish in time when they run at the same time.
+        final CountDownLatch bothStarted = new CountDownLatch(2);
+        final List<Boolean> overlapped = Collections.synchronizedList(new ArrayList<>());
+        final FakeProvisioner gradle = new FakeProvisioner("gradle", () -> overlapped.add(awaitQuietly(bothStarted)));
+        final FakeProvisioner nuget = new FakeProvisioner("nuget", () -> overlapped.add(awaitQuietly(bothStarted)));
+
+        final EventSystem eventSystem = new EventSystem();
+        final List<InspectorTime> timings = new ArrayList<>();
+        eventSystem.registerListener(Event.InspectorProvisioned, timings::add);
+
+        new InspectorProvisioningManager(eventSystem).provisionInspectors(Arrays.asList(createEvaluation(gradle, true), createEvaluation(nuget, true)));
+
+        assertEquals(Arrays.asList(true, true), overlapped);
+        assertEquals(2, timings.size());
+    }
+
+    @Test
+    public void testProvisionsSharedInspectorOnceAndSkipsInapplicable() {
+        final FakeProvisioner go = new FakeProvisioner("go dep", () -> {});
+        final FakeProvisioner pip = new FakeProvisioner("pip", () -> {});
+        final List<DetectorEvaluation> evaluations = Arrays.asList(createEvaluation(go, true), createEvaluation(go, true), createEvaluation(pip, false));
+
+        new InspectorProvisioningManager(new EventSystem()).provisionInspectors(evaluations);
+
+        assertEquals(1, go.provisioned.get());
+        assertEquals(0, pip.provisioned.get());
+    }
+
+    @Test
+    public void testFailuresAreLeftToTheDetectors() {
+        final FakeProvisioner failing = new FakeProvisioner("docker", () -> {
+            throw new IllegalStateException("Artifactory is unreachable.");
+        });
+        final EventSystem eventSystem = new EventSystem();
+        final List<InspectorTime> timings = new ArrayList<>();
+        eventSystem.registerListener(Event.InspectorProvisioned, timings::add);
+
+        new InspectorProvisioningManager(eventSystem).provisionInspectors(Collections.singletonList(createEvaluation(failing, true)));
+
+        assertEquals(1, failing.provisioned.get());
+        assertEquals("docker", timings.get(0).getInspectorName());
+    }
+
+    @Test
+    public void testDisabledDoesNotProvision() {
+        final FakeProvisioner gradle = new FakeProvisioner("gradle", () -> {});
+
+        InspectorProvisioningManager.disabled().provisionInspectors(Collections.singletonList(createEvaluation(gradle, true)));
+
+        assertEquals(0, gradle.provisioned.get());
+    }
+
+    private boolean awaitQuietly(final CountDownLatch latch) {
+        latch.countDown();
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private DetectorEvaluation createEvaluation(final InspectorProvisioner provisioner, final boolean applicable) {
+        final Detector detector = mock(Detector.class);
+        when(detector.getInspectorProvisioner()).thenReturn(Optional.of(provisioner));
+
+        final DetectorEvaluation evaluation = new DetectorEvaluation(detector, null);
+        evaluation.setSearchable(new PassedDetectorResult());
+        evaluation.setApplicable(applicable ? new PassedDetectorResult() : new FileNotFoundDetectorResult("requirements.txt"));
+        return evaluation;
+    }
+
+    private static class FakeProvisioner implements InspectorProvisioner {
+        private final String name;
+        private final Runnable provisioning;
+        private final AtomicInteger provisioned = new AtomicInteger();
+
+        FakeProvisioner(final String name, final Runnable provisioning) {
+            this.name = name;
+            this.provisioning = provisioning;
+        }
+
+        @Override
+        public String getInspectorName() {
+            return name;
+        }
+
+        @Override
+        public void provisionInspector() throws DetectorException {
+            provisioned.incrementAndGet();
+            provisioning.run();
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.blackducksoftware.integration.hub.detect.workflow.hub;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class BdioUploadHistoryTest {
+    private File historyDirectory;
+
+    @Before
+    public void setUp() throws IOException {
+        historyDirectory = Files.createTempDirectory("detect-bdio-uploads").toFile();
+    }
+
+    @After
+    public void tearDown() {
+        FileUtils.deleteQuietly(historyDirectory);
+    }
+
+    @Test
+    public void testUnchangedAfterUpload() {
+        final BdioUploadHistory history = new BdioUploadHistory(historyDirectory, "https://blackduck.example.com");
+        assertFalse(history.isUnchanged("codeLocation", "hash"));
+
+        history.recordUpload("codeLocation", "hash");
+        assertTrue(history.isUnchanged("codeLocation", "hash"));
+        assertFalse(history.isUnchanged("codeLocation", "otherHash"));
+        assertFalse(history.isUnchanged("otherCodeLocation", "hash"));
+        assertEquals(1, history.getSkipped());
+    }
+
+    @Test
+    public void testServersAreSeparate() {
+        new BdioUploadHistory(historyDirectory, "https://blackduck.example.com").recordUpload("codeLocation", "hash");
+        assertFalse(new BdioUploadHistory(historyDirectory, "https://other.example.com").isUnchanged("codeLocation", "hash"));
+    }
+
+    @Test
+    public void testDisabled() {
+        final BdioUploadHistory history = BdioUploadHistory.disabled();
+        history.recordUpload("codeLocation", "hash");
+        assertFalse(history.isUnchanged("codeLocation", "hash"));
+    }
+}
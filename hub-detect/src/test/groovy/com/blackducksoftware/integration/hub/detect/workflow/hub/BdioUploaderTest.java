@@ -0,0 +1,176 @@
+package com.blackducksoftware.integration.hub.detect.workflow.hub;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.blackducksoftware.integration.hub.detect.workflow.event.Event;
+import com.blackducksoftware.integration.hub.detect.workflow.event.EventSystem;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.synopsys.integration.blackduck.codelocation.Result;
+import com.synopsys.integration.blackduck.codelocation.bdioupload.UploadBatchOutput;
+import com.synopsys.integration.blackduck.codelocation.bdioupload.UploadOutput;
+import com.synopsys.integration.blackduck.codelocation.bdioupload.UploadTarget;
+import com.synopsys.integration.log.SilentIntLogger;
+import com.synopsys.integration.rest.client.IntHttpClient;
+import com.synopsys.integration.rest.proxy.ProxyInfo;
+
+public class BdioUploaderTest {
+    private HttpServer server;
+    private String uploadUri;
+    private File bdioDirectory;
+    private final Map<String, AtomicInteger> failuresRemaining = new ConcurrentHashMap<>();
+    private final Map<String, Integer> failureStatus = new ConcurrentHashMap<>();
+    private final Map<String, String> uploadedContent = new ConcurrentHashMap<>();
+    private final AtomicInteger requests = new AtomicInteger();
+
+    @Before
+    public void setUp() throws IOException {
+        bdioDirectory = Files.createTempDirectory("detect-bdio-upload").toFile();
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/api/scan/data/", this::handleUpload);
+        server.start();
+        uploadUri = "http://127.0.0.1:" + server.getAddress().getPort() + "/api/scan/data/";
+    }
+
+    @After
+    public void tearDown() {
+        server.stop(0);
+        FileUtils.deleteQuietly(bdioDirectory);
+    }
+
+    @Test
+    public void testUploadsEveryFile() throws Exception {
+        final List<UploadTarget> uploadTargets = Arrays.asList(createTarget("first", "{\"first\":1}"), createTarget("second", "{\"second\":2}"), createTarget("third", "{\"third\":3}"));
+        final List<BdioUploadMetric> metrics = new ArrayList<>();
+        final BdioUploader uploader = createUploader(new BdioUploadOptions(2, 3, 1), metrics);
+
+        final UploadBatchOutput output = uploader.uploadFiles(uploadTargets);
+
+        assertEquals(3, output.getOutputs().size());
+        for (final UploadOutput uploadOutput : output.getOutputs()) {
+            assertEquals(Result.SUCCESS, uploadOutput.getResult());
+        }
+        assertEquals("first", output.getOutputs().get(0).getCodeLocationName());
+        assertEquals("{\"second\":2}", uploadedContent.get("second.jsonld"));
+        assertEquals(3, metrics.size());
+        for (final BdioUploadMetric metric : metrics) {
+            assertEquals(1, metric.getAttempts());
+            assertEquals(metric.getUploadFile().length(), metric.getBytes());
+        }
+    }
+
+    @Test
+    public void testRetriesTransientFailures() throws Exception {
+        failuresRemaining.put("retried.jsonld", new AtomicInteger(2));
+        failureStatus.put("retried.jsonld", 503);
+        final List<BdioUploadMetric> metrics = new ArrayList<>();
+        final BdioUploader uploader = createUploader(new BdioUploadOptions(1, 3, 1), metrics);
+
+        final UploadBatchOutput output = uploader.uploadFiles(Collections.singletonList(createTarget("retried", "{\"retried\":true}")));
+
+        assertEquals(Result.SUCCESS, output.getOutputs().get(0).getResult());
+        assertEquals(3, requests.get());
+        assertEquals("{\"retried\":true}", uploadedContent.get("retried.jsonld"));
+        assertEquals(3, metrics.get(0).getAttempts());
+    }
+
+    @Test
+    public void testStopsRetryingAfterLimit() throws Exception {
+        failuresRemaining.put("unavailable.jsonld", new AtomicInteger(10));
+        failureStatus.put("unavailable.jsonld", 502);
+        final List<BdioUploadMetric> metrics = new ArrayList<>();
+        final BdioUploader uploader = createUploader(new BdioUploadOptions(1, 2, 1), metrics);
+
+        final UploadBatchOutput output = uploader.uploadFiles(Collections.singletonList(createTarget("unavailable", "{}")));
+
+        assertEquals(Result.FAILURE, output.getOutputs().get(0).getResult());
+        assertEquals(3, requests.get());
+        assertEquals(Result.FAILURE, metrics.get(0).getResult());
+    }
+
+    @Test
+    public void testDoesNotRetryClientErrors() throws Exception {
+        failuresRemaining.put("invalid.jsonld", new AtomicInteger(1));
+        failureStatus.put("invalid.jsonld", 400);
+        final List<UploadTarget> uploadTargets = Arrays.asList(createTarget("invalid", "{"), createTarget("valid", "{}"));
+        final BdioUploader uploader = createUploader(new BdioUploadOptions(1, 3, 1), new ArrayList<>());
+
+        final UploadBatchOutput output = uploader.uploadFiles(uploadTargets);
+
+        assertEquals(Result.FAILURE, output.getOutputs().get(0).getResult());
+        assertEquals(Result.SUCCESS, output.getOutputs().get(1).getResult());
+        assertEquals(2, requests.get());
+    }
+
+    private BdioUploader createUploader(final BdioUploadOptions bdioUploadOptions, final List<BdioUploadMetric> metrics) {
+        final EventSystem eventSystem = new EventSystem();
+        eventSystem.registerListener(Event.BdioUploaded, metrics::add);
+        final IntHttpClient httpClient = new IntHttpClient(new SilentIntLogger(), 10, true, ProxyInfo.NO_PROXY_INFO);
+        return new BdioUploader(httpClient, uploadUri, bdioUploadOptions, eventSystem);
+    }
+
+    private UploadTarget createTarget(final String codeLocationName, final String content) throws IOException {
+        final File bdioFile = new File(bdioDirectory, codeLocationName + ".jsonld");
+        FileUtils.writeStringToFile(bdioFile, content, StandardCharsets.UTF_8);
+        return UploadTarget.createDefault(codeLocationName, bdioFile);
+    }
+
+    // The request body is only the streamed file, so the stub tells the files apart by their content.
+    private void handleUpload(final HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        final String content = readBody(exchange.getRequestBody());
+        final String fileName = findFileName(content);
+        final AtomicInteger remaining = failuresRemaining.get(fileName);
+        int status = 201;
+        if (remaining != null && remaining.getAndDecrement() > 0) {
+            status = failureStatus.get(fileName);
+        } else {
+            uploadedContent.put(fileName, content);
+        }
+        exchange.sendResponseHeaders(status, -1);
+        exchange.close();
+    }
+
+    private String findFileName(final String content) {
+        for (final File file : bdioDirectory.listFiles()) {
+            try {
+                if (FileUtils.readFileToString(file, StandardCharsets.UTF_8).equals(content)) {
+                    return file.getName();
+                }
+            } catch (final IOException e) {
+                throw new RuntimeException(e);
+            }
+        }
+        return "";
+    }
+
+    private String readBody(final InputStream inputStream) throws IOException {
+        final ByteArrayOutputStream body = new ByteArrayOutputStream();
+        final byte[] buffer = new byte[4096];
+        int read;
+        while ((read = inputStream.read(buffer)) != -1) {
+            body.write(buffer, 0, read);
+        }
+        return new String(body.toByteArray(), StandardCharsets.UTF_8);
+    }
+}
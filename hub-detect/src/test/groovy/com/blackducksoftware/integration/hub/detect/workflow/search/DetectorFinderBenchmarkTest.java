@@ -0,0 +1,232 @@
+package com.blackducksoftware.integration.hub.detect.workflow.search;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import javax.xml.parsers.DocumentBuilder;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Assume;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import com.blackducksoftware.integration.hub.detect.DetectInfo;
+import com.blackducksoftware.integration.hub.detect.DetectorBeanConfiguration;
+import com.blackducksoftware.integration.hub.detect.configuration.ConnectionManager;
+import com.blackducksoftware.integration.hub.detect.configuration.DetectConfiguration;
+import com.blackducksoftware.integration.hub.detect.detector.Detector;
+import com.blackducksoftware.integration.hub.detect.detector.DetectorEnvironment;
+import com.blackducksoftware.integration.hub.detect.detector.DetectorFactory;
+import com.blackducksoftware.integration.hub.detect.util.executable.CacheableExecutableFinder;
+import com.blackducksoftware.integration.hub.detect.util.executable.ExecutableFinder;
+import com.blackducksoftware.integration.hub.detect.util.executable.ExecutableRunner;
+import com.blackducksoftware.integration.hub.detect.util.filter.DetectOverrideableFilter;
+import com.blackducksoftware.integration.hub.detect.workflow.ArtifactResolver;
+import com.blackducksoftware.integration.hub.detect.workflow.event.Event;
+import com.blackducksoftware.integration.hub.detect.workflow.event.EventSystem;
+import com.blackducksoftware.integration.hub.detect.workflow.file.AirGapManager;
+import com.blackducksoftware.integration.hub.detect.workflow.file.DetectFileFinder;
+import com.blackducksoftware.integration.hub.detect.workflow.file.DirectoryIndex;
+import com.blackducksoftware.integration.hub.detect.workflow.file.DirectoryManager;
+import com.blackducksoftware.integration.hub.detect.workflow.search.result.DetectorEvaluation;
+import com.blackducksoftware.integration.hub.detect.workflow.search.rules.DetectorSearchEvaluator;
+import com.blackducksoftware.integration.hub.detect.workflow.search.rules.DetectorSearchProvider;
+import com.blackducksoftware.integration.hub.detect.workflow.search.rules.DetectorSearchRule;
+import com.blackducksoftware.integration.hub.detect.workflow.search.rules.DetectorSearchRuleSet;
+import com.google.gson.Gson;
+import com.google.gson.JsonParser;
+import com.synopsys.integration.bdio.model.externalid.ExternalIdFactory;
+
+import freemarker.template.Configuration;
+
+/*
+ * Walks a synthetic tree (10 wide, 5 deep = 111,111 directories by default) with the real detector search rules. Detectors are created as
+ * Spring prototype beans through the DetectorFactory, the same way a run creates them. The search runs once the way it used to, building every
+ * detector for every directory, and then with the shared rule set on one thread and in parallel. Timings are only reported, the searches must
+ * find the same detectors and the shared rule set must create fewer of them.
+ * Run with -Ddetect.benchmark=true, the tree shape can be changed with detect.benchmark.width and detect.benchmark.depth.
+ */
+public class DetectorFinderBenchmarkTest {
+    // Detectors whose applicable check only needs the file finder, the other detectors depend on mocked configuration.
+    private static final String INCLUDED_DETECTORS = "MAVEN,NPM,GRADLE,RUBYGEMS";
+    private static final String[] MARKER_FILES = { "pom.xml", "package.json", "build.gradle", "Gemfile.lock" };
+
+    private final Logger logger = LoggerFactory.getLogger(DetectorFinderBenchmarkTest.class);
+
+    @Test
+    public void benchmarkSearch() throws Exception {
+        Assume.assumeTrue(Boolean.getBoolean("detect.benchmark"));
+        final int width = Integer.getInteger("detect.benchmark.width", 10);
+        final int depth = Integer.getInteger("detect.benchmark.depth", 5);
+
+        final File root = Files.createTempDirectory("detector-finder-benchmark").toFile();
+        try {
+            final int directoryCount = createTree(root, width, depth);
+            logger.info(String.format("Created %d directories", directoryCount));
+
+            final SearchRun perDirectory = search(root, depth, 1, true);
+            final SearchRun serial = search(root, depth, 1, false);
+            final int processors = Runtime.getRuntime().availableProcessors();
+            final SearchRun inParallel = search(root, depth, processors, false);
+
+            assertEquals(perDirectory.applicable, serial.applicable);
+            assertEquals(perDirectory.applicable, inParallel.applicable);
+            assertTrue(serial.created < perDirectory.created);
+        } finally {
+            FileUtils.deleteDirectory(root);
+        }
+    }
+
+    private SearchRun search(final File root, final int depth, final int parallelProcessors, final boolean perDirectory) {
+        final EventSystem eventSystem = new EventSystem();
+        final DirectoryIndex directoryIndex = new DirectoryIndex(eventSystem, Collections.emptyList());
+        final DetectFileFinder detectFileFinder = new DetectFileFinder(directoryIndex);
+        final AtomicInteger created = new AtomicInteger();
+        final AnnotationConfigApplicationContext runContext = createRunContext(detectFileFinder, created);
+        try {
+            final DetectorFactory detectorFactory = runContext.getBean(DetectorFactory.class);
+            final DetectOverrideableFilter detectorFilter = new DetectOverrideableFilter("", INCLUDED_DETECTORS);
+            final DetectorEnvironment ruleEnvironment = new DetectorEnvironment(root, Collections.emptySet(), 0, detectorFilter, false);
+            final DetectorSearchRuleSet ruleSet = new DetectorSearchProvider(detectorFactory).createBomToolSearchRuleSet(ruleEnvironment);
+            final int ruleDetectors = created.getAndSet(0);
+            final DetectorSearchEvaluator evaluator;
+            if (perDirectory) {
+                evaluator = new PerDirectoryEvaluator(detectorFactory, detectFileFinder);
+            } else {
+                evaluator = new DetectorSearchEvaluator(detectorFactory, detectFileFinder);
+            }
+            final DetectorFinderOptions options = new DetectorFinderOptions(new DetectorExclusionSearchFilter(Collections.emptyList(), Collections.emptyList()), false, depth,
+                detectorFilter, ruleSet, evaluator, eventSystem, directoryIndex, parallelProcessors);
+
+            final long start = System.currentTimeMillis();
+            final List<DetectorEvaluation> evaluations = new DetectorFinder().findApplicableBomTools(root, options);
+            final long elapsed = System.currentTimeMillis() - start;
+            final Set<String> applicable = evaluations.stream()
+                                               .filter(DetectorEvaluation::isApplicable)
+                                               .map(it -> it.getDetector().getDetectorType() + " " + it.getEnvironment().getDirectory().getAbsolutePath())
+                                               .collect(Collectors.toSet());
+            final String mode = perDirectory ? "Per directory rules" : "Shared rules";
+            logger.info(String.format("%s on %d processors: %d ms, %d rule detectors and %d searched detectors created, %d applicable", mode, parallelProcessors, elapsed, ruleDetectors, created.get(),
+                applicable.size()));
+            return new SearchRun(ruleDetectors + created.get(), applicable);
+        } catch (final Exception e) {
+            throw new RuntimeException(e);
+        } finally {
+            runContext.close();
+        }
+    }
+
+    private static class SearchRun {
+        private final int created;
+        private final Set<String> applicable;
+
+        public SearchRun(final int created, final Set<String> applicable) {
+            this.created = created;
+            this.applicable = applicable;
+        }
+    }
+
+    /*
+     * The search as it was before the rule set was shared: every detector is created for every directory and runs its own applicable check.
+     */
+    private static class PerDirectoryEvaluator extends DetectorSearchEvaluator {
+        private final DetectorSearchProvider detectorSearchProvider;
+
+        public PerDirectoryEvaluator(final DetectorFactory detectorFactory, final DetectFileFinder fileFinder) {
+            super(detectorFactory, fileFinder);
+            this.detectorSearchProvider = new DetectorSearchProvider(detectorFactory);
+        }
+
+        @Override
+        public List<DetectorEvaluation> evaluate(final DetectorSearchRuleSet rules, final DetectorEnvironment environment, final EventSystem eventSystem) {
+            final List<DetectorEvaluation> evaluations = new ArrayList<>();
+            final List<Detector> appliedSoFar = new ArrayList<>();
+            for (final DetectorSearchRule searchRule : detectorSearchProvider.createBomToolSearchRuleSet(environment).getOrderedBomToolRules()) {
+                final Detector detector = searchRule.getDetector();
+                final DetectorEvaluation evaluation = new DetectorEvaluation(detector, environment);
+                evaluations.add(evaluation);
+                evaluation.setSearchable(searchable(searchRule, appliedSoFar, environment));
+                if (evaluation.isSearchable()) {
+                    eventSystem.publishEvent(Event.ApplicableStarted, detector);
+                    evaluation.setApplicable(detector.applicable());
+                    eventSystem.publishEvent(Event.ApplicableEnded, detector);
+                    if (evaluation.isApplicable()) {
+                        appliedSoFar.add(detector);
+                    }
+                }
+            }
+            return evaluations;
+        }
+    }
+
+    private AnnotationConfigApplicationContext createRunContext(final DetectFileFinder detectFileFinder, final AtomicInteger created) {
+        final AnnotationConfigApplicationContext runContext = new AnnotationConfigApplicationContext();
+        runContext.setDisplayName("Detect Benchmark");
+        runContext.register(DetectorBeanConfiguration.class);
+        runContext.getBeanFactory().registerSingleton(Gson.class.getSimpleName(), new Gson());
+        runContext.getBeanFactory().registerSingleton(JsonParser.class.getSimpleName(), new JsonParser());
+        runContext.getBeanFactory().registerSingleton(DetectFileFinder.class.getSimpleName(), detectFileFinder);
+        registerMock(runContext, Configuration.class);
+        registerMock(runContext, DocumentBuilder.class);
+        registerMock(runContext, ExecutableRunner.class);
+        registerMock(runContext, AirGapManager.class);
+        registerMock(runContext, ExecutableFinder.class);
+        registerMock(runContext, ExternalIdFactory.class);
+        registerMock(runContext, DirectoryManager.class);
+        registerMock(runContext, DetectConfiguration.class);
+        registerMock(runContext, ConnectionManager.class);
+        registerMock(runContext, CacheableExecutableFinder.class);
+        registerMock(runContext, ArtifactResolver.class);
+        registerMock(runContext, DetectInfo.class);
+        runContext.getBeanFactory().addBeanPostProcessor(new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(final Object bean, final String beanName) {
+                if (bean instanceof Detector) {
+                    created.incrementAndGet();
+                }
+                return bean;
+            }
+        });
+        runContext.refresh();
+        return runContext;
+    }
+
+    private <T> void registerMock(final AnnotationConfigApplicationContext context, final Class<T> bean) {
+        context.getBeanFactory().registerSingleton(bean.getSimpleName(), Mockito.mock(bean));
+    }
+
+    private int createTree(final File root, final int width, final int depth) throws IOException {
+        List<File> level = Collections.singletonList(root);
+        int count = 1;
+        for (int currentDepth = 0; currentDepth < depth; currentDepth++) {
+            final List<File> next = new ArrayList<>();
+            for (final File parent : level) {
+                for (int i = 0; i < width; i++) {
+                    final File child = new File(parent, "dir" + i);
+                    child.mkdir();
+                    next.add(child);
+                    if (count % 100 == 0) {
+                        new File(child, MARKER_FILES[(count / 100) % MARKER_FILES.length]).createNewFile();
+                    }
+                    count++;
+                }
+            }
+            level = next;
+        }
+        return count;
+    }
+}
@@ -0,0 +1,126 @@
+package com.blackducksoftware.integration.hub.detect.workflow.search;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.blackducksoftware.integration.hub.detect.detector.Detector;
+import com.blackducksoftware.integration.hub.detect.detector.DetectorEnvironment;
+import com.blackducksoftware.integration.hub.detect.detector.DetectorFactory;
+import com.blackducksoftware.integration.hub.detect.detector.DetectorType;
+import com.blackducksoftware.integration.hub.detect.detector.ExtractionId;
+import com.blackducksoftware.integration.hub.detect.util.filter.DetectOverrideableFilter;
+import com.blackducksoftware.integration.hub.detect.workflow.event.EventSystem;
+import com.blackducksoftware.integration.hub.detect.workflow.extraction.Extraction;
+import com.blackducksoftware.integration.hub.detect.workflow.file.DetectFileFinder;
+import com.blackducksoftware.integration.hub.detect.workflow.search.result.DetectorEvaluation;
+import com.blackducksoftware.integration.hub.detect.workflow.search.result.DetectorResult;
+import com.blackducksoftware.integration.hub.detect.workflow.search.result.FileNotFoundDetectorResult;
+import com.blackducksoftware.integration.hub.detect.workflow.search.result.PassedDetectorResult;
+import com.blackducksoftware.integration.hub.detect.workflow.search.rules.DetectorSearchEvaluator;
+import com.blackducksoftware.integration.hub.detect.workflow.search.rules.DetectorSearchRuleSet;
+import com.blackducksoftware.integration.hub.detect.workflow.search.rules.DetectorSearchRuleSetBuilder;
+
+public class DetectorFinderTest {
+    private File root;
+
+    @Before
+    public void createTree() throws IOException {
+        root = Files.createTempDirectory("detector-finder").toFile();
+        for (int i = 0; i < 4; i++) {
+            for (int j = 0; j < 4; j++) {
+                final File directory = new File(root, "module" + i + "/sub" + j);
+                directory.mkdirs();
+                if ((i + j) % 3 == 0) {
+                    new File(directory, "pom.xml").createNewFile();
+                }
+            }
+        }
+        new File(root, "module1/pom.xml").createNewFile();
+    }
+
+    @After
+    public void deleteTree() throws IOException {
+        FileUtils.deleteDirectory(root);
+    }
+
+    @Test
+    public void testParallelSearchMatchesSequentialOrder() throws Exception {
+        final List<String> sequential = describe(search(1));
+        final List<String> parallel = describe(search(4));
+
+        assertEquals(sequential, parallel);
+        assertEquals(21, sequential.size());
+    }
+
+    @Test
+    public void testParallelSearchRespectsNesting() throws Exception {
+        final List<DetectorEvaluation> evaluations = search(4);
+        final List<String> applicable = evaluations.stream()
+                                            .filter(DetectorEvaluation::isApplicable)
+                                            .map(it -> root.toPath().relativize(it.getEnvironment().getDirectory().toPath()).toString())
+                                            .collect(Collectors.toList());
+        // module1/sub2 has a pom but is nested under module1 which already applied.
+        assertEquals(6, applicable.size());
+        assertFalse(applicable.contains("module1" + File.separator + "sub2"));
+    }
+
+    private List<DetectorEvaluation> search(final int parallelProcessors) throws Exception {
+        final DetectorFactory detectorFactory = new DetectorFactory() {
+            @Override
+            public Detector createDetector(final Class<? extends Detector> detectorClass, final DetectorEnvironment environment) {
+                return new PomDetector(environment);
+            }
+        };
+        final DetectorEnvironment environment = new DetectorEnvironment(root, Collections.emptySet(), 0, new DetectOverrideableFilter("", ""), false);
+        final DetectorSearchRuleSetBuilder builder = new DetectorSearchRuleSetBuilder();
+        builder.addBomTool(new PomDetector(environment)).defaultNested();
+        final DetectorSearchRuleSet ruleSet = builder.build();
+
+        final DetectorSearchEvaluator evaluator = new DetectorSearchEvaluator(detectorFactory, new DetectFileFinder());
+        final DetectorFinderOptions options = new DetectorFinderOptions(new DetectorExclusionSearchFilter(Collections.emptyList(), Collections.emptyList()), false, 5,
+            new DetectOverrideableFilter("", ""), ruleSet, evaluator, new EventSystem(), null, parallelProcessors);
+        return new DetectorFinder().findApplicableBomTools(root, options);
+    }
+
+    private List<String> describe(final List<DetectorEvaluation> evaluations) {
+        return evaluations.stream()
+                   .map(it -> it.getEnvironment().getDirectory().getPath() + ":" + it.isApplicable())
+                   .collect(Collectors.toList());
+    }
+
+    private static class PomDetector extends Detector {
+        public PomDetector(final DetectorEnvironment environment) {
+            super(environment, "Pom", DetectorType.MAVEN);
+        }
+
+        @Override
+        public DetectorResult applicable() {
+            if (new File(environment.getDirectory(), "pom.xml").exists()) {
+                return new PassedDetectorResult();
+            }
+            return new FileNotFoundDetectorResult("pom.xml");
+        }
+
+        @Override
+        public DetectorResult extractable() {
+            return new PassedDetectorResult();
+        }
+
+        @Override
+        public Extraction extract(final ExtractionId extractionId) {
+            return new Extraction.Builder().success().build();
+        }
+    }
+}
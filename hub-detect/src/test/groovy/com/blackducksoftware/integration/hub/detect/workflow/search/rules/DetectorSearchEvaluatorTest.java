@@ -0,0 +1,141 @@
+package com.blackducksoftware.integration.hub.detect.workflow.search.rules;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.HashSet;
+import java.util.List;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.blackducksoftware.integration.hub.detect.detector.Detector;
+import com.blackducksoftware.integration.hub.detect.detector.DetectorEnvironment;
+import com.blackducksoftware.integration.hub.detect.detector.DetectorFactory;
+import com.blackducksoftware.integration.hub.detect.detector.DetectorType;
+import com.blackducksoftware.integration.hub.detect.detector.ExtractionId;
+import com.blackducksoftware.integration.hub.detect.util.filter.DetectOverrideableFilter;
+import com.blackducksoftware.integration.hub.detect.workflow.event.EventSystem;
+import com.blackducksoftware.integration.hub.detect.workflow.extraction.Extraction;
+import com.blackducksoftware.integration.hub.detect.workflow.file.DetectFileFinder;
+import com.blackducksoftware.integration.hub.detect.workflow.search.result.DetectorEvaluation;
+import com.blackducksoftware.integration.hub.detect.workflow.search.result.DetectorResult;
+import com.blackducksoftware.integration.hub.detect.workflow.search.result.FileNotFoundDetectorResult;
+import com.blackducksoftware.integration.hub.detect.workflow.search.result.PassedDetectorResult;
+
+public class DetectorSearchEvaluatorTest {
+    private File directory;
+    private DetectorFactory detectorFactory;
+
+    @Before
+    public void createDirectory() throws IOException {
+        directory = Files.createTempDirectory("detector-search").toFile();
+        detectorFactory = mock(DetectorFactory.class);
+        when(detectorFactory.createDetector(eq(PomDetector.class), any())).thenAnswer(invocation -> new PomDetector(invocation.getArgument(1)));
+        when(detectorFactory.createDetector(eq(PomWrapperDetector.class), any())).thenAnswer(invocation -> new PomWrapperDetector(invocation.getArgument(1)));
+    }
+
+    @After
+    public void deleteDirectory() throws IOException {
+        FileUtils.deleteDirectory(directory);
+    }
+
+    @Test
+    public void testProbeSkipsDetectorCreation() {
+        final DetectorEnvironment environment = createEnvironment();
+        final DetectorSearchRuleSetBuilder builder = new DetectorSearchRuleSetBuilder();
+        builder.addBomTool(new PomDetector(environment)).defaultNotNested().requiresFile("pom.xml");
+
+        final List<DetectorEvaluation> evaluations = createEvaluator().evaluate(builder.build(), environment, new EventSystem());
+
+        assertEquals(1, evaluations.size());
+        assertTrue(evaluations.get(0).isSearchable());
+        assertFalse(evaluations.get(0).isApplicable());
+        assertEquals(new FileNotFoundDetectorResult("pom.xml").toDescription(), evaluations.get(0).getApplicabilityMessage());
+        verify(detectorFactory, never()).createDetector(any(), any());
+    }
+
+    @Test
+    public void testDetectorCreatedWhenProbePasses() throws IOException {
+        new File(directory, "pom.xml").createNewFile();
+        final DetectorEnvironment environment = createEnvironment();
+        final Detector ruleDetector = new PomDetector(environment);
+        final DetectorSearchRuleSetBuilder builder = new DetectorSearchRuleSetBuilder();
+        builder.addBomTool(ruleDetector).defaultNotNested().requiresFile("pom.xml");
+
+        final List<DetectorEvaluation> evaluations = createEvaluator().evaluate(builder.build(), environment, new EventSystem());
+
+        assertTrue(evaluations.get(0).isApplicable());
+        assertNotSame(ruleDetector, evaluations.get(0).getDetector());
+        verify(detectorFactory, times(1)).createDetector(PomDetector.class, environment);
+    }
+
+    @Test
+    public void testYieldMatchesCreatedDetectors() throws IOException {
+        new File(directory, "pom.xml").createNewFile();
+        new File(directory, "pom.groovy").createNewFile();
+        final DetectorEnvironment environment = createEnvironment();
+        final Detector pom = new PomDetector(environment);
+        final Detector pomWrapper = new PomWrapperDetector(environment);
+        final DetectorSearchRuleSetBuilder builder = new DetectorSearchRuleSetBuilder();
+        builder.addBomTool(pom).defaultNotNested().requiresFile("pom.xml");
+        builder.addBomTool(pomWrapper).defaultNotNested().requiresFile("pom.groovy");
+        builder.yield(pomWrapper).to(pom);
+
+        final List<DetectorEvaluation> evaluations = createEvaluator().evaluate(builder.build(), environment, new EventSystem());
+
+        assertTrue(evaluations.get(0).isApplicable());
+        assertFalse(evaluations.get(1).isSearchable());
+        assertTrue(evaluations.get(1).getSearchabilityMessage().startsWith("Yielded to detectors"));
+        verify(detectorFactory, never()).createDetector(eq(PomWrapperDetector.class), any());
+    }
+
+    private DetectorSearchEvaluator createEvaluator() {
+        return new DetectorSearchEvaluator(detectorFactory, new DetectFileFinder());
+    }
+
+    private DetectorEnvironment createEnvironment() {
+        return new DetectorEnvironment(directory, new HashSet<>(), 0, new DetectOverrideableFilter("", ""), false);
+    }
+
+    private static class PomDetector extends Detector {
+        public PomDetector(final DetectorEnvironment environment) {
+            super(environment, "Pom", DetectorType.MAVEN);
+        }
+
+        @Override
+        public DetectorResult applicable() {
+            return new PassedDetectorResult();
+        }
+
+        @Override
+        public DetectorResult extractable() {
+            return new PassedDetectorResult();
+        }
+
+        @Override
+        public Extraction extract(final ExtractionId extractionId) {
+            return new Extraction.Builder().success().build();
+        }
+    }
+
+    private static class PomWrapperDetector extends PomDetector {
+        public PomWrapperDetector(final DetectorEnvironment environment) {
+            super(environment);
+        }
+    }
+}